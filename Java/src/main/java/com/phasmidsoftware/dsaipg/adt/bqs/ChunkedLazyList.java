@@ -0,0 +1,458 @@
+package com.phasmidsoftware.dsaipg.adt.bqs;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A lazy (possibly infinite) sequence which memoizes its elements and evaluates them in chunks.
+ * <p>
+ * Unlike LazyList, there is no cell (nor supplier) per element: whenever an element is required which has not yet
+ * been evaluated, the next CHUNK elements are evaluated in a tight loop and kept in an array.
+ * Thus take(n), get(i) and iteration are O(1) per element on any traversal after the first,
+ * and map and filter do not build chains of suppliers.
+ * <p>
+ * A ChunkedLazyList is either indexed (defined by a pure function of the index, see tabulate),
+ * in which case its chunks may be evaluated independently and in parallel (see parallelMaterialize);
+ * or sequential (defined by iterate or by an Iterator), in which case each element depends on the one before.
+ * <p>
+ * It is thread-safe: evaluation is synchronized while reading elements which have already been evaluated is not.
+ * It interoperates with Java streams via spliterator and stream.
+ *
+ * @param <T> the underlying type of the lazy list.
+ */
+public class ChunkedLazyList<T> implements Iterable<T> {
+
+    /**
+     * Get the element at index i, evaluating it (and the rest of its chunk) if necessary.
+     *
+     * @param i the index.
+     * @return the element.
+     * @throws IndexOutOfBoundsException if this list is finite and has no element i.
+     */
+    public T get(long i) {
+        if (!isDefinedAt(i))
+            throw new IndexOutOfBoundsException("ChunkedLazyList:get: no element at index " + i);
+        return element(i);
+    }
+
+    /**
+     * @param i an index.
+     * @return true if this list has an element at index i (which will have been evaluated).
+     */
+    public boolean isDefinedAt(long i) {
+        return i >= 0 && ensure(i + 1) > i;
+    }
+
+    /**
+     * Method to take a number (<code>n</code>) of elements from this list.
+     *
+     * @param n the number of elements to take.
+     * @return a List with at most <code>n</code> elements.
+     */
+    public List<T> take(int n) {
+        long m = ensure(n);
+        List<T> result = new ArrayList<>((int) m);
+        for (long i = 0; i < m; i++) result.add(element(i));
+        return result;
+    }
+
+    /**
+     * Method to take elements from the start of this list as long as they satisfy the given <code>predicate</code>.
+     *
+     * @param predicate the test for T values to be included in the result.
+     * @return a List of the elements before the first which does not satisfy <code>predicate</code>.
+     */
+    public List<T> takeWhile(Predicate<? super T> predicate) {
+        List<T> result = new ArrayList<>();
+        for (long i = 0; isDefinedAt(i); i++) {
+            T t = element(i);
+            if (!predicate.test(t)) break;
+            result.add(t);
+        }
+        return result;
+    }
+
+    /**
+     * Method to map this list given a function.
+     * If this list is indexed, then so is the result (whose generator is the composition of f with this generator).
+     *
+     * @param f   the function to convert a T into a U.
+     * @param <U> the underlying output type.
+     * @return a new ChunkedLazyList.
+     */
+    public <U> ChunkedLazyList<U> map(Function<? super T, ? extends U> f) {
+        if (generator != null) {
+            LongFunction<T> g = generator;
+            return new ChunkedLazyList<>(i -> f.apply(g.apply(i)), limit);
+        }
+        Iterator<T> iterator = iterator();
+        return new ChunkedLazyList<>((chunk, start) -> {
+            int k = 0;
+            while (k < chunk.length && iterator.hasNext()) chunk[k++] = f.apply(iterator.next());
+            return k;
+        });
+    }
+
+    /**
+     * Method to filter this list given a predicate. The result is always sequential.
+     *
+     * @param predicate the test for T values to be included in the result.
+     * @return a new ChunkedLazyList.
+     */
+    public ChunkedLazyList<T> filter(Predicate<? super T> predicate) {
+        Iterator<T> iterator = iterator();
+        return new ChunkedLazyList<>((chunk, start) -> {
+            int k = 0;
+            while (k < chunk.length && iterator.hasNext()) {
+                T t = iterator.next();
+                if (predicate.test(t)) chunk[k++] = t;
+            }
+            return k;
+        });
+    }
+
+    /**
+     * Evaluate (at least) the first n elements (or all of them, if there are fewer).
+     * If this list is indexed, the chunks which have not yet been evaluated are evaluated in parallel
+     * (using the common fork-join pool): the generator must therefore be pure and thread-safe.
+     * Otherwise, the elements are evaluated sequentially.
+     *
+     * @param n the number of elements required.
+     * @return this list.
+     */
+    public ChunkedLazyList<T> parallelMaterialize(long n) {
+        if (generator == null) {
+            ensure(n);
+            return this;
+        }
+        synchronized (this) {
+            long target = Math.min(n, limit), e = evaluated;
+            if (target <= e) return this;
+            int first = (int) (e >>> SHIFT), last = (int) ((target - 1) >>> SHIFT);
+            Object[][] cs = capacity(last);
+            IntStream.rangeClosed(first, last).parallel().forEach(c -> {
+                Object[] chunk = new Object[CHUNK];
+                source.fill(chunk, (long) c << SHIFT);
+                cs[c] = chunk;
+            });
+            // The chunks written by the workers are visible here (forEach happens-before its return);
+            // the volatile write of evaluated publishes them to other readers.
+            long end = Math.min(limit, (long) (last + 1) << SHIFT);
+            exhausted = end == limit;
+            evaluated = end;
+        }
+        return this;
+    }
+
+    /**
+     * @return the number of elements which have been evaluated (and memoized) so far.
+     */
+    public long evaluated() {
+        return evaluated;
+    }
+
+    /**
+     * @return true if this list is indexed (and so parallelMaterialize evaluates it in parallel).
+     */
+    public boolean isIndexed() {
+        return generator != null;
+    }
+
+    /**
+     * A Spliterator over the elements of this list, which evaluates them as required.
+     * If the size of this list is known (it is indexed and finite, or it has been evaluated completely),
+     * the Spliterator is SIZED and splits in halves; otherwise it splits off prefixes of increasing length.
+     *
+     * @return an ORDERED and IMMUTABLE Spliterator.
+     */
+    @NotNull
+    public Spliterator<T> spliterator() {
+        long size = knownSize();
+        return size >= 0 ? new Chunked(0, size, true) : new Chunked(0, Long.MAX_VALUE, false);
+    }
+
+    /**
+     * @return an Iterator over the elements of this list.
+     */
+    @NotNull
+    public Iterator<T> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    /**
+     * @return a sequential Stream of the elements of this list (which must be limited if this list is infinite).
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * @return a parallel Stream of the elements of this list (which must be limited if this list is infinite).
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Method to create an (infinite, sequential) list given a starting value and a function.
+     *
+     * @param start the starting value.
+     * @param next  the function to yield the next value.
+     * @param <T>   the underlying type.
+     * @return a new ChunkedLazyList.
+     */
+    public static <T> ChunkedLazyList<T> iterate(final T start, UnaryOperator<T> next) {
+        return new ChunkedLazyList<>(new Source<>() {
+            public int fill(Object[] chunk, long from) {
+                for (int k = 0; k < chunk.length; k++) chunk[k] = x = from + k == 0 ? start : next.apply(x);
+                return chunk.length;
+            }
+
+            private T x;
+        });
+    }
+
+    /**
+     * Method to create an infinite, indexed list whose i-th element is generator(i).
+     *
+     * @param generator a pure function of the index.
+     * @param <T>       the underlying type.
+     * @return a new ChunkedLazyList.
+     */
+    public static <T> ChunkedLazyList<T> tabulate(LongFunction<T> generator) {
+        return new ChunkedLazyList<>(generator, Long.MAX_VALUE);
+    }
+
+    /**
+     * Method to create a finite, indexed list whose i-th element is generator(i).
+     *
+     * @param size      the number of elements.
+     * @param generator a pure function of the index.
+     * @param <T>       the underlying type.
+     * @return a new ChunkedLazyList.
+     */
+    public static <T> ChunkedLazyList<T> tabulate(long size, LongFunction<T> generator) {
+        if (size < 0) throw new IllegalArgumentException("ChunkedLazyList:tabulate: negative size: " + size);
+        return new ChunkedLazyList<>(generator, size);
+    }
+
+    /**
+     * Method to create a sequential list of the elements yielded by an Iterator (which is consumed lazily).
+     *
+     * @param iterator an Iterator.
+     * @param <T>      the underlying type.
+     * @return a new ChunkedLazyList.
+     */
+    public static <T> ChunkedLazyList<T> from(Iterator<? extends T> iterator) {
+        return new ChunkedLazyList<>((chunk, start) -> {
+            int k = 0;
+            while (k < chunk.length && iterator.hasNext()) chunk[k++] = iterator.next();
+            return k;
+        });
+    }
+
+    /**
+     * Method to create an (infinite, indexed) list of Integers given a starting value and an increment.
+     *
+     * @param start the starting value.
+     * @param step  the increment.
+     * @return a new ChunkedLazyList.
+     */
+    public static ChunkedLazyList<Integer> from(final int start, int step) {
+        return tabulate(i -> start + (int) i * step);
+    }
+
+    /**
+     * Method to create an (infinite, indexed) list of Integers given a starting value.
+     *
+     * @param start the starting value.
+     * @return a new ChunkedLazyList.
+     */
+    public static ChunkedLazyList<Integer> from(final int start) {
+        return from(start, 1);
+    }
+
+    /**
+     * Constructor for a sequential list.
+     */
+    private ChunkedLazyList(Source<T> source) {
+        this.source = source;
+        this.generator = null;
+        this.limit = Long.MAX_VALUE;
+    }
+
+    /**
+     * Constructor for an indexed list.
+     */
+    private ChunkedLazyList(LongFunction<T> generator, long limit) {
+        this.source = (chunk, start) -> {
+            int k = (int) Math.min(chunk.length, limit - start);
+            for (int j = 0; j < k; j++) chunk[j] = generator.apply(start + j);
+            return k;
+        };
+        this.generator = generator;
+        this.limit = limit;
+    }
+
+    /**
+     * Ensure that the first n elements have been evaluated (or as many as there are).
+     *
+     * @return the number of elements (up to n) which are available.
+     */
+    private long ensure(long n) {
+        long e = evaluated;
+        if (n <= e) return n;
+        synchronized (this) {
+            while (evaluated < n && !exhausted) {
+                long start = evaluated;
+                int c = (int) (start >>> SHIFT);
+                Object[] chunk = new Object[CHUNK];
+                int k = source.fill(chunk, start);
+                capacity(c)[c] = chunk;
+                if (k < CHUNK) exhausted = true;
+                evaluated = start + k;
+            }
+            return Math.min(n, evaluated);
+        }
+    }
+
+    /**
+     * @return the number of elements if it is known, otherwise -1.
+     */
+    private long knownSize() {
+        if (generator != null && limit != Long.MAX_VALUE) return limit;
+        synchronized (this) {
+            return exhausted ? evaluated : -1;
+        }
+    }
+
+    /**
+     * @return the element at index i, which must already have been evaluated.
+     */
+    @SuppressWarnings("unchecked")
+    private T element(long i) {
+        return (T) chunks[(int) (i >>> SHIFT)][(int) i & MASK];
+    }
+
+    /**
+     * Ensure (while synchronized) that there is room for chunk c.
+     *
+     * @return the array of chunks.
+     */
+    private Object[][] capacity(int c) {
+        if (c >= chunks.length) chunks = Arrays.copyOf(chunks, Math.max(2 * chunks.length, c + 1));
+        return chunks;
+    }
+
+    /**
+     * A means of evaluating a chunk of elements.
+     */
+    private interface Source<T> {
+        /**
+         * Evaluate the elements beginning at index start into chunk.
+         *
+         * @return the number of elements evaluated: if less than chunk.length, there are no more elements.
+         */
+        int fill(Object[] chunk, long start);
+    }
+
+    /**
+     * A Spliterator over the elements from index i (inclusive) to index to (exclusive).
+     * If sized, all the elements in that range exist; otherwise to is merely an upper bound.
+     */
+    private final class Chunked implements Spliterator<T> {
+        Chunked(long i, long to, boolean sized) {
+            this.i = i;
+            this.to = to;
+            this.sized = sized;
+        }
+
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (i >= to || !isDefinedAt(i)) return false;
+            action.accept(element(i++));
+            return true;
+        }
+
+        public void forEachRemaining(Consumer<? super T> action) {
+            while (i < to) {
+                // Evaluate (at most) the rest of the current chunk, then consume it without further checks.
+                long end = ensure(Math.min(to, (i & ~(long) MASK) + CHUNK));
+                if (end <= i) return;
+                while (i < end) action.accept(element(i++));
+            }
+        }
+
+        public Spliterator<T> trySplit() {
+            long remaining = to - i;
+            if (sized) {
+                if (remaining < 2 * CHUNK) return null;
+                long middle = i + remaining / 2;
+                Chunked prefix = new Chunked(i, middle, true);
+                i = middle;
+                return prefix;
+            }
+            long n = Math.min(batch += CHUNK, remaining);
+            if (n < CHUNK) return null;
+            Chunked prefix = new Chunked(i, i + n, false);
+            i += n;
+            return prefix;
+        }
+
+        public long estimateSize() {
+            return to - i;
+        }
+
+        public int characteristics() {
+            return ORDERED | IMMUTABLE | (sized ? SIZED | SUBSIZED : 0);
+        }
+
+        private long i;
+        private final long to;
+        private final boolean sized;
+        private long batch = 0;
+    }
+
+    /**
+     * The base-2 logarithm of CHUNK.
+     */
+    private static final int SHIFT = 8;
+
+    /**
+     * The number of elements evaluated together.
+     */
+    static final int CHUNK = 1 << SHIFT;
+
+    private static final int MASK = CHUNK - 1;
+
+    private final Source<T> source;
+
+    /**
+     * The generator of an indexed list (otherwise null).
+     */
+    private final LongFunction<T> generator;
+
+    /**
+     * The size of an indexed list (Long.MAX_VALUE if it is infinite).
+     */
+    private final long limit;
+
+    /**
+     * The evaluated elements, CHUNK per array.
+     */
+    private Object[][] chunks = new Object[8][];
+
+    /**
+     * The number of elements evaluated so far: its (volatile) write publishes the chunks.
+     */
+    private volatile long evaluated = 0;
+
+    /**
+     * True once a sequential source (or a finite indexed list) has no more elements.
+     */
+    private boolean exhausted = false;
+}
@@ -0,0 +1,48 @@
+package com.phasmidsoftware.dsaipg.adt.bqs;
+
+/**
+ * A bag (multiset) of primitive ints, stored in chunks (see IntChunkedArray).
+ * <p>
+ * Unlike Bag_Array (and the Bag classes of the graph packages), add never copies the existing elements
+ * and nothing is boxed. The elements are visited by forEach in order of addition.
+ */
+public class IntBag extends IntChunkedArray {
+
+    /**
+     * Add x to this bag.
+     *
+     * @param x the value to add.
+     */
+    public void add(int x) {
+        append(x);
+    }
+
+    /**
+     * @param x a value.
+     * @return true if x is in this bag.
+     */
+    public boolean contains(int x) {
+        for (int i = 0; i < n; i++) if (super.get(i) == x) return true;
+        return false;
+    }
+
+    /**
+     * @param x a value.
+     * @return the number of times that x occurs in this bag.
+     */
+    public int multiplicity(int x) {
+        int result = 0;
+        for (int i = 0; i < n; i++) if (super.get(i) == x) result++;
+        return result;
+    }
+
+    /**
+     * @param i an index which is less than size().
+     * @return the i-th element to have been added.
+     * @throws IndexOutOfBoundsException if there is no such element.
+     */
+    public int get(int i) {
+        if (i < 0 || i >= n) throw new IndexOutOfBoundsException("IntBag: index " + i + " for size " + n);
+        return super.get(i);
+    }
+}
@@ -0,0 +1,116 @@
+package com.phasmidsoftware.dsaipg.adt.bqs;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Base class for growable sequences of primitive ints, stored in fixed-size chunks (CHUNK ints each).
+ * <p>
+ * Growth never copies any ints: it simply adds a chunk (occasionally doubling the small array of chunk references).
+ * Chunks are retained by clear, so that a collection which is cleared and reused
+ * performs no allocation at all once it has reached its working size.
+ * Nothing is boxed.
+ */
+abstract class IntChunkedArray {
+
+    /**
+     * @return true if there are no elements.
+     */
+    public boolean isEmpty() {
+        return n == 0;
+    }
+
+    /**
+     * @return the number of elements.
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * Remove all the elements, retaining the chunks for reuse.
+     */
+    public void clear() {
+        n = 0;
+    }
+
+    /**
+     * Pass each element, in order of addition, to action.
+     *
+     * @param action a consumer of ints.
+     */
+    public void forEach(IntConsumer action) {
+        for (int c = 0, remaining = n; remaining > 0; c++, remaining -= CHUNK) {
+            int[] chunk = chunks[c];
+            for (int j = 0, k = Math.min(CHUNK, remaining); j < k; j++) action.accept(chunk[j]);
+        }
+    }
+
+    /**
+     * @return a new array containing the elements, in order of addition.
+     */
+    public int[] toArray() {
+        int[] result = new int[n];
+        for (int c = 0, i = 0; i < n; c++, i += CHUNK)
+            System.arraycopy(chunks[c], 0, result, i, Math.min(CHUNK, n - i));
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + Arrays.toString(toArray());
+    }
+
+    /**
+     * Append x to the elements.
+     */
+    void append(int x) {
+        int c = n >>> SHIFT;
+        if (c == chunks.length) chunks = Arrays.copyOf(chunks, 2 * c);
+        int[] chunk = chunks[c];
+        if (chunk == null) chunk = chunks[c] = new int[CHUNK];
+        chunk[n++ & MASK] = x;
+    }
+
+    /**
+     * @return the element at index i (which must be less than n).
+     */
+    int get(int i) {
+        return chunks[i >>> SHIFT][i & MASK];
+    }
+
+    /**
+     * Remove and return the last element (there must be one).
+     */
+    int removeLast() {
+        return get(--n);
+    }
+
+    /**
+     * @return the number of chunks allocated so far (for testing).
+     */
+    int chunks() {
+        int result = 0;
+        for (int[] chunk : chunks) if (chunk != null) result++;
+        return result;
+    }
+
+    /**
+     * The base-2 logarithm of CHUNK.
+     */
+    static final int SHIFT = 10;
+
+    /**
+     * The number of ints in a chunk (4 KB).
+     */
+    static final int CHUNK = 1 << SHIFT;
+
+    static final int MASK = CHUNK - 1;
+
+    private int[][] chunks = new int[4][];
+
+    /**
+     * The number of elements.
+     */
+    int n = 0;
+}
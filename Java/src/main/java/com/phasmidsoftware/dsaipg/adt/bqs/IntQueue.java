@@ -0,0 +1,152 @@
+package com.phasmidsoftware.dsaipg.adt.bqs;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A FIFO queue of primitive ints, stored in a ring of fixed-size chunks (CHUNK ints each).
+ * <p>
+ * The number of chunks is a power of two, so that a position in the ring is found by shifting and masking.
+ * When the ring is full, it is doubled by rearranging the chunk references:
+ * at most one chunk's worth of ints is ever copied (never the whole queue).
+ * Chunks are retained by clear, so that a queue which is cleared and reused
+ * (for example, by a graph traversal which is run from many sources) performs no allocation at all.
+ * Nothing is boxed.
+ */
+public class IntQueue {
+
+    /**
+     * Add x to the end of this queue.
+     *
+     * @param x the value.
+     */
+    public void offer(int x) {
+        if (n == chunks.length << SHIFT) grow();
+        int i = (head + n++) & mask;
+        int[] chunk = chunks[i >>> SHIFT];
+        if (chunk == null) chunk = chunks[i >>> SHIFT] = new int[CHUNK];
+        chunk[i & MASK] = x;
+    }
+
+    /**
+     * Remove the value at the front of this queue.
+     *
+     * @return the value.
+     * @throws BQSException if this queue is empty.
+     */
+    public int poll() throws BQSException {
+        if (n == 0) throw new BQSException("IntQueue is empty");
+        int result = chunks[head >>> SHIFT][head & MASK];
+        head = (head + 1) & mask;
+        n--;
+        return result;
+    }
+
+    /**
+     * @return the value which would be polled next.
+     * @throws BQSException if this queue is empty.
+     */
+    public int peek() throws BQSException {
+        if (n == 0) throw new BQSException("IntQueue is empty");
+        return chunks[head >>> SHIFT][head & MASK];
+    }
+
+    /**
+     * @return true if this queue is empty.
+     */
+    public boolean isEmpty() {
+        return n == 0;
+    }
+
+    /**
+     * @return the number of values in this queue.
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * Remove all the values, retaining the chunks for reuse.
+     */
+    public void clear() {
+        head = 0;
+        n = 0;
+    }
+
+    /**
+     * Pass each value, from front to back, to action (without removing it).
+     *
+     * @param action a consumer of ints.
+     */
+    public void forEach(IntConsumer action) {
+        for (int k = 0; k < n; k++) {
+            int i = (head + k) & mask;
+            action.accept(chunks[i >>> SHIFT][i & MASK]);
+        }
+    }
+
+    /**
+     * @return a new array containing the values, from front to back.
+     */
+    public int[] toArray() {
+        int[] result = new int[n];
+        for (int k = 0; k < n; k++) {
+            int i = (head + k) & mask;
+            result[k] = chunks[i >>> SHIFT][i & MASK];
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "IntQueue" + Arrays.toString(toArray());
+    }
+
+    /**
+     * Double the ring (which is full). The chunk holding the head becomes chunk 0.
+     * If the head is not at the start of its chunk, then that chunk also holds the newest values (before the head):
+     * they are copied into a fresh chunk which follows the old ones.
+     */
+    private void grow() {
+        int c = chunks.length, h = head >>> SHIFT, offset = head & MASK;
+        int[][] result = new int[2 * c][];
+        for (int j = 0; j < c; j++) result[j] = chunks[(h + j) & (c - 1)];
+        if (offset > 0) {
+            result[c] = new int[CHUNK];
+            System.arraycopy(result[0], 0, result[c], 0, offset);
+        }
+        chunks = result;
+        head = offset;
+        mask = (2 * c << SHIFT) - 1;
+    }
+
+    /**
+     * @return the number of chunks allocated so far (for testing).
+     */
+    int chunks() {
+        int result = 0;
+        for (int[] chunk : chunks) if (chunk != null) result++;
+        return result;
+    }
+
+    private static final int SHIFT = IntChunkedArray.SHIFT;
+    private static final int CHUNK = IntChunkedArray.CHUNK;
+    private static final int MASK = IntChunkedArray.MASK;
+
+    private int[][] chunks = new int[1][];
+
+    /**
+     * The number of ints in the ring, less one.
+     */
+    private int mask = CHUNK - 1;
+
+    /**
+     * The position (in the ring) of the front of the queue.
+     */
+    private int head = 0;
+
+    /**
+     * The number of values in this queue.
+     */
+    private int n = 0;
+}
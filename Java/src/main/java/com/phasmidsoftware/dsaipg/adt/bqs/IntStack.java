@@ -0,0 +1,39 @@
+package com.phasmidsoftware.dsaipg.adt.bqs;
+
+/**
+ * A stack of primitive ints, stored in chunks (see IntChunkedArray).
+ * <p>
+ * Unlike Stack_LinkedList, which allocates a node for every push (and boxes the int),
+ * push allocates only when the stack grows into a new chunk; a stack which is cleared and reused allocates nothing.
+ */
+public class IntStack extends IntChunkedArray {
+
+    /**
+     * Push x onto this stack.
+     *
+     * @param x the value to push.
+     */
+    public void push(int x) {
+        append(x);
+    }
+
+    /**
+     * Pop the most recently pushed value.
+     *
+     * @return the value.
+     * @throws BQSException if this stack is empty.
+     */
+    public int pop() throws BQSException {
+        if (isEmpty()) throw new BQSException("IntStack is empty");
+        return removeLast();
+    }
+
+    /**
+     * @return the value which would be popped next.
+     * @throws BQSException if this stack is empty.
+     */
+    public int peek() throws BQSException {
+        if (isEmpty()) throw new BQSException("IntStack is empty");
+        return get(n - 1);
+    }
+}
@@ -8,10 +8,10 @@ import java.util.function.Supplier;
 
 /**
  * Class to demonstrate that it is possible to create a LazyList in Java.
- * NOTE: this does not represent a true lazy list in the sense of the Scala LazyList
- * because this LazyList does not memoize elements.
- *
- * TODO allow memoization of elements.
+ * The tail of each cell is memoized: tailFunction evaluates the tail at most once,
+ * so that traversing the same LazyList again does not re-evaluate it.
+ * NOTE: each element still costs a cell and a supplier: see ChunkedLazyList for a lazy sequence which evaluates
+ * (and memoizes) its elements in chunks and which interoperates with Java streams.
  *
  * @param <T> the underlying type of the lazy list.
  */
@@ -70,7 +70,7 @@ public class LazyList<T> {
      */
     public LazyList(T head, Supplier<LazyList<T>> tailFunction) {
         this.head = head;
-        this.tailFunction = tailFunction;
+        this.tailFunction = new Memo<>(tailFunction);
     }
 
     public final T head;
@@ -126,6 +126,26 @@ public class LazyList<T> {
         return from(start, 1);
     }
 
+    /**
+     * A Supplier which evaluates its underlying supplier at most once.
+     */
+    private static final class Memo<X> implements Supplier<X> {
+        Memo(Supplier<X> supplier) {
+            this.supplier = supplier;
+        }
+
+        public synchronized X get() {
+            if (supplier != null) {
+                value = supplier.get();
+                supplier = null; // release the closure (and whatever it captured)
+            }
+            return value;
+        }
+
+        private Supplier<X> supplier;
+        private X value;
+    }
+
 //    /**
 //     * Method to create a LazyList of Integers given a starting value.
 //     *
@@ -0,0 +1,180 @@
+package com.phasmidsoftware.dsaipg.adt.bqs;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Abstract base class for bounded, lock-free, array-backed queues (ring buffers) which may be shared between threads.
+ * <p>
+ * The capacity is a power of two so that a (64-bit, never-wrapping) sequence number is mapped to a slot by a mask.
+ * The head (next sequence to be polled) and the tail (next sequence to be offered) are kept in a single AtomicLongArray,
+ * PAD longs apart, so that each occupies its own cache line(s):
+ * otherwise, producers updating the tail and consumers updating the head would invalidate each other's cache lines
+ * ("false sharing") on every operation.
+ * <p>
+ * offer (required by Queue) waits (spinning) while the buffer is full; tryOffer fails instead.
+ * poll returns null if the buffer is empty (thus null items are not permitted).
+ * offerBatch and drainTo transfer many items while updating the shared counters only once.
+ * <p>
+ * NOTE: size, isEmpty and iterator are exact only when the queue is quiescent.
+ *
+ * @param <Item> the type of the items.
+ */
+public abstract class RingBuffer<Item> implements Queue<Item> {
+
+    /**
+     * Offer an item if there is room.
+     *
+     * @param item the item (not null).
+     * @return true if the item was added; false if the buffer was full.
+     */
+    public abstract boolean tryOffer(Item item);
+
+    /**
+     * Offer as many as possible of the items items[from] through items[to-1], in order, without waiting.
+     *
+     * @param items an array of items (none of which may be null).
+     * @param from  the index of the first item to offer.
+     * @param to    one more than the index of the last item to offer.
+     * @return the number of items actually added (the first of which is items[from]).
+     */
+    public abstract int offerBatch(Item[] items, int from, int to);
+
+    /**
+     * Poll up to max items, in order, passing each to sink, without waiting.
+     *
+     * @param sink a consumer of items.
+     * @param max  the maximum number of items to poll.
+     * @return the number of items actually polled.
+     */
+    public abstract int drainTo(Consumer<? super Item> sink, int max);
+
+    /**
+     * Update this Queue by adding an item, waiting (by spinning) while the buffer is full.
+     *
+     * @param item the item to add (not null).
+     */
+    public void offer(Item item) {
+        for (int spins = 0; !tryOffer(item); ) spins = backOff(spins);
+    }
+
+    /**
+     * Offer all the items, in order, waiting (by spinning) whenever the buffer is full.
+     *
+     * @param items an array of items (none of which may be null).
+     */
+    public void offerAll(Item[] items) {
+        int i = 0, spins = 0;
+        while ((i += offerBatch(items, i, items.length)) < items.length) spins = backOff(spins);
+    }
+
+    /**
+     * @return true if this queue is (or was, a moment ago) empty.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @return the number of items in this queue (approximate during concurrent updates).
+     */
+    public int size() {
+        long head = sequences.get(HEAD);
+        long tail = sequences.get(TAIL);
+        return (int) Math.max(0, Math.min(tail - head, capacity()));
+    }
+
+    /**
+     * @return the capacity of this ring buffer.
+     */
+    public int capacity() {
+        return buffer.length;
+    }
+
+    /**
+     * Iterate over a snapshot of the items, from oldest to newest.
+     * NOTE: this is only reliable when the queue is quiescent.
+     *
+     * @return an Iterator.
+     */
+    public Iterator<Item> iterator() {
+        List<Item> result = new ArrayList<>();
+        for (long s = sequences.get(HEAD), tail = sequences.get(TAIL); s < tail; s++) {
+            @SuppressWarnings("unchecked") Item item = (Item) buffer[(int) s & mask];
+            if (item != null) result.add(item);
+        }
+        return result.iterator();
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param capacity the capacity, which must be a power of two.
+     */
+    protected RingBuffer(int capacity) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1)
+            throw new IllegalArgumentException("RingBuffer: capacity must be a power of two: " + capacity);
+        this.buffer = new Object[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * @param item an item to be offered.
+     * @throws IllegalArgumentException if item is null.
+     */
+    protected static void validateItem(Object item) {
+        if (item == null) throw new IllegalArgumentException("RingBuffer: null items are not permitted");
+    }
+
+    /**
+     * Wait briefly before retrying: spin at first, but yield the processor once we have spun SPINS times
+     * (the thread we are waiting for may not be running, especially when there are more threads than processors).
+     *
+     * @param spins the number of times we have already waited.
+     * @return spins + 1.
+     */
+    protected static int backOff(int spins) {
+        if (spins < SPINS) Thread.onSpinWait();
+        else Thread.yield();
+        return spins + 1;
+    }
+
+    /**
+     * The number of times backOff spins before it starts to yield.
+     */
+    protected static final int SPINS = 100;
+
+    /**
+     * The number of longs between (and around) the padded counters: 16 longs is two cache lines,
+     * which also defeats the adjacent-line prefetcher.
+     */
+    protected static final int PAD = 16;
+
+    /**
+     * The index (in sequences) of the head: the sequence number of the next item to be polled.
+     */
+    protected static final int HEAD = PAD;
+
+    /**
+     * The index (in sequences) of the tail: the sequence number of the next item to be offered.
+     */
+    protected static final int TAIL = 2 * PAD;
+
+    /**
+     * The padded counters.
+     */
+    protected final AtomicLongArray sequences = new AtomicLongArray(3 * PAD);
+
+    /**
+     * The slots.
+     */
+    protected final Object[] buffer;
+
+    /**
+     * The capacity minus one.
+     */
+    protected final int mask;
+}
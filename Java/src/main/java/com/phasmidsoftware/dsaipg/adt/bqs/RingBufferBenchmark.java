@@ -0,0 +1,161 @@
+package com.phasmidsoftware.dsaipg.adt.bqs;
+
+import com.phasmidsoftware.dsaipg.util.benchmark.Benchmark;
+import com.phasmidsoftware.dsaipg.util.benchmark.Benchmark_Timer;
+import com.phasmidsoftware.dsaipg.util.config.Config;
+import com.phasmidsoftware.dsaipg.util.logging.LazyLogger;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static com.phasmidsoftware.dsaipg.util.general.Utilities.formatDecimal3Places;
+
+/**
+ * Throughput benchmark for the handoff of items from producer threads to consumer threads,
+ * comparing RingBuffer_SPSC and RingBuffer_MPMC (one item at a time and in batches)
+ * with java.util.concurrent.ArrayBlockingQueue.
+ * Each run transfers ITEMS items in total, shared equally among the producers (and the consumers).
+ * <p>
+ * Arguments (all optional): maximum number of producers (which is also the number of consumers); batch size.
+ * NOTE: the ring buffers spin when full or empty, so that there should be at least two processors per producer.
+ */
+public class RingBufferBenchmark {
+
+    /**
+     * Main program.
+     *
+     * @param args maximum number of producers (default: half the available processors, at least one), batch size (default 64).
+     * @throws IOException if the configuration cannot be loaded.
+     */
+    public static void main(String[] args) throws IOException {
+        logger.info("RingBufferBenchmark: with args: " + Arrays.toString(args));
+        int maxProducers = args.length > 0 ? Integer.parseInt(args[0]) : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        int batch = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        RingBufferBenchmark benchmark = new RingBufferBenchmark(Config.load(RingBufferBenchmark.class));
+        benchmark.report("SPSC ring buffer", 1, () -> new RingBuffer_SPSC<>(CAPACITY), 1);
+        benchmark.report("SPSC ring buffer (batched)", 1, () -> new RingBuffer_SPSC<>(CAPACITY), batch);
+        for (int producers = 1; producers <= maxProducers; producers *= 2) {
+            benchmark.report("MPMC ring buffer", producers, () -> new RingBuffer_MPMC<>(CAPACITY), 1);
+            benchmark.report("MPMC ring buffer (batched)", producers, () -> new RingBuffer_MPMC<>(CAPACITY), batch);
+            benchmark.reportBlockingQueue(producers);
+        }
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param config the configuration.
+     */
+    public RingBufferBenchmark(Config config) {
+        this.config = config;
+        for (int i = 0; i < VALUES.length; i++) VALUES[i] = i;
+    }
+
+    /**
+     * Method to benchmark a ring buffer shared by the given number of producers and the same number of consumers.
+     *
+     * @param description the description.
+     * @param producers   the number of producers (and consumers).
+     * @param supplier    a supplier of empty ring buffers.
+     * @param batch       the number of items per offerBatch/drainTo (1 for offer/poll).
+     * @return the mean time in milliseconds for each run.
+     */
+    double report(String description, int producers, Supplier<RingBuffer<Integer>> supplier, int batch) {
+        return report(description + " with " + producers + " producers and consumers" + (batch > 1 ? ", batch " + batch : ""), producers, executor -> {
+            RingBuffer<Integer> queue = supplier.get();
+            List<Callable<Object>> tasks = new ArrayList<>();
+            int perThread = ITEMS / producers;
+            for (int p = 0; p < producers; p++)
+                tasks.add(() -> {
+                    if (batch == 1) for (int i = 0; i < perThread; i++) queue.offer(VALUES[i & (VALUES.length - 1)]);
+                    else {
+                        Integer[] items = Arrays.copyOf(VALUES, batch);
+                        for (int i = 0; i < perThread; i += batch) {
+                            int n = Math.min(batch, perThread - i), sent = 0;
+                            while ((sent += queue.offerBatch(items, sent, n)) < n) Thread.onSpinWait();
+                        }
+                    }
+                    return null;
+                });
+            for (int c = 0; c < producers; c++)
+                tasks.add(() -> {
+                    long[] sum = new long[1];
+                    Consumer<Integer> sink = x -> sum[0] += x;
+                    int received = 0;
+                    while (received < perThread) {
+                        int n;
+                        if (batch == 1) {
+                            Integer x = queue.poll();
+                            if (x != null) sink.accept(x);
+                            n = x != null ? 1 : 0;
+                        } else n = queue.drainTo(sink, Math.min(batch, perThread - received));
+                        if (n > 0) received += n;
+                        else Thread.onSpinWait();
+                    }
+                    return sum[0];
+                });
+            invokeAll(executor, tasks);
+        });
+    }
+
+    /**
+     * Method to benchmark an ArrayBlockingQueue shared by the given number of producers and the same number of consumers.
+     *
+     * @param producers the number of producers (and consumers).
+     * @return the mean time in milliseconds for each run.
+     */
+    double reportBlockingQueue(int producers) {
+        return report("ArrayBlockingQueue with " + producers + " producers and consumers", producers, executor -> {
+            BlockingQueue<Integer> queue = new ArrayBlockingQueue<>(CAPACITY);
+            List<Callable<Object>> tasks = new ArrayList<>();
+            int perThread = ITEMS / producers;
+            for (int p = 0; p < producers; p++)
+                tasks.add(() -> {
+                    for (int i = 0; i < perThread; i++) queue.put(VALUES[i & (VALUES.length - 1)]);
+                    return null;
+                });
+            for (int c = 0; c < producers; c++)
+                tasks.add(() -> {
+                    long sum = 0;
+                    for (int i = 0; i < perThread; i++) sum += queue.take();
+                    return sum;
+                });
+            invokeAll(executor, tasks);
+        });
+    }
+
+    private double report(String description, int producers, Consumer<ExecutorService> run) {
+        ExecutorService executor = Executors.newFixedThreadPool(2 * producers);
+        try {
+            Benchmark<ExecutorService> benchmark = new Benchmark_Timer<>(description, config, run);
+            double millis = benchmark.runFromSupplier(() -> executor, RUNS);
+            logger.info(description + ": mean time: " + formatDecimal3Places(millis) + " mSec, throughput: " +
+                    formatDecimal3Places(ITEMS / millis / 1000) + " items/uSec");
+            return millis;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void invokeAll(ExecutorService executor, List<Callable<Object>> tasks) {
+        try {
+            for (Future<Object> future : executor.invokeAll(tasks)) future.get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException("RingBufferBenchmark: worker failed", e);
+        }
+    }
+
+    private static final int ITEMS = 10_000_000;
+    private static final int CAPACITY = 1 << 14;
+    private static final int RUNS = 10;
+    private static final Integer[] VALUES = new Integer[1024];
+
+    final static LazyLogger logger = new LazyLogger(RingBufferBenchmark.class);
+
+    private final Config config;
+}
@@ -0,0 +1,138 @@
+package com.phasmidsoftware.dsaipg.adt.bqs;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * A bounded, lock-free, multi-producer multi-consumer ring buffer (after Dmitry Vyukov's bounded MPMC queue).
+ * <p>
+ * Each slot has its own sequence number, which tells a producer when the slot is free for sequence s
+ * (its value is s) and a consumer when the slot has been filled for sequence s (its value is s+1).
+ * A producer claims sequence s by a compare-and-set on the tail, then writes the item and publishes it
+ * by a release store of the slot's sequence number; consumers do the converse with the head.
+ * Thus, producers contend only with producers, and consumers only with consumers.
+ * <p>
+ * offerBatch and drainTo claim a whole run of sequences with a single compare-and-set
+ * and then wait (briefly) for each slot of the run to be released by the thread which claimed it on the previous lap.
+ *
+ * @param <Item> the type of the items.
+ */
+public class RingBuffer_MPMC<Item> extends RingBuffer<Item> {
+
+    /**
+     * Offer an item if there is room.
+     *
+     * @param item the item (not null).
+     * @return true if the item was added; false if the buffer was full.
+     */
+    public boolean tryOffer(Item item) {
+        validateItem(item);
+        while (true) {
+            long tail = sequences.get(TAIL);
+            int index = (int) tail & mask;
+            long difference = slots.getAcquire(index) - tail;
+            if (difference == 0) {
+                if (sequences.compareAndSet(TAIL, tail, tail + 1)) {
+                    buffer[index] = item;
+                    slots.setRelease(index, tail + 1);
+                    return true;
+                }
+            } else if (difference < 0) return false;
+            // Otherwise, another producer has claimed this sequence: try again.
+        }
+    }
+
+    /**
+     * Offer as many as possible of the items items[from] through items[to-1], in order.
+     *
+     * @param items an array of items (none of which may be null).
+     * @param from  the index of the first item to offer.
+     * @param to    one more than the index of the last item to offer.
+     * @return the number of items actually added.
+     */
+    public int offerBatch(Item[] items, int from, int to) {
+        for (int i = from; i < to; i++) validateItem(items[i]);
+        long tail;
+        int n;
+        do {
+            tail = sequences.get(TAIL);
+            n = (int) Math.min(to - from, buffer.length - (tail - sequences.get(HEAD)));
+            if (n <= 0) return 0;
+        } while (!sequences.compareAndSet(TAIL, tail, tail + n));
+        for (int i = 0; i < n; i++) {
+            long s = tail + i;
+            int index = (int) s & mask;
+            // The consumer of sequence s - capacity has already claimed it (we saw the head beyond it) but may not yet have released the slot.
+            for (int spins = 0; slots.getAcquire(index) != s; ) spins = backOff(spins);
+            buffer[index] = items[from + i];
+            slots.setRelease(index, s + 1);
+        }
+        return n;
+    }
+
+    /**
+     * Update this Queue by taking the oldest item.
+     *
+     * @return the item or null if the buffer is empty.
+     */
+    public Item poll() {
+        while (true) {
+            long head = sequences.get(HEAD);
+            int index = (int) head & mask;
+            long difference = slots.getAcquire(index) - (head + 1);
+            if (difference == 0) {
+                if (sequences.compareAndSet(HEAD, head, head + 1)) {
+                    @SuppressWarnings("unchecked") Item result = (Item) buffer[index];
+                    buffer[index] = null;
+                    slots.setRelease(index, head + buffer.length);
+                    return result;
+                }
+            } else if (difference < 0) return null;
+            // Otherwise, another consumer has claimed this sequence: try again.
+        }
+    }
+
+    /**
+     * Poll up to max items, passing each to sink.
+     *
+     * @param sink a consumer of items.
+     * @param max  the maximum number of items to poll.
+     * @return the number of items actually polled.
+     */
+    public int drainTo(Consumer<? super Item> sink, int max) {
+        long head;
+        int n;
+        do {
+            head = sequences.get(HEAD);
+            n = (int) Math.min(max, sequences.get(TAIL) - head);
+            if (n <= 0) return 0;
+        } while (!sequences.compareAndSet(HEAD, head, head + n));
+        for (int i = 0; i < n; i++) {
+            long s = head + i;
+            int index = (int) s & mask;
+            // The producer of sequence s has already claimed it (we saw the tail beyond it) but may not yet have published the item.
+            for (int spins = 0; slots.getAcquire(index) != s + 1; ) spins = backOff(spins);
+            @SuppressWarnings("unchecked") Item item = (Item) buffer[index];
+            buffer[index] = null;
+            slots.setRelease(index, s + buffer.length);
+            sink.accept(item);
+        }
+        return n;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param capacity the capacity, which must be a power of two.
+     */
+    public RingBuffer_MPMC(int capacity) {
+        super(capacity);
+        this.slots = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) slots.set(i, i);
+    }
+
+    /**
+     * The sequence number of each slot.
+     */
+    private final AtomicLongArray slots;
+}
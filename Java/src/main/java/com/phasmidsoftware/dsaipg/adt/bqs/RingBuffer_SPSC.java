@@ -0,0 +1,116 @@
+package com.phasmidsoftware.dsaipg.adt.bqs;
+
+import java.util.function.Consumer;
+
+/**
+ * A bounded, lock-free, single-producer single-consumer ring buffer.
+ * <p>
+ * Since only the producer writes the tail and only the consumer writes the head, neither needs a compare-and-set:
+ * each side publishes its progress with a release store and observes the other side's progress with an acquire load.
+ * Moreover, each side keeps a private (and padded) cached copy of the other side's counter,
+ * which it refreshes only when the buffer appears to be full (or empty):
+ * thus, in the steady state, the producer and consumer touch each other's cache lines only once per lap.
+ * <p>
+ * At most one thread may offer and at most one thread may poll at any time.
+ *
+ * @param <Item> the type of the items.
+ */
+public class RingBuffer_SPSC<Item> extends RingBuffer<Item> {
+
+    /**
+     * Offer an item if there is room (producer only).
+     *
+     * @param item the item (not null).
+     * @return true if the item was added; false if the buffer was full.
+     */
+    public boolean tryOffer(Item item) {
+        validateItem(item);
+        long tail = sequences.getPlain(TAIL);
+        if (tail - caches[HEAD] >= buffer.length) {
+            caches[HEAD] = sequences.getAcquire(HEAD);
+            if (tail - caches[HEAD] >= buffer.length) return false;
+        }
+        buffer[(int) tail & mask] = item;
+        sequences.setRelease(TAIL, tail + 1);
+        return true;
+    }
+
+    /**
+     * Offer as many as possible of the items items[from] through items[to-1] (producer only).
+     *
+     * @param items an array of items (none of which may be null).
+     * @param from  the index of the first item to offer.
+     * @param to    one more than the index of the last item to offer.
+     * @return the number of items actually added.
+     */
+    public int offerBatch(Item[] items, int from, int to) {
+        long tail = sequences.getPlain(TAIL);
+        int free = (int) (buffer.length - (tail - caches[HEAD]));
+        if (free < to - from) {
+            caches[HEAD] = sequences.getAcquire(HEAD);
+            free = (int) (buffer.length - (tail - caches[HEAD]));
+        }
+        int n = Math.min(free, to - from);
+        for (int i = 0; i < n; i++) {
+            Item item = items[from + i];
+            validateItem(item);
+            buffer[(int) (tail + i) & mask] = item;
+        }
+        if (n > 0) sequences.setRelease(TAIL, tail + n);
+        return n;
+    }
+
+    /**
+     * Update this Queue by taking the oldest item (consumer only).
+     *
+     * @return the item or null if the buffer is empty.
+     */
+    public Item poll() {
+        long head = sequences.getPlain(HEAD);
+        if (head >= caches[TAIL]) {
+            caches[TAIL] = sequences.getAcquire(TAIL);
+            if (head >= caches[TAIL]) return null;
+        }
+        int index = (int) head & mask;
+        @SuppressWarnings("unchecked") Item result = (Item) buffer[index];
+        buffer[index] = null;
+        sequences.setRelease(HEAD, head + 1);
+        return result;
+    }
+
+    /**
+     * Poll up to max items, passing each to sink (consumer only).
+     *
+     * @param sink a consumer of items.
+     * @param max  the maximum number of items to poll.
+     * @return the number of items actually polled.
+     */
+    public int drainTo(Consumer<? super Item> sink, int max) {
+        long head = sequences.getPlain(HEAD);
+        if (head + max > caches[TAIL]) caches[TAIL] = sequences.getAcquire(TAIL);
+        int n = (int) Math.min(max, caches[TAIL] - head);
+        for (int i = 0; i < n; i++) {
+            int index = (int) (head + i) & mask;
+            @SuppressWarnings("unchecked") Item item = (Item) buffer[index];
+            buffer[index] = null;
+            sink.accept(item);
+        }
+        if (n > 0) sequences.setRelease(HEAD, head + n);
+        return n;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param capacity the capacity, which must be a power of two.
+     */
+    public RingBuffer_SPSC(int capacity) {
+        super(capacity);
+    }
+
+    /**
+     * Private caches of the other side's counter: caches[HEAD] is the producer's view of the head;
+     * caches[TAIL] is the consumer's view of the tail. They are padded like the counters themselves.
+     */
+    private final long[] caches = new long[3 * PAD];
+}
@@ -0,0 +1,446 @@
+package com.phasmidsoftware.dsaipg.adt.pq;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
+
+/**
+ * An indexed minimum priority queue of keys (typically vertices) with primitive double priorities,
+ * supporting decreaseKey, increaseKey and delete in O(log n) time.
+ * <p/>
+ * This generalizes graphs.dijkstra.IndexMinPQ (whose keys must be the ints 0 through n-1) to keys of any type:
+ * each key is given a slot when it is inserted, and its slot records its position in the heap,
+ * so that a key's priority can be changed (and the key then sifted up or down) without searching for it.
+ * The slot of a key is found either in a handle map (a HashMap, for arbitrary keys)
+ * or, if the keys can be numbered 0 through n-1, by a numbering function (which avoids the map altogether).
+ * Slots released by delMin and delete are reused.
+ * <p/>
+ * The heap is d-ary (d must be a power of two): a 4-ary heap is usually the best choice for Dijkstra's algorithm
+ * and for Prim's algorithm, where decreaseKey (swim) is much more frequent than delMin (sink).
+ * The priorities are kept in a double array indexed by heap position, so that comparisons never dereference a key.
+ *
+ * @param <K> the type of the keys.
+ */
+public class IndexedPriorityQueue<K> {
+
+    /**
+     * @return true if this priority queue is empty.
+     */
+    public boolean isEmpty() {
+        return n == 0;
+    }
+
+    /**
+     * @return the number of keys in this priority queue.
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * @param key a key.
+     * @return true if key is in this priority queue.
+     */
+    public boolean contains(K key) {
+        return slotOf(key) >= 0;
+    }
+
+    /**
+     * Insert a key with the given priority.
+     *
+     * @param key      the key.
+     * @param priority its priority.
+     * @throws IllegalArgumentException if key is already in this priority queue.
+     */
+    public void insert(K key, double priority) {
+        if (contains(key))
+            throw new IllegalArgumentException("IndexedPriorityQueue:insert: key is already in the priority queue: " + key);
+        int slot = allocate(key);
+        if (n == heap.length) {
+            heap = Arrays.copyOf(heap, 2 * n);
+            priorities = Arrays.copyOf(priorities, 2 * n);
+        }
+        swim(n++, slot, priority);
+    }
+
+    /**
+     * Insert key with the given priority if it is not already present;
+     * otherwise, if priority is lower than its current priority, decrease its priority.
+     * This is the operation required by the relaxation step of Dijkstra's algorithm and of (eager) Prim's algorithm.
+     *
+     * @param key      the key.
+     * @param priority its (new) priority.
+     * @return true if the priority queue changed.
+     */
+    public boolean insertOrDecrease(K key, double priority) {
+        int slot = slotOf(key);
+        if (slot < 0) {
+            insert(key, priority);
+            return true;
+        }
+        int i = position[slot];
+        if (priority >= priorities[i]) return false;
+        swim(i, slot, priority);
+        return true;
+    }
+
+    /**
+     * Insert the key numbered number with the given priority if it is not already present;
+     * otherwise, if priority is lower than its current priority, decrease its priority.
+     * This is insertOrDecrease for a priority queue whose keys are numbered, without boxing (or recording) the key:
+     * it is intended for graphs whose vertices are ints (for example, CSRGraph).
+     * Keys inserted by this method should be removed by delMinNumber.
+     *
+     * @param number   the number of the key (between 0 and n-1).
+     * @param priority its (new) priority.
+     * @return true if the priority queue changed.
+     * @throws IllegalStateException if the keys of this priority queue are not numbered.
+     */
+    public boolean insertOrDecreaseNumber(int number, double priority) {
+        if (index == null) throw new IllegalStateException("IndexedPriorityQueue:insertOrDecreaseNumber: keys are not numbered");
+        if (number < 0 || number >= position.length)
+            throw new IllegalArgumentException("IndexedPriorityQueue: number " + number + " is not between 0 and " + (position.length - 1));
+        if (position[number] == ABSENT) {
+            swim(n++, number, priority);
+            return true;
+        }
+        int i = position[number];
+        if (priority >= priorities[i]) return false;
+        swim(i, number, priority);
+        return true;
+    }
+
+    /**
+     * Remove a key with the minimum priority from a priority queue whose keys are numbered.
+     *
+     * @return the number of the key.
+     * @throws NoSuchElementException if this priority queue is empty.
+     * @throws IllegalStateException  if the keys of this priority queue are not numbered.
+     */
+    public int delMinNumber() {
+        if (index == null) throw new IllegalStateException("IndexedPriorityQueue:delMinNumber: keys are not numbered");
+        if (n == 0) throw new NoSuchElementException("IndexedPriorityQueue: priority queue underflow");
+        int result = heap[0];
+        removeAt(0);
+        return result;
+    }
+
+    /**
+     * @return a key with the minimum priority.
+     * @throws NoSuchElementException if this priority queue is empty.
+     */
+    public K minKey() {
+        if (n == 0) throw new NoSuchElementException("IndexedPriorityQueue: priority queue underflow");
+        return keyAt(heap[0]);
+    }
+
+    /**
+     * @return the minimum priority.
+     * @throws NoSuchElementException if this priority queue is empty.
+     */
+    public double minPriority() {
+        if (n == 0) throw new NoSuchElementException("IndexedPriorityQueue: priority queue underflow");
+        return priorities[0];
+    }
+
+    /**
+     * Remove a key with the minimum priority.
+     *
+     * @return the key.
+     * @throws NoSuchElementException if this priority queue is empty.
+     */
+    public K delMin() {
+        K result = minKey();
+        removeAt(0);
+        return result;
+    }
+
+    /**
+     * @param key a key in this priority queue.
+     * @return the priority of key.
+     * @throws NoSuchElementException if key is not in this priority queue.
+     */
+    public double priorityOf(K key) {
+        return priorities[position[validSlot(key)]];
+    }
+
+    /**
+     * Change the priority of key (in either direction).
+     *
+     * @param key      a key in this priority queue.
+     * @param priority its new priority.
+     * @throws NoSuchElementException if key is not in this priority queue.
+     */
+    public void changeKey(K key, double priority) {
+        int slot = validSlot(key);
+        int i = position[slot];
+        if (priority < priorities[i]) swim(i, slot, priority);
+        else sink(i, slot, priority);
+    }
+
+    /**
+     * Decrease the priority of key.
+     *
+     * @param key      a key in this priority queue.
+     * @param priority its new priority, which must be less than its current priority.
+     * @throws NoSuchElementException   if key is not in this priority queue.
+     * @throws IllegalArgumentException if priority is not less than the current priority of key.
+     */
+    public void decreaseKey(K key, double priority) {
+        int slot = validSlot(key);
+        int i = position[slot];
+        if (priority >= priorities[i])
+            throw new IllegalArgumentException("IndexedPriorityQueue:decreaseKey: priority " + priority + " is not less than " + priorities[i]);
+        swim(i, slot, priority);
+    }
+
+    /**
+     * Increase the priority of key.
+     *
+     * @param key      a key in this priority queue.
+     * @param priority its new priority, which must be greater than its current priority.
+     * @throws NoSuchElementException   if key is not in this priority queue.
+     * @throws IllegalArgumentException if priority is not greater than the current priority of key.
+     */
+    public void increaseKey(K key, double priority) {
+        int slot = validSlot(key);
+        int i = position[slot];
+        if (priority <= priorities[i])
+            throw new IllegalArgumentException("IndexedPriorityQueue:increaseKey: priority " + priority + " is not greater than " + priorities[i]);
+        sink(i, slot, priority);
+    }
+
+    /**
+     * Remove key from this priority queue.
+     *
+     * @param key a key in this priority queue.
+     * @throws NoSuchElementException if key is not in this priority queue.
+     */
+    public void delete(K key) {
+        removeAt(position[validSlot(key)]);
+    }
+
+    /**
+     * Remove all the keys, retaining the arrays (and the handle map) for reuse.
+     */
+    public void clear() {
+        for (int i = 0; i < n; i++) release(heap[i]);
+        n = 0;
+    }
+
+    /**
+     * @return the arity (d) of the heap.
+     */
+    public int getArity() {
+        return 1 << shift;
+    }
+
+    /**
+     * Constructor for arbitrary keys, whose slots are found in a handle map.
+     *
+     * @param d the arity of the heap (must be a power of two, for example 2, 4 or 8).
+     */
+    public IndexedPriorityQueue(int d) {
+        this(d, INITIAL_CAPACITY, null, new HashMap<>());
+    }
+
+    /**
+     * Constructor for arbitrary keys, with a 4-ary heap.
+     */
+    public IndexedPriorityQueue() {
+        this(4);
+    }
+
+    /**
+     * Constructor for keys which can be numbered 0 through n-1 (for example, the vertices of a graph):
+     * the number of a key is its slot, so no handle map is required.
+     *
+     * @param d     the arity of the heap (must be a power of two, for example 2, 4 or 8).
+     * @param n     the number of possible keys.
+     * @param index a function which yields the number (0 through n-1) of a key.
+     */
+    public IndexedPriorityQueue(int d, int n, ToIntFunction<K> index) {
+        this(d, Math.max(n, 1), index, null);
+        Arrays.fill(position, ABSENT);
+    }
+
+    private IndexedPriorityQueue(int d, int capacity, ToIntFunction<K> index, Map<K, Integer> handles) {
+        this.shift = PriorityQueue_DaryHeap.log2Arity(d);
+        this.index = index;
+        this.handles = handles;
+        this.heap = new int[capacity];
+        this.priorities = new double[capacity];
+        this.position = new int[capacity];
+        this.keys = new Object[capacity];
+    }
+
+    /**
+     * @return the slot of key, or -1 if it is not in this priority queue.
+     */
+    private int slotOf(K key) {
+        if (index != null) {
+            int slot = index.applyAsInt(key);
+            if (slot < 0 || slot >= position.length)
+                throw new IllegalArgumentException("IndexedPriorityQueue: key " + key + " has number " + slot + " which is not between 0 and " + (position.length - 1));
+            return position[slot] == ABSENT ? -1 : slot;
+        }
+        Integer slot = handles.get(key);
+        return slot == null ? -1 : slot;
+    }
+
+    private int validSlot(K key) {
+        int slot = slotOf(key);
+        if (slot < 0) throw new NoSuchElementException("IndexedPriorityQueue: key is not in the priority queue: " + key);
+        return slot;
+    }
+
+    /**
+     * Allocate a slot for key (which is not in this priority queue).
+     */
+    private int allocate(K key) {
+        int slot;
+        if (index != null) slot = index.applyAsInt(key);
+        else {
+            if (free > 0) slot = freeSlots[--free];
+            else {
+                slot = slots++;
+                if (slot == keys.length) {
+                    keys = Arrays.copyOf(keys, 2 * slot);
+                    position = Arrays.copyOf(position, 2 * slot);
+                }
+            }
+            handles.put(key, slot);
+        }
+        keys[slot] = key;
+        return slot;
+    }
+
+    /**
+     * Release the slot of a key which has been removed from the heap.
+     */
+    private void release(int slot) {
+        if (index != null) position[slot] = ABSENT;
+        else {
+            handles.remove(keyAt(slot));
+            if (free == freeSlots.length) freeSlots = Arrays.copyOf(freeSlots, Math.max(4, 2 * free));
+            freeSlots[free++] = slot;
+        }
+        keys[slot] = null;
+    }
+
+    /**
+     * Remove the element at heap position i.
+     */
+    private void removeAt(int i) {
+        int slot = heap[i];
+        int last = --n;
+        if (i != last) {
+            int lastSlot = heap[last];
+            double p = priorities[last];
+            if (p < priorities[i]) swim(i, lastSlot, p);
+            else sink(i, lastSlot, p);
+        }
+        release(slot);
+    }
+
+    /**
+     * Swim the element (slot, priority) up from the hole at heap position i.
+     */
+    private void swim(int i, int slot, double priority) {
+        while (i > 0) {
+            int parent = (i - 1) >> shift;
+            if (priorities[parent] <= priority) break;
+            place(i, heap[parent], priorities[parent]);
+            i = parent;
+        }
+        place(i, slot, priority);
+    }
+
+    /**
+     * Sink the element (slot, priority) down from the hole at heap position i.
+     */
+    private void sink(int i, int slot, double priority) {
+        while (true) {
+            int first = (i << shift) + 1;
+            if (first >= n) break;
+            int best = first;
+            for (int j = first + 1, last = Math.min(first + (1 << shift), n); j < last; j++)
+                if (priorities[j] < priorities[best]) best = j;
+            if (priorities[best] >= priority) break;
+            place(i, heap[best], priorities[best]);
+            i = best;
+        }
+        place(i, slot, priority);
+    }
+
+    private void place(int i, int slot, double priority) {
+        heap[i] = slot;
+        priorities[i] = priority;
+        position[slot] = i;
+    }
+
+    @SuppressWarnings("unchecked")
+    private K keyAt(int slot) {
+        return (K) keys[slot];
+    }
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The position of a slot whose key is absent (used only when the keys are numbered).
+     */
+    private static final int ABSENT = -1;
+
+    /**
+     * The base-2 logarithm of the arity.
+     */
+    private final int shift;
+
+    /**
+     * The numbering function of the keys (or null if there is a handle map).
+     */
+    private final ToIntFunction<K> index;
+
+    /**
+     * The handle map from key to slot (or null if the keys are numbered).
+     */
+    private final Map<K, Integer> handles;
+
+    /**
+     * The heap: the slot of the element at each position.
+     */
+    private int[] heap;
+
+    /**
+     * The priority of the element at each heap position.
+     */
+    private double[] priorities;
+
+    /**
+     * The heap position of each slot.
+     */
+    private int[] position;
+
+    /**
+     * The key of each slot.
+     */
+    private Object[] keys;
+
+    /**
+     * The slots released (for reuse), when there is a handle map.
+     */
+    private int[] freeSlots = new int[0];
+    private int free = 0;
+
+    /**
+     * The number of slots ever allocated, when there is a handle map.
+     */
+    private int slots = 0;
+
+    /**
+     * The number of elements in the heap.
+     */
+    private int n = 0;
+}
@@ -0,0 +1,127 @@
+package com.phasmidsoftware.dsaipg.adt.pq;
+
+import java.util.Arrays;
+
+/**
+ * A priority queue of primitive longs, implemented as a d-ary heap (see PriorityQueue_DaryHeap for the layout).
+ * <p/>
+ * Because the keys are primitives, there is neither boxing nor a Comparator: each comparison is a single instruction
+ * and the keys of sibling nodes are packed 8 to a 64-byte cache line.
+ * Unlike PriorityQueue_DaryHeap, this priority queue grows when it is full (it never discards an element).
+ * <p/>
+ * It can serve as a minPQ or a maxPQ (define "max" as either false or true, respectively).
+ */
+public class LongPriorityQueue extends PrimitiveDaryHeap {
+
+    /**
+     * Add a key to this priority queue, growing it if necessary.
+     *
+     * @param key the key.
+     */
+    public void give(long key) {
+        if (root + m == heap.length) heap = Arrays.copyOf(heap, length(2 * m));
+        swimUp(root + m++, key);
+    }
+
+    /**
+     * Remove the highest-priority key from this priority queue.
+     *
+     * @return the maximum key if max is true, otherwise the minimum key.
+     * @throws PQException if this priority queue is empty.
+     */
+    public long take() throws PQException {
+        if (isEmpty()) throw new PQException("Priority queue is empty");
+        long result = heap[root];
+        long last = heap[root + --m];
+        if (m > 0)
+            if (floyd) snake(root, last);
+            else sink(root, last);
+        return result;
+    }
+
+    /**
+     * Get the highest-priority key without removing it.
+     *
+     * @return the maximum key if max is true, otherwise the minimum key.
+     * @throws PQException if this priority queue is empty.
+     */
+    public long peek() throws PQException {
+        if (isEmpty()) throw new PQException("Priority queue is empty");
+        return heap[root];
+    }
+
+    /**
+     * Primary constructor.
+     *
+     * @param capacity the initial capacity.
+     * @param d        the arity of the heap (must be a power of two, for example 2, 4 or 8).
+     * @param max      true for a max-priority queue; false for a min-priority queue.
+     * @param floyd    true if we use Floyd's trick (aka snake) for take.
+     */
+    public LongPriorityQueue(int capacity, int d, boolean max, boolean floyd) {
+        super(d, max, floyd);
+        this.heap = new long[length(capacity)];
+    }
+
+    /**
+     * Constructor which builds a heap from the given keys, using the O(n) heap construction method.
+     * Floyd's trick is used for take.
+     *
+     * @param keys the keys (which are copied).
+     * @param d    the arity of the heap (must be a power of two).
+     * @param max  true for a max-priority queue; false for a min-priority queue.
+     */
+    public LongPriorityQueue(long[] keys, int d, boolean max) {
+        this(keys.length, d, max, true);
+        System.arraycopy(keys, 0, heap, root, keys.length);
+        m = keys.length;
+        if (m > 1) for (int i = parent(root + m - 1); i >= root; i--) sink(i, heap[i]);
+    }
+
+    private void sink(int i, long x) {
+        int last = root + m - 1;
+        while (true) {
+            int c = firstChild(i);
+            if (c > last) break;
+            int best = bestChild(c, lastChild(c));
+            if (!before(heap[best], x)) break;
+            heap[i] = heap[best];
+            i = best;
+        }
+        heap[i] = x;
+    }
+
+    private void snake(int i, long x) {
+        int last = root + m - 1;
+        while (true) {
+            int c = firstChild(i);
+            if (c > last) break;
+            int best = bestChild(c, lastChild(c));
+            heap[i] = heap[best];
+            i = best;
+        }
+        swimUp(i, x);
+    }
+
+    private void swimUp(int i, long x) {
+        while (i > root) {
+            int p = parent(i);
+            if (!before(x, heap[p])) break;
+            heap[i] = heap[p];
+            i = p;
+        }
+        heap[i] = x;
+    }
+
+    private int bestChild(int from, int to) {
+        int result = from;
+        for (int j = from + 1; j <= to; j++) if (before(heap[j], heap[result])) result = j;
+        return result;
+    }
+
+    private boolean before(long x, long y) {
+        return max ? x > y : x < y;
+    }
+
+    private long[] heap;
+}
@@ -0,0 +1,94 @@
+package com.phasmidsoftware.dsaipg.adt.pq;
+
+/**
+ * The state and index arithmetic which are shared by the d-ary heaps of primitive keys (IntPriorityQueue and
+ * LongPriorityQueue): the layout is that of PriorityQueue_DaryHeap, with the root at index d-1.
+ * <p/>
+ * The array of keys, and the loops which move them (sink, snake and swim), belong to the subclasses,
+ * since Java generics cannot range over primitive types.
+ */
+abstract class PrimitiveDaryHeap {
+
+    /**
+     * @return true if the current size is zero.
+     */
+    public boolean isEmpty() {
+        return m == 0;
+    }
+
+    /**
+     * @return the number of keys in this priority queue.
+     */
+    public int size() {
+        return m;
+    }
+
+    /**
+     * Remove all keys (the storage is retained).
+     */
+    public void clear() {
+        m = 0;
+    }
+
+    /**
+     * @return true if this is a max-priority queue.
+     */
+    public boolean getMax() {
+        return max;
+    }
+
+    /**
+     * @return the arity (d) of the heap.
+     */
+    public int getArity() {
+        return 1 << shift;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param d     the arity of the heap (must be a power of two, for example 2, 4 or 8).
+     * @param max   true for a max-priority queue; false for a min-priority queue.
+     * @param floyd true if we use Floyd's trick (aka snake) for take.
+     */
+    PrimitiveDaryHeap(int d, boolean max, boolean floyd) {
+        this.shift = PriorityQueue_DaryHeap.log2Arity(d);
+        this.root = d - 1;
+        this.max = max;
+        this.floyd = floyd;
+    }
+
+    /**
+     * Get the length of the array required to hold (at least) the given number of keys.
+     */
+    int length(int capacity) {
+        return root + Math.max(capacity, 1);
+    }
+
+    /**
+     * Get the index of the parent of the key at index i (which must not be the root).
+     */
+    int parent(int i) {
+        return ((i - root - 1) >> shift) + root;
+    }
+
+    /**
+     * Get the index of the first child of the key at index i: it is always a multiple of d.
+     */
+    int firstChild(int i) {
+        return (i - root + 1) << shift;
+    }
+
+    /**
+     * Get the index of the last child of a node whose first child is at index c.
+     */
+    int lastChild(int c) {
+        return Math.min(c + (1 << shift) - 1, root + m - 1);
+    }
+
+    final int shift;
+    final int root;
+    final boolean max;
+    final boolean floyd;
+    int m = 0;
+}
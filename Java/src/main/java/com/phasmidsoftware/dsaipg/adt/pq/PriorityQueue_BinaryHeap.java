@@ -3,8 +3,7 @@ package com.phasmidsoftware.dsaipg.adt.pq;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
-import java.util.function.BiPredicate;
-import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 
 /**
  * Priority Queue Data Structure which uses a binary heap.
@@ -72,7 +71,7 @@ public class PriorityQueue_BinaryHeap<K> implements PriorityQueue<K>, Iterable<K
      * @param f a consumer function that manipulates the root index to maintain the heap order.
      * @return the root element of the priority queue before reorganization.
      */
-    K doTake(Consumer<Integer> f) {
+    K doTake(IntConsumer f) {
         K result = binHeap[first]; // get the root element (the largest or smallest, according to field max)
         swap(first, m-- + first - 1); // swap the root element with the last element
         f.accept(first); // invoke the function f so that it is ordered again
@@ -93,7 +92,7 @@ public class PriorityQueue_BinaryHeap<K> implements PriorityQueue<K>, Iterable<K
      * @param k the starting index of the element in the heap to be adjusted.
      */
     void snake(@SuppressWarnings("SameParameterValue") int k) {
-        swimUp(doHeapify(k, (a, b) -> false));
+        swimUp(doHeapify(k, false));
     }
 
     /**
@@ -245,19 +244,18 @@ public class PriorityQueue_BinaryHeap<K> implements PriorityQueue<K>, Iterable<K
      *
      * @param k the starting index of the element in the heap that needs to be adjusted.
      *          That's to say, the root of the sub-heap.
-     * @param p a predicate that determines the heap condition to be satisfied.
-     *          It takes two indices (parent and child) and returns true if the parent satisfies the heap property relative to the child.
-     *          When the predicate is satisfied, we break out of the loop.
+     * @param stop if true, we break out of the loop as soon as the parent satisfies the heap property relative to its larger child;
+     *             if false (Floyd's trick), the element is taken all the way down to the bottom of the heap.
      * @return the final position of the element originally at index k after reorganization.
      */
-    private int doHeapify(int k, BiPredicate<Integer, Integer> p) {
+    private int doHeapify(int k, boolean stop) {
         int i = k;
         while (true) {
             int firstChild = firstChild(i);
             if (!(firstChild <= m + first - 1)) break;
             int j = firstChild;
             if (j < m + first - 1 && inverted(j, j + 1)) j++;
-            if (p.test(i, j)) break;
+            if (stop && !inverted(i, j)) break;
             swap(i, j);
             i = j;
         }
@@ -274,7 +272,7 @@ public class PriorityQueue_BinaryHeap<K> implements PriorityQueue<K>, Iterable<K
      * @return the final position of the element originally at index k after reorganization.
      */
     private int doHeapifyStandard(int k) {
-        return doHeapify(k, (a, b) -> !inverted(a, b));
+        return doHeapify(k, true);
     }
 
     /**
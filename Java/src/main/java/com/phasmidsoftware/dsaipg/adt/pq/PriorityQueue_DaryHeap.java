@@ -0,0 +1,321 @@
+package com.phasmidsoftware.dsaipg.adt.pq;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Priority Queue Data Structure which uses a d-ary heap, that's to say a heap in which each node has d children.
+ * <p/>
+ * Compared with a binary heap, a 4-ary or 8-ary heap is about half (or a third) as deep,
+ * so that give (swim) is cheaper, while take (sink) performs more comparisons per level but on fewer levels.
+ * More importantly, the d children of a node are adjacent in the array, so that they tend to share a cache line.
+ * <p/>
+ * The root is placed at index d-1 (the slots before it are unused) so that the children of every node
+ * begin at an index which is a multiple of d: a group of siblings never straddles a d-slot boundary of the array.
+ * The arity must be a power of two, so that all of the index arithmetic is done with shifts (on primitive ints).
+ * <p/>
+ * Like PriorityQueue_BinaryHeap, it normally has a fixed capacity: if it is full, give will displace the last element.
+ * Alternatively, it may be constructed without a capacity, in which case it grows as required.
+ * It can serve as a minPQ or a maxPQ (define "max" as either false or true, respectively)
+ * and supports Floyd's trick (sink all the way to the bottom and then swim back up) for take.
+ * Rather than swapping elements, both sink and swim move a "hole" and store the displaced element only once.
+ *
+ * @param <K> the type of the elements.
+ */
+public class PriorityQueue_DaryHeap<K> implements PriorityQueue<K>, Iterable<K> {
+
+    /**
+     * @return true if the current size is zero.
+     */
+    public boolean isEmpty() {
+        return m == 0;
+    }
+
+    /**
+     * @return the number of elements actually stored in this Priority Queue
+     */
+    public int size() {
+        return m;
+    }
+
+    /**
+     * Adds a key to the priority queue. If the priority queue is at its capacity,
+     * then either it grows (if it is unbounded) or the last element is removed to make space for the new key.
+     *
+     * @param key the element to be inserted into the priority queue
+     */
+    public void give(K key) {
+        if (m == heap.length - root)
+            if (growable) heap = Arrays.copyOf(heap, root + 2 * Math.max(m, 1));
+            else m--;
+        swimUp(root + m++, key);
+    }
+
+    /**
+     * Remove the root element from this Priority Queue and adjust the heap accordingly.
+     * If max is true, then the result will be the maximum element, else the minimum element.
+     *
+     * @return If max is true, then the maximum element, otherwise the minimum element.
+     * @throws PQException if this priority queue is empty
+     */
+    public K take() throws PQException {
+        if (isEmpty()) throw new PQException("Priority queue is empty");
+        K result = heap[root];
+        K last = heap[root + --m];
+        heap[root + m] = null; // prevent loitering
+        if (m > 0)
+            if (floyd) snake(root, last);
+            else sink(root, last);
+        return result;
+    }
+
+    /**
+     * Initializes or reconstructs the heap so that it satisfies the heap property for all elements.
+     * Starting from the last non-leaf node, it applies the sink operation iteratively.
+     */
+    public void heapConstructor() {
+        if (m > 1) for (int i = parent(root + m - 1); i >= root; i--) sink(i, heap[i]);
+    }
+
+    /**
+     * Retrieves the element at the specified position in the heap without removing it.
+     * WARNING: this is primarily for testing -- not recommended for general use.
+     *
+     * @param k the position of the element (0 is the root).
+     * @return the element at the specified position.
+     */
+    public K peek(int k) {
+        return heap[root + k];
+    }
+
+    /**
+     * Gets the max property of this priority queue.
+     * WARNING: this is primarily for testing -- not recommended for general use.
+     *
+     * @return true if this priority queue is configured as a max-heap, false if it is configured as a min-heap.
+     */
+    public boolean getMax() {
+        return max;
+    }
+
+    /**
+     * @return the arity (d) of this heap.
+     */
+    public int getArity() {
+        return 1 << shift;
+    }
+
+    /**
+     * Non-mutating iterator over all values of this PriorityQueue_DaryHeap.
+     * NOTE: after the first element, there is no definite ordering of the remaining elements.
+     *
+     * @return an iterator based on a copy of the underlying array.
+     */
+    @NotNull
+    public Iterator<K> iterator() {
+        return new ArrayList<>(Arrays.asList(heap).subList(root, root + m)).iterator();
+    }
+
+    /**
+     * Primary constructor.
+     *
+     * @param n          the desired maximum capacity (at least 1).
+     * @param d          the arity of the heap (must be a power of two, for example 2, 4 or 8).
+     * @param max        whether this is a Maximum Priority Queue as opposed to a Minimum PQ.
+     * @param comparator a comparator for the type K.
+     * @param floyd      true if we use Floyd's trick (aka snake) for take.
+     * @throws IllegalArgumentException if n is less than 1 (give could not displace an element).
+     */
+    public PriorityQueue_DaryHeap(int n, int d, boolean max, Comparator<K> comparator, boolean floyd) {
+        this(validateCapacity(n), d, max, comparator, floyd, false);
+    }
+
+    /**
+     * Constructor for an unbounded priority queue, which grows as required. Floyd's trick is used for take.
+     *
+     * @param d          the arity of the heap (must be a power of two, for example 2, 4 or 8).
+     * @param max        whether this is a Maximum Priority Queue as opposed to a Minimum PQ.
+     * @param comparator a comparator for the type K.
+     */
+    public PriorityQueue_DaryHeap(int d, boolean max, Comparator<K> comparator) {
+        this(INITIAL_CAPACITY, d, max, comparator, true, true);
+    }
+
+    private PriorityQueue_DaryHeap(int n, int d, boolean max, Comparator<K> comparator, boolean floyd, boolean growable) {
+        this.shift = log2Arity(d);
+        this.root = d - 1;
+        this.max = max;
+        this.comparator = comparator;
+        this.floyd = floyd;
+        this.growable = growable;
+        this.heap = newHeap(n + root);
+    }
+
+    /**
+     * Constructor which takes a Collection to be added immediately, using the O(n) heap construction method.
+     * Floyd's trick is used for take.
+     *
+     * @param ks         a Collection of K elements.
+     * @param d          the arity of the heap (must be a power of two).
+     * @param max        whether this is a Maximum Priority Queue as opposed to a Minimum PQ.
+     * @param comparator a comparator for the type K.
+     */
+    public PriorityQueue_DaryHeap(Collection<K> ks, int d, boolean max, Comparator<K> comparator) {
+        this(Math.max(ks.size(), 1), d, max, comparator, true);
+        for (K k : ks) heap[root + m++] = k;
+        heapConstructor();
+    }
+
+    /**
+     * Method to validate the capacity of a fixed-capacity heap.
+     *
+     * @param n the capacity.
+     * @return n.
+     * @throws IllegalArgumentException if n is less than 1.
+     */
+    private static int validateCapacity(int n) {
+        if (n < 1) throw new IllegalArgumentException("PriorityQueue_DaryHeap: capacity must be at least 1: " + n);
+        return n;
+    }
+
+    /**
+     * Method to validate an arity.
+     *
+     * @param d the arity.
+     * @return the base-2 logarithm of d.
+     * @throws IllegalArgumentException if d is not a power of two which is at least 2.
+     */
+    static int log2Arity(int d) {
+        if (d < 2 || Integer.bitCount(d) != 1)
+            throw new IllegalArgumentException("PriorityQueue_DaryHeap: arity must be a power of two (at least 2): " + d);
+        return Integer.numberOfTrailingZeros(d);
+    }
+
+    /**
+     * Sink the element x from the hole at index i, stopping as soon as x is ordered with respect to its best child.
+     */
+    private void sink(int i, K x) {
+        int last = root + m - 1;
+        while (true) {
+            int c = firstChild(i);
+            if (c > last) break;
+            int best = bestChild(c, Math.min(c + (1 << shift) - 1, last));
+            if (!before(heap[best], x)) break;
+            heap[i] = heap[best];
+            i = best;
+        }
+        heap[i] = x;
+    }
+
+    /**
+     * Floyd's trick: move the hole at index i all the way to the bottom (promoting the best child at each level)
+     * without comparing x, and then swim x up from there.
+     * Since x came from the bottom of the heap, it rarely needs to swim far.
+     */
+    private void snake(int i, K x) {
+        int last = root + m - 1;
+        while (true) {
+            int c = firstChild(i);
+            if (c > last) break;
+            int best = bestChild(c, Math.min(c + (1 << shift) - 1, last));
+            heap[i] = heap[best];
+            i = best;
+        }
+        swimUp(i, x);
+    }
+
+    /**
+     * Swim the element x up from the hole at index i.
+     */
+    private void swimUp(int i, K x) {
+        while (i > root) {
+            int p = parent(i);
+            if (!before(x, heap[p])) break;
+            heap[i] = heap[p];
+            i = p;
+        }
+        heap[i] = x;
+    }
+
+    /**
+     * @return the index of the highest-priority element among the siblings at indices from to to (inclusive).
+     */
+    private int bestChild(int from, int to) {
+        int result = from;
+        for (int j = from + 1; j <= to; j++) if (before(heap[j], heap[result])) result = j;
+        return result;
+    }
+
+    /**
+     * @return true if x has strictly higher priority than y.
+     */
+    private boolean before(K x, K y) {
+        int cf = comparator.compare(x, y);
+        return max ? cf > 0 : cf < 0;
+    }
+
+    /**
+     * Get the index of the parent of the element at index i (which must not be the root).
+     */
+    private int parent(int i) {
+        return ((i - root - 1) >> shift) + root;
+    }
+
+    /**
+     * Get the index of the first child of the element at index i: it is always a multiple of d.
+     */
+    private int firstChild(int i) {
+        return (i - root + 1) << shift;
+    }
+
+    /**
+     * Create the array of elements (its component type is erased, as the elements are only ever read as K).
+     */
+    @SuppressWarnings("unchecked")
+    private static <K> K[] newHeap(int length) {
+        return (K[]) new Object[length];
+    }
+
+    /**
+     * The base-2 logarithm of the arity.
+     */
+    private final int shift;
+
+    /**
+     * The index of the root element, which is d-1.
+     */
+    private final int root;
+
+    /**
+     * Indicates whether this is a Maximum Priority Queue (true) or a Minimum Priority Queue (false).
+     */
+    private final boolean max;
+
+    /**
+     * A comparator used to define the order of elements.
+     */
+    private final Comparator<K> comparator;
+
+    /**
+     * True if take uses Floyd's trick.
+     */
+    private final boolean floyd;
+
+    /**
+     * True if the heap array grows when it is full (rather than displacing the last element).
+     */
+    private final boolean growable;
+
+    /**
+     * The heap array: the elements occupy indices root through root+m-1.
+     */
+    private K[] heap;
+
+    /**
+     * The current number of elements.
+     */
+    private int m = 0;
+
+    private static final int INITIAL_CAPACITY = 16;
+}
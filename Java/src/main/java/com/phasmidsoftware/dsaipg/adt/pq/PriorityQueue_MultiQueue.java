@@ -0,0 +1,230 @@
+package com.phasmidsoftware.dsaipg.adt.pq;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread-safe priority queue which may be shared by any number of producers and consumers.
+ * <p/>
+ * In relaxed mode, this is a MultiQueue (Rihani, Sanders and Dementiev, 2015):
+ * the elements are spread over c*p sequential heaps (where p is the expected number of threads), each with its own lock.
+ * give adds the element to a random heap whose lock is free;
+ * take looks at the tops of two random heaps and takes from the better of the two (if its lock is free).
+ * Threads therefore rarely contend for a lock, but take is not exact: it returns one of the best elements,
+ * with an expected rank error of O(c*p), which is perfectly acceptable for (label-correcting) shortest-path algorithms
+ * and for job schedulers.
+ * <p/>
+ * In strict mode, there is a single heap, protected by a single lock, so that take always returns the best element.
+ * <p/>
+ * take throws a PQException only if it has found every heap to be empty.
+ * size (and isEmpty) are exact when the queue is quiescent but only approximate while it is being updated.
+ *
+ * @param <K> the type of the elements.
+ */
+public class PriorityQueue_MultiQueue<K> implements PriorityQueue<K> {
+
+    /**
+     * @return true if the (approximate) size is zero.
+     */
+    public boolean isEmpty() {
+        return count.get() == 0;
+    }
+
+    /**
+     * @return the number of elements in this priority queue (approximate during concurrent updates).
+     */
+    public int size() {
+        return count.get();
+    }
+
+    /**
+     * Add a key to this priority queue.
+     *
+     * @param key the element to be inserted into the priority queue.
+     */
+    public void give(K key) {
+        SubQueue<K> q;
+        if (strict) (q = queues[0]).lock.lock();
+        else
+            //noinspection StatementWithEmptyBody
+            while (!(q = queues[ThreadLocalRandom.current().nextInt(queues.length)]).lock.tryLock()) ;
+        try {
+            q.give(key);
+        } finally {
+            q.lock.unlock();
+        }
+        count.incrementAndGet();
+    }
+
+    /**
+     * Remove the highest-priority element (in relaxed mode, one of the highest-priority elements).
+     *
+     * @return If max is true, then the maximum element, otherwise the minimum element (approximately, if relaxed).
+     * @throws PQException if this priority queue is empty.
+     */
+    public K take() throws PQException {
+        if (!strict) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int attempt = 0; attempt < ATTEMPTS && count.get() > 0; attempt++) {
+                SubQueue<K> a = queues[random.nextInt(queues.length)], b = queues[random.nextInt(queues.length)];
+                K x = a.top, y = b.top;
+                SubQueue<K> q = x == null || (y != null && before(y, x)) ? b : a;
+                if (q.top != null && q.lock.tryLock())
+                    try {
+                        if (!q.isEmpty()) return taken(q.take());
+                    } finally {
+                        q.lock.unlock();
+                    }
+            }
+        }
+        // Either strict, or we keep finding empty or locked heaps: take from the first non-empty heap, waiting for its lock.
+        for (SubQueue<K> q : queues) {
+            if (q.top == null) continue;
+            q.lock.lock();
+            try {
+                if (!q.isEmpty()) return taken(q.take());
+            } finally {
+                q.lock.unlock();
+            }
+        }
+        throw new PQException("Priority queue is empty");
+    }
+
+    /**
+     * There is nothing to do: each heap is always heap-ordered.
+     */
+    public void heapConstructor() {
+    }
+
+    /**
+     * Retrieves the k-th best of the tops of the internal heaps (so peek(0) is the best element if the queue is quiescent).
+     * WARNING: this is primarily for testing -- not recommended for general use.
+     *
+     * @param k the position.
+     * @return the k-th best top, or null if there is no such element.
+     */
+    public K peek(int k) {
+        List<K> tops = new ArrayList<>();
+        for (SubQueue<K> q : queues) {
+            K top = q.top;
+            if (top != null) tops.add(top);
+        }
+        tops.sort((x, y) -> before(x, y) ? -1 : before(y, x) ? 1 : 0);
+        return k < tops.size() ? tops.get(k) : null;
+    }
+
+    /**
+     * @return true if this is a max-priority queue.
+     */
+    public boolean getMax() {
+        return max;
+    }
+
+    /**
+     * @return true if this priority queue is strict (rather than relaxed).
+     */
+    public boolean isStrict() {
+        return strict;
+    }
+
+    /**
+     * @return the number of internal heaps.
+     */
+    public int getQueues() {
+        return queues.length;
+    }
+
+    /**
+     * Primary constructor.
+     *
+     * @param threads    the expected number of threads (p).
+     * @param c          the number of heaps per thread (typically 2); ignored if strict.
+     * @param max        whether this is a Maximum Priority Queue as opposed to a Minimum PQ.
+     * @param comparator a comparator for the type K.
+     * @param strict     true for a single heap with exact ordering; false for a relaxed MultiQueue.
+     */
+    public PriorityQueue_MultiQueue(int threads, int c, boolean max, Comparator<K> comparator, boolean strict) {
+        if (threads < 1 || c < 1)
+            throw new IllegalArgumentException("PriorityQueue_MultiQueue: threads and c must be positive: " + threads + ", " + c);
+        this.max = max;
+        this.comparator = comparator;
+        this.strict = strict;
+        int n = strict ? 1 : threads * c;
+        this.queues = newSubQueues(n);
+        for (int i = 0; i < n; i++) queues[i] = new SubQueue<>(new PriorityQueue_DaryHeap<>(4, max, comparator));
+    }
+
+    /**
+     * Constructor with one thread per available processor and two heaps per thread.
+     *
+     * @param max        whether this is a Maximum Priority Queue as opposed to a Minimum PQ.
+     * @param comparator a comparator for the type K.
+     * @param strict     true for a single heap with exact ordering; false for a relaxed MultiQueue.
+     */
+    public PriorityQueue_MultiQueue(boolean max, Comparator<K> comparator, boolean strict) {
+        this(Runtime.getRuntime().availableProcessors(), 2, max, comparator, strict);
+    }
+
+    private K taken(K result) {
+        count.decrementAndGet();
+        return result;
+    }
+
+    /**
+     * @return true if x has strictly higher priority than y.
+     */
+    private boolean before(K x, K y) {
+        int cf = comparator.compare(x, y);
+        return max ? cf > 0 : cf < 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> SubQueue<K>[] newSubQueues(int n) {
+        return (SubQueue<K>[]) new SubQueue<?>[n];
+    }
+
+    /**
+     * A sequential heap with its lock and a copy of its top element (null if it is empty),
+     * which may be read without the lock.
+     */
+    private static final class SubQueue<K> {
+        SubQueue(PriorityQueue_DaryHeap<K> heap) {
+            this.heap = heap;
+        }
+
+        void give(K key) {
+            heap.give(key);
+            top = heap.peek(0);
+        }
+
+        K take() throws PQException {
+            K result = heap.take();
+            top = heap.isEmpty() ? null : heap.peek(0);
+            return result;
+        }
+
+        boolean isEmpty() {
+            return heap.isEmpty();
+        }
+
+        final ReentrantLock lock = new ReentrantLock();
+        final PriorityQueue_DaryHeap<K> heap;
+        volatile K top;
+    }
+
+    /**
+     * The number of attempts that take makes to find a non-empty, unlocked heap by two random choices
+     * before it falls back to a scan.
+     */
+    private static final int ATTEMPTS = 64;
+
+    private final boolean max;
+    private final Comparator<K> comparator;
+    private final boolean strict;
+    private final SubQueue<K>[] queues;
+    private final AtomicInteger count = new AtomicInteger();
+}
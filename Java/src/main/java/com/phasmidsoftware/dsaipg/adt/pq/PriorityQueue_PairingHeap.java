@@ -0,0 +1,329 @@
+package com.phasmidsoftware.dsaipg.adt.pq;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Priority Queue Data Structure which uses a pairing heap (Fredman, Sedgewick, Sleator and Tarjan, 1986).
+ * <p/>
+ * A pairing heap is a heap-ordered multiway tree in which each node points to its leftmost child and its right sibling.
+ * It is unlimited in capacity: give and merge take O(1) time, while take, remove and decreaseKey
+ * take O(log n) amortized time (take uses the standard two-pass pairing).
+ * <p/>
+ * give is also available as insert, which returns a Handle that may subsequently be used to change the priority of,
+ * or to remove, that particular element (as required, for example, by a discrete-event simulation in which
+ * events may be rescheduled or cancelled).
+ * <p/>
+ * It can serve as a minPQ or a maxPQ (define "max" as either false or true, respectively).
+ *
+ * @param <K> the type of the elements.
+ */
+public class PriorityQueue_PairingHeap<K> implements PriorityQueue<K>, Iterable<K> {
+
+    /**
+     * A reference to an element of a PriorityQueue_PairingHeap.
+     * It becomes invalid when its element is taken or removed.
+     *
+     * @param <K> the type of the element.
+     */
+    public static final class Handle<K> {
+
+        /**
+         * @return the element.
+         */
+        public K getKey() {
+            return key;
+        }
+
+        /**
+         * @return true if the element is still in its heap.
+         */
+        public boolean isValid() {
+            return valid;
+        }
+
+        public String toString() {
+            return "Handle{" + key + (valid ? "" : ", invalid") + "}";
+        }
+
+        private Handle(K key) {
+            this.key = key;
+        }
+
+        private K key;
+        private Handle<K> child;
+        private Handle<K> sibling;
+        /**
+         * The parent, if this is the leftmost child, otherwise the left sibling.
+         */
+        private Handle<K> prev;
+        private boolean valid = true;
+    }
+
+    /**
+     * @return true if the current size is zero.
+     */
+    public boolean isEmpty() {
+        return n == 0;
+    }
+
+    /**
+     * @return the number of elements in this Priority Queue.
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * Add a key to this priority queue.
+     *
+     * @param key the element to be inserted into the priority queue.
+     */
+    public void give(K key) {
+        insert(key);
+    }
+
+    /**
+     * Add a key to this priority queue and return a handle to it.
+     *
+     * @param key the element to be inserted into the priority queue.
+     * @return a Handle which may be used with decreaseKey or remove.
+     */
+    public Handle<K> insert(K key) {
+        Handle<K> result = new Handle<>(key);
+        root = root == null ? result : link(root, result);
+        n++;
+        return result;
+    }
+
+    /**
+     * Remove the root element from this Priority Queue.
+     *
+     * @return If max is true, then the maximum element, otherwise the minimum element.
+     * @throws PQException if this priority queue is empty
+     */
+    public K take() throws PQException {
+        if (isEmpty()) throw new PQException("Priority queue is empty");
+        Handle<K> result = root;
+        root = combineChildren(root);
+        if (root != null) root.prev = null;
+        n--;
+        result.valid = false;
+        result.child = null;
+        return result.key;
+    }
+
+    /**
+     * Change the key of an element to one of (not lower) priority: for a minPQ, that means a key which is no greater;
+     * for a maxPQ, one which is no smaller.
+     *
+     * @param handle a valid handle obtained from insert on this priority queue.
+     * @param key    the new key.
+     * @throws IllegalArgumentException if the handle is invalid or the new key has lower priority than the old one.
+     */
+    public void decreaseKey(Handle<K> handle, K key) {
+        validateHandle(handle);
+        if (before(handle.key, key))
+            throw new IllegalArgumentException("PriorityQueue_PairingHeap:decreaseKey: new key " + key + " has lower priority than " + handle.key);
+        handle.key = key;
+        if (handle != root) {
+            cut(handle);
+            root = link(root, handle);
+        }
+    }
+
+    /**
+     * Remove an arbitrary element from this priority queue.
+     *
+     * @param handle a valid handle obtained from insert on this priority queue.
+     * @return the element.
+     * @throws IllegalArgumentException if the handle is invalid.
+     */
+    public K remove(Handle<K> handle) {
+        validateHandle(handle);
+        if (handle == root) root = combineChildren(root);
+        else {
+            cut(handle);
+            Handle<K> subtree = combineChildren(handle);
+            if (subtree != null) root = link(root, subtree);
+        }
+        if (root != null) root.prev = null;
+        n--;
+        handle.valid = false;
+        handle.child = null;
+        return handle.key;
+    }
+
+    /**
+     * Merge (meld) another pairing heap into this one, in constant time.
+     * The other heap must be ordered in the same way as this one; it is left empty.
+     *
+     * @param other another PriorityQueue_PairingHeap.
+     * @throws IllegalArgumentException if the other heap has a different max property.
+     */
+    public void merge(PriorityQueue_PairingHeap<K> other) {
+        if (other == this || other.root == null) return;
+        if (other.max != max)
+            throw new IllegalArgumentException("PriorityQueue_PairingHeap:merge: cannot merge a maxPQ with a minPQ");
+        root = root == null ? other.root : link(root, other.root);
+        n += other.n;
+        other.root = null;
+        other.n = 0;
+    }
+
+    /**
+     * A pairing heap is always heap-ordered, so there is nothing to do.
+     */
+    public void heapConstructor() {
+    }
+
+    /**
+     * Retrieves the element at the specified position in a breadth-first traversal of the heap, without removing it.
+     * Position 0 is the root; there is no definite ordering of the remaining elements.
+     * WARNING: this is primarily for testing -- not recommended for general use.
+     *
+     * @param k the position of the element.
+     * @return the element at the specified position, or null if there is no such position.
+     */
+    public K peek(int k) {
+        int i = 0;
+        for (K key : this) if (i++ == k) return key;
+        return null;
+    }
+
+    /**
+     * Gets the max property of this priority queue.
+     *
+     * @return true if this priority queue is configured as a max-heap, false if it is configured as a min-heap.
+     */
+    public boolean getMax() {
+        return max;
+    }
+
+    /**
+     * Non-mutating iterator over all values of this priority queue, in breadth-first order.
+     * NOTE: after the first element, there is no definite ordering of the remaining elements.
+     *
+     * @return an iterator based on a copy of the elements.
+     */
+    @NotNull
+    public Iterator<K> iterator() {
+        List<K> result = new ArrayList<>(n);
+        Deque<Handle<K>> queue = new ArrayDeque<>();
+        if (root != null) queue.add(root);
+        while (!queue.isEmpty()) {
+            Handle<K> x = queue.remove();
+            result.add(x.key);
+            for (Handle<K> c = x.child; c != null; c = c.sibling) queue.add(c);
+        }
+        return result.iterator();
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param max        whether this is a Maximum Priority Queue as opposed to a Minimum PQ.
+     * @param comparator a comparator for the type K.
+     */
+    public PriorityQueue_PairingHeap(boolean max, Comparator<K> comparator) {
+        this.max = max;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Constructor for a minPQ.
+     *
+     * @param comparator a comparator for the type K.
+     */
+    public PriorityQueue_PairingHeap(Comparator<K> comparator) {
+        this(false, comparator);
+    }
+
+    /**
+     * Link two heap-ordered trees (each of which must have no siblings) by making the root of lower priority
+     * the leftmost child of the other.
+     *
+     * @return the root of the combined tree.
+     */
+    private Handle<K> link(Handle<K> a, Handle<K> b) {
+        if (before(b.key, a.key)) {
+            Handle<K> tmp = a;
+            a = b;
+            b = tmp;
+        }
+        b.prev = a;
+        b.sibling = a.child;
+        if (a.child != null) a.child.prev = b;
+        a.child = b;
+        a.sibling = null;
+        return a;
+    }
+
+    /**
+     * Detach the subtree rooted at x (which is not the root) from its parent or left sibling.
+     */
+    private void cut(Handle<K> x) {
+        if (x.prev.child == x) x.prev.child = x.sibling;
+        else x.prev.sibling = x.sibling;
+        if (x.sibling != null) x.sibling.prev = x.prev;
+        x.sibling = null;
+        x.prev = null;
+    }
+
+    /**
+     * Combine the children of x into a single tree using the two-pass method:
+     * link the children in pairs from left to right; then link the resulting trees from right to left.
+     *
+     * @return the root of the combined tree, or null if x has no children.
+     */
+    private Handle<K> combineChildren(Handle<K> x) {
+        Handle<K> first = x.child;
+        x.child = null;
+        if (first == null) return null;
+        pairs.clear();
+        while (first != null) {
+            Handle<K> a = first, b = a.sibling;
+            if (b == null) {
+                a.prev = null;
+                pairs.add(a);
+                break;
+            }
+            first = b.sibling;
+            a.sibling = b.sibling = a.prev = b.prev = null;
+            pairs.add(link(a, b));
+        }
+        Handle<K> result = pairs.get(pairs.size() - 1);
+        for (int i = pairs.size() - 2; i >= 0; i--) result = link(pairs.get(i), result);
+        pairs.clear();
+        return result;
+    }
+
+    private void validateHandle(Handle<K> handle) {
+        if (handle == null || !handle.valid)
+            throw new IllegalArgumentException("PriorityQueue_PairingHeap: invalid handle: " + handle);
+    }
+
+    /**
+     * @return true if x has strictly higher priority than y.
+     */
+    private boolean before(K x, K y) {
+        int cf = comparator.compare(x, y);
+        return max ? cf > 0 : cf < 0;
+    }
+
+    private final boolean max;
+    private final Comparator<K> comparator;
+    private Handle<K> root = null;
+    private int n = 0;
+
+    /**
+     * Scratch list for the first pass of combineChildren (retained to avoid allocation on every take).
+     */
+    private final List<Handle<K>> pairs = new ArrayList<>();
+}
@@ -0,0 +1,192 @@
+package com.phasmidsoftware.dsaipg.adt.pq;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Priority Queue Data Structure which uses a (monotone) radix heap (Ahuja, Mehlhorn, Orlin and Tarjan, 1990).
+ * <p/>
+ * A radix heap is a minPQ for elements with non-negative integer priorities which is "monotone":
+ * no element may be given whose priority is less than that of the element most recently taken.
+ * That is the case for event queues (events are never scheduled in the past) and for Dijkstra's algorithm.
+ * <p/>
+ * Element x is kept in bucket b(x), where b is the number of significant bits in (priority(x) XOR last),
+ * last being the priority most recently taken. Thus bucket 0 holds elements whose priority equals last,
+ * and bucket i (i > 0) holds elements which agree with last in all but the lowest i bits (and differ in bit i-1).
+ * take empties bucket 0 if it can; otherwise it finds the minimum of the lowest non-empty bucket,
+ * which becomes the new last, and redistributes that bucket into lower buckets.
+ * Each element can only move down, and there are 65 buckets, so the amortized cost of take is O(log C),
+ * where C is the range of priorities, while give takes O(1) time.
+ * <p/>
+ * It is unlimited in capacity.
+ *
+ * @param <K> the type of the elements.
+ */
+public class PriorityQueue_RadixHeap<K> implements PriorityQueue<K>, Iterable<K> {
+
+    /**
+     * @return true if the current size is zero.
+     */
+    public boolean isEmpty() {
+        return n == 0;
+    }
+
+    /**
+     * @return the number of elements in this Priority Queue.
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * Add a key to this priority queue.
+     *
+     * @param key the element to be inserted into the priority queue.
+     * @throws IllegalArgumentException if the priority of key is less than that of the element most recently taken.
+     */
+    public void give(K key) {
+        long p = priority.applyAsLong(key);
+        if (p < last)
+            throw new IllegalArgumentException("PriorityQueue_RadixHeap:give: priority " + p + " is less than the last priority taken: " + last);
+        buckets[bucket(p)].add(key, p);
+        n++;
+    }
+
+    /**
+     * Remove the element with the minimum priority from this Priority Queue.
+     *
+     * @return the minimum element.
+     * @throws PQException if this priority queue is empty
+     */
+    public K take() throws PQException {
+        if (isEmpty()) throw new PQException("Priority queue is empty");
+        if (buckets[0].size == 0) {
+            int i = 1;
+            while (buckets[i].size == 0) i++;
+            Bucket<K> bucket = buckets[i];
+            long min = bucket.priorities[0];
+            for (int j = 1; j < bucket.size; j++) min = Math.min(min, bucket.priorities[j]);
+            last = min;
+            for (int j = 0; j < bucket.size; j++) buckets[bucket(bucket.priorities[j])].add(bucket.keys[j], bucket.priorities[j]);
+            bucket.clear();
+        }
+        n--;
+        return buckets[0].removeLast();
+    }
+
+    /**
+     * @return the priority of the element most recently taken (initially zero): no smaller priority may be given.
+     */
+    public long getLast() {
+        return last;
+    }
+
+    /**
+     * A radix heap has no heap-ordering to construct, so there is nothing to do.
+     */
+    public void heapConstructor() {
+    }
+
+    /**
+     * Retrieves the element at the specified position (in bucket order), without removing it.
+     * Only the elements of bucket 0 (if any) are guaranteed to have the minimum priority.
+     * WARNING: this is primarily for testing -- not recommended for general use.
+     *
+     * @param k the position of the element.
+     * @return the element at the specified position, or null if there is no such position.
+     */
+    public K peek(int k) {
+        for (Bucket<K> bucket : buckets) {
+            if (k < bucket.size) return bucket.keys[k];
+            k -= bucket.size;
+        }
+        return null;
+    }
+
+    /**
+     * A radix heap is always a minPQ.
+     *
+     * @return false.
+     */
+    public boolean getMax() {
+        return false;
+    }
+
+    /**
+     * Non-mutating iterator over all values of this priority queue, in bucket order.
+     *
+     * @return an iterator based on a copy of the elements.
+     */
+    @NotNull
+    public Iterator<K> iterator() {
+        List<K> result = new ArrayList<>(n);
+        for (Bucket<K> bucket : buckets) result.addAll(Arrays.asList(bucket.keys).subList(0, bucket.size));
+        return result.iterator();
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param priority a function which yields the (non-negative) priority of an element.
+     */
+    public PriorityQueue_RadixHeap(ToLongFunction<K> priority) {
+        this.priority = priority;
+        this.buckets = newBuckets();
+        for (int i = 0; i < BUCKETS; i++) buckets[i] = new Bucket<>();
+    }
+
+    /**
+     * @return the bucket for priority p (which is at least last).
+     */
+    private int bucket(long p) {
+        return 64 - Long.numberOfLeadingZeros(p ^ last);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> Bucket<K>[] newBuckets() {
+        return (Bucket<K>[]) new Bucket<?>[BUCKETS];
+    }
+
+    /**
+     * A growable pair of arrays: the keys and their priorities.
+     */
+    private static final class Bucket<K> {
+        void add(K key, long p) {
+            if (size == keys.length) {
+                int length = Math.max(4, 2 * size);
+                keys = Arrays.copyOf(keys, length);
+                priorities = Arrays.copyOf(priorities, length);
+            }
+            keys[size] = key;
+            priorities[size++] = p;
+        }
+
+        K removeLast() {
+            K result = keys[--size];
+            keys[size] = null;
+            return result;
+        }
+
+        void clear() {
+            Arrays.fill(keys, 0, size, null);
+            size = 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        K[] keys = (K[]) new Object[0];
+        long[] priorities = new long[0];
+        int size = 0;
+    }
+
+    private static final int BUCKETS = 65;
+
+    private final ToLongFunction<K> priority;
+    private final Bucket<K>[] buckets;
+    private long last = 0;
+    private int n = 0;
+}
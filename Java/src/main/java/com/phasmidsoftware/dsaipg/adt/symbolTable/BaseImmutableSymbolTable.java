@@ -46,6 +46,15 @@ abstract public class BaseImmutableSymbolTable<Key, Value> implements ImmutableS
         return map.size();
     }
 
+    /**
+     * Get the estimated memory footprint of the underlying symbol table (plus this wrapper).
+     *
+     * @return a SymbolTableStats.
+     */
+    public SymbolTableStats stats() {
+        return map.stats().addHeader(SymbolTableStats.objectBytes(2, 0, 0));
+    }
+
     /**
      * Constructs an instance of BaseImmutableSymbolTable with a specified map and a default value supplier.
      *
@@ -72,6 +72,20 @@ public interface ImmutableSymbolTable<Key, Value> {
      */
     Set<Key> keys();
 
+    /**
+     * Get the estimated memory footprint and shape statistics of this ImmutableSymbolTable.
+     * This default implementation knows nothing of the internal structure:
+     * it assumes one node (with three references) per entry and so it should be overridden by implementations.
+     *
+     * @return a SymbolTableStats.
+     */
+    default SymbolTableStats stats() {
+        SymbolTableStats result = new SymbolTableStats(getClass().getSimpleName(), size(), "depth");
+        result.addHeader(SymbolTableStats.objectBytes(1, 0, 0));
+        for (Key key : keys()) result.addNodes(SymbolTableStats.objectBytes(3, 0, 0)).addBoxed(key, get(key));
+        return result;
+    }
+
     /**
      * Get the size of this ImmutableSymbolTable.
      *
@@ -0,0 +1,510 @@
+package com.phasmidsoftware.dsaipg.adt.symbolTable;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * A persistent (immutable, structurally shared) symbol table based on a Hash Array Mapped Trie (HAMT).
+ * <p>
+ * Each version is immutable: put and delete do not change this symbol table but return a new version,
+ * which shares all but O(log32 n) of its nodes with this one.
+ * Thus, any reader holding a reference to a version always sees a consistent snapshot, however many updates follow.
+ * <p>
+ * Each node of the trie consumes five bits of the key's hash code and holds a 32-bit bitmap,
+ * together with a compact array of only those entries (key/value pairs or child nodes) which are present.
+ * Keys whose hash codes are identical are held in a collision node.
+ * <p>
+ * For bulk loading, asTransient() yields a Transient, which is a (mutable) ST that updates the nodes it owns in place,
+ * rather than copying them for every insertion.
+ * Transient.persistent() then yields a new immutable version in O(1).
+ * The implementation follows that of Clojure's PersistentHashMap.
+ *
+ * @param <Key>   the key type.
+ * @param <Value> the value type.
+ */
+public class PersistentHashTrie<Key, Value> implements ImmutableSymbolTable<Key, Value> {
+
+    /**
+     * @param <K> the key type.
+     * @param <V> the value type.
+     * @return the empty PersistentHashTrie.
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashTrie<K, V> empty() {
+        return (PersistentHashTrie<K, V>) EMPTY;
+    }
+
+    /**
+     * Retrieve the value for a given key.
+     *
+     * @param key the key.
+     * @return the value, if key is present, else null.
+     */
+    public Value get(Key key) {
+        validateKey(key);
+        return root != null ? value(root.find(0, key.hashCode(), key)) : null;
+    }
+
+    /**
+     * Method to yield a new version of this symbol table in which key maps to value.
+     * This symbol table is unchanged.
+     *
+     * @param key   the key.
+     * @param value the value.
+     * @return the new version (or this, if key already maps to value).
+     */
+    public PersistentHashTrie<Key, Value> put(Key key, Value value) {
+        validateKey(key);
+        Change change = new Change();
+        Node newRoot = (root != null ? root : BitmapNode.EMPTY).assoc(null, 0, key.hashCode(), key, value, change);
+        return newRoot == root ? this : new PersistentHashTrie<>(newRoot, change.added ? size + 1 : size);
+    }
+
+    /**
+     * Method to yield a new version of this symbol table in which key is absent.
+     * This symbol table is unchanged.
+     *
+     * @param key the key.
+     * @return the new version (or this, if key is not present).
+     */
+    public PersistentHashTrie<Key, Value> delete(Key key) {
+        validateKey(key);
+        if (root == null) return this;
+        Node newRoot = root.without(null, 0, key.hashCode(), key, new Change());
+        return newRoot == root ? this : new PersistentHashTrie<>(newRoot, size - 1);
+    }
+
+    /**
+     * Get the set of keys in this symbol table.
+     *
+     * @return the Set of keys.
+     */
+    public Set<Key> keys() {
+        Set<Key> result = new HashSet<>();
+        forEach((k, v) -> result.add(k));
+        return result;
+    }
+
+    /**
+     * Method to invoke f on each key/value pair of this symbol table (in no particular order).
+     *
+     * @param f the function to invoke.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<Key, Value> f) {
+        if (root != null) root.forEach((BiConsumer<Object, Object>) f);
+    }
+
+    /**
+     * Get the size of this PersistentHashTrie.
+     *
+     * @return the current size.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Method to begin a batch of mutations.
+     * NOTE that the resulting Transient shares structure with this version (which is not affected by any of its mutations).
+     *
+     * @return a new Transient whose initial contents are those of this version.
+     */
+    public Transient<Key, Value> asTransient() {
+        return new Transient<>(root, size);
+    }
+
+    /**
+     * Get the estimated memory footprint of this version (as if it shared no structure with any other version),
+     * together with a histogram of the depths at which the keys are found.
+     *
+     * @return a SymbolTableStats.
+     */
+    public SymbolTableStats stats() {
+        SymbolTableStats result = new SymbolTableStats("PersistentHashTrie", size, "depth");
+        result.addHeader(SymbolTableStats.objectBytes(1, 1, 0));
+        if (root != null) root.collectStats(0, result);
+        return result;
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder("PersistentHashTrie{");
+        forEach((k, v) -> sb.append(sb.length() > 19 ? ", " : "").append(k).append("->").append(v));
+        return sb.append("}").toString();
+    }
+
+    /**
+     * A mutable symbol table for batch-loading a PersistentHashTrie.
+     * The nodes which it creates are marked as its own and are thereafter updated in place
+     * (with spare capacity in their arrays), so that a bulk load does not copy a path for every insertion.
+     * Nodes inherited from the original version are copied (once) when first updated.
+     * <p>
+     * A Transient must be confined to a single thread, and may not be used after persistent() has been invoked.
+     *
+     * @param <Key>   the key type.
+     * @param <Value> the value type.
+     */
+    public static class Transient<Key, Value> implements ST<Key, Value> {
+
+        /**
+         * Insert a key/value pair, updating this Transient in place.
+         *
+         * @param key   the key.
+         * @param value the value.
+         * @return the original value, if any, otherwise null.
+         */
+        public Value put(Key key, Value value) {
+            validateKey(key);
+            Change change = new Change();
+            root = (root != null ? root : BitmapNode.EMPTY).assoc(ensureEditable(), 0, key.hashCode(), key, value, change);
+            if (change.added) size++;
+            return value(change.value);
+        }
+
+        /**
+         * Delete a key, updating this Transient in place.
+         *
+         * @param key the key.
+         * @return the original value, if any, otherwise null.
+         */
+        public Value delete(Key key) {
+            validateKey(key);
+            if (root == null) return null;
+            Change change = new Change();
+            root = root.without(ensureEditable(), 0, key.hashCode(), key, change);
+            if (change.removed) size--;
+            return value(change.value);
+        }
+
+        /**
+         * Retrieve the value for a given key.
+         *
+         * @param key the key.
+         * @return the value, if key is present, else null.
+         */
+        public Value get(Key key) {
+            validateKey(key);
+            ensureEditable();
+            return root != null ? value(root.find(0, key.hashCode(), key)) : null;
+        }
+
+        /**
+         * @return the set of keys.
+         */
+        public Set<Key> keys() {
+            return persistentView().keys();
+        }
+
+        /**
+         * @return the number of keys.
+         */
+        public int size() {
+            ensureEditable();
+            return size;
+        }
+
+        /**
+         * Method to end this batch of mutations.
+         * This Transient may not be used subsequently.
+         *
+         * @return the new (immutable) version.
+         */
+        public PersistentHashTrie<Key, Value> persistent() {
+            PersistentHashTrie<Key, Value> result = persistentView();
+            edit = null;
+            return result;
+        }
+
+        Transient(Node root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+        private PersistentHashTrie<Key, Value> persistentView() {
+            ensureEditable();
+            return size == 0 ? empty() : new PersistentHashTrie<>(root, size);
+        }
+
+        private Object ensureEditable() {
+            if (edit == null) throw new IllegalStateException("PersistentHashTrie.Transient: used after persistent()");
+            return edit;
+        }
+
+        private Node root;
+        private int size;
+        /**
+         * The identity of this Transient, which is recorded in the nodes that it owns.
+         * It is set to null by persistent().
+         */
+        private Object edit = new Object();
+    }
+
+    private PersistentHashTrie(Node root, int size) {
+        this.root = size == 0 ? null : root;
+        this.size = size;
+    }
+
+    /**
+     * Method to cast a value which was stored (as an Object) in a node.
+     */
+    @SuppressWarnings("unchecked")
+    private static <V> V value(Object x) {
+        return (V) x;
+    }
+
+    private static final PersistentHashTrie<?, ?> EMPTY = new PersistentHashTrie<>(null, 0);
+
+    private final Node root;
+    private final int size;
+
+    /**
+     * A holder for the secondary results of assoc and without.
+     */
+    private static class Change {
+        boolean added;
+        boolean removed;
+        Object value;
+    }
+
+    /**
+     * Abstract base class for the nodes of the trie.
+     * An edit parameter of null signifies a persistent update; otherwise, it is the identity of the Transient which is updating.
+     */
+    private abstract static class Node {
+
+        abstract Object find(int shift, int hash, Object key);
+
+        abstract Node assoc(Object edit, int shift, int hash, Object key, Object value, Change change);
+
+        /**
+         * @return the updated node, which is null if it has become empty.
+         */
+        abstract Node without(Object edit, int shift, int hash, Object key, Change change);
+
+        abstract void forEach(BiConsumer<Object, Object> f);
+
+        abstract void collectStats(int depth, SymbolTableStats stats);
+
+        Node(Object edit) {
+            this.edit = edit;
+        }
+
+        boolean isEditable(Object edit) {
+            return edit != null && edit == this.edit;
+        }
+
+        final Object edit;
+    }
+
+    /**
+     * A node with up to 32 entries, one for each value of the next five bits of the hash.
+     * Entry i occupies array[2i] and array[2i+1]: either a key and its value; or null and a child node.
+     * A node owned by a Transient may have spare capacity at the end of its array.
+     */
+    private static final class BitmapNode extends Node {
+
+        static final BitmapNode EMPTY = new BitmapNode(null, 0, new Object[0]);
+
+        BitmapNode(Object edit, int bitmap, Object[] array) {
+            super(edit);
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        Object find(int shift, int hash, Object key) {
+            int bit = bitpos(hash, shift);
+            if ((bitmap & bit) == 0) return null;
+            int idx = index(bit);
+            Object k = array[2 * idx];
+            Object v = array[2 * idx + 1];
+            if (k == null) return ((Node) v).find(shift + 5, hash, key);
+            return key.equals(k) ? v : null;
+        }
+
+        Node assoc(Object edit, int shift, int hash, Object key, Object value, Change change) {
+            int bit = bitpos(hash, shift);
+            int idx = index(bit);
+            if ((bitmap & bit) != 0) {
+                Object k = array[2 * idx];
+                Object v = array[2 * idx + 1];
+                if (k == null) {
+                    Node child = ((Node) v).assoc(edit, shift + 5, hash, key, value, change);
+                    return child == v ? this : editAndSet(edit, 2 * idx + 1, child);
+                }
+                if (key.equals(k)) {
+                    change.value = v;
+                    return v == value ? this : editAndSet(edit, 2 * idx + 1, value);
+                }
+                change.added = true;
+                Node child = createNode(edit, shift + 5, k, v, hash, key, value);
+                BitmapNode result = editAndSet(edit, 2 * idx + 1, child);
+                result.array[2 * idx] = null;
+                return result;
+            }
+            change.added = true;
+            int n = Integer.bitCount(bitmap);
+            if (isEditable(edit) && 2 * n < array.length) {
+                System.arraycopy(array, 2 * idx, array, 2 * (idx + 1), 2 * (n - idx));
+                array[2 * idx] = key;
+                array[2 * idx + 1] = value;
+                bitmap |= bit;
+                return this;
+            }
+            // A Transient allocates spare capacity so that subsequent insertions into this node need not reallocate.
+            Object[] newArray = new Object[2 * (edit != null ? Math.min(n + 4, 32) : n + 1)];
+            System.arraycopy(array, 0, newArray, 0, 2 * idx);
+            newArray[2 * idx] = key;
+            newArray[2 * idx + 1] = value;
+            System.arraycopy(array, 2 * idx, newArray, 2 * (idx + 1), 2 * (n - idx));
+            if (isEditable(edit)) {
+                array = newArray;
+                bitmap |= bit;
+                return this;
+            }
+            return new BitmapNode(edit, bitmap | bit, newArray);
+        }
+
+        Node without(Object edit, int shift, int hash, Object key, Change change) {
+            int bit = bitpos(hash, shift);
+            if ((bitmap & bit) == 0) return this;
+            int idx = index(bit);
+            Object k = array[2 * idx];
+            Object v = array[2 * idx + 1];
+            if (k == null) {
+                Node child = ((Node) v).without(edit, shift + 5, hash, key, change);
+                if (child == v) return this;
+                if (child != null) return editAndSet(edit, 2 * idx + 1, child);
+            } else if (key.equals(k)) {
+                change.removed = true;
+                change.value = v;
+            } else return this;
+            // Remove entry idx altogether.
+            if (bitmap == bit) return null;
+            int n = Integer.bitCount(bitmap);
+            if (isEditable(edit)) {
+                System.arraycopy(array, 2 * (idx + 1), array, 2 * idx, 2 * (n - idx - 1));
+                array[2 * n - 2] = null;
+                array[2 * n - 1] = null;
+                bitmap ^= bit;
+                return this;
+            }
+            Object[] newArray = new Object[2 * (n - 1)];
+            System.arraycopy(array, 0, newArray, 0, 2 * idx);
+            System.arraycopy(array, 2 * (idx + 1), newArray, 2 * idx, 2 * (n - idx - 1));
+            return new BitmapNode(edit, bitmap ^ bit, newArray);
+        }
+
+        void forEach(BiConsumer<Object, Object> f) {
+            int n = Integer.bitCount(bitmap);
+            for (int i = 0; i < n; i++)
+                if (array[2 * i] == null) ((Node) array[2 * i + 1]).forEach(f);
+                else f.accept(array[2 * i], array[2 * i + 1]);
+        }
+
+        private BitmapNode editAndSet(Object edit, int i, Object x) {
+            BitmapNode result = isEditable(edit) ? this : new BitmapNode(edit, bitmap, array.clone());
+            result.array[i] = x;
+            return result;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        private static int bitpos(int hash, int shift) {
+            return 1 << ((hash >>> shift) & 0x01f);
+        }
+
+        void collectStats(int depth, SymbolTableStats stats) {
+            stats.addNodes(SymbolTableStats.objectBytes(2, 1, 0)).addArrays(SymbolTableStats.referenceArrayBytes(array.length));
+            for (int i = 0; i < 2 * Integer.bitCount(bitmap); i += 2)
+                if (array[i] == null) ((Node) array[i + 1]).collectStats(depth + 1, stats);
+                else stats.addBoxed(array[i], array[i + 1]).record(depth);
+        }
+
+        private static Node createNode(Object edit, int shift, Object k1, Object v1, int h2, Object k2, Object v2) {
+            int h1 = k1.hashCode();
+            if (h1 == h2) return new CollisionNode(edit, h1, new Object[]{k1, v1, k2, v2});
+            Change change = new Change();
+            return EMPTY.assoc(edit, shift, h1, k1, v1, change).assoc(edit, shift, h2, k2, v2, change);
+        }
+
+        private int bitmap;
+        private Object[] array;
+    }
+
+    /**
+     * A node for keys whose hash codes are all equal: its array holds the key/value pairs in sequence.
+     */
+    private static final class CollisionNode extends Node {
+
+        CollisionNode(Object edit, int hash, Object[] array) {
+            super(edit);
+            this.hash = hash;
+            this.array = array;
+        }
+
+        Object find(int shift, int hash, Object key) {
+            int i = indexOf(key);
+            return i >= 0 ? array[i + 1] : null;
+        }
+
+        Node assoc(Object edit, int shift, int hash, Object key, Object value, Change change) {
+            if (hash != this.hash)
+                return new BitmapNode(edit, BitmapNode.bitpos(this.hash, shift), new Object[]{null, this}).assoc(edit, shift, hash, key, value, change);
+            int i = indexOf(key);
+            if (i >= 0) {
+                change.value = array[i + 1];
+                if (array[i + 1] == value) return this;
+                Object[] newArray = isEditable(edit) ? array : array.clone();
+                newArray[i + 1] = value;
+                return newArray == array ? this : new CollisionNode(edit, hash, newArray);
+            }
+            change.added = true;
+            Object[] newArray = new Object[array.length + 2];
+            System.arraycopy(array, 0, newArray, 0, array.length);
+            newArray[array.length] = key;
+            newArray[array.length + 1] = value;
+            if (isEditable(edit)) {
+                array = newArray;
+                return this;
+            }
+            return new CollisionNode(edit, hash, newArray);
+        }
+
+        Node without(Object edit, int shift, int hash, Object key, Change change) {
+            int i = indexOf(key);
+            if (i < 0) return this;
+            change.removed = true;
+            change.value = array[i + 1];
+            if (array.length == 2) return null;
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, i);
+            System.arraycopy(array, i + 2, newArray, i, array.length - i - 2);
+            if (isEditable(edit)) {
+                array = newArray;
+                return this;
+            }
+            return new CollisionNode(edit, hash, newArray);
+        }
+
+        void forEach(BiConsumer<Object, Object> f) {
+            for (int i = 0; i < array.length; i += 2) f.accept(array[i], array[i + 1]);
+        }
+
+        void collectStats(int depth, SymbolTableStats stats) {
+            stats.addNodes(SymbolTableStats.objectBytes(2, 1, 0)).addArrays(SymbolTableStats.referenceArrayBytes(array.length));
+            for (int i = 0; i < array.length; i += 2) stats.addBoxed(array[i], array[i + 1]).record(depth);
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < array.length; i += 2) if (Objects.equals(key, array[i])) return i;
+            return -1;
+        }
+
+        private final int hash;
+        private Object[] array;
+    }
+}
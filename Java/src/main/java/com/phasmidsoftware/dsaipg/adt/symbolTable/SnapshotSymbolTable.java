@@ -0,0 +1,101 @@
+package com.phasmidsoftware.dsaipg.adt.symbolTable;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * A mutable symbol table whose state is always a PersistentHashTrie.
+ * Writers update it through the ST interface (each update atomically publishes a new version),
+ * while readers call snapshot() to obtain an immutable version which they may query for as long as they like,
+ * unaffected by subsequent updates.
+ * No locks are involved: concurrent writers retry if another writer publishes a version first.
+ *
+ * @param <Key>   the key type.
+ * @param <Value> the value type.
+ */
+public class SnapshotSymbolTable<Key, Value> implements ST<Key, Value> {
+
+    /**
+     * @return the current version, which will never change.
+     */
+    public PersistentHashTrie<Key, Value> snapshot() {
+        return current.get();
+    }
+
+    /**
+     * Insert a key/value pair, publishing a new version.
+     *
+     * @param key the key.
+     * @param val the value.
+     * @return the original value, if any, otherwise null.
+     */
+    public Value put(Key key, Value val) {
+        while (true) {
+            PersistentHashTrie<Key, Value> version = current.get();
+            if (current.compareAndSet(version, version.put(key, val))) return version.get(key);
+        }
+    }
+
+    /**
+     * Delete a key, publishing a new version.
+     *
+     * @param key the key.
+     * @return the original value, if any, otherwise null.
+     */
+    public Value delete(Key key) {
+        while (true) {
+            PersistentHashTrie<Key, Value> version = current.get();
+            if (current.compareAndSet(version, version.delete(key))) return version.get(key);
+        }
+    }
+
+    /**
+     * Method to apply a batch of updates (using a Transient) and then to publish the result as a single new version.
+     * Readers will see either none or all of the batch.
+     * NOTE: the batch may be applied more than once if another writer publishes a version concurrently.
+     *
+     * @param batch a function which updates the given (mutable) ST.
+     */
+    public void update(Consumer<ST<Key, Value>> batch) {
+        while (true) {
+            PersistentHashTrie<Key, Value> version = current.get();
+            PersistentHashTrie.Transient<Key, Value> updater = version.asTransient();
+            batch.accept(updater);
+            if (current.compareAndSet(version, updater.persistent())) return;
+        }
+    }
+
+    /**
+     * Retrieve the value for a given key from the current version.
+     *
+     * @param key the key.
+     * @return the value, if key is present, else null.
+     */
+    public Value get(Key key) {
+        return current.get().get(key);
+    }
+
+    /**
+     * @return the set of keys of the current version.
+     */
+    public Set<Key> keys() {
+        return current.get().keys();
+    }
+
+    /**
+     * @return the size of the current version.
+     */
+    public int size() {
+        return current.get().size();
+    }
+
+    /**
+     * @return the estimated memory footprint of the current version.
+     */
+    public SymbolTableStats stats() {
+        return current.get().stats();
+    }
+
+    private final AtomicReference<PersistentHashTrie<Key, Value>> current = new AtomicReference<>(PersistentHashTrie.empty());
+}
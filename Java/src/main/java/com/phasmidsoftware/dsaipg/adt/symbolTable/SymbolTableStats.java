@@ -0,0 +1,273 @@
+package com.phasmidsoftware.dsaipg.adt.symbolTable;
+
+import java.util.Arrays;
+
+import static com.phasmidsoftware.dsaipg.util.general.Utilities.formatDecimal3Places;
+
+/**
+ * Class to accumulate the estimated memory footprint and shape statistics of a symbol table.
+ * <p>
+ * The footprint is broken down into:
+ * <ul>
+ *     <li>header: the symbol table object itself (and any fixed-size helpers);</li>
+ *     <li>nodes: the per-entry objects (tree nodes, linked-list nodes, key/value pairs, etc.);</li>
+ *     <li>arrays: the arrays (hash tables, key arrays in B-tree nodes, etc.);</li>
+ *     <li>boxed: the keys and values themselves (e.g. Integer or String objects).</li>
+ * </ul>
+ * The estimates assume a 64-bit JVM with compressed oops (the default for heaps smaller than 32GB):
+ * that's to say 12-byte object headers, 16-byte array headers, 4-byte references and 8-byte alignment.
+ * Keys and values are counted as if they were not shared with anything else, so that the boxed figure is an upper bound.
+ * <p>
+ * The histogram records, for each entry, the number of steps needed to find it:
+ * its depth (for trees) or its probe length or chain position (for hash tables).
+ */
+public class SymbolTableStats {
+
+    /**
+     * Constructor.
+     *
+     * @param description   the description of the symbol table.
+     * @param entries       the number of entries (key/value pairs).
+     * @param histogramName the meaning of the histogram, e.g. "depth" or "probe length".
+     */
+    public SymbolTableStats(String description, int entries, String histogramName) {
+        this.description = description;
+        this.entries = entries;
+        this.histogramName = histogramName;
+    }
+
+    /**
+     * Method to add to the bytes of the header.
+     *
+     * @param bytes the number of bytes.
+     * @return this.
+     */
+    public SymbolTableStats addHeader(long bytes) {
+        headerBytes += bytes;
+        return this;
+    }
+
+    /**
+     * Method to add to the bytes of the per-entry objects.
+     *
+     * @param bytes the number of bytes.
+     * @return this.
+     */
+    public SymbolTableStats addNodes(long bytes) {
+        nodeBytes += bytes;
+        return this;
+    }
+
+    /**
+     * Method to add to the bytes of arrays.
+     *
+     * @param bytes the number of bytes.
+     * @return this.
+     */
+    public SymbolTableStats addArrays(long bytes) {
+        arrayBytes += bytes;
+        return this;
+    }
+
+    /**
+     * Method to add the estimated sizes of a key and its value.
+     *
+     * @param key   the key.
+     * @param value the value.
+     * @return this.
+     */
+    public SymbolTableStats addBoxed(Object key, Object value) {
+        boxedBytes += sizeOf(key) + sizeOf(value);
+        return this;
+    }
+
+    /**
+     * Method to record one entry in the histogram.
+     *
+     * @param x the depth, probe length, etc. of an entry.
+     * @return this.
+     */
+    public SymbolTableStats record(int x) {
+        if (x >= histogram.length) histogram = Arrays.copyOf(histogram, Math.max(x + 1, 2 * histogram.length));
+        histogram[x]++;
+        return this;
+    }
+
+    /**
+     * @param loadFactor the load factor (entries per slot) of a hash table, or the fill factor of a B-tree.
+     * @return this.
+     */
+    public SymbolTableStats setLoadFactor(double loadFactor) {
+        this.loadFactor = loadFactor;
+        return this;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public int getEntries() {
+        return entries;
+    }
+
+    public long getHeaderBytes() {
+        return headerBytes;
+    }
+
+    public long getNodeBytes() {
+        return nodeBytes;
+    }
+
+    public long getArrayBytes() {
+        return arrayBytes;
+    }
+
+    public long getBoxedBytes() {
+        return boxedBytes;
+    }
+
+    /**
+     * @return the estimated number of bytes retained by the symbol table, including its keys and values.
+     */
+    public long getTotalBytes() {
+        return headerBytes + nodeBytes + arrayBytes + boxedBytes;
+    }
+
+    /**
+     * @return the total bytes divided by the number of entries (or the total bytes if there are no entries).
+     */
+    public double bytesPerEntry() {
+        return (double) getTotalBytes() / Math.max(1, entries);
+    }
+
+    /**
+     * @return the bytes per entry which are due to the structure itself (i.e. excluding the keys and values).
+     */
+    public double overheadPerEntry() {
+        return (double) (getTotalBytes() - boxedBytes) / Math.max(1, entries);
+    }
+
+    /**
+     * @return the load factor (NaN if not applicable).
+     */
+    public double getLoadFactor() {
+        return loadFactor;
+    }
+
+    /**
+     * @return the meaning of the histogram.
+     */
+    public String getHistogramName() {
+        return histogramName;
+    }
+
+    /**
+     * @return a copy of the histogram, whose element i is the number of entries with depth (or probe length) i.
+     */
+    public int[] getHistogram() {
+        int length = histogram.length;
+        while (length > 0 && histogram[length - 1] == 0) length--;
+        return Arrays.copyOf(histogram, length);
+    }
+
+    /**
+     * @return the mean of the histogram (NaN if it is empty).
+     */
+    public double histogramMean() {
+        long count = 0, total = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            count += histogram[i];
+            total += (long) i * histogram[i];
+        }
+        return count > 0 ? (double) total / count : Double.NaN;
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder(description).append(": ").append(entries).append(" entries, ")
+                .append(getTotalBytes()).append(" bytes (header: ").append(headerBytes)
+                .append(", nodes: ").append(nodeBytes).append(", arrays: ").append(arrayBytes)
+                .append(", boxed: ").append(boxedBytes).append("), bytes/entry: ").append(formatDecimal3Places(bytesPerEntry()))
+                .append(", overhead/entry: ").append(formatDecimal3Places(overheadPerEntry()));
+        if (!Double.isNaN(loadFactor)) sb.append(", load factor: ").append(formatDecimal3Places(loadFactor));
+        int[] h = getHistogram();
+        if (h.length > 0)
+            sb.append(", mean ").append(histogramName).append(": ").append(formatDecimal3Places(histogramMean()))
+                    .append(", ").append(histogramName).append(" histogram: ").append(Arrays.toString(h));
+        return sb.toString();
+    }
+
+    /**
+     * The size of an object header.
+     */
+    public static final int OBJECT_HEADER = 12;
+    /**
+     * The size of an array header (including its length).
+     */
+    public static final int ARRAY_HEADER = 16;
+    /**
+     * The size of a (compressed) reference.
+     */
+    public static final int REFERENCE = 4;
+
+    /**
+     * Method to estimate the size of an object with the given fields.
+     * NOTE that booleans, bytes, shorts and chars may be counted as ints (this errs on the generous side).
+     *
+     * @param references the number of reference fields (including the implicit reference to the enclosing instance of an inner class).
+     * @param ints       the number of int (or float, or smaller) fields.
+     * @param longs      the number of long (or double) fields.
+     * @return the number of bytes (aligned).
+     */
+    public static long objectBytes(int references, int ints, int longs) {
+        return align(OBJECT_HEADER + (long) REFERENCE * references + 4L * ints + 8L * longs);
+    }
+
+    /**
+     * @param length the length of an array of references.
+     * @return the number of bytes (aligned).
+     */
+    public static long referenceArrayBytes(int length) {
+        return align(ARRAY_HEADER + (long) REFERENCE * length);
+    }
+
+    /**
+     * @param length the length of an int array.
+     * @return the number of bytes (aligned).
+     */
+    public static long intArrayBytes(int length) {
+        return align(ARRAY_HEADER + 4L * length);
+    }
+
+    /**
+     * Method to estimate the size of a key or value.
+     * Boxed primitives and Strings are estimated exactly (though shared instances, such as cached Integers, are not detected).
+     * Other objects are assumed to be the size of an object with two reference fields.
+     *
+     * @param x the object (may be null).
+     * @return the estimated number of bytes.
+     */
+    public static long sizeOf(Object x) {
+        if (x == null) return 0;
+        if (x instanceof Long || x instanceof Double) return objectBytes(0, 0, 1);
+        if (x instanceof Number || x instanceof Character || x instanceof Boolean) return objectBytes(0, 1, 0);
+        if (x instanceof String s) {
+            boolean latin1 = s.chars().allMatch(c -> c < 256);
+            return objectBytes(1, 2, 0) + align(ARRAY_HEADER + (long) s.length() * (latin1 ? 1 : 2));
+        }
+        return objectBytes(2, 0, 0);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    private final String description;
+    private final int entries;
+    private final String histogramName;
+    private long headerBytes = 0;
+    private long nodeBytes = 0;
+    private long arrayBytes = 0;
+    private long boxedBytes = 0;
+    private double loadFactor = Double.NaN;
+    private int[] histogram = new int[8];
+}
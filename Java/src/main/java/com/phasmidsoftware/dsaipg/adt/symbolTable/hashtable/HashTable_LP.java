@@ -4,6 +4,8 @@
 
 package com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable;
 
+import com.phasmidsoftware.dsaipg.adt.symbolTable.SymbolTableStats;
+
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -106,6 +108,24 @@ public class HashTable_LP<Key, Value> extends HashTable<Key, Value> {
         return Arrays.stream(elements).filter(Objects::nonNull).map(elem -> ((KeyValuePair<Key, Value>) elem).key).sorted().collect(Collectors.toCollection(TreeSet::new));
     }
 
+    /**
+     * Get the estimated memory footprint of this hash table, together with a histogram of probe lengths
+     * (the number of slots which must be examined to find each key).
+     *
+     * @return a SymbolTableStats.
+     */
+    public SymbolTableStats stats() {
+        SymbolTableStats result = new SymbolTableStats("HashTable_LP(" + m + ")", size, "probe length");
+        result.addHeader(SymbolTableStats.objectBytes(1, 2, 0)).addArrays(SymbolTableStats.referenceArrayBytes(elements.length));
+        for (int i = 0; i < elements.length; i++)
+            if (elements[i] != null) {
+                Key key = getKey(i);
+                int probes = (i - getIndex(key) + m) % m + 1;
+                result.addNodes(SymbolTableStats.objectBytes(2, 0, 0)).addBoxed(key, getValue(i)).record(probes);
+            }
+        return result.setLoadFactor((double) size / m);
+    }
+
     /**
      * What is this? Why is it different from get?
      *
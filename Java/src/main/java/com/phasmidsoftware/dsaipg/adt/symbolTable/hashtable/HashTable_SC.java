@@ -1,5 +1,6 @@
 package com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable;
 
+import com.phasmidsoftware.dsaipg.adt.symbolTable.SymbolTableStats;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
@@ -111,6 +112,27 @@ public class HashTable_SC<Key, Value> extends HashTable<Key, Value> {
         return result;
     }
 
+    /**
+     * Get the estimated memory footprint of this hash table, together with a histogram of chain positions
+     * (the number of nodes which must be visited to find each key).
+     *
+     * @return a SymbolTableStats.
+     */
+    public SymbolTableStats stats() {
+        SymbolTableStats result = new SymbolTableStats("HashTable_SC(" + m + ")", size(), "chain position");
+        result.addHeader(SymbolTableStats.objectBytes(1, 1, 0)).addArrays(SymbolTableStats.referenceArrayBytes(buckets.length));
+        // Each entry has a Node (keyValuePair, next) and a KeyValuePair (key, value).
+        long nodeBytes = SymbolTableStats.objectBytes(2, 0, 0) + SymbolTableStats.objectBytes(2, 0, 0);
+        for (Object bucket : buckets) {
+            int position = 1;
+            @SuppressWarnings("unchecked") Node<Key, Value> first = (Node<Key, Value>) bucket;
+            for (Node<Key, Value> node = first; node != null; node = node.next, position++) {
+                result.addNodes(nodeBytes).addBoxed(node.keyValuePair.key, node.keyValuePair.value).record(position);
+            }
+        }
+        return result.setLoadFactor((double) result.getEntries() / m);
+    }
+
     @Override
     public String toString() {
         StringBuilder result = new StringBuilder();
@@ -5,10 +5,9 @@
 package com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable;
 
 import com.phasmidsoftware.dsaipg.adt.symbolTable.ST;
+import com.phasmidsoftware.dsaipg.adt.symbolTable.SymbolTableStats;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 
 /**
  * Provides an implementation of the {@code ST} interface, which represents a symbol table using a generic map backend.
@@ -87,6 +86,33 @@ public class STMap<Key, Value> implements ST<Key, Value> {
         this(new HashMap<>());
     }
 
+    /**
+     * Get the estimated memory footprint of the underlying map.
+     * The internals of the JDK maps are not accessible, so the estimate is based on their documented structure:
+     * for a HashMap (or LinkedHashMap), a table whose capacity is the smallest power of two (at least 16)
+     * that keeps the load factor within 0.75, and one node per entry; for a TreeMap, one (red-black) entry per entry.
+     * Other maps are estimated as if they were HashMaps.
+     * No histogram is recorded.
+     *
+     * @return a SymbolTableStats.
+     */
+    public SymbolTableStats stats() {
+        int n = map.size();
+        SymbolTableStats result = new SymbolTableStats("STMap(" + map.getClass().getSimpleName() + ")", n, "depth");
+        result.addHeader(SymbolTableStats.objectBytes(1, 0, 0));
+        for (Map.Entry<Key, Value> entry : map.entrySet()) result.addBoxed(entry.getKey(), entry.getValue());
+        if (map instanceof TreeMap) {
+            result.addHeader(SymbolTableStats.objectBytes(7, 2, 0)).addNodes(n * SymbolTableStats.objectBytes(5, 1, 0));
+            return result;
+        }
+        int capacity = 16;
+        while (n > capacity * 3L / 4) capacity <<= 1;
+        boolean linked = map instanceof LinkedHashMap;
+        result.addHeader(SymbolTableStats.objectBytes(linked ? 6 : 4, 4, 0)).addArrays(SymbolTableStats.referenceArrayBytes(capacity));
+        result.addNodes(n * SymbolTableStats.objectBytes(linked ? 5 : 3, 1, 0));
+        return result.setLoadFactor((double) n / capacity);
+    }
+
     @Override
     public String toString() {
         return map.toString();
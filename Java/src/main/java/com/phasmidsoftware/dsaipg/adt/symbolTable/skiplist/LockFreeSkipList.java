@@ -0,0 +1,459 @@
+package com.phasmidsoftware.dsaipg.adt.symbolTable.skiplist;
+
+import com.phasmidsoftware.dsaipg.adt.symbolTable.SymbolTableStats;
+import com.phasmidsoftware.dsaipg.adt.symbolTable.tree.NavigableBST;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A lock-free skip list implementation of an ordered symbol table, which may be shared by any number of threads.
+ * <p>
+ * The algorithm is that of Herlihy and Shavit (The Art of Multiprocessor Programming, chapter 14),
+ * in which each forward link carries a mark bit: a node is physically removed (by any thread which encounters it)
+ * only after its links have all been marked.
+ * In addition, as in java.util.concurrent.ConcurrentSkipListMap, the value of each node is held in an atomic reference:
+ * a delete is linearized by replacing the value with the DELETED sentinel, and a put to an existing key
+ * is linearized by a compare-and-set of the value.
+ * <p>
+ * The expected height of a node is 1/(1-p), where p is the level probability.
+ * The traditional value of p is 1/2; smaller values (such as 1/4) use less memory at the cost of somewhat longer searches.
+ * <p>
+ * NOTE: size() is exact when the list is quiescent but only approximate while it is being updated.
+ * Iteration (keySet and keys(lo, hi)) is weakly consistent.
+ *
+ * @param <Key>   the type of keys maintained by this skip list. Must be comparable.
+ * @param <Value> the type of mapped values.
+ */
+public class LockFreeSkipList<Key extends Comparable<Key>, Value> implements NavigableBST<Key, Value> {
+
+    /**
+     * Constructor to create an empty skip list.
+     *
+     * @param p the probability that a node of level k also has level k+1 (must be strictly between 0 and 1).
+     */
+    public LockFreeSkipList(double p) {
+        if (p <= 0 || p >= 1)
+            throw new IllegalArgumentException("LockFreeSkipList: level probability must be between 0 and 1 (exclusive): " + p);
+        this.p = p;
+    }
+
+    /**
+     * Constructor to create an empty skip list with level probability of 1/2.
+     */
+    public LockFreeSkipList() {
+        this(0.5);
+    }
+
+    /**
+     * Retrieve the value for a given key.
+     * This method is wait-free: it never helps with the physical removal of deleted nodes.
+     *
+     * @param key the key.
+     * @return the value, if key is present, else null.
+     */
+    public Value get(Key key) {
+        validateKey(key);
+        Node node = findNode(key);
+        return node != null ? unwrap(node.value.get()) : null;
+    }
+
+    /**
+     * Insert a key/value pair.
+     * If the key already exists, then its value will simply be overwritten.
+     *
+     * @param key   the key.
+     * @param value the value.
+     * @return the original value, if any, otherwise null.
+     */
+    public Value put(Key key, Value value) {
+        validateKey(key);
+        Object wrapped = wrap(value);
+        Node[] preds = newNodeArray(), succs = newNodeArray();
+        while (true) {
+            if (find(key, preds, succs)) {
+                Node node = succs[0];
+                Object current = node.value.get();
+                if (current != DELETED && node.value.compareAndSet(current, wrapped)) return unwrap(current);
+                // The node is being deleted: help to finish the job and try again.
+                if (current == DELETED) markLinks(node);
+                continue;
+            }
+            int top = randomLevel();
+            Node node = new Node(key, wrapped, top);
+            for (int level = 0; level < top; level++) node.next[level].set(succs[level], false);
+            if (!preds[0].next[0].compareAndSet(succs[0], node, false, false)) continue;
+            count.incrementAndGet();
+            linkUpperLevels(node, top, preds, succs);
+            return null;
+        }
+    }
+
+    /**
+     * Delete a key.
+     *
+     * @param key the key.
+     * @return the original value, if any, otherwise null.
+     */
+    public Value delete(Key key) {
+        validateKey(key);
+        Node[] preds = newNodeArray(), succs = newNodeArray();
+        if (!find(key, preds, succs)) return null;
+        Node node = succs[0];
+        while (true) {
+            Object current = node.value.get();
+            if (current == DELETED) return null;
+            if (node.value.compareAndSet(current, DELETED)) {
+                count.decrementAndGet();
+                markLinks(node);
+                // Physically remove the node from every level.
+                find(key, preds, succs);
+                return unwrap(current);
+            }
+        }
+    }
+
+    /**
+     * @return the number of key/value pairs in this skip list (approximate during concurrent updates).
+     */
+    public int size() {
+        return count.get();
+    }
+
+    /**
+     * @return a snapshot of the set of keys (weakly consistent with concurrent updates).
+     */
+    public Set<Key> keySet() {
+        Set<Key> result = new TreeSet<>();
+        for (Node x = head.next[0].getReference(); x != null; x = x.next[0].getReference())
+            if (x.isLive()) result.add(x.key);
+        return result;
+    }
+
+    /**
+     * @return the smallest key in this skip list, or null if it is empty.
+     */
+    public Key min() {
+        Node x = firstLiveFrom(head.next[0].getReference());
+        return x != null ? x.key : null;
+    }
+
+    /**
+     * @return the largest key in this skip list, or null if it is empty.
+     */
+    public Key max() {
+        Node x = head;
+        for (int level = MAX_LEVEL - 1; level > 0; level--) {
+            Node next = x.next[level].getReference();
+            while (next != null) {
+                x = next;
+                next = x.next[level].getReference();
+            }
+        }
+        Key result = x.isLive() ? x.key : null;
+        for (Node y = x.next[0].getReference(); y != null; y = y.next[0].getReference())
+            if (y.isLive()) result = y.key;
+        return result != null ? result : max(x);
+    }
+
+    /**
+     * Get the largest key in this skip list which is less than or equal to key.
+     *
+     * @param key the key to compare with.
+     * @return the floor of key, or null if there is no such key.
+     */
+    public Key floor(Key key) {
+        validateKey(key);
+        Node[] preds = newNodeArray(), succs = newNodeArray();
+        while (true) {
+            if (find(key, preds, succs) && succs[0].isLive()) return key;
+            Node pred = preds[0];
+            if (pred == head) return null;
+            if (pred.isLive()) return pred.key;
+            // The predecessor is being deleted: help to finish the job and try again.
+            markLinks(pred);
+        }
+    }
+
+    /**
+     * Get the smallest key in this skip list which is greater than or equal to key.
+     *
+     * @param key the key to compare with.
+     * @return the ceiling of key, or null if there is no such key.
+     */
+    public Key ceiling(Key key) {
+        validateKey(key);
+        Node x = firstLiveFrom(findCeilingNode(key));
+        return x != null ? x.key : null;
+    }
+
+    /**
+     * Get the keys of this skip list which are between lo and hi (both inclusive), in ascending order.
+     * The iterator is weakly consistent: it reflects some (but not necessarily all) concurrent updates.
+     *
+     * @param lo the lower bound.
+     * @param hi the upper bound.
+     * @return an Iterable of keys k such that lo &lt;= k &lt;= hi.
+     */
+    public Iterable<Key> keys(Key lo, Key hi) {
+        validateKey(lo);
+        validateKey(hi);
+        return () -> new RangeIterator(lo, hi);
+    }
+
+    /**
+     * Get the estimated memory footprint of this skip list, together with a histogram of the number of levels of each node.
+     * NOTE: this should only be invoked when the list is quiescent.
+     *
+     * @return a SymbolTableStats.
+     */
+    public SymbolTableStats stats() {
+        SymbolTableStats result = new SymbolTableStats("LockFreeSkipList(" + p + ")", size(), "level");
+        result.addHeader(SymbolTableStats.objectBytes(2, 0, 1) + SymbolTableStats.objectBytes(0, 1, 0) + nodeBytes(head));
+        for (Node x = head.next[0].getReference(); x != null; x = x.next[0].getReference())
+            if (x.isLive()) {
+                result.addNodes(nodeBytes(x)).record(x.next.length);
+                result.addBoxed(x.key, unwrap(x.value.get()));
+            }
+        return result;
+    }
+
+    /**
+     * @return the level probability of this skip list.
+     */
+    public double getP() {
+        return p;
+    }
+
+    /**
+     * The maximum number of levels in a skip list.
+     */
+    public static final int MAX_LEVEL = 32;
+
+    /**
+     * Method to locate the predecessors and successors of key at every level,
+     * physically removing any marked nodes which are encountered on the way.
+     *
+     * @param key   the key.
+     * @param preds the array into which the predecessors (whose keys are less than key) are placed.
+     * @param succs the array into which the successors (whose keys are greater than or equal to key, or null) are placed.
+     * @return true if succs[0] has key as its key.
+     */
+    private boolean find(Key key, Node[] preds, Node[] succs) {
+        boolean[] marked = {false};
+        retry:
+        while (true) {
+            Node pred = head;
+            Node curr = null;
+            for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+                curr = pred.next[level].getReference();
+                while (curr != null) {
+                    Node succ = curr.next[level].get(marked);
+                    while (marked[0]) {
+                        if (!pred.next[level].compareAndSet(curr, succ, false, false)) continue retry;
+                        curr = succ;
+                        if (curr == null) break;
+                        succ = curr.next[level].get(marked);
+                    }
+                    if (curr != null && curr.key.compareTo(key) < 0) {
+                        pred = curr;
+                        curr = succ;
+                    } else break;
+                }
+                preds[level] = pred;
+                succs[level] = curr;
+            }
+            return curr != null && curr.key.compareTo(key) == 0;
+        }
+    }
+
+    /**
+     * Method to locate the node whose key is key, without modifying the list.
+     *
+     * @param key the key.
+     * @return the node, if it exists and has not been deleted, otherwise null.
+     */
+    private Node findNode(Key key) {
+        Node curr = findCeilingNode(key);
+        return curr != null && curr.key.compareTo(key) == 0 && curr.isLive() ? curr : null;
+    }
+
+    /**
+     * Method to locate the first node (possibly deleted) whose key is greater than or equal to key, without modifying the list.
+     *
+     * @param key the key.
+     * @return the node, or null if there is no such node.
+     */
+    private Node findCeilingNode(Key key) {
+        Node pred = head;
+        Node curr = null;
+        for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+            curr = pred.next[level].getReference();
+            while (curr != null && curr.key.compareTo(key) < 0) {
+                pred = curr;
+                curr = curr.next[level].getReference();
+            }
+        }
+        return curr;
+    }
+
+    /**
+     * Method to link a newly inserted node into its upper levels.
+     * If the node is deleted during this process, linking stops.
+     *
+     * @param node  the node, which is already linked at level 0.
+     * @param top   the number of levels of node.
+     * @param preds the predecessors, as determined by the most recent invocation of find.
+     * @param succs the successors, as determined by the most recent invocation of find.
+     */
+    private void linkUpperLevels(Node node, int top, Node[] preds, Node[] succs) {
+        for (int level = 1; level < top; level++) {
+            while (true) {
+                Node expected = node.next[level].getReference();
+                if (node.next[level].isMarked()) return;
+                if (expected != succs[level] && !node.next[level].compareAndSet(expected, succs[level], false, false))
+                    return;
+                if (preds[level].next[level].compareAndSet(succs[level], node, false, false)) break;
+                if (!find(node.key, preds, succs) || succs[0] != node) return;
+            }
+        }
+    }
+
+    /**
+     * Method to mark every link of node, from the top level down, so that it can be physically removed.
+     * This is idempotent and so may be invoked by any thread which encounters a deleted node.
+     *
+     * @param node the node, whose value must already be DELETED.
+     */
+    private void markLinks(Node node) {
+        for (int level = node.next.length - 1; level >= 0; level--) {
+            AtomicMarkableReference<Node> link = node.next[level];
+            boolean[] marked = {false};
+            Node succ = link.get(marked);
+            while (!marked[0]) {
+                link.compareAndSet(succ, succ, false, true);
+                succ = link.get(marked);
+            }
+        }
+    }
+
+    /**
+     * Method to estimate the footprint of a node: the node itself (three fields plus the reference to this list),
+     * its AtomicReference, its array of links and, for each level, an AtomicMarkableReference and its Pair.
+     */
+    private static long nodeBytes(LockFreeSkipList<?, ?>.Node node) {
+        int levels = node.next.length;
+        return SymbolTableStats.objectBytes(4, 0, 0) + SymbolTableStats.objectBytes(1, 0, 0) + SymbolTableStats.referenceArrayBytes(levels) +
+                levels * (SymbolTableStats.objectBytes(1, 0, 0) + SymbolTableStats.objectBytes(1, 1, 0));
+    }
+
+    private Node firstLiveFrom(Node x) {
+        while (x != null && !x.isLive()) x = x.next[0].getReference();
+        return x;
+    }
+
+    /**
+     * Fallback for max if every node at or after the rightmost upper-level node has been deleted:
+     * scan the bottom level from the start, remembering the last live node before x.
+     */
+    private Key max(Node x) {
+        Key result = null;
+        for (Node y = head.next[0].getReference(); y != null && y != x; y = y.next[0].getReference())
+            if (y.isLive()) result = y.key;
+        return result;
+    }
+
+    private int randomLevel() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int level = 1;
+        while (level < MAX_LEVEL && random.nextDouble() < p) level++;
+        return level;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node[] newNodeArray() {
+        return (Node[]) new LockFreeSkipList<?, ?>.Node[MAX_LEVEL];
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private AtomicMarkableReference<Node>[] newLinkArray(int levels) {
+        return (AtomicMarkableReference<Node>[]) new AtomicMarkableReference[levels];
+    }
+
+    private static Object wrap(Object value) {
+        return value != null ? value : NULL;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Value unwrap(Object value) {
+        return value == NULL || value == DELETED ? null : (Value) value;
+    }
+
+    /**
+     * A node of this skip list, with one forward link for each of its levels.
+     */
+    private class Node {
+        Node(Key key, Object value, int levels) {
+            this.key = key;
+            this.value = new AtomicReference<>(value);
+            this.next = newLinkArray(levels);
+            for (int i = 0; i < levels; i++) next[i] = new AtomicMarkableReference<>(null, false);
+        }
+
+        boolean isLive() {
+            return value.get() != DELETED;
+        }
+
+        public String toString() {
+            return "Node{" + key + "}";
+        }
+
+        final Key key;
+        final AtomicReference<Object> value;
+        final AtomicMarkableReference<Node>[] next;
+    }
+
+    /**
+     * A weakly consistent iterator over the live keys between lo and hi (inclusive).
+     */
+    private class RangeIterator implements Iterator<Key> {
+        RangeIterator(Key lo, Key hi) {
+            this.hi = hi;
+            this.node = firstLiveFrom(findCeilingNode(lo));
+        }
+
+        public boolean hasNext() {
+            return node != null && node.key.compareTo(hi) <= 0;
+        }
+
+        public Key next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            Key result = node.key;
+            node = firstLiveFrom(node.next[0].getReference());
+            return result;
+        }
+
+        private final Key hi;
+        private Node node;
+    }
+
+    /**
+     * Sentinel value of a node which has been (logically) deleted.
+     */
+    private static final Object DELETED = new Object();
+
+    /**
+     * Placeholder for a null value (so that null may be distinguished from DELETED).
+     */
+    private static final Object NULL = new Object();
+
+    private final double p;
+    private final Node head = new Node(null, NULL, MAX_LEVEL);
+    private final AtomicInteger count = new AtomicInteger();
+}
@@ -0,0 +1,106 @@
+package com.phasmidsoftware.dsaipg.adt.symbolTable.skiplist;
+
+import com.phasmidsoftware.dsaipg.util.benchmark.Stopwatch;
+import com.phasmidsoftware.dsaipg.util.logging.LazyLogger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static com.phasmidsoftware.dsaipg.util.general.Utilities.formatDecimal3Places;
+import static com.phasmidsoftware.dsaipg.util.general.Utilities.formatWhole;
+
+/**
+ * Contention benchmark for LockFreeSkipList.
+ * Each run has t threads share one skip list, each performing a fixed number of operations
+ * drawn from a mix of gets, puts and deletes on a fixed key range.
+ * The throughput (operations per microsecond) is logged for t = 1, 2, 4, ... up to the given maximum number of threads.
+ * <p>
+ * Arguments (all optional): maximum number of threads; percentage of updates; level probability.
+ * <p>
+ * The runs are timed by a Stopwatch (not by Benchmark_Timer) after one warm-up run.
+ */
+public class SkipListBenchmark {
+
+    /**
+     * Main program.
+     *
+     * @param args maximum threads (default: available processors), update percentage (default 20), level probability (default 0.5).
+     */
+    public static void main(String[] args) {
+        logger.info("SkipListBenchmark: with args: " + Arrays.toString(args));
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int updatePercent = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        double p = args.length > 2 ? Double.parseDouble(args[2]) : 0.5;
+        SkipListBenchmark benchmark = new SkipListBenchmark(updatePercent, p);
+        for (int threads = 1; threads <= maxThreads; threads *= 2) benchmark.run(threads);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param updatePercent the percentage of operations which are updates (half puts, half deletes).
+     * @param p             the level probability of the skip list.
+     */
+    public SkipListBenchmark(int updatePercent, double p) {
+        this.updatePercent = updatePercent;
+        this.p = p;
+    }
+
+    /**
+     * Method to benchmark the skip list with the given number of threads and log the throughput.
+     *
+     * @param threads the number of threads.
+     * @return the mean time in milliseconds for each run.
+     */
+    double run(int threads) {
+        LockFreeSkipList<Integer, Integer> list = new LockFreeSkipList<>(p);
+        for (int i = 0; i < KEY_RANGE; i += 2) list.put(i, i);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            runThreads(list, executor, threads);
+            double millis;
+            try (Stopwatch stopwatch = new Stopwatch("microseconds")) {
+                for (int r = 0; r < RUNS; r++) runThreads(list, executor, threads);
+                millis = stopwatch.lap() / 1000.0 / RUNS;
+            }
+            double throughput = (double) threads * OPS_PER_THREAD / millis / 1000;
+            logger.info("threads: " + threads + ", updates: " + updatePercent + "%, p: " + p + ", size: " + formatWhole(list.size()) +
+                    ", mean time: " + formatDecimal3Places(millis) + " mSec, throughput: " + formatDecimal3Places(throughput) + " ops/uSec" +
+                    ", bytes/entry: " + formatDecimal3Places(list.stats().bytesPerEntry()));
+            return millis;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void runThreads(LockFreeSkipList<Integer, Integer> list, ExecutorService executor, int threads) {
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++)
+            futures.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < OPS_PER_THREAD; i++) {
+                    int key = random.nextInt(KEY_RANGE);
+                    int choice = random.nextInt(100);
+                    if (choice < updatePercent / 2) list.put(key, i);
+                    else if (choice < updatePercent) list.delete(key);
+                    else list.get(key);
+                }
+            }));
+        try {
+            for (Future<?> future : futures) future.get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException("SkipListBenchmark: worker failed", e);
+        }
+    }
+
+    private static final int KEY_RANGE = 1 << 20;
+    private static final int OPS_PER_THREAD = 100_000;
+    private static final int RUNS = 10;
+
+    final static LazyLogger logger = new LazyLogger(SkipListBenchmark.class);
+
+    private final int updatePercent;
+    private final double p;
+}
@@ -0,0 +1,680 @@
+package com.phasmidsoftware.dsaipg.adt.symbolTable.tree;
+
+import com.phasmidsoftware.dsaipg.adt.symbolTable.SymbolTableStats;
+
+import java.util.*;
+
+/**
+ * A B+-tree implementation of an ordered symbol table.
+ * <p>
+ * Unlike BSTSimple, whose nodes each hold a single key, the nodes of a B+-tree hold up to fanout keys in an array,
+ * so that a lookup touches only O(log_fanout n) nodes and the keys of each node are scanned (by binary search)
+ * within contiguous memory.
+ * All key/value pairs reside in the leaves, which are linked together in order, so that range scans need only
+ * to locate the first key and then follow the leaf links.
+ * Each internal node also records the size of each of its subtrees, which supports rank and select in O(log n).
+ * <p>
+ * NOTE: deletion is relaxed: a key is simply removed from its leaf and empty nodes are unlinked,
+ * but under-full nodes are not merged with their siblings.
+ * This keeps the tree valid (and all leaves at the same depth) but may leave it less densely packed than after bulk loading.
+ *
+ * @param <Key>   the type of keys maintained by this tree. Must be comparable.
+ * @param <Value> the type of mapped values.
+ */
+public class BPlusTree<Key extends Comparable<Key>, Value> implements OrderedBST<Key, Value> {
+
+    /**
+     * Method to build a B+-tree from keys which are already in ascending order, in O(n) time.
+     * The leaves are filled (as evenly as possible) to capacity, and then each level of internal nodes is built from the level below.
+     *
+     * @param keys   the keys, in strictly ascending order.
+     * @param values the values corresponding to the keys (may be null, in which case all values will be null).
+     * @param fanout the maximum number of keys in a leaf and the maximum number of children of an internal node.
+     * @param <K>    the key type.
+     * @param <V>    the value type.
+     * @return a new BPlusTree.
+     * @throws IllegalArgumentException if the keys are not in strictly ascending order or if the values are the wrong length.
+     */
+    public static <K extends Comparable<K>, V> BPlusTree<K, V> bulkLoad(K[] keys, V[] values, int fanout) {
+        if (values != null && values.length != keys.length)
+            throw new IllegalArgumentException("BPlusTree:bulkLoad: keys and values have different lengths");
+        for (int i = 1; i < keys.length; i++)
+            if (keys[i - 1].compareTo(keys[i]) >= 0)
+                throw new IllegalArgumentException("BPlusTree:bulkLoad: keys are not in strictly ascending order at index " + i);
+        BPlusTree<K, V> result = new BPlusTree<>(fanout);
+        if (keys.length > 0) result.root = result.buildLevels(result.buildLeaves(keys, values));
+        return result;
+    }
+
+    /**
+     * Method to build a B+-tree from keys which are already in ascending order, using the default fanout.
+     *
+     * @param keys   the keys, in strictly ascending order.
+     * @param values the values corresponding to the keys (may be null).
+     * @param <K>    the key type.
+     * @param <V>    the value type.
+     * @return a new BPlusTree.
+     */
+    public static <K extends Comparable<K>, V> BPlusTree<K, V> bulkLoad(K[] keys, V[] values) {
+        return bulkLoad(keys, values, DEFAULT_FANOUT);
+    }
+
+    /**
+     * Constructor to create an empty BPlusTree with the given fanout.
+     *
+     * @param fanout the maximum number of keys in a leaf and the maximum number of children of an internal node (at least 4).
+     */
+    public BPlusTree(int fanout) {
+        if (fanout < 4) throw new IllegalArgumentException("BPlusTree: fanout must be at least 4");
+        this.fanout = fanout;
+        this.root = new Leaf();
+    }
+
+    /**
+     * Constructor to create an empty BPlusTree with the default fanout.
+     */
+    public BPlusTree() {
+        this(DEFAULT_FANOUT);
+    }
+
+    /**
+     * Retrieve the value for a given key.
+     *
+     * @param key the key.
+     * @return the value, if key is present, else null.
+     */
+    public Value get(Key key) {
+        validateKey(key);
+        Leaf leaf = findLeaf(key);
+        int i = leaf.search(key);
+        return i >= 0 ? leaf.value(i) : null;
+    }
+
+    /**
+     * Insert a key/value pair.
+     * If the key already exists, then its value will simply be overwritten.
+     *
+     * @param key   the key.
+     * @param value the value.
+     * @return the original value, if any, otherwise null.
+     */
+    public Value put(Key key, Value value) {
+        validateKey(key);
+        Result result = new Result();
+        Node sibling = root.insert(key, value, result);
+        if (sibling != null) {
+            Internal newRoot = new Internal();
+            newRoot.children[0] = root;
+            newRoot.counts[0] = root.size();
+            newRoot.children[1] = sibling;
+            newRoot.counts[1] = sibling.size();
+            newRoot.keys[0] = result.separator;
+            newRoot.n = 2;
+            root = newRoot;
+        }
+        return result.value;
+    }
+
+    /**
+     * Delete a key.
+     *
+     * @param key the key.
+     * @return the original value, if any, otherwise null.
+     */
+    public Value delete(Key key) {
+        validateKey(key);
+        Result result = new Result();
+        root.remove(key, result);
+        while (root instanceof Internal internal && internal.n == 1)
+            root = internal.children[0];
+        return result.value;
+    }
+
+    /**
+     * @return the number of key/value pairs in this tree.
+     */
+    public int size() {
+        return root.size();
+    }
+
+    /**
+     * @return the set of all keys, obtained by following the leaf links.
+     */
+    public Set<Key> keySet() {
+        Set<Key> result = new TreeSet<>();
+        for (Leaf leaf = root.firstLeaf(); leaf != null; leaf = leaf.next)
+            for (int i = 0; i < leaf.n; i++) result.add(leaf.keys[i]);
+        return result;
+    }
+
+    /**
+     * @return the smallest key in this tree, or null if this tree is empty.
+     */
+    public Key min() {
+        Leaf leaf = root.firstLeaf();
+        return leaf.n > 0 ? leaf.keys[0] : null;
+    }
+
+    /**
+     * @return the largest key in this tree, or null if this tree is empty.
+     */
+    public Key max() {
+        Node x = root;
+        while (x instanceof Internal internal) x = internal.children[internal.n - 1];
+        Leaf leaf = (Leaf) x;
+        return leaf.n > 0 ? leaf.keys[leaf.n - 1] : null;
+    }
+
+    /**
+     * Get the largest key in this tree which is less than or equal to key.
+     *
+     * @param key the key to compare with.
+     * @return the floor of key, or null if there is no such key.
+     */
+    public Key floor(Key key) {
+        validateKey(key);
+        Leaf leaf = findLeaf(key);
+        int i = leaf.search(key);
+        if (i >= 0) return leaf.keys[i];
+        int j = -i - 2;
+        if (j >= 0) return leaf.keys[j];
+        return leaf.prev != null ? leaf.prev.keys[leaf.prev.n - 1] : null;
+    }
+
+    /**
+     * Get the smallest key in this tree which is greater than or equal to key.
+     *
+     * @param key the key to compare with.
+     * @return the ceiling of key, or null if there is no such key.
+     */
+    public Key ceiling(Key key) {
+        validateKey(key);
+        Leaf leaf = findLeaf(key);
+        int i = leaf.search(key);
+        if (i >= 0) return leaf.keys[i];
+        int j = -i - 1;
+        if (j < leaf.n) return leaf.keys[j];
+        return leaf.next != null ? leaf.next.keys[0] : null;
+    }
+
+    /**
+     * Get the number of keys in this tree which are strictly less than key.
+     *
+     * @param key the key whose rank we require.
+     * @return the rank of key.
+     */
+    public int rank(Key key) {
+        validateKey(key);
+        int result = 0;
+        Node x = root;
+        while (x instanceof Internal internal) {
+            int c = internal.childIndex(key);
+            for (int j = 0; j < c; j++) result += internal.counts[j];
+            x = internal.children[c];
+        }
+        int i = ((Leaf) x).search(key);
+        return result + (i >= 0 ? i : -i - 1);
+    }
+
+    /**
+     * Get the key of the given rank.
+     *
+     * @param i the rank (must be between 0 and size() - 1, inclusive).
+     * @return the key such that there are precisely i smaller keys in this tree.
+     */
+    public Key select(int i) {
+        if (i < 0 || i >= size())
+            throw new IllegalArgumentException("BPlusTree:select: rank " + i + " is out of range for size " + size());
+        Node x = root;
+        while (x instanceof Internal internal) {
+            int c = 0;
+            while (i >= internal.counts[c]) i -= internal.counts[c++];
+            x = internal.children[c];
+        }
+        return ((Leaf) x).keys[i];
+    }
+
+    /**
+     * Get the keys of this tree which are between lo and hi (both inclusive), in ascending order.
+     * The result is lazy: its iterator locates the first leaf and then follows the leaf links.
+     *
+     * @param lo the lower bound.
+     * @param hi the upper bound.
+     * @return an Iterable of keys k such that lo &lt;= k &lt;= hi.
+     */
+    public Iterable<Key> keys(Key lo, Key hi) {
+        validateKey(lo);
+        validateKey(hi);
+        return () -> new RangeIterator(lo, hi);
+    }
+
+    /**
+     * @return the height of this tree, i.e., the number of levels (a tree consisting only of one leaf has height 1).
+     */
+    public int height() {
+        int result = 1;
+        for (Node x = root; x instanceof Internal internal; x = internal.children[0]) result++;
+        return result;
+    }
+
+    /**
+     * Get the estimated memory footprint of this tree, together with a histogram of the depths of the leaves holding each key.
+     * The load factor is the fraction of leaf slots which are occupied.
+     *
+     * @return a SymbolTableStats.
+     */
+    public SymbolTableStats stats() {
+        SymbolTableStats result = new SymbolTableStats("BPlusTree(" + fanout + ")", size(), "depth");
+        result.addHeader(SymbolTableStats.objectBytes(1, 1, 0));
+        int leaves = root.collectStats(0, result);
+        result.setLoadFactor((double) size() / ((long) leaves * fanout));
+        return result;
+    }
+
+    /**
+     * @return the fanout of this tree.
+     */
+    public int getFanout() {
+        return fanout;
+    }
+
+    public String toString() {
+        return "BPlusTree{fanout=" + fanout + ", size=" + size() + ", height=" + height() + "}";
+    }
+
+    /**
+     * The default fanout: sixty-four keys per leaf.
+     */
+    public static final int DEFAULT_FANOUT = 64;
+
+    /**
+     * Method to locate the leaf in which key resides (or would reside).
+     *
+     * @param key the key.
+     * @return the appropriate leaf.
+     */
+    private Leaf findLeaf(Key key) {
+        Node x = root;
+        while (x instanceof Internal internal)
+            x = internal.children[internal.childIndex(key)];
+        return (Leaf) x;
+    }
+
+    /**
+     * Method to build the (linked) leaves for bulk loading.
+     *
+     * @param keys   the keys, in ascending order.
+     * @param values the values (may be null).
+     * @return a list of leaves.
+     */
+    private List<Node> buildLeaves(Key[] keys, Value[] values) {
+        int count = (keys.length + fanout - 1) / fanout;
+        List<Node> result = new ArrayList<>(count);
+        Leaf previous = null;
+        int from = 0;
+        for (int j = 0; j < count; j++) {
+            int to = (int) ((long) keys.length * (j + 1) / count);
+            Leaf leaf = new Leaf();
+            leaf.n = to - from;
+            System.arraycopy(keys, from, leaf.keys, 0, leaf.n);
+            if (values != null) System.arraycopy(values, from, leaf.values, 0, leaf.n);
+            leaf.prev = previous;
+            if (previous != null) previous.next = leaf;
+            previous = leaf;
+            result.add(leaf);
+            from = to;
+        }
+        return result;
+    }
+
+    /**
+     * Method to build the internal levels of the tree for bulk loading.
+     *
+     * @param level the nodes of the lowest level.
+     * @return the root.
+     */
+    private Node buildLevels(List<Node> level) {
+        while (level.size() > 1) {
+            int count = (level.size() + fanout - 1) / fanout;
+            List<Node> parents = new ArrayList<>(count);
+            int from = 0;
+            for (int j = 0; j < count; j++) {
+                int to = (int) ((long) level.size() * (j + 1) / count);
+                Internal parent = new Internal();
+                parent.n = to - from;
+                for (int c = 0; c < parent.n; c++) {
+                    Node child = level.get(from + c);
+                    parent.children[c] = child;
+                    parent.counts[c] = child.size();
+                    if (c > 0) parent.keys[c - 1] = child.firstLeaf().keys[0];
+                }
+                parents.add(parent);
+                from = to;
+            }
+            level = parents;
+        }
+        return level.get(0);
+    }
+
+    /**
+     * Method to create an array of keys for a node.
+     *
+     * @param length the length of the array.
+     * @return a new array of (null) keys.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Key[] newKeys(int length) {
+        return (Key[]) new Comparable[length];
+    }
+
+    /**
+     * Method to create an array of children for an internal node.
+     *
+     * @param length the length of the array.
+     * @return a new array of (null) nodes.
+     */
+    @SuppressWarnings("unchecked")
+    private Node[] newNodes(int length) {
+        return (Node[]) new BPlusTree<?, ?>.Node[length];
+    }
+
+    /**
+     * A mutable holder for the secondary results of insert and remove.
+     */
+    private class Result {
+        Value value;
+        boolean changed;
+        Key separator;
+    }
+
+    /**
+     * Abstract base class for the nodes of this tree.
+     */
+    private abstract class Node {
+
+        /**
+         * Insert key/value into the subtree rooted at this node.
+         *
+         * @param key    the key.
+         * @param value  the value.
+         * @param result the holder for the original value, whether the size changed and (on splitting) the separator.
+         * @return the new right-hand sibling if this node was split, otherwise null.
+         */
+        abstract Node insert(Key key, Value value, Result result);
+
+        /**
+         * Remove key from the subtree rooted at this node.
+         *
+         * @param key    the key.
+         * @param result the holder for the original value and whether the size changed.
+         */
+        abstract void remove(Key key, Result result);
+
+        /**
+         * @return the number of keys in the subtree rooted at this node.
+         */
+        abstract int size();
+
+        /**
+         * @return the leftmost leaf of the subtree rooted at this node.
+         */
+        abstract Leaf firstLeaf();
+
+        /**
+         * Remove all leaves of this subtree from the leaf chain.
+         */
+        abstract void unlink();
+
+        /**
+         * Accumulate the footprint of this subtree.
+         *
+         * @param depth the depth of this node.
+         * @param stats the statistics to update.
+         * @return the number of leaves in this subtree.
+         */
+        abstract int collectStats(int depth, SymbolTableStats stats);
+
+        /**
+         * The number of keys (for a leaf) or children (for an internal node).
+         */
+        int n = 0;
+    }
+
+    /**
+     * A leaf of this tree: it holds the keys and values in parallel arrays.
+     * The arrays have one spare slot so that a leaf can overflow transiently before being split.
+     */
+    private class Leaf extends Node {
+
+        Node insert(Key key, Value value, Result result) {
+            int i = search(key);
+            if (i >= 0) {
+                result.value = value(i);
+                values[i] = value;
+                return null;
+            }
+            i = -i - 1;
+            System.arraycopy(keys, i, keys, i + 1, n - i);
+            System.arraycopy(values, i, values, i + 1, n - i);
+            keys[i] = key;
+            values[i] = value;
+            n++;
+            result.changed = true;
+            return n > fanout ? split(result) : null;
+        }
+
+        void remove(Key key, Result result) {
+            int i = search(key);
+            if (i < 0) return;
+            result.value = value(i);
+            result.changed = true;
+            System.arraycopy(keys, i + 1, keys, i, n - i - 1);
+            System.arraycopy(values, i + 1, values, i, n - i - 1);
+            n--;
+            keys[n] = null;
+            values[n] = null;
+        }
+
+        int size() {
+            return n;
+        }
+
+        Leaf firstLeaf() {
+            return this;
+        }
+
+        void unlink() {
+            if (prev != null) prev.next = next;
+            if (next != null) next.prev = prev;
+        }
+
+        int collectStats(int depth, SymbolTableStats stats) {
+            // A Leaf has four reference fields plus its (implicit) reference to this tree, and one int.
+            stats.addNodes(SymbolTableStats.objectBytes(5, 1, 0)).addArrays(2 * SymbolTableStats.referenceArrayBytes(keys.length));
+            for (int i = 0; i < n; i++) stats.addBoxed(keys[i], values[i]).record(depth);
+            return 1;
+        }
+
+        /**
+         * Binary search for key in this leaf.
+         *
+         * @param key the key.
+         * @return the index of key if present, otherwise -(insertion point) - 1.
+         */
+        int search(Key key) {
+            int lo = 0, hi = n - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                int cf = key.compareTo(keys[mid]);
+                if (cf > 0) lo = mid + 1;
+                else if (cf < 0) hi = mid - 1;
+                else return mid;
+            }
+            return -(lo + 1);
+        }
+
+        @SuppressWarnings("unchecked")
+        Value value(int i) {
+            return (Value) values[i];
+        }
+
+        private Leaf split(Result result) {
+            Leaf right = new Leaf();
+            int h = n / 2;
+            right.n = n - h;
+            System.arraycopy(keys, h, right.keys, 0, right.n);
+            System.arraycopy(values, h, right.values, 0, right.n);
+            Arrays.fill(keys, h, n, null);
+            Arrays.fill(values, h, n, null);
+            n = h;
+            right.next = next;
+            if (next != null) next.prev = right;
+            right.prev = this;
+            next = right;
+            result.separator = right.keys[0];
+            return right;
+        }
+
+        final Key[] keys = newKeys(fanout + 1);
+        final Object[] values = new Object[fanout + 1];
+        Leaf prev = null;
+        Leaf next = null;
+    }
+
+    /**
+     * An internal node of this tree: it holds n children, n-1 separator keys and the size of each child subtree.
+     * Child i contains keys k such that keys[i-1] &lt;= k &lt; keys[i].
+     */
+    private class Internal extends Node {
+
+        Node insert(Key key, Value value, Result result) {
+            int c = childIndex(key);
+            Node sibling = children[c].insert(key, value, result);
+            if (result.changed) counts[c]++;
+            if (sibling == null) return null;
+            System.arraycopy(children, c + 1, children, c + 2, n - c - 1);
+            System.arraycopy(counts, c + 1, counts, c + 2, n - c - 1);
+            System.arraycopy(keys, c, keys, c + 1, n - c - 1);
+            children[c + 1] = sibling;
+            keys[c] = result.separator;
+            counts[c] = children[c].size();
+            counts[c + 1] = sibling.size();
+            n++;
+            return n > fanout ? split(result) : null;
+        }
+
+        void remove(Key key, Result result) {
+            int c = childIndex(key);
+            children[c].remove(key, result);
+            if (!result.changed) return;
+            counts[c]--;
+            if (counts[c] == 0 && n > 1) {
+                children[c].unlink();
+                System.arraycopy(children, c + 1, children, c, n - c - 1);
+                System.arraycopy(counts, c + 1, counts, c, n - c - 1);
+                int k = c > 0 ? c - 1 : 0;
+                System.arraycopy(keys, k + 1, keys, k, n - k - 2);
+                n--;
+                children[n] = null;
+                counts[n] = 0;
+                keys[n - 1] = null;
+            }
+        }
+
+        int size() {
+            int result = 0;
+            for (int c = 0; c < n; c++) result += counts[c];
+            return result;
+        }
+
+        Leaf firstLeaf() {
+            return children[0].firstLeaf();
+        }
+
+        void unlink() {
+            for (int c = 0; c < n; c++) children[c].unlink();
+        }
+
+        int collectStats(int depth, SymbolTableStats stats) {
+            // An Internal has three reference fields plus its (implicit) reference to this tree, and one int.
+            stats.addNodes(SymbolTableStats.objectBytes(4, 1, 0));
+            stats.addArrays(SymbolTableStats.referenceArrayBytes(keys.length) + SymbolTableStats.referenceArrayBytes(children.length) + SymbolTableStats.intArrayBytes(counts.length));
+            int result = 0;
+            for (int c = 0; c < n; c++) result += children[c].collectStats(depth + 1, stats);
+            return result;
+        }
+
+        /**
+         * Binary search for the child whose subtree should contain key.
+         *
+         * @param key the key.
+         * @return the number of separators which are less than or equal to key.
+         */
+        int childIndex(Key key) {
+            int lo = 0, hi = n - 2;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (key.compareTo(keys[mid]) >= 0) lo = mid + 1;
+                else hi = mid - 1;
+            }
+            return lo;
+        }
+
+        private Internal split(Result result) {
+            Internal right = new Internal();
+            int h = (n + 1) / 2;
+            right.n = n - h;
+            System.arraycopy(children, h, right.children, 0, right.n);
+            System.arraycopy(counts, h, right.counts, 0, right.n);
+            System.arraycopy(keys, h, right.keys, 0, right.n - 1);
+            result.separator = keys[h - 1];
+            Arrays.fill(children, h, n, null);
+            Arrays.fill(counts, h, n, 0);
+            Arrays.fill(keys, h - 1, n - 1, null);
+            n = h;
+            return right;
+        }
+
+        final Key[] keys = newKeys(fanout);
+        final Node[] children = newNodes(fanout + 1);
+        final int[] counts = new int[fanout + 1];
+    }
+
+    /**
+     * An iterator over the keys between lo and hi (inclusive) which follows the leaf links.
+     */
+    private class RangeIterator implements Iterator<Key> {
+        RangeIterator(Key lo, Key hi) {
+            this.hi = hi;
+            leaf = findLeaf(lo);
+            int i = leaf.search(lo);
+            index = i >= 0 ? i : -i - 1;
+            advance();
+        }
+
+        public boolean hasNext() {
+            return leaf != null && leaf.keys[index].compareTo(hi) <= 0;
+        }
+
+        public Key next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            Key result = leaf.keys[index++];
+            advance();
+            return result;
+        }
+
+        private void advance() {
+            while (leaf != null && index >= leaf.n) {
+                leaf = leaf.next;
+                index = 0;
+            }
+        }
+
+        private final Key hi;
+        private Leaf leaf;
+        private int index;
+    }
+
+    private final int fanout;
+    private Node root;
+}
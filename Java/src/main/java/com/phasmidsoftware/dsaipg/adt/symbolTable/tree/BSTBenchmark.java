@@ -93,12 +93,13 @@ public class BSTBenchmark<K extends Comparable<K>, V> extends Benchmark_Timer<K[
             logger.info("creating BST with mode " + mode + " and " + words.length + " words");
             final BstDetail<String, Integer> bst = createBST(mode, words, initialSampleFraction);
             logger.info("BST has " + bst.size() + " nodes initially");
+            logger.info("BST footprint: " + bst.stats());
             final Stats stats = new Stats(bst.size());
             Config config = Config.load(BSTBenchmark.class);
             final BSTBenchmark<String, Integer> benchmark = new BSTBenchmark<>(bst, nRuns, stats, config);
             final Supplier<String[]> supplier = () -> Utilities.fillRandomArray(String.class, random, runSampleSize, r -> words[r.nextInt(words.length)]);
             final double result = benchmark.runBenchmark(supplier);
-            logger.info("Stats: " + stats + "; average milliseconds: " + formatDecimal3Places(result));
+            logger.info("Stats: " + stats + "; average milliseconds: " + formatDecimal3Places(result) + "; final footprint: " + formatDecimal3Places(bst.stats().bytesPerEntry()) + " bytes/entry");
         } catch (FileNotFoundException e) {
             logger.error("BSTBenchmark: cannot find word file: " + e.getLocalizedMessage());
         } catch (IOException e) {
@@ -1,5 +1,7 @@
 package com.phasmidsoftware.dsaipg.adt.symbolTable.tree;
 
+import com.phasmidsoftware.dsaipg.adt.symbolTable.SymbolTableStats;
+
 import java.util.*;
 import java.util.function.BiFunction;
 
@@ -132,6 +134,18 @@ public class BSTOptimisedDeletion<Key extends Comparable<Key>, Value> implements
         return depth(root);
     }
 
+    /**
+     * Get the estimated memory footprint of this BST, together with a histogram of node depths.
+     *
+     * @return a SymbolTableStats.
+     */
+    public SymbolTableStats stats() {
+        SymbolTableStats result = new SymbolTableStats("BSTOptimisedDeletion", size(), "depth");
+        result.addHeader(SymbolTableStats.objectBytes(1, 0, 0));
+        collectStats(root, 0, result);
+        return result;
+    }
+
     /**
      * Method to yield the depth of a key, relative to the root.
      *
@@ -549,6 +563,21 @@ public class BSTOptimisedDeletion<Key extends Comparable<Key>, Value> implements
         if (q > 0) f.apply(node.key, node.value);
     }
 
+    /**
+     * Accumulate the footprint and depth of each node in the subtree rooted at node.
+     *
+     * @param node  the root of a subtree (may be null).
+     * @param depth the depth of node.
+     * @param stats the statistics to update.
+     */
+    private void collectStats(Node node, int depth, SymbolTableStats stats) {
+        if (node == null) return;
+        // A Node has four reference fields plus its (implicit) reference to this BST, and two ints.
+        stats.addNodes(SymbolTableStats.objectBytes(5, 2, 0)).addBoxed(node.key, node.value).record(depth);
+        collectStats(node.smaller, depth + 1, stats);
+        collectStats(node.larger, depth + 1, stats);
+    }
+
     /**
      * Computes the depth of a binary tree starting from the given node.
      * Depth is defined as the number of edges on the longest path from the node to a leaf.
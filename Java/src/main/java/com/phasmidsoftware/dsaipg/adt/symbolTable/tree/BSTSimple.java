@@ -1,5 +1,6 @@
 package com.phasmidsoftware.dsaipg.adt.symbolTable.tree;
 
+import com.phasmidsoftware.dsaipg.adt.symbolTable.SymbolTableStats;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
@@ -16,7 +17,7 @@ import java.util.function.BiFunction;
  * @param <Key>   the type of keys maintained by this BST. Must be comparable.
  * @param <Value> the type of mapped values.
  */
-public class BSTSimple<Key extends Comparable<Key>, Value> implements BstDetail<Key, Value> {
+public class BSTSimple<Key extends Comparable<Key>, Value> implements BstDetail<Key, Value>, OrderedBST<Key, Value> {
 
     /**
      * This implementation of putAll ensures that the keys are inserted into this BST in random order.
@@ -106,6 +107,136 @@ public class BSTSimple<Key extends Comparable<Key>, Value> implements BstDetail<
         return set;
     }
 
+    /**
+     * @return the smallest key in this BST, or null if this BST is empty.
+     */
+    public Key min() {
+        return root != null ? root.min().key : null;
+    }
+
+    /**
+     * @return the largest key in this BST, or null if this BST is empty.
+     */
+    public Key max() {
+        Node x = root;
+        if (x == null) return null;
+        while (x.larger != null) x = x.larger;
+        return x.key;
+    }
+
+    /**
+     * Get the largest key in this BST which is less than or equal to key.
+     *
+     * @param key the key to compare with.
+     * @return the floor of key, or null if there is no such key.
+     */
+    public Key floor(Key key) {
+        validateKey(key);
+        Key result = null;
+        Node x = root;
+        while (x != null) {
+            int cf = key.compareTo(x.key);
+            if (cf == 0) return x.key;
+            if (cf < 0) x = x.smaller;
+            else {
+                result = x.key;
+                x = x.larger;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the smallest key in this BST which is greater than or equal to key.
+     *
+     * @param key the key to compare with.
+     * @return the ceiling of key, or null if there is no such key.
+     */
+    public Key ceiling(Key key) {
+        validateKey(key);
+        Key result = null;
+        Node x = root;
+        while (x != null) {
+            int cf = key.compareTo(x.key);
+            if (cf == 0) return x.key;
+            if (cf > 0) x = x.larger;
+            else {
+                result = x.key;
+                x = x.smaller;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the number of keys in this BST which are strictly less than key.
+     *
+     * @param key the key whose rank we require.
+     * @return the rank of key.
+     */
+    public int rank(Key key) {
+        validateKey(key);
+        int result = 0;
+        Node x = root;
+        while (x != null) {
+            int cf = key.compareTo(x.key);
+            if (cf < 0) x = x.smaller;
+            else {
+                result += size(x.smaller);
+                if (cf == 0) return result;
+                result++;
+                x = x.larger;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the key of the given rank.
+     *
+     * @param i the rank (must be between 0 and size() - 1, inclusive).
+     * @return the key such that there are precisely i smaller keys in this BST.
+     */
+    public Key select(int i) {
+        if (i < 0 || i >= size())
+            throw new IllegalArgumentException("BSTSimple:select: rank " + i + " is out of range for size " + size());
+        Node x = root;
+        while (true) {
+            int t = size(x.smaller);
+            if (i < t) x = x.smaller;
+            else if (i > t) {
+                i -= t + 1;
+                x = x.larger;
+            } else return x.key;
+        }
+    }
+
+    /**
+     * Get the keys of this BST which are between lo and hi (both inclusive), in ascending order.
+     * The result is lazy: each call of iterator() yields a new RangeIterator which walks the tree using an explicit stack.
+     *
+     * @param lo the lower bound.
+     * @param hi the upper bound.
+     * @return an Iterable of keys k such that lo &lt;= k &lt;= hi.
+     */
+    public Iterable<Key> keys(Key lo, Key hi) {
+        validateKey(lo);
+        validateKey(hi);
+        return () -> new RangeIterator(lo, hi);
+    }
+
+    /**
+     * Get the estimated memory footprint of this BST, together with a histogram of node depths.
+     *
+     * @return a SymbolTableStats.
+     */
+    public SymbolTableStats stats() {
+        SymbolTableStats result = new SymbolTableStats("BSTSimple", size(), "depth");
+        result.addHeader(SymbolTableStats.objectBytes(1, 0, 0));
+        collectStats(root, 0, result);
+        return result;
+    }
+
     /**
      * Method to yield the depth of a key, relative to the root.
      *
@@ -307,6 +438,21 @@ public class BSTSimple<Key extends Comparable<Key>, Value> implements BstDetail<
         if (q > 0) visitor.apply(node.key, node.value);
     }
 
+    /**
+     * Accumulate the footprint and depth of each node in the subtree rooted at node.
+     *
+     * @param node  the root of a subtree (may be null).
+     * @param depth the depth of node.
+     * @param stats the statistics to update.
+     */
+    private void collectStats(Node node, int depth, SymbolTableStats stats) {
+        if (node == null) return;
+        // A Node has four reference fields plus its (implicit) reference to this BST, and two ints.
+        stats.addNodes(SymbolTableStats.objectBytes(5, 2, 0)).addBoxed(node.key, node.value).record(depth);
+        collectStats(node.smaller, depth + 1, stats);
+        collectStats(node.larger, depth + 1, stats);
+    }
+
     /**
      * Yield the total depth of this BST. If root is null, then depth will be 0.
      *
@@ -316,6 +462,41 @@ public class BSTSimple<Key extends Comparable<Key>, Value> implements BstDetail<
         return root != null ? root.depth() : 0;
     }
 
+    /**
+     * An in-order iterator over the keys of this BST which lie between lo and hi (inclusive).
+     * The stack holds the path of nodes whose keys are yet to be yielded, so that
+     * construction takes O(log n) and each call to next takes amortized O(1).
+     */
+    private class RangeIterator implements Iterator<Key> {
+        RangeIterator(Key lo, Key hi) {
+            this.hi = hi;
+            Node x = root;
+            while (x != null) {
+                int cf = lo.compareTo(x.key);
+                if (cf > 0) x = x.larger;
+                else {
+                    stack.push(x);
+                    if (cf == 0) break;
+                    x = x.smaller;
+                }
+            }
+        }
+
+        public boolean hasNext() {
+            return !stack.isEmpty() && stack.peek().key.compareTo(hi) <= 0;
+        }
+
+        public Key next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            Node result = stack.pop();
+            for (Node x = result.larger; x != null; x = x.smaller) stack.push(x);
+            return result.key;
+        }
+
+        private final Key hi;
+        private final Deque<Node> stack = new ArrayDeque<>();
+    }
+
     /**
      * A helper class to encapsulate a pair consisting of a Node and its associated Value.
      * This class is used to facilitate operations where a tuple of Node and Value needs
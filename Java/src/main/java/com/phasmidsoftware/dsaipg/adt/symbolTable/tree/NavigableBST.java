@@ -0,0 +1,48 @@
+package com.phasmidsoftware.dsaipg.adt.symbolTable.tree;
+
+/**
+ * Interface defining the navigation and range operations of an ordered symbol table.
+ * Unlike OrderedBST, these operations do not depend on knowing the size of every subtree,
+ * so that they can be supported by structures (such as skip lists) which do not maintain such counts.
+ *
+ * @param <Key>   the type of keys, which must be Comparable.
+ * @param <Value> the type of values associated with the keys.
+ */
+public interface NavigableBST<Key extends Comparable<Key>, Value> extends BST<Key, Value> {
+
+    /**
+     * @return the smallest key in this BST, or null if this BST is empty.
+     */
+    Key min();
+
+    /**
+     * @return the largest key in this BST, or null if this BST is empty.
+     */
+    Key max();
+
+    /**
+     * Get the largest key in this BST which is less than or equal to key.
+     *
+     * @param key the key to compare with.
+     * @return the floor of key, or null if there is no such key.
+     */
+    Key floor(Key key);
+
+    /**
+     * Get the smallest key in this BST which is greater than or equal to key.
+     *
+     * @param key the key to compare with.
+     * @return the ceiling of key, or null if there is no such key.
+     */
+    Key ceiling(Key key);
+
+    /**
+     * Get the keys of this BST which are between lo and hi (both inclusive), in ascending order.
+     * The keys are evaluated lazily, as the result is iterated.
+     *
+     * @param lo the lower bound.
+     * @param hi the upper bound.
+     * @return an Iterable of keys k such that lo &lt;= k &lt;= hi.
+     */
+    Iterable<Key> keys(Key lo, Key hi);
+}
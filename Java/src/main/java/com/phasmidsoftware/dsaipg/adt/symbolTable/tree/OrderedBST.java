@@ -0,0 +1,45 @@
+package com.phasmidsoftware.dsaipg.adt.symbolTable.tree;
+
+/**
+ * Interface defining the order-statistic operations of a Binary Search Tree (BST).
+ * Implementations are expected to maintain the size of every subtree so that each of these operations
+ * takes time proportional to the height of the tree.
+ *
+ * @param <Key>   the type of keys, which must be Comparable.
+ * @param <Value> the type of values associated with the keys.
+ */
+public interface OrderedBST<Key extends Comparable<Key>, Value> extends NavigableBST<Key, Value> {
+
+    /**
+     * Get the number of keys in this BST which are strictly less than key.
+     * NOTE: key need not be present in this BST.
+     *
+     * @param key the key whose rank we require.
+     * @return the rank of key (a value between 0 and size(), inclusive).
+     */
+    int rank(Key key);
+
+    /**
+     * Get the key of the given rank, that's to say the key such that there are precisely i smaller keys.
+     *
+     * @param i the rank (must be between 0 and size() - 1, inclusive).
+     * @return the key of rank i.
+     * @throws IllegalArgumentException if i is out of range.
+     */
+    Key select(int i);
+
+    /**
+     * Get the number of keys in this BST which are between lo and hi (both inclusive).
+     *
+     * @param lo the lower bound.
+     * @param hi the upper bound.
+     * @return the number of keys k such that lo &lt;= k &lt;= hi.
+     */
+    default int rangeCount(Key lo, Key hi) {
+        validateKey(lo);
+        validateKey(hi);
+        if (lo.compareTo(hi) > 0) return 0;
+        Key top = floor(hi);
+        return rank(hi) - rank(lo) + (top != null && top.compareTo(hi) == 0 ? 1 : 0);
+    }
+}
@@ -0,0 +1,50 @@
+package com.phasmidsoftware.dsaipg.adt.threesum;
+
+/**
+ * A ResultSink which passes each solution to a callback.
+ * NOTE: the callbacks must be thread-safe if the sink is used with ThreeSumParallel.
+ */
+public class ConsumerSink implements ResultSink {
+
+    /**
+     * Constructor.
+     *
+     * @param triples the callback for the solutions of a ThreeSum problem.
+     * @param pairs   the callback for the solutions of a TwoSum problem.
+     */
+    public ConsumerSink(TripleConsumer triples, PairConsumer pairs) {
+        this.triples = triples;
+        this.pairs = pairs;
+    }
+
+    /**
+     * Constructor for the solutions of a ThreeSum problem (any pairs are ignored).
+     *
+     * @param triples the callback.
+     */
+    public ConsumerSink(TripleConsumer triples) {
+        this(triples, (x, y) -> {
+        });
+    }
+
+    /**
+     * Constructor for the solutions of a TwoSum problem (any triples are ignored).
+     *
+     * @param pairs the callback.
+     */
+    public ConsumerSink(PairConsumer pairs) {
+        this((x, y, z) -> {
+        }, pairs);
+    }
+
+    public void acceptTriple(int x, int y, int z) {
+        triples.accept(x, y, z);
+    }
+
+    public void acceptPair(int x, int y) {
+        pairs.accept(x, y);
+    }
+
+    private final TripleConsumer triples;
+    private final PairConsumer pairs;
+}
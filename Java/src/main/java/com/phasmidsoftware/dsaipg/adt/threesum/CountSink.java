@@ -0,0 +1,41 @@
+package com.phasmidsoftware.dsaipg.adt.threesum;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A ResultSink which merely counts the solutions.
+ */
+public class CountSink implements ResultSink {
+
+    public void acceptTriple(int x, int y, int z) {
+        count.increment();
+    }
+
+    public void acceptPair(int x, int y) {
+        count.increment();
+    }
+
+    /**
+     * Add a number of solutions which have been counted elsewhere
+     * (for example, by ThreeSumParallel.count, which does not invoke the sink at all).
+     *
+     * @param n the number of solutions.
+     */
+    public void add(long n) {
+        count.add(n);
+    }
+
+    /**
+     * @return the number of solutions accepted.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "CountSink{" + getCount() + "}";
+    }
+
+    private final LongAdder count = new LongAdder();
+}
@@ -0,0 +1,26 @@
+package com.phasmidsoftware.dsaipg.adt.threesum;
+
+/**
+ * A ResultSink which keeps the first k solutions that it is offered, after which it is satisfied
+ * (so that the search may stop).
+ * NOTE: for a parallel search, "first" means first to arrive, which is not necessarily first in sorted order.
+ */
+public class FirstKSink extends StoringSink {
+
+    /**
+     * Constructor.
+     *
+     * @param k the number of solutions required.
+     */
+    public FirstKSink(int k) {
+        super(k);
+    }
+
+    public synchronized boolean isSatisfied() {
+        return seen >= k;
+    }
+
+    int choose(long index) {
+        return index < k ? (int) index : -1;
+    }
+}
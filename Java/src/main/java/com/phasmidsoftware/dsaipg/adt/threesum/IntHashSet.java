@@ -0,0 +1,97 @@
+package com.phasmidsoftware.dsaipg.adt.threesum;
+
+import java.util.Arrays;
+
+/**
+ * A set of primitive ints, implemented as an open-addressed hash table with linear probing.
+ * <p>
+ * The table size is a power of two (at least twice the expected number of values)
+ * and a value is hashed by Fibonacci (multiplicative) hashing, taking the high bits of the product.
+ * One value (EMPTY) marks an unused slot: whether EMPTY itself is in the set is recorded separately.
+ * Nothing is boxed and nothing is allocated after construction (unless the table has to grow).
+ */
+final class IntHashSet {
+
+    /**
+     * Add x to this set.
+     *
+     * @param x a value.
+     * @return true if x was not already in this set.
+     */
+    boolean add(int x) {
+        if (x == EMPTY) {
+            if (containsEmpty) return false;
+            containsEmpty = true;
+            size++;
+            return true;
+        }
+        int i = slot(x);
+        while (table[i] != EMPTY) {
+            if (table[i] == x) return false;
+            i = (i + 1) & mask;
+        }
+        table[i] = x;
+        if (++size * 2 > table.length) grow();
+        return true;
+    }
+
+    /**
+     * @param x a value.
+     * @return true if x is in this set.
+     */
+    boolean contains(int x) {
+        if (x == EMPTY) return containsEmpty;
+        for (int i = slot(x); table[i] != EMPTY; i = (i + 1) & mask) if (table[i] == x) return true;
+        return false;
+    }
+
+    /**
+     * @return the number of values in this set.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param expected the expected number of values.
+     */
+    IntHashSet(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(4, 2 * expected - 1)) << 1;
+        allocate(capacity);
+    }
+
+    private int slot(int x) {
+        return (x * 0x9E3779B9) >>> shift;
+    }
+
+    private void grow() {
+        int[] old = table;
+        allocate(2 * old.length);
+        for (int x : old)
+            if (x != EMPTY) {
+                int i = slot(x);
+                while (table[i] != EMPTY) i = (i + 1) & mask;
+                table[i] = x;
+            }
+    }
+
+    private void allocate(int capacity) {
+        table = new int[capacity];
+        Arrays.fill(table, EMPTY);
+        mask = capacity - 1;
+        shift = Integer.numberOfLeadingZeros(capacity) + 1;
+    }
+
+    /**
+     * The value which marks an unused slot.
+     */
+    private static final int EMPTY = Integer.MIN_VALUE;
+
+    private int[] table;
+    private int mask;
+    private int shift;
+    private int size = 0;
+    private boolean containsEmpty = false;
+}
@@ -0,0 +1,16 @@
+package com.phasmidsoftware.dsaipg.adt.threesum;
+
+/**
+ * A consumer of pairs of ints, which allows the solutions of a two-sum problem
+ * to be streamed without creating a Pair for each one.
+ */
+@FunctionalInterface
+public interface PairConsumer {
+    /**
+     * Accept a pair (x, y).
+     *
+     * @param x the first value.
+     * @param y the second value.
+     */
+    void accept(int x, int y);
+}
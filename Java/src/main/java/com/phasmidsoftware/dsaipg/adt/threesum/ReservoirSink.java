@@ -0,0 +1,40 @@
+package com.phasmidsoftware.dsaipg.adt.threesum;
+
+import java.util.Random;
+
+/**
+ * A ResultSink which keeps a uniformly random sample of k of the solutions that it is offered,
+ * using reservoir sampling (Vitter's Algorithm R): the first k solutions fill the reservoir;
+ * thereafter, the i-th solution (counting from 0) replaces a random member of the reservoir with probability k/(i+1).
+ * Thus, a sample can be taken in O(k) space however many solutions there are.
+ */
+public class ReservoirSink extends StoringSink {
+
+    /**
+     * Constructor.
+     *
+     * @param k      the size of the sample.
+     * @param random a source of randomness.
+     */
+    public ReservoirSink(int k, Random random) {
+        super(k);
+        this.random = random;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param k the size of the sample.
+     */
+    public ReservoirSink(int k) {
+        this(k, new Random());
+    }
+
+    int choose(long index) {
+        if (index < k) return (int) index;
+        long r = (long) (random.nextDouble() * (index + 1));
+        return r < k ? (int) r : -1;
+    }
+
+    private final Random random;
+}
@@ -0,0 +1,37 @@
+package com.phasmidsoftware.dsaipg.adt.threesum;
+
+/**
+ * A destination for the solutions of a ThreeSum or TwoSum problem, which allows the solutions to be counted,
+ * sampled or streamed without materializing each of them as a Triple or Pair (and all of them in a List).
+ * <p>
+ * The implementations in this package (CountSink, FirstKSink, ReservoirSink and ConsumerSink) are thread-safe,
+ * as they must be for ThreeSumParallel, which passes solutions to the sink from several threads at once.
+ */
+public interface ResultSink {
+
+    /**
+     * Accept a solution of a ThreeSum problem.
+     *
+     * @param x the first value.
+     * @param y the second value.
+     * @param z the third value.
+     */
+    void acceptTriple(int x, int y, int z);
+
+    /**
+     * Accept a solution of a TwoSum problem.
+     *
+     * @param x the first value.
+     * @param y the second value.
+     */
+    void acceptPair(int x, int y);
+
+    /**
+     * A sink may declare that it requires no more solutions, in which case the search may stop early.
+     *
+     * @return true if no more solutions are required (by default, false).
+     */
+    default boolean isSatisfied() {
+        return false;
+    }
+}
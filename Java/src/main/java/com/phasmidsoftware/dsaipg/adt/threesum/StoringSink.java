@@ -0,0 +1,81 @@
+package com.phasmidsoftware.dsaipg.adt.threesum;
+
+import java.util.Arrays;
+
+/**
+ * Base class for ResultSinks which keep (at most) k solutions, in a primitive array, three ints per solution.
+ * The solutions are materialized as Triples or Pairs only on request.
+ */
+abstract class StoringSink implements ResultSink {
+
+    public synchronized void acceptTriple(int x, int y, int z) {
+        int slot = choose(seen++);
+        if (slot >= 0) store(slot, x, y, z);
+    }
+
+    public synchronized void acceptPair(int x, int y) {
+        int slot = choose(seen++);
+        if (slot >= 0) store(slot, x, y, 0);
+    }
+
+    /**
+     * @return the number of solutions offered to this sink (which may be more than the number kept).
+     */
+    public synchronized long getSeen() {
+        return seen;
+    }
+
+    /**
+     * @return the number of solutions kept.
+     */
+    public synchronized int size() {
+        return (int) Math.min(seen, k);
+    }
+
+    /**
+     * @return the solutions kept, as Triples, in the order in which they are stored.
+     */
+    public synchronized Triple[] getTriples() {
+        Triple[] result = new Triple[size()];
+        for (int i = 0; i < result.length; i++) result[i] = new Triple(values[3 * i], values[3 * i + 1], values[3 * i + 2]);
+        return result;
+    }
+
+    /**
+     * @return the solutions kept, as Pairs, in the order in which they are stored.
+     */
+    public synchronized Pair[] getPairs() {
+        Pair[] result = new Pair[size()];
+        for (int i = 0; i < result.length; i++) result[i] = new Pair(values[3 * i], values[3 * i + 1]);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{seen=" + getSeen() + ", kept=" + Arrays.toString(getTriples()) + "}";
+    }
+
+    /**
+     * Decide where to keep a solution.
+     *
+     * @param index the index of the solution (0 for the first solution offered).
+     * @return the slot in which to keep it (between 0 and k-1), or -1 if it is not to be kept.
+     */
+    abstract int choose(long index);
+
+    StoringSink(int k) {
+        if (k < 0) throw new IllegalArgumentException("StoringSink: k must not be negative: " + k);
+        this.k = k;
+        this.values = new int[3 * k];
+    }
+
+    private void store(int slot, int x, int y, int z) {
+        values[3 * slot] = x;
+        values[3 * slot + 1] = y;
+        values[3 * slot + 2] = z;
+    }
+
+    final int k;
+    private final int[] values;
+    long seen = 0;
+}
@@ -18,4 +18,20 @@ public interface ThreeSum {
      * @return an ordered, distinct, array of Triple.
      */
     Triple[] getTriples();
+
+    /**
+     * Method to pass the solutions from this instance of ThreeSum to a ResultSink,
+     * which may count them, sample them or stream them rather than materialize them.
+     * <p>
+     * This default implementation simply passes the result of getTriples to sink (and so saves no allocation):
+     * implementations should override it wherever they can avoid creating Triples.
+     *
+     * @param sink the destination of the solutions.
+     */
+    default void solve(ResultSink sink) {
+        for (Triple t : getTriples()) {
+            if (sink.isSatisfied()) return;
+            sink.acceptTriple(t.x, t.y, t.z);
+        }
+    }
 }
\ No newline at end of file
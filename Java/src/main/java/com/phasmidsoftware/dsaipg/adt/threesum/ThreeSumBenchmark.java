@@ -1,10 +1,13 @@
 package com.phasmidsoftware.dsaipg.adt.threesum;
 
 import com.phasmidsoftware.dsaipg.util.benchmark.Benchmark_Timer;
+import com.phasmidsoftware.dsaipg.util.benchmark.Stopwatch;
 import com.phasmidsoftware.dsaipg.util.benchmark.TimeLogger;
 import com.phasmidsoftware.dsaipg.util.config.Config;
 import com.phasmidsoftware.dsaipg.util.general.Utilities;
 
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
@@ -67,6 +70,82 @@ public class ThreeSumBenchmark {
         benchmarkThreeSum("ThreeSumCubic", (xs) -> new ThreeSumCubic(xs).getTriples(), n, timeLoggersCubic);
     }
 
+    /**
+     * Executes benchmarks of ThreeSumParallel (counting the solutions, rather than materializing them)
+     * in fork/join pools of 1, 2, 4, ... threads (up to the number of available processors),
+     * so as to show how it scales with the number of threads.
+     * For comparison, the sequential work is n^2/2 steps of the calipers.
+     * The runs are timed by a Stopwatch, after one warm-up run.
+     */
+    public void runParallelBenchmarks() {
+        System.out.println("ThreeSumBenchmark (parallel): N=" + n);
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= processors; threads *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                String description = "ThreeSumParallel (" + threads + " threads)";
+                new ThreeSumParallel(supplier.get(), pool).count();
+                long nanos = 0;
+                try (Stopwatch stopwatch = new Stopwatch("nanoseconds")) {
+                    for (int r = 0; r < runs; r++) {
+                        int[] xs = supplier.get();
+                        stopwatch.lap();
+                        new ThreeSumParallel(xs, pool).count();
+                        nanos += stopwatch.lap();
+                    }
+                }
+                double time = nanos / 1E6 / runs;
+                for (TimeLogger timeLogger : timeLoggersQuadratic) timeLogger.log(description, time, n);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Measures the number of bytes allocated (by all threads) in solving one problem of size n,
+     * first by materializing the solutions (getTriples) and then by passing them to a ResultSink
+     * (counting them; keeping only the first ten; keeping a random sample of ten).
+     * The allocation includes that of the implementation itself (for example, the sorted copy made by ThreeSumParallel).
+     * ThreeSumCubic is measured only if n is at most 4000.
+     */
+    public void runAllocationBenchmarks() {
+        System.out.println("ThreeSumBenchmark (allocation): N=" + n);
+        int[] xs = supplier.get();
+        if (n <= 4000) reportAllocation("ThreeSumCubic", () -> new ThreeSumCubic(xs));
+        reportAllocation("ThreeSumParallel", () -> new ThreeSumParallel(xs));
+    }
+
+    private static void reportAllocation(String description, Supplier<ThreeSum> threeSumSupplier) {
+        reportAllocation(description + " getTriples", () -> threeSumSupplier.get().getTriples());
+        reportAllocation(description + " solve(CountSink)", () -> threeSumSupplier.get().solve(new CountSink()));
+        reportAllocation(description + " solve(FirstKSink(10))", () -> threeSumSupplier.get().solve(new FirstKSink(10)));
+        reportAllocation(description + " solve(ReservoirSink(10))", () -> threeSumSupplier.get().solve(new ReservoirSink(10)));
+    }
+
+    private static void reportAllocation(String description, Runnable runnable) {
+        runnable.run(); // warm-up
+        long before = allocatedBytes();
+        runnable.run();
+        long bytes = allocatedBytes() - before;
+        System.out.println(description + ": " + (bytes < 0 ? "allocation is not measurable" : bytes + " bytes allocated"));
+    }
+
+    /**
+     * Get the total number of bytes allocated so far by the live threads
+     * (the worker threads of the common pool stay alive between runs).
+     *
+     * @return the number of bytes, or -1 if the JVM does not support the measurement of allocation.
+     */
+    private static long allocatedBytes() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean) || !bean.isThreadAllocatedMemorySupported())
+            return -1;
+        if (!bean.isThreadAllocatedMemoryEnabled()) bean.setThreadAllocatedMemoryEnabled(true);
+        long result = 0;
+        for (long bytes : bean.getThreadAllocatedBytes(bean.getAllThreadIds())) if (bytes > 0) result += bytes;
+        return result;
+    }
+
     /**
      * The main method serves as the entry point to the application. It sequentially executes performance
      * benchmarks for various configurations of the Three-Sum problem. Each configuration specifies
@@ -74,10 +153,24 @@ public class ThreeSumBenchmark {
      * <p>
      * The benchmarks are designed to evaluate and log the performance of different algorithmic implementations:
      * cubic, quadratic, and quadrithmic.
+     * <p>
+     * Alternatively, if the first argument is "parallel", the allocation benchmarks are run (N=4000 and N=16000)
+     * followed by the parallel benchmarks for each of the remaining arguments as N (default 16000).
+     * For example, "parallel 16000 1000000" (the latter takes about 25 minutes on one core).
      *
-     * @param args command-line arguments (not used in this application).
+     * @param args command-line arguments: either none or "parallel" followed by values of N.
      */
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("parallel")) {
+            new ThreeSumBenchmark(1, 4000, 4000).runAllocationBenchmarks();
+            new ThreeSumBenchmark(1, 16000, 16000).runAllocationBenchmarks();
+            if (args.length == 1) new ThreeSumBenchmark(10, 16000, 16000).runParallelBenchmarks();
+            for (int i = 1; i < args.length; i++) {
+                int n = Integer.parseInt(args[i]);
+                new ThreeSumBenchmark(n < 100_000 ? 10 : 1, n, n).runParallelBenchmarks();
+            }
+            return;
+        }
         new ThreeSumBenchmark(100, 250, 250).runBenchmarks();
         new ThreeSumBenchmark(50, 500, 500).runBenchmarks();
         new ThreeSumBenchmark(20, 1000, 1000).runBenchmarks();
@@ -0,0 +1,161 @@
+package com.phasmidsoftware.dsaipg.adt.threesum;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A parallel implementation of ThreeSum which takes quadratic time (divided by the number of threads).
+ * <p>
+ * The values are copied into a primitive array and sorted.
+ * Then, for each (distinct) value a[i], the "calipers" (one index moving up from i+1, the other moving down
+ * from the end) find all pairs a[j], a[k] such that a[i] + a[j] + a[k] = 0, in linear time.
+ * The outer index i is partitioned recursively across a fork/join pool
+ * (since the work for i is proportional to n-i, the partitions are kept small and left to work-stealing to balance).
+ * <p>
+ * Rather than materializing every solution, the solutions can be counted (without creating any objects)
+ * or streamed to a TripleConsumer or a ResultSink: getTriples is provided for compatibility with the other implementations.
+ * Each distinct triple of values (x <= y <= z) is reported exactly once, even if the input contains duplicates.
+ */
+public class ThreeSumParallel implements ThreeSum {
+
+    /**
+     * Constructor.
+     *
+     * @param a    the values (which are not changed).
+     * @param pool the fork/join pool in which to search.
+     */
+    public ThreeSumParallel(int[] a, ForkJoinPool pool) {
+        this.a = a.clone();
+        Arrays.sort(this.a);
+        this.pool = pool;
+        this.grain = Math.max(1, this.a.length / (16 * pool.getParallelism()));
+    }
+
+    /**
+     * Constructor which uses the common fork/join pool.
+     *
+     * @param a the values (which are not changed).
+     */
+    public ThreeSumParallel(int[] a) {
+        this(a, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @return the solutions, sorted.
+     */
+    public Triple[] getTriples() {
+        ConcurrentLinkedQueue<Triple> queue = new ConcurrentLinkedQueue<>();
+        forEach((x, y, z) -> queue.add(new Triple(x, y, z)));
+        List<Triple> triples = new ArrayList<>(queue);
+        Collections.sort(triples);
+        return triples.toArray(new Triple[0]);
+    }
+
+    /**
+     * Count the solutions, without creating any objects.
+     *
+     * @return the number of solutions.
+     */
+    public long count() {
+        return pool.invoke(new Search(0, a.length, null));
+    }
+
+    /**
+     * Pass each solution to consumer.
+     * NOTE: consumer will be invoked concurrently by the threads of the pool (in no particular order):
+     * it must be thread-safe.
+     *
+     * @param consumer a thread-safe TripleConsumer.
+     * @return the number of solutions.
+     */
+    public long forEach(TripleConsumer consumer) {
+        return pool.invoke(new Search(0, a.length, new ConsumerSink(consumer)));
+    }
+
+    /**
+     * Pass the solutions to sink.
+     * A CountSink is given the number of solutions without being invoked for each one;
+     * otherwise, sink is invoked concurrently by the threads of the pool (in no particular order),
+     * and the search stops soon after sink is satisfied.
+     *
+     * @param sink a thread-safe ResultSink.
+     */
+    public void solve(ResultSink sink) {
+        if (sink instanceof CountSink) ((CountSink) sink).add(count());
+        else pool.invoke(new Search(0, a.length, sink));
+    }
+
+    /**
+     * Find the solutions whose smallest value is a[i], for each i from lo (inclusive) to hi (exclusive),
+     * using the calipers on a[i+1] through a[n-1].
+     *
+     * @return the number of solutions found.
+     */
+    private long search(int lo, int hi, ResultSink sink) {
+        long result = 0;
+        int n = a.length;
+        for (int i = lo; i < hi; i++) {
+            if (sink != null && sink.isSatisfied()) break;
+            int x = a[i];
+            if (x > 0) break; // all three values would be positive.
+            if (i > 0 && a[i - 1] == x) continue; // the solutions for x have already been found.
+            long target = -(long) x;
+            int j = i + 1, k = n - 1;
+            while (j < k) {
+                long sum = (long) a[j] + a[k];
+                if (sum < target) j++;
+                else if (sum > target) k--;
+                else {
+                    int y = a[j], z = a[k];
+                    result++;
+                    if (sink != null) {
+                        sink.acceptTriple(x, y, z);
+                        if (sink.isSatisfied()) return result;
+                    }
+                    while (j < k && a[j] == y) j++;
+                    while (j < k && a[k] == z) k--;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The task which searches the outer indices from lo to hi, splitting the range in half while it is large.
+     */
+    private final class Search extends RecursiveTask<Long> {
+        Search(int lo, int hi, ResultSink sink) {
+            this.lo = lo;
+            this.hi = hi;
+            this.sink = sink;
+        }
+
+        protected Long compute() {
+            if (hi - lo <= grain) return search(lo, hi, sink);
+            int mid = (lo + hi) >>> 1;
+            Search left = new Search(lo, mid, sink);
+            left.fork();
+            long right = new Search(mid, hi, sink).compute();
+            return left.join() + right;
+        }
+
+        private static final long serialVersionUID = 1L;
+
+        private final int lo;
+        private final int hi;
+        private final transient ResultSink sink;
+    }
+
+    private final int[] a;
+    private final ForkJoinPool pool;
+
+    /**
+     * The largest number of outer indices searched by a single task.
+     */
+    private final int grain;
+}
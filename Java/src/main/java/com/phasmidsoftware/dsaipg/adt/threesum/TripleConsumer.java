@@ -0,0 +1,17 @@
+package com.phasmidsoftware.dsaipg.adt.threesum;
+
+/**
+ * A consumer of triples of ints, which allows the solutions of a three-sum problem
+ * to be streamed without creating a Triple for each one.
+ */
+@FunctionalInterface
+public interface TripleConsumer {
+    /**
+     * Accept a triple (x, y, z) such that x <= y <= z.
+     *
+     * @param x the first (smallest) value.
+     * @param y the second value.
+     * @param z the third (largest) value.
+     */
+    void accept(int x, int y, int z);
+}
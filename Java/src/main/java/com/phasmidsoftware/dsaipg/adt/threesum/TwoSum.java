@@ -16,4 +16,20 @@ public interface TwoSum {
      * @return an ordered, distinct, array of Pair.
      */
     Pair[] getPairs();
+
+    /**
+     * Method to pass the solutions from this instance of TwoSum to a ResultSink,
+     * which may count them, sample them or stream them rather than materialize them.
+     * <p>
+     * This default implementation simply passes the result of getPairs to sink (and so saves no allocation):
+     * implementations should override it wherever they can avoid creating Pairs.
+     *
+     * @param sink the destination of the solutions.
+     */
+    default void solve(ResultSink sink) {
+        for (Pair p : getPairs()) {
+            if (sink.isSatisfied()) return;
+            sink.acceptPair(p.x, p.y);
+        }
+    }
 }
\ No newline at end of file
@@ -58,6 +58,7 @@ public class TwoSumBenchmark {
         System.out.println("TwoSumBenchmark: N=" + n);
         benchmarkTwoSum("TwoSumWithCalipers", (xs) -> new TwoSumWithCalipers(xs).getPairs(), n, timeLoggersQuadratic);
         benchmarkTwoSum("TwoSumQuadratic", (xs) -> new TwoSumQuadratic(xs).getPairs(), n, timeLoggersQuadratic);
+        benchmarkTwoSum("TwoSumHash", (xs) -> new TwoSumHash(xs).getPairs(), n, timeLoggersLinear);
     }
 
     /**
@@ -98,6 +99,15 @@ public class TwoSumBenchmark {
                 throw new RuntimeException("implementation missing");
     }
 
+    /**
+     * An array of TimeLogger instances used to log benchmarking results for algorithms exhibiting
+     * linear time complexity (such as TwoSumHash): raw execution time and time normalized for n.
+     */
+    private final static TimeLogger[] timeLoggersLinear = {
+            new TimeLogger("Raw time per run (mSec): ", null),
+            new TimeLogger("Normalized time per run (n): ", n -> 1.0 * n)
+    };
+
     /**
      * An array of TimeLogger instances used to log benchmarking results for algorithms exhibiting
      * quadratic time complexity.
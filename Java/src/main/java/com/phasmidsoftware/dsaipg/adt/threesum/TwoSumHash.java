@@ -0,0 +1,81 @@
+package com.phasmidsoftware.dsaipg.adt.threesum;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An implementation of TwoSum which takes linear (expected) time, using a primitive hash set (IntHashSet).
+ * <p>
+ * All the values are added to the set; then, for each (distinct) negative value x, the pair (x, -x) is a solution
+ * if -x is in the set. The pair (0, 0) is a solution if 0 occurs at least twice.
+ */
+public class TwoSumHash implements TwoSum {
+
+    /**
+     * Constructor.
+     *
+     * @param a the values (which are not changed).
+     */
+    public TwoSumHash(int[] a) {
+        this.a = a;
+    }
+
+    /**
+     * @return the solutions, sorted.
+     */
+    public Pair[] getPairs() {
+        List<Pair> pairs = new ArrayList<>();
+        search(new ConsumerSink((x, y) -> pairs.add(new Pair(x, y))));
+        Collections.sort(pairs);
+        return pairs.toArray(new Pair[0]);
+    }
+
+    /**
+     * Count the solutions, without creating any Pair objects.
+     *
+     * @return the number of solutions.
+     */
+    public int count() {
+        return search(null);
+    }
+
+    /**
+     * Pass each solution to sink (in no particular order), without creating any Pairs.
+     *
+     * @param sink the destination of the solutions.
+     */
+    public void solve(ResultSink sink) {
+        search(sink);
+    }
+
+    /**
+     * @param sink the destination of the solutions (or null if they are only to be counted).
+     * @return the number of solutions passed to sink.
+     */
+    private int search(ResultSink sink) {
+        IntHashSet set = new IntHashSet(a.length);
+        int zeros = 0;
+        for (int x : a) {
+            if (x == 0) zeros++;
+            set.add(x);
+        }
+        IntHashSet seen = new IntHashSet(a.length);
+        int result = 0;
+        for (int x : a)
+            if (x < 0 && x != Integer.MIN_VALUE && set.contains(-x) && seen.add(x)) {
+                result++;
+                if (sink != null) {
+                    sink.acceptPair(x, -x);
+                    if (sink.isSatisfied()) return result;
+                }
+            }
+        if (zeros > 1) {
+            result++;
+            if (sink != null) sink.acceptPair(0, 0);
+        }
+        return result;
+    }
+
+    private final int[] a;
+}
@@ -1,6 +1,7 @@
 package com.phasmidsoftware.dsaipg.adt.threesum;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -43,6 +44,29 @@ class TwoSumQuadratic implements TwoSum {
         return pairs.stream().distinct().toArray(Pair[]::new);
     }
 
+    /**
+     * Pass each solution to sink, without creating any Pairs.
+     * The search runs over a sorted copy of the array, skipping any value equal to its predecessor,
+     * so that each distinct pair of values (x <= y) is passed exactly once, in sorted order,
+     * even if the array contains duplicates.
+     *
+     * @param sink the destination of the solutions.
+     */
+    public void solve(ResultSink sink) {
+        int[] b = Arrays.copyOf(a, length);
+        Arrays.sort(b);
+        for (int i = 0; i < length; i++) {
+            if (i > 0 && b[i] == b[i - 1]) continue;
+            for (int j = i + 1; j < length; j++) {
+                if (j > i + 1 && b[j] == b[j - 1]) continue;
+                if (b[i] + b[j] == 0) {
+                    sink.acceptPair(b[i], b[j]);
+                    if (sink.isSatisfied()) return;
+                }
+            }
+        }
+    }
+
     private final int[] a;
     private final int length;
 }
\ No newline at end of file
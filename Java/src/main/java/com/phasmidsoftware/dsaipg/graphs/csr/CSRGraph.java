@@ -0,0 +1,473 @@
+package com.phasmidsoftware.dsaipg.graphs.csr;
+
+import com.phasmidsoftware.dsaipg.graphs.dag.DiGraph;
+import com.phasmidsoftware.dsaipg.graphs.dijkstra.DirectedEdge;
+import com.phasmidsoftware.dsaipg.graphs.dijkstra.EdgeWeightedDigraph;
+import com.phasmidsoftware.dsaipg.graphs.gis.Geo;
+import com.phasmidsoftware.dsaipg.graphs.gis.GeoPoint;
+import com.phasmidsoftware.dsaipg.graphs.traversal.EdgeWeightedGraph;
+import com.phasmidsoftware.dsaipg.graphs.undirected.Edge;
+import com.phasmidsoftware.dsaipg.graphs.undirected.EdgeGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * An immutable graph in compressed sparse row (CSR) form.
+ * <p>
+ * The vertices are numbered 0 through V-1 (each vertex of type V is interned, by the Builder, to its number).
+ * The arcs leaving vertex v are the arcs offsets[v] through offsets[v+1]-1: the target of arc a is targets[a]
+ * and its weight is weights[a]. Thus, a traversal reads three primitive arrays sequentially
+ * rather than chasing references from a map to a bag to an edge object to its vertices.
+ * <p>
+ * Each edge (also numbered, in the order in which it was added) keeps its endpoints, its weight and (optionally)
+ * its attribute. In a directed graph, each edge is one arc; in an undirected graph, each edge is two arcs
+ * (one in each direction) and edge(a) identifies the edge of arc a.
+ * Weights are doubles (as they are throughout this repository).
+ *
+ * @param <V> the type of the vertices.
+ * @param <E> the type of the edge attributes.
+ */
+public final class CSRGraph<V, E> {
+
+    /**
+     * @return the number of vertices.
+     */
+    public int V() {
+        return vertices.size();
+    }
+
+    /**
+     * @return the number of edges.
+     */
+    public int E() {
+        return from.length;
+    }
+
+    /**
+     * @return the number of arcs (E if directed, otherwise 2E).
+     */
+    public int arcs() {
+        return targets.length;
+    }
+
+    /**
+     * @return true if this graph is directed.
+     */
+    public boolean isDirected() {
+        return directed;
+    }
+
+    /**
+     * @param v a vertex number.
+     * @return the first arc leaving v.
+     */
+    public int begin(int v) {
+        return offsets[v];
+    }
+
+    /**
+     * @param v a vertex number.
+     * @return one more than the last arc leaving v.
+     */
+    public int end(int v) {
+        return offsets[v + 1];
+    }
+
+    /**
+     * @param v a vertex number.
+     * @return the number of arcs leaving v.
+     */
+    public int degree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    /**
+     * @param arc an arc.
+     * @return the vertex number of the target of arc.
+     */
+    public int target(int arc) {
+        return targets[arc];
+    }
+
+    /**
+     * @param arc an arc.
+     * @return the vertex number of the source of arc.
+     */
+    public int source(int arc) {
+        int e = edges[arc];
+        return directed || to[e] == targets[arc] ? from[e] : to[e];
+    }
+
+    /**
+     * @param arc an arc.
+     * @return the weight of arc.
+     */
+    public double weight(int arc) {
+        return weights[arc];
+    }
+
+    /**
+     * @param arc an arc.
+     * @return the number of the edge of arc.
+     */
+    public int edge(int arc) {
+        return edges[arc];
+    }
+
+    /**
+     * @param edge an edge number.
+     * @return the vertex number of the source (or first endpoint) of edge.
+     */
+    public int from(int edge) {
+        return from[edge];
+    }
+
+    /**
+     * @param edge an edge number.
+     * @return the vertex number of the target (or second endpoint) of edge.
+     */
+    public int to(int edge) {
+        return to[edge];
+    }
+
+    /**
+     * @param edge an edge number.
+     * @return the weight of edge.
+     */
+    public double edgeWeight(int edge) {
+        return edgeWeights[edge];
+    }
+
+    /**
+     * @param edge an edge number.
+     * @return the attribute of edge (null if it has none).
+     */
+    public E attribute(int edge) {
+        return attributes.get(edge);
+    }
+
+    /**
+     * @param v a vertex number.
+     * @return the vertex.
+     */
+    public V vertex(int v) {
+        return vertices.get(v);
+    }
+
+    /**
+     * @param vertex a vertex.
+     * @return the number of vertex, or -1 if it is not in this graph.
+     */
+    public int id(V vertex) {
+        Integer result = ids.get(vertex);
+        return result == null ? -1 : result;
+    }
+
+    /**
+     * Sort the edge numbers by weight, by a (stable) bottom-up merge sort of a primitive array,
+     * so that no edge number is boxed.
+     *
+     * @return the edge numbers, sorted by weight (ties in the order in which the edges were added).
+     */
+    public int[] edgesByWeight() {
+        int m = E();
+        int[] result = new int[m], aux = new int[m];
+        for (int e = 0; e < m; e++) result[e] = e;
+        for (int width = 1; width < m; width *= 2) {
+            for (int lo = 0; lo < m; lo += 2 * width) {
+                int mid = Math.min(lo + width, m), hi = Math.min(lo + 2 * width, m);
+                int i = lo, j = mid, k = lo;
+                while (i < mid && j < hi)
+                    aux[k++] = Double.compare(edgeWeights[result[j]], edgeWeights[result[i]]) < 0 ? result[j++] : result[i++];
+                while (i < mid) aux[k++] = result[i++];
+                while (j < hi) aux[k++] = result[j++];
+            }
+            int[] t = result;
+            result = aux;
+            aux = t;
+        }
+        return result;
+    }
+
+    /**
+     * @throws IllegalArgumentException if any weight is negative.
+     */
+    public void validateWeights() {
+        for (int e = 0; e < E(); e++)
+            if (edgeWeights[e] < 0)
+                throw new IllegalArgumentException("CSRGraph: edge " + from[e] + "->" + to[e] + " has negative weight " + edgeWeights[e]);
+    }
+
+    /**
+     * Get the reverse (transpose) of this graph: the arcs leaving v in the result are the arcs entering v in this graph.
+     * Vertex numbers, edge numbers, weights and attributes are all preserved
+     * (but from and to are exchanged for each edge).
+     * An undirected graph is its own reverse.
+     *
+     * @return the reverse of this graph.
+     */
+    public CSRGraph<V, E> reverse() {
+        if (!directed) return this;
+        int n = V(), m = E();
+        int[] reverseOffsets = new int[n + 1];
+        for (int e = 0; e < m; e++) reverseOffsets[to[e] + 1]++;
+        for (int v = 0; v < n; v++) reverseOffsets[v + 1] += reverseOffsets[v];
+        int[] next = Arrays.copyOf(reverseOffsets, n);
+        int[] reverseTargets = new int[m], reverseEdges = new int[m];
+        double[] reverseWeights = new double[m];
+        for (int e = 0; e < m; e++) {
+            int a = next[to[e]]++;
+            reverseTargets[a] = from[e];
+            reverseWeights[a] = edgeWeights[e];
+            reverseEdges[a] = e;
+        }
+        return new CSRGraph<>(true, reverseOffsets, reverseTargets, reverseWeights, reverseEdges, to, from, edgeWeights, attributes, vertices, ids);
+    }
+
+    @Override
+    public String toString() {
+        return "CSRGraph{" + (directed ? "directed" : "undirected") + ", V=" + V() + ", E=" + E() + "}";
+    }
+
+    /**
+     * Create an undirected CSRGraph from an EdgeGraph.
+     *
+     * @param graph  the EdgeGraph.
+     * @param weight a function which yields the weight of an edge attribute.
+     * @param <V>    the type of the vertices.
+     * @param <E>    the type of the edge attributes.
+     * @return a new CSRGraph.
+     */
+    public static <V, E> CSRGraph<V, E> fromEdgeGraph(EdgeGraph<V, E> graph, ToDoubleFunction<E> weight) {
+        Builder<V, E> builder = new Builder<>(false);
+        for (V v : graph.vertices()) builder.addVertex(v);
+        for (Edge<V, E> edge : graph.edges()) {
+            V v = edge.get();
+            builder.addEdge(v, edge.getOther(v), weight.applyAsDouble(edge.getAttribute()), edge.getAttribute());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Create an undirected CSRGraph from a Geo graph, in which the weight of each edge is its (geographic) length.
+     *
+     * @param graph the Geo graph.
+     * @param <V>   the type of the vertices.
+     * @param <E>   the type of the edge attributes.
+     * @return a new CSRGraph.
+     */
+    public static <V extends GeoPoint, E> CSRGraph<V, E> fromGeo(Geo<V, E> graph) {
+        Builder<V, E> builder = new Builder<>(false);
+        for (V v : graph.vertices()) builder.addVertex(v);
+        for (Edge<V, E> edge : graph.edges()) {
+            V v = edge.get();
+            builder.addEdge(v, edge.getOther(v), graph.length(edge), edge.getAttribute());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Create a directed CSRGraph from a DiGraph.
+     *
+     * @param graph  the DiGraph.
+     * @param weight a function which yields the weight of an edge attribute.
+     * @param <V>    the type of the vertices.
+     * @param <E>    the type of the edge attributes.
+     * @return a new CSRGraph.
+     */
+    public static <V, E> CSRGraph<V, E> fromDiGraph(DiGraph<V, E> graph, ToDoubleFunction<E> weight) {
+        Builder<V, E> builder = new Builder<>(true);
+        for (V v : graph.vertices()) builder.addVertex(v);
+        for (com.phasmidsoftware.dsaipg.graphs.dag.Edge<V, E> edge : graph.edges())
+            builder.addEdge(edge.getFrom(), edge.getTo(), weight.applyAsDouble(edge.getAttributes()), edge.getAttributes());
+        return builder.build();
+    }
+
+    /**
+     * Create a directed CSRGraph from an EdgeWeightedDigraph: vertex v is numbered v.
+     *
+     * @param graph the EdgeWeightedDigraph.
+     * @return a new CSRGraph.
+     */
+    public static CSRGraph<Integer, DirectedEdge> fromEdgeWeightedDigraph(EdgeWeightedDigraph graph) {
+        Builder<Integer, DirectedEdge> builder = new Builder<>(true);
+        for (int v = 0; v < graph.V(); v++) builder.addVertex(v);
+        for (int v = 0; v < graph.V(); v++)
+            for (DirectedEdge e : graph.adj(v)) builder.addEdgeByNumber(e.from(), e.to(), e.weight(), e);
+        return builder.build();
+    }
+
+    /**
+     * Create an undirected CSRGraph from an EdgeWeightedGraph: vertex v is numbered v.
+     *
+     * @param graph the EdgeWeightedGraph.
+     * @return a new CSRGraph.
+     */
+    public static CSRGraph<Integer, com.phasmidsoftware.dsaipg.graphs.traversal.Edge> fromEdgeWeightedGraph(EdgeWeightedGraph graph) {
+        Builder<Integer, com.phasmidsoftware.dsaipg.graphs.traversal.Edge> builder = new Builder<>(false);
+        for (int v = 0; v < graph.V(); v++) builder.addVertex(v);
+        for (com.phasmidsoftware.dsaipg.graphs.traversal.Edge e : graph.edges()) {
+            int v = e.either();
+            builder.addEdge(v, e.other(v), e.weight(), e);
+        }
+        return builder.build();
+    }
+
+    /**
+     * A builder of CSRGraphs: the vertices are interned (numbered in the order in which they are first seen)
+     * and the edges are recorded in primitive arrays until build is invoked.
+     *
+     * @param <V> the type of the vertices.
+     * @param <E> the type of the edge attributes.
+     */
+    public static class Builder<V, E> {
+
+        /**
+         * Constructor.
+         *
+         * @param directed true if the graph is to be directed.
+         */
+        public Builder(boolean directed) {
+            this.directed = directed;
+        }
+
+        /**
+         * Add a vertex (if it has not already been added).
+         *
+         * @param vertex the vertex.
+         * @return the number of vertex.
+         */
+        public int addVertex(V vertex) {
+            Integer result = ids.get(vertex);
+            if (result != null) return result;
+            ids.put(vertex, vertices.size());
+            vertices.add(vertex);
+            return vertices.size() - 1;
+        }
+
+        /**
+         * Add an edge, adding its endpoints if necessary.
+         *
+         * @param from      the source (or first endpoint).
+         * @param to        the target (or second endpoint).
+         * @param weight    the weight.
+         * @param attribute the attribute (may be null).
+         * @return this Builder.
+         */
+        public Builder<V, E> addEdge(V from, V to, double weight, E attribute) {
+            return addEdgeByNumber(addVertex(from), addVertex(to), weight, attribute);
+        }
+
+        /**
+         * Add an edge between vertices which have already been added.
+         *
+         * @param from      the number of the source (or first endpoint).
+         * @param to        the number of the target (or second endpoint).
+         * @param weight    the weight.
+         * @param attribute the attribute (may be null).
+         * @return this Builder.
+         */
+        public Builder<V, E> addEdgeByNumber(int from, int to, double weight, E attribute) {
+            if (from < 0 || from >= vertices.size() || to < 0 || to >= vertices.size())
+                throw new IllegalArgumentException("CSRGraph.Builder:addEdgeByNumber: vertex numbers must be between 0 and " + (vertices.size() - 1) + ": " + from + ", " + to);
+            if (m == this.from.length) {
+                int capacity = 2 * m;
+                this.from = Arrays.copyOf(this.from, capacity);
+                this.to = Arrays.copyOf(this.to, capacity);
+                this.weights = Arrays.copyOf(this.weights, capacity);
+            }
+            this.from[m] = from;
+            this.to[m] = to;
+            this.weights[m++] = weight;
+            attributes.add(attribute);
+            return this;
+        }
+
+        /**
+         * @return a new CSRGraph, built by a counting sort of the arcs by source.
+         */
+        public CSRGraph<V, E> build() {
+            int n = vertices.size(), arcs = directed ? m : 2 * m;
+            int[] offsets = new int[n + 1];
+            for (int e = 0; e < m; e++) {
+                offsets[from[e] + 1]++;
+                if (!directed) offsets[to[e] + 1]++;
+            }
+            for (int v = 0; v < n; v++) offsets[v + 1] += offsets[v];
+            int[] next = Arrays.copyOf(offsets, n);
+            int[] targets = new int[arcs], edges = new int[arcs];
+            double[] arcWeights = new double[arcs];
+            for (int e = 0; e < m; e++) {
+                int a = next[from[e]]++;
+                targets[a] = to[e];
+                arcWeights[a] = weights[e];
+                edges[a] = e;
+                if (!directed) {
+                    int b = next[to[e]]++;
+                    targets[b] = from[e];
+                    arcWeights[b] = weights[e];
+                    edges[b] = e;
+                }
+            }
+            return new CSRGraph<>(directed, offsets, targets, arcWeights, edges,
+                    Arrays.copyOf(from, m), Arrays.copyOf(to, m), Arrays.copyOf(weights, m),
+                    new ArrayList<>(attributes), new ArrayList<>(vertices), new HashMap<>(ids));
+        }
+
+        private final boolean directed;
+        private final Map<V, Integer> ids = new HashMap<>();
+        private final List<V> vertices = new ArrayList<>();
+        private final List<E> attributes = new ArrayList<>();
+        private int[] from = new int[16];
+        private int[] to = new int[16];
+        private double[] weights = new double[16];
+        private int m = 0;
+    }
+
+    private CSRGraph(boolean directed, int[] offsets, int[] targets, double[] weights, int[] edges, int[] from, int[] to, double[] edgeWeights, List<E> attributes, List<V> vertices, Map<V, Integer> ids) {
+        this.directed = directed;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.edges = edges;
+        this.from = from;
+        this.to = to;
+        this.edgeWeights = edgeWeights;
+        this.attributes = attributes;
+        this.vertices = vertices;
+        this.ids = ids;
+    }
+
+    private final boolean directed;
+
+    /**
+     * offsets[v] is the first arc leaving v; offsets[V] is the number of arcs.
+     */
+    private final int[] offsets;
+
+    /**
+     * The target, weight and edge number of each arc.
+     */
+    private final int[] targets;
+    private final double[] weights;
+    private final int[] edges;
+
+    /**
+     * The endpoints, weight and attribute of each edge.
+     */
+    private final int[] from;
+    private final int[] to;
+    private final double[] edgeWeights;
+    private final List<E> attributes;
+
+    /**
+     * The vertices, by number, and the (interning) map from vertex to number.
+     */
+    private final List<V> vertices;
+    private final Map<V, Integer> ids;
+}
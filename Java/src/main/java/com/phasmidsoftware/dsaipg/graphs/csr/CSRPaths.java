@@ -0,0 +1,86 @@
+package com.phasmidsoftware.dsaipg.graphs.csr;
+
+/**
+ * The result of a single-source shortest-paths computation on a CSRGraph:
+ * the distance to each vertex and the arc by which each vertex was (last) reached.
+ * <p>
+ * Vertices are identified by their numbers in the CSRGraph.
+ */
+public class CSRPaths {
+
+    /**
+     * @return the source vertex.
+     */
+    public int source() {
+        return source;
+    }
+
+    /**
+     * @param v a vertex number.
+     * @return the length of the shortest path from the source to v (infinity if there is none).
+     */
+    public double distTo(int v) {
+        validateVertex(v);
+        return distTo[v];
+    }
+
+    /**
+     * @param v a vertex number.
+     * @return true if there is a path from the source to v.
+     */
+    public boolean hasPathTo(int v) {
+        return distTo(v) < Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * @param v a vertex number.
+     * @return the last arc of the shortest path to v, or -1 if v is the source or is unreachable.
+     */
+    public int arcTo(int v) {
+        validateVertex(v);
+        return arcTo[v];
+    }
+
+    /**
+     * @param v a vertex number.
+     * @return the vertices of the shortest path from the source to v (inclusive), or null if there is no such path.
+     */
+    public int[] pathTo(int v) {
+        if (!hasPathTo(v)) return null;
+        int length = 1;
+        for (int w = v; arcTo[w] >= 0; w = graph.source(arcTo[w])) length++;
+        int[] result = new int[length];
+        int w = v;
+        for (int i = length - 1; i > 0; i--) {
+            result[i] = w;
+            w = graph.source(arcTo[w]);
+        }
+        result[0] = w;
+        return result;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param graph  the graph.
+     * @param source the source vertex.
+     * @param distTo the distance to each vertex.
+     * @param arcTo  the last arc of the shortest path to each vertex (-1 for the source and for unreachable vertices).
+     */
+    public CSRPaths(CSRGraph<?, ?> graph, int source, double[] distTo, int[] arcTo) {
+        this.graph = graph;
+        this.source = source;
+        this.distTo = distTo;
+        this.arcTo = arcTo;
+    }
+
+    private void validateVertex(int v) {
+        if (v < 0 || v >= distTo.length)
+            throw new IllegalArgumentException("CSRPaths: vertex " + v + " is not between 0 and " + (distTo.length - 1));
+    }
+
+    private final CSRGraph<?, ?> graph;
+    private final int source;
+    private final double[] distTo;
+    private final int[] arcTo;
+}
@@ -0,0 +1,621 @@
+package com.phasmidsoftware.dsaipg.graphs.dijkstra;
+
+import com.phasmidsoftware.dsaipg.adt.pq.IndexedPriorityQueue;
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRGraph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * The {@code ContractionHierarchy} class answers point-to-point shortest-path queries on a static graph
+ * (with non-negative weights) using contraction hierarchies (Geisberger, Sanders, Schultes and Delling, 2008).
+ * <p>
+ * Preprocessing contracts the vertices one at a time, in order of importance (least important first):
+ * when v is contracted, a shortcut u-&gt;w (of weight w(u,v) + w(v,w)) is added for each pair of remaining
+ * neighbors u-&gt;v-&gt;w unless a witness search (a bounded Dijkstra search from u which avoids v) finds a path
+ * from u to w which is no longer. The importance of a vertex is its edge difference (the number of shortcuts that
+ * its contraction would add, less the number of its remaining edges) plus the number of its neighbors that have
+ * already been contracted (which spreads the contraction evenly over the graph);
+ * it is updated lazily, and also for the neighbors of each contracted vertex.
+ * The rank of a vertex is the order in which it was contracted.
+ * <p>
+ * A query is a bidirectional Dijkstra search in which the forward search (from the source) follows only edges that
+ * lead upwards (to a vertex of higher rank) and the backward search (from the target) follows only edges that
+ * lead upwards in reverse. Each search stops when its smallest tentative distance is no less than the best path found.
+ * The shortcuts of the resulting path are then unpacked (recursively) into the edges of the original graph.
+ * Queries typically settle a few hundred vertices, even in a large road network.
+ * <p>
+ * The hierarchy may be saved to (and loaded from) a compact binary file, so that the preprocessing need not be repeated.
+ * The query workspace is allocated once and reused: a ContractionHierarchy must not be shared between threads.
+ */
+public class ContractionHierarchy {
+
+    /**
+     * Find a shortest path from s to t.
+     * The edge numbers of the Result are those of the original graph (for an EdgeWeightedDigraph,
+     * the numbers of the corresponding CSRGraph, i.e. in the order of the adjacency lists).
+     *
+     * @param s the number of the source vertex.
+     * @param t the number of the target vertex.
+     * @return the Result of the query.
+     */
+    public PointToPoint.Result query(int s, int t) {
+        validateVertex(s);
+        validateVertex(t);
+        long start = System.nanoTime();
+        query++;
+        forward.pq.clear();
+        backward.pq.clear();
+        int settled = 0;
+        long relaxed = 0;
+        forward.reach(s, 0.0, -1);
+        forward.pq.insertOrDecreaseNumber(s, 0.0);
+        backward.reach(t, 0.0, -1);
+        backward.pq.insertOrDecreaseNumber(t, 0.0);
+        double best = s == t ? 0.0 : Double.POSITIVE_INFINITY;
+        int meeting = s == t ? s : -1;
+        while (true) {
+            boolean forwardDone = forward.pq.isEmpty() || forward.pq.minPriority() >= best;
+            boolean backwardDone = backward.pq.isEmpty() || backward.pq.minPriority() >= best;
+            if (forwardDone && backwardDone) break;
+            boolean forwards = backwardDone || !forwardDone && forward.pq.minPriority() <= backward.pq.minPriority();
+            Search search = forwards ? forward : backward, other = forwards ? backward : forward;
+            int[] offsets = forwards ? upOffsets : downOffsets, targets = forwards ? upTargets : downTargets, edges = forwards ? upEdges : downEdges;
+            int v = search.pq.delMinNumber();
+            settled++;
+            double d = search.dist[v];
+            for (int a = offsets[v], end = offsets[v + 1]; a < end; a++) {
+                relaxed++;
+                int w = targets[a], e = edges[a];
+                double distance = d + weight[e];
+                if (distance < search.distance(w)) {
+                    search.reach(w, distance, e);
+                    search.pq.insertOrDecreaseNumber(w, distance);
+                    double length = distance + other.distance(w);
+                    if (length < best) {
+                        best = length;
+                        meeting = w;
+                    }
+                }
+            }
+        }
+        int[] path = null, originals = null;
+        if (meeting >= 0) {
+            int forwardEdges = 0, backwardEdges = 0;
+            for (int v = meeting; forward.edge(v) >= 0; v = from[forward.edge(v)]) forwardEdges++;
+            for (int v = meeting; backward.edge(v) >= 0; v = to[backward.edge(v)]) backwardEdges++;
+            int[] shortcuts = new int[forwardEdges + backwardEdges];
+            int i = forwardEdges;
+            for (int v = meeting; forward.edge(v) >= 0; v = from[forward.edge(v)]) shortcuts[--i] = forward.edge(v);
+            i = forwardEdges;
+            for (int v = meeting; backward.edge(v) >= 0; v = to[backward.edge(v)]) shortcuts[i++] = backward.edge(v);
+            originals = unpack(shortcuts);
+            path = new int[originals.length + 1];
+            path[0] = s;
+            for (int k = 0; k < originals.length; k++) {
+                path[k + 1] = to[originals[k]];
+                originals[k] = original[originals[k]];
+            }
+        }
+        return new PointToPoint.Result(s, t, best, path, originals, settled, relaxed, System.nanoTime() - start);
+    }
+
+    /**
+     * @return the number of vertices.
+     */
+    public int V() {
+        return rank.length;
+    }
+
+    /**
+     * @param v a vertex number.
+     * @return the rank of v (the order in which it was contracted).
+     */
+    public int rank(int v) {
+        validateVertex(v);
+        return rank[v];
+    }
+
+    /**
+     * @return the number of shortcuts added by the preprocessing.
+     */
+    public int shortcuts() {
+        int result = 0;
+        for (int e : original) if (e < 0) result++;
+        return result;
+    }
+
+    /**
+     * Save this hierarchy (the ranks and the edges, including the shortcuts) in binary form.
+     *
+     * @param stream the stream to which the hierarchy is written (it is flushed but not closed).
+     * @throws IOException if the hierarchy cannot be written.
+     */
+    public void save(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+        out.writeInt(MAGIC);
+        out.writeInt(rank.length);
+        out.writeInt(from.length);
+        for (int r : rank) out.writeInt(r);
+        for (int e = 0; e < from.length; e++) {
+            out.writeInt(from[e]);
+            out.writeInt(to[e]);
+            out.writeDouble(weight[e]);
+            out.writeInt(first[e]);
+            out.writeInt(second[e]);
+            out.writeInt(original[e]);
+        }
+        out.flush();
+    }
+
+    /**
+     * Save this hierarchy to a file.
+     *
+     * @param path the path of the file.
+     * @throws IOException if the file cannot be written.
+     */
+    public void save(Path path) throws IOException {
+        try (OutputStream stream = Files.newOutputStream(path)) {
+            save(stream);
+        }
+    }
+
+    /**
+     * Load a hierarchy which was saved by save.
+     *
+     * @param stream the stream from which the hierarchy is read (it is not closed).
+     * @return a ContractionHierarchy.
+     * @throws IOException if the hierarchy cannot be read or is not valid.
+     */
+    public static ContractionHierarchy load(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+        if (in.readInt() != MAGIC) throw new IOException("ContractionHierarchy:load: not a contraction hierarchy");
+        int n = in.readInt(), m = in.readInt();
+        if (n < 0 || m < 0) throw new IOException("ContractionHierarchy:load: invalid size: " + n + ", " + m);
+        int[] rank = new int[n];
+        boolean[] ranked = new boolean[n];
+        for (int v = 0; v < n; v++) {
+            rank[v] = in.readInt();
+            if (rank[v] < 0 || rank[v] >= n || ranked[rank[v]])
+                throw new IOException("ContractionHierarchy:load: ranks are not a permutation: vertex " + v);
+            ranked[rank[v]] = true;
+        }
+        int[] from = new int[m], to = new int[m], first = new int[m], second = new int[m], original = new int[m];
+        double[] weight = new double[m];
+        for (int e = 0; e < m; e++) {
+            from[e] = in.readInt();
+            to[e] = in.readInt();
+            weight[e] = in.readDouble();
+            first[e] = in.readInt();
+            second[e] = in.readInt();
+            original[e] = in.readInt();
+            if (from[e] < 0 || from[e] >= n || to[e] < 0 || to[e] >= n || !validEdge(e, from, to, weight, first[e], second[e], original[e]))
+                throw new IOException("ContractionHierarchy:load: invalid edge " + e);
+        }
+        return new ContractionHierarchy(rank, from, to, weight, first, second, original);
+    }
+
+    /**
+     * Method to check an edge as it is loaded: every weight is non-negative (and not NaN);
+     * an original edge has no children and has a number in the original graph;
+     * a shortcut is made up of two earlier edges, first from its tail and second to its head, which meet in the middle,
+     * and its weight is exactly the sum of theirs (which is how the preprocessing computes it).
+     */
+    private static boolean validEdge(int e, int[] from, int[] to, double[] weight, int first, int second, int original) {
+        if (!(weight[e] >= 0)) return false;
+        if (first == -1 && second == -1) return original >= 0;
+        return original == -1 && first >= 0 && first < e && second >= 0 && second < e &&
+                from[first] == from[e] && to[first] == from[second] && to[second] == to[e] &&
+                weight[e] == weight[first] + weight[second];
+    }
+
+    /**
+     * Load a hierarchy from a file.
+     *
+     * @param path the path of the file.
+     * @return a ContractionHierarchy.
+     * @throws IOException if the file cannot be read or is not valid.
+     */
+    public static ContractionHierarchy load(Path path) throws IOException {
+        try (InputStream stream = Files.newInputStream(path)) {
+            return load(stream);
+        }
+    }
+
+    /**
+     * Constructor which preprocesses a graph.
+     *
+     * @param G a graph (directed or undirected), which must not contain negative weights.
+     * @throws IllegalArgumentException if the graph contains a negative weight.
+     */
+    public ContractionHierarchy(CSRGraph<?, ?> G) {
+        this(new Contractor(G).contract());
+    }
+
+    /**
+     * Constructor which preprocesses an EdgeWeightedDigraph.
+     *
+     * @param G an edge-weighted digraph, which must not contain negative weights.
+     * @throws IllegalArgumentException if the graph contains a negative weight.
+     */
+    public ContractionHierarchy(EdgeWeightedDigraph G) {
+        this(CSRGraph.fromEdgeWeightedDigraph(G));
+    }
+
+    @Override
+    public String toString() {
+        return "ContractionHierarchy{V=" + V() + ", edges=" + from.length + ", shortcuts=" + shortcuts() + "}";
+    }
+
+    private ContractionHierarchy(Contractor contractor) {
+        this(contractor.rank, Arrays.copyOf(contractor.from, contractor.m), Arrays.copyOf(contractor.to, contractor.m),
+                Arrays.copyOf(contractor.weight, contractor.m), Arrays.copyOf(contractor.first, contractor.m),
+                Arrays.copyOf(contractor.second, contractor.m), Arrays.copyOf(contractor.original, contractor.m));
+    }
+
+    /**
+     * Primary constructor: build the upward and downward graphs (in CSR form) from the ranks and the edges.
+     * An edge u-&gt;w belongs to the upward graph (at u) if rank[u] &lt; rank[w],
+     * otherwise to the downward graph (at w, leading back to u).
+     */
+    private ContractionHierarchy(int[] rank, int[] from, int[] to, double[] weight, int[] first, int[] second, int[] original) {
+        int n = rank.length, m = from.length;
+        this.rank = rank;
+        this.from = from;
+        this.to = to;
+        this.weight = weight;
+        this.first = first;
+        this.second = second;
+        this.original = original;
+        this.upOffsets = new int[n + 1];
+        this.downOffsets = new int[n + 1];
+        for (int e = 0; e < m; e++)
+            if (rank[from[e]] < rank[to[e]]) upOffsets[from[e] + 1]++;
+            else downOffsets[to[e] + 1]++;
+        for (int v = 0; v < n; v++) {
+            upOffsets[v + 1] += upOffsets[v];
+            downOffsets[v + 1] += downOffsets[v];
+        }
+        this.upTargets = new int[upOffsets[n]];
+        this.upEdges = new int[upOffsets[n]];
+        this.downTargets = new int[downOffsets[n]];
+        this.downEdges = new int[downOffsets[n]];
+        int[] nextUp = Arrays.copyOf(upOffsets, n), nextDown = Arrays.copyOf(downOffsets, n);
+        for (int e = 0; e < m; e++)
+            if (rank[from[e]] < rank[to[e]]) {
+                int a = nextUp[from[e]]++;
+                upTargets[a] = to[e];
+                upEdges[a] = e;
+            } else {
+                int a = nextDown[to[e]]++;
+                downTargets[a] = from[e];
+                downEdges[a] = e;
+            }
+        this.forward = new Search(n);
+        this.backward = new Search(n);
+    }
+
+    /**
+     * Unpack a sequence of (hierarchy) edges into the sequence of original edges which they represent.
+     */
+    private int[] unpack(int[] edges) {
+        int[] result = new int[16];
+        int k = 0;
+        int[] stack = new int[16];
+        for (int e : edges) {
+            int top = 0;
+            stack[top++] = e;
+            while (top > 0) {
+                int x = stack[--top];
+                if (first[x] < 0) {
+                    if (k == result.length) result = Arrays.copyOf(result, 2 * k);
+                    result[k++] = x;
+                } else {
+                    if (top + 2 > stack.length) stack = Arrays.copyOf(stack, 2 * stack.length);
+                    stack[top++] = second[x];
+                    stack[top++] = first[x];
+                }
+            }
+        }
+        return Arrays.copyOf(result, k);
+    }
+
+    private void validateVertex(int v) {
+        if (v < 0 || v >= rank.length)
+            throw new IllegalArgumentException("ContractionHierarchy: vertex " + v + " is not between 0 and " + (rank.length - 1));
+    }
+
+    /**
+     * The working arrays for a search in one direction.
+     * The entries for vertex v are valid only if stamp[v] is the number of the current search.
+     */
+    private final class Search {
+        Search(int n) {
+            dist = new double[n];
+            edgeTo = new int[n];
+            stamp = new int[n];
+            Arrays.fill(stamp, -1);
+            pq = new IndexedPriorityQueue<>(4, n, v -> v);
+        }
+
+        double distance(int v) {
+            return stamp[v] == query ? dist[v] : Double.POSITIVE_INFINITY;
+        }
+
+        int edge(int v) {
+            return stamp[v] == query ? edgeTo[v] : -1;
+        }
+
+        void reach(int v, double distance, int edge) {
+            stamp[v] = query;
+            dist[v] = distance;
+            edgeTo[v] = edge;
+        }
+
+        final double[] dist;
+        final int[] edgeTo;
+        final int[] stamp;
+        final IndexedPriorityQueue<Integer> pq;
+    }
+
+    /**
+     * The preprocessing: a dynamic graph (the adjacency lists of edge numbers for each vertex, which grow as shortcuts
+     * are added) and the table of edges, from which the contracted vertices are (lazily) excluded.
+     */
+    private static final class Contractor {
+
+        Contractor(CSRGraph<?, ?> G) {
+            G.validateWeights();
+            this.n = G.V();
+            this.rank = new int[n];
+            this.contracted = new boolean[n];
+            this.neighbors = new int[n];
+            this.out = new int[n][];
+            this.in = new int[n][];
+            this.outSize = new int[n];
+            this.inSize = new int[n];
+            this.distance = new double[n];
+            this.stamp = new int[n];
+            Arrays.fill(stamp, -1);
+            this.witnessPQ = new IndexedPriorityQueue<>(4, n, v -> v);
+            for (int e = 0; e < G.E(); e++) {
+                int u = G.from(e), w = G.to(e);
+                if (u == w) continue;
+                addEdge(u, w, G.edgeWeight(e), -1, -1, e);
+                if (!G.isDirected()) addEdge(w, u, G.edgeWeight(e), -1, -1, e);
+            }
+        }
+
+        /**
+         * Contract all the vertices, in order of (lazily updated) priority.
+         *
+         * @return this Contractor.
+         */
+        Contractor contract() {
+            IndexedPriorityQueue<Integer> order = new IndexedPriorityQueue<>(4, n, v -> v);
+            for (int v = 0; v < n; v++) order.insertOrDecreaseNumber(v, priority(v));
+            int r = 0;
+            while (!order.isEmpty()) {
+                int v = order.delMinNumber();
+                double priority = priority(v);
+                if (!order.isEmpty() && priority > order.minPriority()) {
+                    order.insertOrDecreaseNumber(v, priority);
+                    continue;
+                }
+                shortcuts(v, true);
+                contracted[v] = true;
+                rank[v] = r++;
+                updateNeighbors(v, out, outSize, true, order);
+                updateNeighbors(v, in, inSize, false, order);
+            }
+            return this;
+        }
+
+        private void updateNeighbors(int v, int[][] lists, int[] sizes, boolean outgoing, IndexedPriorityQueue<Integer> order) {
+            for (int i = 0; i < sizes[v]; i++) {
+                int e = lists[v][i], x = outgoing ? to[e] : from[e];
+                if (contracted[x]) continue;
+                neighbors[x]++;
+                if (order.contains(x)) order.changeKey(x, priority(x));
+            }
+        }
+
+        /**
+         * @return the edge difference of v plus the number of its contracted neighbors.
+         */
+        private double priority(int v) {
+            int edges = 0;
+            for (int i = 0; i < outSize[v]; i++) if (!contracted[to[out[v][i]]]) edges++;
+            for (int i = 0; i < inSize[v]; i++) if (!contracted[from[in[v][i]]]) edges++;
+            return shortcuts(v, false) - edges + neighbors[v];
+        }
+
+        /**
+         * Count (and, if add is true, add) the shortcuts required to contract v.
+         */
+        private int shortcuts(int v, boolean add) {
+            int result = 0;
+            for (int i = 0; i < inSize[v]; i++) {
+                int e1 = in[v][i], u = from[e1];
+                if (contracted[u]) continue;
+                double max = -1;
+                for (int j = 0; j < outSize[v]; j++) {
+                    int e2 = out[v][j], w = to[e2];
+                    if (!contracted[w] && w != u) max = Math.max(max, weight[e1] + weight[e2]);
+                }
+                if (max < 0) continue;
+                witness(u, v, max);
+                for (int j = 0; j < outSize[v]; j++) {
+                    int e2 = out[v][j], w = to[e2];
+                    if (contracted[w] || w == u) continue;
+                    double length = weight[e1] + weight[e2];
+                    if (witnessDistance(w) > length) {
+                        result++;
+                        if (add) addEdge(u, w, length, e1, e2, -1);
+                    }
+                }
+            }
+            return result;
+        }
+
+        /**
+         * A Dijkstra search from u which avoids v and the contracted vertices,
+         * and which stops when it has settled WITNESS_LIMIT vertices or when the next distance exceeds max.
+         */
+        private void witness(int u, int v, double max) {
+            search++;
+            witnessPQ.clear();
+            stamp[u] = search;
+            distance[u] = 0;
+            witnessPQ.insertOrDecreaseNumber(u, 0);
+            for (int settled = 0; !witnessPQ.isEmpty() && settled < WITNESS_LIMIT; settled++) {
+                if (witnessPQ.minPriority() > max) break;
+                int x = witnessPQ.delMinNumber();
+                double d = distance[x];
+                for (int i = 0; i < outSize[x]; i++) {
+                    int e = out[x][i], y = to[e];
+                    if (y == v || contracted[y]) continue;
+                    double dy = d + weight[e];
+                    if (dy < witnessDistance(y)) {
+                        stamp[y] = search;
+                        distance[y] = dy;
+                        witnessPQ.insertOrDecreaseNumber(y, dy);
+                    }
+                }
+            }
+        }
+
+        private double witnessDistance(int w) {
+            return stamp[w] == search ? distance[w] : Double.POSITIVE_INFINITY;
+        }
+
+        /**
+         * Add an edge u-&gt;w to the table and to the adjacency lists,
+         * unless there is already an edge u-&gt;w which is no longer (if there is a longer one, it is replaced in the lists).
+         */
+        private void addEdge(int u, int w, double length, int e1, int e2, int originalEdge) {
+            for (int i = 0; i < outSize[u]; i++) {
+                int e = out[u][i];
+                if (to[e] != w) continue;
+                if (weight[e] <= length) return;
+                int f = newEdge(u, w, length, e1, e2, originalEdge);
+                out[u][i] = f;
+                for (int j = 0; j < inSize[w]; j++) if (in[w][j] == e) in[w][j] = f;
+                return;
+            }
+            int f = newEdge(u, w, length, e1, e2, originalEdge);
+            out[u] = append(out[u], outSize[u]++, f);
+            in[w] = append(in[w], inSize[w]++, f);
+        }
+
+        private int newEdge(int u, int w, double length, int e1, int e2, int originalEdge) {
+            if (m == from.length) {
+                int capacity = 2 * m;
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                weight = Arrays.copyOf(weight, capacity);
+                first = Arrays.copyOf(first, capacity);
+                second = Arrays.copyOf(second, capacity);
+                original = Arrays.copyOf(original, capacity);
+            }
+            from[m] = u;
+            to[m] = w;
+            weight[m] = length;
+            first[m] = e1;
+            second[m] = e2;
+            original[m] = originalEdge;
+            return m++;
+        }
+
+        private static int[] append(int[] xs, int i, int x) {
+            if (xs == null) xs = new int[4];
+            else if (i == xs.length) xs = Arrays.copyOf(xs, 2 * i);
+            xs[i] = x;
+            return xs;
+        }
+
+        private final int n;
+        private final int[] rank;
+        private final boolean[] contracted;
+
+        /**
+         * The number of contracted neighbors of each vertex.
+         */
+        private final int[] neighbors;
+
+        /**
+         * The outgoing and incoming edges of each vertex.
+         */
+        private final int[][] out;
+        private final int[][] in;
+        private final int[] outSize;
+        private final int[] inSize;
+
+        /**
+         * The witness search.
+         */
+        private final double[] distance;
+        private final int[] stamp;
+        private final IndexedPriorityQueue<Integer> witnessPQ;
+        private int search = 0;
+
+        /**
+         * The edge table (original edges and shortcuts).
+         */
+        private int[] from = new int[16];
+        private int[] to = new int[16];
+        private double[] weight = new double[16];
+        private int[] first = new int[16];
+        private int[] second = new int[16];
+        private int[] original = new int[16];
+        private int m = 0;
+    }
+
+    /**
+     * The largest number of vertices settled by a witness search.
+     */
+    private static final int WITNESS_LIMIT = 200;
+
+    /**
+     * The first four bytes of a saved hierarchy ("CH01").
+     */
+    static final int MAGIC = 0x43483031;
+
+    /**
+     * The rank of each vertex.
+     */
+    private final int[] rank;
+
+    /**
+     * The edge table: for each edge, its endpoints and weight; for a shortcut, the two edges which it represents
+     * (first and second); for an original edge, its number in the original graph (first and second are -1).
+     */
+    private final int[] from;
+    private final int[] to;
+    private final double[] weight;
+    private final int[] first;
+    private final int[] second;
+    private final int[] original;
+
+    /**
+     * The upward graph (forward search) and the downward graph (backward search), in CSR form.
+     */
+    private final int[] upOffsets;
+    private final int[] upTargets;
+    private final int[] upEdges;
+    private final int[] downOffsets;
+    private final int[] downTargets;
+    private final int[] downEdges;
+
+    private final Search forward;
+    private final Search backward;
+    private int query = 0;
+}
@@ -0,0 +1,420 @@
+package com.phasmidsoftware.dsaipg.graphs.dijkstra;
+
+import com.phasmidsoftware.dsaipg.adt.bqs.IntBag;
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRGraph;
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRPaths;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The {@code DeltaStepping} class solves the single-source shortest paths problem for graphs with non-negative weights
+ * using the (parallel) delta-stepping algorithm of Meyer and Sanders (2003).
+ * <p>
+ * Tentative distances are kept in buckets of width delta: bucket i holds the vertices whose tentative distance
+ * lies in [i*delta, (i+1)*delta). The buckets are processed in order.
+ * Only the non-empty buckets are kept (in a TreeMap, by number), so that the next bucket is found directly,
+ * however far away it is: the space and time do not depend on the ratio of the distances to delta.
+ * An arc is light if its weight is at most delta, otherwise heavy.
+ * While bucket i is not empty, its vertices are removed and their light arcs are relaxed in parallel
+ * (which may re-insert vertices into bucket i); then the heavy arcs of all the vertices removed from bucket i
+ * are relaxed in parallel (heavy arcs can never lead back into bucket i).
+ * Dijkstra's algorithm is the limiting case of a very small delta; Bellman-Ford is the limiting case of a very large delta.
+ * <p>
+ * The tentative distances are held (as the bits of non-negative doubles, whose ordering is the same as that of longs)
+ * in an AtomicLongArray, so that concurrent relaxations of the same vertex are resolved by compare-and-set.
+ * The relaxations are partitioned across a fork/join pool; the buckets themselves are maintained by the calling thread.
+ * When the distances are final, the shortest-paths tree is recovered by a single (linear) scan of the tight arcs.
+ * <p>
+ * The arcs are read from a CSRGraph (an EdgeWeightedDigraph is converted once, by the constructor).
+ */
+public class DeltaStepping {
+
+    /**
+     * Solve the single-source shortest-paths problem for a CSRGraph.
+     *
+     * @param G     the graph, which must not contain negative weights.
+     * @param s     the number of the source vertex.
+     * @param delta the width of a bucket (must be positive).
+     * @param pool  the fork/join pool in which to relax the arcs.
+     * @return the shortest paths from s.
+     * @throws IllegalArgumentException if the graph contains a negative weight, if s is not a vertex or if delta is not positive.
+     */
+    public static CSRPaths shortestPaths(CSRGraph<?, ?> G, int s, double delta, ForkJoinPool pool) {
+        int n = G.V();
+        if (s < 0 || s >= n)
+            throw new IllegalArgumentException("DeltaStepping:shortestPaths: vertex " + s + " is not between 0 and " + (n - 1));
+        if (!(delta > 0))
+            throw new IllegalArgumentException("DeltaStepping:shortestPaths: delta must be positive: " + delta);
+        G.validateWeights();
+        return new Solver(G, delta, pool).solve(s);
+    }
+
+    /**
+     * Solve the single-source shortest-paths problem for a CSRGraph, using the common fork/join pool.
+     *
+     * @param G     the graph, which must not contain negative weights.
+     * @param s     the number of the source vertex.
+     * @param delta the width of a bucket (must be positive).
+     * @return the shortest paths from s.
+     */
+    public static CSRPaths shortestPaths(CSRGraph<?, ?> G, int s, double delta) {
+        return shortestPaths(G, s, delta, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Suggest a bucket width for G: the maximum weight divided by the average out-degree
+     * (the choice of Meyer and Sanders for random weights), but never less than the smallest positive weight.
+     *
+     * @param G a graph.
+     * @return a positive bucket width.
+     */
+    public static double suggestDelta(CSRGraph<?, ?> G) {
+        double max = 0, min = Double.POSITIVE_INFINITY;
+        for (int e = 0; e < G.E(); e++) {
+            double w = G.edgeWeight(e);
+            max = Math.max(max, w);
+            if (w > 0) min = Math.min(min, w);
+        }
+        if (max == 0) return 1;
+        double degree = Math.max(1.0, (double) G.arcs() / Math.max(1, G.V()));
+        return Math.max(min, max / degree);
+    }
+
+    /**
+     * Method to solve the shortest paths problem for the starting point {@code s}.
+     *
+     * @param s the starting point.
+     * @return the shortest paths from s.
+     * @throws IllegalArgumentException if {@code s} is not a valid vertex.
+     */
+    public ShortestPaths shortestPaths(int s) {
+        return new ShortestPaths(shortestPaths(graph, s, delta, pool));
+    }
+
+    /**
+     * Constructs a DeltaStepping object for the given edge-weighted directed graph,
+     * which is converted (once) to a CSRGraph.
+     *
+     * @param G     the edge-weighted directed graph, which must not contain negative weights.
+     * @param delta the width of a bucket (must be positive).
+     * @param pool  the fork/join pool in which to relax the arcs.
+     * @throws IllegalArgumentException if the graph contains an edge with negative weight or if delta is not positive.
+     */
+    public DeltaStepping(EdgeWeightedDigraph G, double delta, ForkJoinPool pool) {
+        if (!(delta > 0)) throw new IllegalArgumentException("DeltaStepping: delta must be positive: " + delta);
+        this.graph = CSRGraph.fromEdgeWeightedDigraph(G);
+        graph.validateWeights();
+        this.delta = delta;
+        this.pool = pool;
+    }
+
+    /**
+     * Constructs a DeltaStepping object for the given edge-weighted directed graph,
+     * using the suggested bucket width and the common fork/join pool.
+     *
+     * @param G the edge-weighted directed graph, which must not contain negative weights.
+     */
+    public DeltaStepping(EdgeWeightedDigraph G) {
+        this.graph = CSRGraph.fromEdgeWeightedDigraph(G);
+        graph.validateWeights();
+        this.delta = suggestDelta(graph);
+        this.pool = ForkJoinPool.commonPool();
+    }
+
+    /**
+     * @return the width of a bucket.
+     */
+    public double getDelta() {
+        return delta;
+    }
+
+    /**
+     * The shortest paths from a source vertex, with the same queries as {@link Dijkstra.ShortestPaths}.
+     */
+    public class ShortestPaths {
+
+        /**
+         * Returns the length of the shortest path from the source vertex to the specified vertex.
+         *
+         * @param v the vertex for which the shortest path distance is to be retrieved
+         * @return the shortest path distance to vertex {@code v}
+         * @throws IllegalArgumentException if {@code v} is not a valid vertex
+         */
+        public double distTo(int v) {
+            return paths.distTo(v);
+        }
+
+        /**
+         * Determines whether there is a path to the specified vertex in the graph.
+         *
+         * @param v the vertex to check for a path
+         * @return true if there is a path to the specified vertex, false otherwise
+         */
+        public boolean hasPathTo(int v) {
+            return paths.hasPathTo(v);
+        }
+
+        /**
+         * Returns the directed edges of the shortest path to the specified vertex {@code v},
+         * in order from the source.
+         *
+         * @param v the destination vertex
+         * @return the edges of the shortest path to {@code v}, or {@code null} if no such path exists
+         */
+        public Iterable<DirectedEdge> pathTo(int v) {
+            if (!hasPathTo(v)) return null;
+            List<DirectedEdge> result = new ArrayList<>();
+            for (int a = paths.arcTo(v); a >= 0; a = paths.arcTo(graph.source(a)))
+                result.add(graph.attribute(graph.edge(a)));
+            Collections.reverse(result);
+            return result;
+        }
+
+        private ShortestPaths(CSRPaths paths) {
+            this.paths = paths;
+        }
+
+        private final CSRPaths paths;
+    }
+
+    /**
+     * The state of one computation: the tentative distances, the buckets and the light-first ordering of the arcs.
+     */
+    private static final class Solver {
+
+        Solver(CSRGraph<?, ?> G, double delta, ForkJoinPool pool) {
+            this.G = G;
+            this.delta = delta;
+            this.pool = pool;
+            int n = G.V();
+            this.dist = new AtomicLongArray(n);
+            this.marked = new int[n];
+            this.selected = new int[n];
+            this.lightEnd = new int[n];
+            this.arcs = new int[G.arcs()];
+            // Order the arcs of each vertex so that the light arcs come first.
+            for (int v = 0; v < n; v++) {
+                int lo = G.begin(v), hi = G.end(v);
+                for (int a = lo; a < hi; a++) if (G.weight(a) <= delta) arcs[lo++] = a;
+                lightEnd[v] = lo;
+                for (int a = G.begin(v); a < hi; a++) if (G.weight(a) > delta) arcs[lo++] = a;
+            }
+            this.grain = Math.max(MIN_GRAIN, n / (64 * pool.getParallelism()));
+        }
+
+        CSRPaths solve(int s) {
+            int n = G.V();
+            for (int v = 0; v < n; v++) dist.set(v, INFINITY);
+            Arrays.fill(marked, -1);
+            Arrays.fill(selected, -1);
+            dist.set(s, Double.doubleToRawLongBits(0.0));
+            int step = 0;
+            add(0, s);
+            while (!buckets.isEmpty()) {
+                // Relaxation never lowers a distance below that of the bucket being processed,
+                // so the first non-empty bucket is always the next one.
+                double i = buckets.firstKey();
+                IntBag removed = new IntBag();
+                IntBag bag;
+                // Light phase: empty bucket i, which may be refilled.
+                while ((bag = buckets.remove(i)) != null) {
+                    int[] frontier = current(i, bag);
+                    for (int v : frontier) removed.add(v);
+                    distribute(relax(frontier, true), ++step);
+                }
+                // Heavy phase: relax the heavy arcs of every vertex removed from bucket i.
+                distribute(relax(current(i, removed), false), ++step);
+            }
+            double[] distTo = new double[n];
+            for (int v = 0; v < n; v++) distTo[v] = Double.longBitsToDouble(dist.get(v));
+            return new CSRPaths(G, s, distTo, tree(s, distTo));
+        }
+
+        /**
+         * @return the (distinct) vertices of bag whose tentative distances still lie in bucket i.
+         */
+        private int[] current(double i, IntBag bag) {
+            IntBag result = new IntBag();
+            selection++;
+            for (int k = 0; k < bag.size(); k++) {
+                int v = bag.get(k);
+                if (selected[v] != selection && bucket(distance(v)) == i) {
+                    selected[v] = selection;
+                    result.add(v);
+                }
+            }
+            return result.toArray();
+        }
+
+        /**
+         * Relax the light (or heavy) arcs of the vertices in frontier, in parallel.
+         *
+         * @return the vertices whose tentative distances were improved.
+         */
+        private IntBag relax(int[] frontier, boolean light) {
+            if (frontier.length == 0) return new IntBag();
+            if (frontier.length <= grain) return relax(frontier, 0, frontier.length, light);
+            return pool.invoke(new Relaxation(frontier, 0, frontier.length, light));
+        }
+
+        private IntBag relax(int[] frontier, int lo, int hi, boolean light) {
+            IntBag result = new IntBag();
+            for (int k = lo; k < hi; k++) {
+                int v = frontier[k];
+                double d = distance(v);
+                for (int j = light ? G.begin(v) : lightEnd[v], end = light ? lightEnd[v] : G.end(v); j < end; j++) {
+                    int a = arcs[j];
+                    int w = G.target(a);
+                    if (relax(w, d + G.weight(a))) result.add(w);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Atomically lower the tentative distance of w to x, if x is smaller.
+         *
+         * @return true if the distance was lowered.
+         */
+        private boolean relax(int w, double x) {
+            long bits = Double.doubleToRawLongBits(x);
+            long current = dist.get(w);
+            while (bits < current) {
+                if (dist.compareAndSet(w, current, bits)) return true;
+                current = dist.get(w);
+            }
+            return false;
+        }
+
+        /**
+         * Put each improved vertex (once) into the bucket for its new tentative distance.
+         */
+        private void distribute(IntBag improved, int step) {
+            for (int k = 0; k < improved.size(); k++) {
+                int w = improved.get(k);
+                if (marked[w] == step) continue;
+                marked[w] = step;
+                add(bucket(distance(w)), w);
+            }
+        }
+
+        private void add(double i, int v) {
+            buckets.computeIfAbsent(i, k -> new IntBag()).add(v);
+        }
+
+        /**
+         * Recover the shortest-paths tree from the final distances, by a breadth-first scan of the tight arcs from s.
+         * (Choosing any tight arc for each vertex independently could create a cycle of zero-weight arcs.)
+         */
+        private int[] tree(int s, double[] distTo) {
+            int n = G.V();
+            int[] arcTo = new int[n];
+            Arrays.fill(arcTo, -1);
+            boolean[] reached = new boolean[n];
+            int[] queue = new int[n];
+            int head = 0, tail = 0;
+            reached[s] = true;
+            queue[tail++] = s;
+            while (head < tail) {
+                int v = queue[head++];
+                for (int a = G.begin(v), end = G.end(v); a < end; a++) {
+                    int w = G.target(a);
+                    if (!reached[w] && distTo[v] + G.weight(a) == distTo[w]) {
+                        reached[w] = true;
+                        arcTo[w] = a;
+                        queue[tail++] = w;
+                    }
+                }
+            }
+            return arcTo;
+        }
+
+        private double distance(int v) {
+            return Double.longBitsToDouble(dist.get(v));
+        }
+
+        /**
+         * @return the number of the bucket for distance d (a whole number, held as a double so that it cannot overflow).
+         */
+        private double bucket(double d) {
+            return Math.floor(d / delta);
+        }
+
+        /**
+         * The task which relaxes the arcs of frontier[lo] through frontier[hi-1], splitting the range in half while it is large.
+         */
+        private final class Relaxation extends RecursiveTask<IntBag> {
+            Relaxation(int[] frontier, int lo, int hi, boolean light) {
+                this.frontier = frontier;
+                this.lo = lo;
+                this.hi = hi;
+                this.light = light;
+            }
+
+            protected IntBag compute() {
+                if (hi - lo <= grain) return relax(frontier, lo, hi, light);
+                int mid = (lo + hi) >>> 1;
+                Relaxation left = new Relaxation(frontier, lo, mid, light);
+                left.fork();
+                IntBag result = new Relaxation(frontier, mid, hi, light).compute();
+                left.join().forEach(result::add);
+                return result;
+            }
+
+            private static final long serialVersionUID = 1L;
+
+            private final int[] frontier;
+            private final int lo;
+            private final int hi;
+            private final boolean light;
+        }
+
+        private final CSRGraph<?, ?> G;
+        private final double delta;
+        private final ForkJoinPool pool;
+
+        /**
+         * The tentative distances, as the raw bits of (non-negative) doubles.
+         */
+        private final AtomicLongArray dist;
+
+        /**
+         * The non-empty buckets, by number.
+         */
+        private final TreeMap<Double, IntBag> buckets = new TreeMap<>();
+
+        /**
+         * The arc numbers, ordered for each vertex v so that arcs[begin(v)] through arcs[lightEnd[v]-1] are light.
+         */
+        private final int[] arcs;
+        private final int[] lightEnd;
+
+        /**
+         * Marks used (by the calling thread only) to avoid enqueuing (marked) or selecting (selected)
+         * a vertex more than once in the same step.
+         */
+        private final int[] marked;
+        private final int[] selected;
+        private int selection = 0;
+
+        /**
+         * The smallest number of vertices whose arcs are relaxed by a single task.
+         */
+        private final int grain;
+    }
+
+    private static final long INFINITY = Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+
+    private static final int MIN_GRAIN = 256;
+
+    private final CSRGraph<Integer, DirectedEdge> graph;
+    private final double delta;
+    private final ForkJoinPool pool;
+}
@@ -4,7 +4,7 @@
  * where the edge weights are non-negative.
  * <p>
  * This implementation uses <em>Dijkstra's algorithm</em> with a
- * <em>binary heap</em>. The constructor takes
+ * <em>4-ary indexed heap</em>. The constructor takes
  * &Theta;(<em>E</em> log <em>V</em>) time in the worst case,
  * where <em>V</em> is the number of vertices and <em>E</em> is
  * the number of edges. Each instance method takes &Theta;(1) time.
@@ -29,8 +29,12 @@
 
 package com.phasmidsoftware.dsaipg.graphs.dijkstra;
 
+import com.phasmidsoftware.dsaipg.adt.pq.IndexedPriorityQueue;
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRGraph;
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRPaths;
+
+import java.util.Arrays;
 import java.util.Stack;
-import java.util.function.BiConsumer;
 
 /**
  * The {@code Dijkstra} class provides a data structure and methods for solving the single-source shortest
@@ -50,6 +54,43 @@ public class Dijkstra {
         return result;
     }
 
+    /**
+     * Method to solve Dijkstra's Shortest Paths algorithm on a CSRGraph for the starting point {@code s}.
+     * The arcs are read directly from the primitive arrays of the graph,
+     * and the priority queue is keyed by vertex number (so nothing is boxed).
+     *
+     * @param G the graph, which must not contain negative weights.
+     * @param s the number of the starting point.
+     * @return the shortest paths from s.
+     * @throws IllegalArgumentException if the graph contains an edge with negative weight or if s is not a vertex.
+     */
+    public static CSRPaths shortestPaths(CSRGraph<?, ?> G, int s) {
+        int n = G.V();
+        if (s < 0 || s >= n) throw new IllegalArgumentException("vertex " + s + " is not between 0 and " + (n - 1));
+        G.validateWeights();
+        double[] distTo = new double[n];
+        int[] arcTo = new int[n];
+        Arrays.fill(distTo, Double.POSITIVE_INFINITY);
+        Arrays.fill(arcTo, -1);
+        IndexedPriorityQueue<Integer> pq = new IndexedPriorityQueue<>(4, n, v -> v);
+        distTo[s] = 0.0;
+        pq.insertOrDecreaseNumber(s, 0.0);
+        while (!pq.isEmpty()) {
+            int v = pq.delMinNumber();
+            double d = distTo[v];
+            for (int a = G.begin(v), end = G.end(v); a < end; a++) {
+                int w = G.target(a);
+                double distance = d + G.weight(a);
+                if (distance < distTo[w]) {
+                    distTo[w] = distance;
+                    arcTo[w] = a;
+                    pq.insertOrDecreaseNumber(w, distance);
+                }
+            }
+        }
+        return new CSRPaths(G, s, distTo, arcTo);
+    }
+
     /**
      * Constructs a Dijkstra object with the given edge-weighted directed graph.
      * The graph must not contain negative edge weights.
@@ -141,21 +182,17 @@ public class Dijkstra {
          * This constructor initializes the necessary data structures and variables
          * used for calculating the shortest paths in a weighted directed graph.
          * <p>
-         * The `pq` field is initialized as an index priority queue to facilitate
-         * efficient operations on graph vertices. The arrays `distTo` and `edgeTo`
-         * are set up to store the shortest known distances and corresponding edges to each vertex.
-         * <p>
-         * The `keyDecreaser` and `keyInserter` fields are assigned with function references
-         * to handle priority queue operations related to key management.
+         * The `pq` field is initialized as a 4-ary indexed priority queue whose keys are the vertices
+         * (numbered 0 through n-1, so that no handle map is required).
+         * The arrays `distTo` and `edgeTo` are set up to store the shortest known distances
+         * and corresponding edges to each vertex.
          * <p>
          * The constructor assumes a graph with `n` vertices has already been defined in the context.
          */
         ShortestPaths() {
-            pq = new IndexMinPQ<>(n);
+            pq = new IndexedPriorityQueue<>(4, n, v -> v);
             distTo = new double[n];
             edgeTo = new DirectedEdge[n];
-            keyDecreaser = pq::decreaseKey;
-            keyInserter = pq::insert;
         }
 
         /**
@@ -175,7 +212,7 @@ public class Dijkstra {
             if (distTo[w] > eDistance) {
                 distTo[w] = eDistance;
                 edgeTo[w] = e;
-                (pq.contains(w) ? keyDecreaser : keyInserter).accept(w, distTo[w]);
+                pq.insertOrDecrease(w, eDistance);
             }
         }
 
@@ -324,11 +361,9 @@ public class Dijkstra {
                 throw new IllegalArgumentException("vertex " + v + " is not between 0 and " + (V - 1));
         }
 
-        private final BiConsumer<Integer, Double> keyDecreaser;
-        private final BiConsumer<Integer, Double> keyInserter;
         private final double[] distTo;          // distTo[v] = distance  of shortest s->v path
         private final DirectedEdge[] edgeTo;    // edgeTo[v] = last edge on shortest s->v path
-        private final IndexMinPQ<Double> pq;    // priority queue of vertices
+        private final IndexedPriorityQueue<Integer> pq;    // priority queue of vertices
     }
 
     /**
@@ -0,0 +1,345 @@
+package com.phasmidsoftware.dsaipg.graphs.dijkstra;
+
+import com.phasmidsoftware.dsaipg.adt.pq.IndexedPriorityQueue;
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRGraph;
+import com.phasmidsoftware.dsaipg.graphs.gis.GeoGraphSpherical;
+import com.phasmidsoftware.dsaipg.graphs.gis.GeoPoint;
+
+import java.util.Arrays;
+
+/**
+ * The {@code PointToPoint} class answers shortest-path queries between a single source and a single target
+ * in a CSRGraph with non-negative weights, rather than computing the whole shortest-paths tree of the source.
+ * <p>
+ * Three searches are provided:
+ * <ul>
+ *     <li>dijkstra: Dijkstra's algorithm, which stops as soon as the target is settled;</li>
+ *     <li>bidirectional: Dijkstra's algorithm from the source (forwards) and from the target (backwards, on the
+ *     reverse graph), alternately settling the closer of the two frontiers, which stops as soon as the sum of the
+ *     two smallest tentative distances is at least the length of the best path seen so far;</li>
+ *     <li>aStar: A* search, which orders the vertices by their tentative distance plus a lower bound (the heuristic)
+ *     on the distance to the target, for example the great-circle distance for a geographic graph.</li>
+ * </ul>
+ * Each query reports the number of vertices settled and the number of arcs relaxed, as well as the time taken,
+ * so that the searches can be compared.
+ * <p>
+ * The working arrays (and priority queues) are allocated once, by the constructor, and are reused by every query:
+ * a query resets only the entries that it touched (each entry is stamped with the number of the query).
+ * Therefore, a PointToPoint object must not be shared between threads.
+ */
+public class PointToPoint {
+
+    /**
+     * A lower bound on the distance from a vertex to the target of a query.
+     * A heuristic is admissible if it never overestimates the distance, and consistent (monotone) if,
+     * in addition, estimate(v, t) &lt;= weight(v, w) + estimate(w, t) for every arc v-&gt;w.
+     * A* finds a shortest path if the heuristic is admissible; it settles each vertex at most once if it is consistent.
+     */
+    @FunctionalInterface
+    public interface Heuristic {
+        /**
+         * @param v a vertex number.
+         * @param t the vertex number of the target.
+         * @return a lower bound on the length of a path from v to t.
+         */
+        double estimate(int v, int t);
+    }
+
+    /**
+     * A heuristic for a graph whose vertices are GeoPoints: scale times the great-circle distance (in meters)
+     * between v and the target.
+     * It is consistent (by the triangle inequality) provided that the weight of every edge is at least scale times
+     * the great-circle distance between its endpoints: for example, if the weights are lengths in meters
+     * (as they are for a graph created by CSRGraph.fromGeo), then scale should be 1.
+     *
+     * @param G     a graph whose vertices are GeoPoints (with spherical positions).
+     * @param geo   the spherical geometry (whose getDistance method yields the great-circle distance).
+     * @param scale the ratio of weight to distance (at most the smallest such ratio for any edge).
+     * @param <V>   the type of the vertices.
+     * @return a Heuristic.
+     */
+    public static <V extends GeoPoint> Heuristic greatCircle(CSRGraph<V, ?> G, GeoGraphSpherical<V, ?> geo, double scale) {
+        return (v, t) -> scale * geo.getDistance(G.vertex(v), G.vertex(t));
+    }
+
+    /**
+     * Find a shortest path from s to t by Dijkstra's algorithm, stopping when t is settled.
+     *
+     * @param s the number of the source vertex.
+     * @param t the number of the target vertex.
+     * @return the Result of the query.
+     */
+    public Result dijkstra(int s, int t) {
+        return aStar(s, t, (v, target) -> 0.0);
+    }
+
+    /**
+     * Find a shortest path from s to t by A* search, stopping when t is settled.
+     *
+     * @param s         the number of the source vertex.
+     * @param t         the number of the target vertex.
+     * @param heuristic an admissible heuristic.
+     * @return the Result of the query.
+     */
+    public Result aStar(int s, int t, Heuristic heuristic) {
+        long start = System.nanoTime();
+        begin(s, t);
+        Search forward = this.forward;
+        forward.reach(s, 0.0, -1);
+        forward.pq.insertOrDecreaseNumber(s, heuristic.estimate(s, t));
+        while (!forward.pq.isEmpty()) {
+            int v = forward.pq.delMinNumber();
+            settled++;
+            if (v == t) break;
+            double d = forward.dist[v];
+            for (int a = G.begin(v), end = G.end(v); a < end; a++) {
+                relaxed++;
+                int w = G.target(a);
+                double distance = d + G.weight(a);
+                if (distance < forward.distance(w)) {
+                    forward.reach(w, distance, a);
+                    forward.pq.insertOrDecreaseNumber(w, distance + heuristic.estimate(w, t));
+                }
+            }
+        }
+        return finish(s, t, forward.distance(t), t, start);
+    }
+
+    /**
+     * Find a shortest path from s to t by bidirectional Dijkstra.
+     *
+     * @param s the number of the source vertex.
+     * @param t the number of the target vertex.
+     * @return the Result of the query.
+     */
+    public Result bidirectional(int s, int t) {
+        long start = System.nanoTime();
+        begin(s, t);
+        forward.reach(s, 0.0, -1);
+        forward.pq.insertOrDecreaseNumber(s, 0.0);
+        backward.reach(t, 0.0, -1);
+        backward.pq.insertOrDecreaseNumber(t, 0.0);
+        double best = s == t ? 0.0 : Double.POSITIVE_INFINITY;
+        int meeting = s == t ? s : -1;
+        while (!forward.pq.isEmpty() && !backward.pq.isEmpty()) {
+            if (forward.pq.minPriority() + backward.pq.minPriority() >= best) break;
+            boolean forwards = forward.pq.minPriority() <= backward.pq.minPriority();
+            Search search = forwards ? forward : backward, other = forwards ? backward : forward;
+            CSRGraph<?, ?> graph = forwards ? G : reverse;
+            int v = search.pq.delMinNumber();
+            settled++;
+            double d = search.dist[v];
+            for (int a = graph.begin(v), end = graph.end(v); a < end; a++) {
+                relaxed++;
+                int w = graph.target(a);
+                double distance = d + graph.weight(a);
+                if (distance < search.distance(w)) {
+                    search.reach(w, distance, a);
+                    search.pq.insertOrDecreaseNumber(w, distance);
+                }
+                double length = search.distance(w) + other.distance(w);
+                if (length < best) {
+                    best = length;
+                    meeting = w;
+                }
+            }
+        }
+        return finish(s, t, best, meeting, start);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param G a graph, which must not contain negative weights.
+     * @throws IllegalArgumentException if the graph contains a negative weight.
+     */
+    public PointToPoint(CSRGraph<?, ?> G) {
+        G.validateWeights();
+        this.G = G;
+        this.reverse = G.reverse();
+        this.forward = new Search(G.V());
+        this.backward = new Search(G.V());
+    }
+
+    /**
+     * The result of a query: the length of a shortest path from source to target and its vertices and edges,
+     * together with the statistics of the search.
+     */
+    public static class Result {
+
+        /**
+         * @return the number of the source vertex.
+         */
+        public int source() {
+            return source;
+        }
+
+        /**
+         * @return the number of the target vertex.
+         */
+        public int target() {
+            return target;
+        }
+
+        /**
+         * @return true if there is a path from source to target.
+         */
+        public boolean hasPath() {
+            return distance < Double.POSITIVE_INFINITY;
+        }
+
+        /**
+         * @return the length of a shortest path from source to target (infinity if there is none).
+         */
+        public double distance() {
+            return distance;
+        }
+
+        /**
+         * @return the vertex numbers of a shortest path, from source to target (inclusive), or null if there is no path.
+         */
+        public int[] path() {
+            return path == null ? null : path.clone();
+        }
+
+        /**
+         * @return the edge numbers of a shortest path, in order from source to target, or null if there is no path.
+         */
+        public int[] edges() {
+            return edges == null ? null : edges.clone();
+        }
+
+        /**
+         * @return the number of vertices settled (removed from a priority queue).
+         */
+        public int settled() {
+            return settled;
+        }
+
+        /**
+         * @return the number of arcs relaxed.
+         */
+        public long relaxed() {
+            return relaxed;
+        }
+
+        /**
+         * @return the time taken by the query, in nanoseconds.
+         */
+        public long nanos() {
+            return nanos;
+        }
+
+        @Override
+        public String toString() {
+            return "Result{" + source + "->" + target + ": distance=" + distance + ", settled=" + settled +
+                    ", relaxed=" + relaxed + ", time=" + nanos / 1000.0 + "us}";
+        }
+
+        Result(int source, int target, double distance, int[] path, int[] edges, int settled, long relaxed, long nanos) {
+            this.source = source;
+            this.target = target;
+            this.distance = distance;
+            this.path = path;
+            this.edges = edges;
+            this.settled = settled;
+            this.relaxed = relaxed;
+            this.nanos = nanos;
+        }
+
+        private final int source;
+        private final int target;
+        private final double distance;
+        private final int[] path;
+        private final int[] edges;
+        private final int settled;
+        private final long relaxed;
+        private final long nanos;
+    }
+
+    private void begin(int s, int t) {
+        validateVertex(s);
+        validateVertex(t);
+        query++;
+        settled = 0;
+        relaxed = 0;
+        forward.pq.clear();
+        backward.pq.clear();
+    }
+
+    /**
+     * Build the Result for a path which runs forwards from s to meeting, and then (if meeting is not t)
+     * backwards (on the reverse graph) from meeting to t.
+     */
+    private Result finish(int s, int t, double distance, int meeting, long start) {
+        int[] path = null, edges = null;
+        if (distance < Double.POSITIVE_INFINITY) {
+            int forwardArcs = 0, backwardArcs = 0;
+            for (int v = meeting; forward.arc(v) >= 0; v = G.source(forward.arc(v))) forwardArcs++;
+            for (int v = meeting; backward.arc(v) >= 0; v = reverse.source(backward.arc(v))) backwardArcs++;
+            int k = forwardArcs + backwardArcs;
+            path = new int[k + 1];
+            edges = new int[k];
+            int i = forwardArcs;
+            path[i] = meeting;
+            for (int v = meeting; forward.arc(v) >= 0; v = path[i]) {
+                int a = forward.arc(v);
+                edges[--i] = G.edge(a);
+                path[i] = G.source(a);
+            }
+            i = forwardArcs;
+            for (int v = meeting; backward.arc(v) >= 0; v = path[i]) {
+                int a = backward.arc(v);
+                edges[i] = reverse.edge(a);
+                path[++i] = reverse.source(a);
+            }
+        }
+        return new Result(s, t, distance, path, edges, settled, relaxed, System.nanoTime() - start);
+    }
+
+    private void validateVertex(int v) {
+        if (v < 0 || v >= G.V())
+            throw new IllegalArgumentException("PointToPoint: vertex " + v + " is not between 0 and " + (G.V() - 1));
+    }
+
+    /**
+     * The working arrays for a search in one direction.
+     * The entries for vertex v are valid only if stamp[v] is the number of the current query.
+     */
+    private final class Search {
+        Search(int n) {
+            dist = new double[n];
+            arcTo = new int[n];
+            stamp = new int[n];
+            Arrays.fill(stamp, -1);
+            pq = new IndexedPriorityQueue<>(4, n, v -> v);
+        }
+
+        double distance(int v) {
+            return stamp[v] == query ? dist[v] : Double.POSITIVE_INFINITY;
+        }
+
+        int arc(int v) {
+            return stamp[v] == query ? arcTo[v] : -1;
+        }
+
+        void reach(int v, double distance, int arc) {
+            stamp[v] = query;
+            dist[v] = distance;
+            arcTo[v] = arc;
+        }
+
+        final double[] dist;
+        final int[] arcTo;
+        final int[] stamp;
+        final IndexedPriorityQueue<Integer> pq;
+    }
+
+    private final CSRGraph<?, ?> G;
+    private final CSRGraph<?, ?> reverse;
+    private final Search forward;
+    private final Search backward;
+    private int query = 0;
+    private int settled;
+    private long relaxed;
+}
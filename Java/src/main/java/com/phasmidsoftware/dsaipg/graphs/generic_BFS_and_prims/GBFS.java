@@ -2,7 +2,12 @@
 
 package com.phasmidsoftware.dsaipg.graphs.generic_BFS_and_prims;
 
+import com.phasmidsoftware.dsaipg.adt.bqs.BQSException;
+import com.phasmidsoftware.dsaipg.adt.bqs.IntQueue;
+
 import java.util.*;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
 
 public class GBFS<T> {
     //private boolean[] marked;
@@ -41,4 +46,43 @@ public class GBFS<T> {
         }
         return output;
     }
+
+    /**
+     * Breadth-first search for a graph whose vertices can be numbered 0 through G.V()-1:
+     * the queue holds vertex numbers (in a reusable IntQueue, which is cleared first) and the marks are a boolean array,
+     * so that neither the queue nor the marks box or allocate per vertex.
+     * The result is the same as that of bfs(G, s).
+     *
+     * @param G      the graph.
+     * @param s      the source vertex.
+     * @param index  a function which yields the number (0 through G.V()-1) of a vertex.
+     * @param vertex the inverse of index.
+     * @param queue  a (reusable) IntQueue.
+     * @return the vertices in the order visited.
+     */
+    public List<T> bfs(Graph<T> G, T s, ToIntFunction<T> index, IntFunction<T> vertex, IntQueue queue) {
+        boolean[] visited = new boolean[G.V()];
+        queue.clear();
+        int x = index.applyAsInt(s);
+        visited[x] = true;
+        queue.offer(x);
+        List<T> output = new ArrayList<>();
+        try {
+            while (!queue.isEmpty()) {
+                T v = vertex.apply(queue.poll());
+                output.add(v);
+                Iterator<T> i = G.adj(v);
+                while (i.hasNext()) {
+                    int w = index.applyAsInt(i.next());
+                    if (!visited[w]) {
+                        visited[w] = true;
+                        queue.offer(w);
+                    }
+                }
+            }
+        } catch (BQSException e) {
+            throw new RuntimeException("GBFS:bfs: logic error", e);
+        }
+        return output;
+    }
 }
\ No newline at end of file
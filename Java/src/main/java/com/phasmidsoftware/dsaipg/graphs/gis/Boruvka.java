@@ -1,15 +1,18 @@
 package com.phasmidsoftware.dsaipg.graphs.gis;
 
 import com.phasmidsoftware.dsaipg.adt.bqs.Queue_Elements;
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRGraph;
 import com.phasmidsoftware.dsaipg.graphs.undirected.Edge;
 import com.phasmidsoftware.dsaipg.graphs.undirected.EdgeGraph;
 import com.phasmidsoftware.dsaipg.graphs.undirected.Graph_Edges;
 import com.phasmidsoftware.dsaipg.graphs.union_find.TypedUF;
 import com.phasmidsoftware.dsaipg.graphs.union_find.TypedUF_HWQUPC;
 import com.phasmidsoftware.dsaipg.graphs.union_find.UFException;
+import com.phasmidsoftware.dsaipg.graphs.union_find.WQUPC;
 import com.phasmidsoftware.dsaipg.util.iteration.SizedIterable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -79,6 +82,45 @@ public class Boruvka<V, X extends Comparable<X> & Sequenced> extends MST<V, X> {
         }
     }
 
+    /**
+     * Constructs a Boruvka instance for an undirected CSRGraph.
+     * Each phase scans the primitive edge arrays of the graph (comparing the primitive weights, which must therefore be
+     * consistent with the ordering of the attributes) and the components are tracked by a primitive union-find (WQUPC),
+     * so that neither graph, uf nor vertexToInteger is used.
+     * Edge objects are created only for the edges of the MST.
+     *
+     * @param graph an undirected CSRGraph whose edges have attributes.
+     */
+    public Boruvka(CSRGraph<V, X> graph) {
+        this.graph = null;
+        this.uf = null;
+        this.vertexToInteger = null;
+        this.queue = new Queue_Elements<>();
+        this.size = graph.V();
+        WQUPC components = new WQUPC(size);
+        int[] closest = new int[size];
+        List<Edge<V, X>> result = new ArrayList<>();
+        for (int t = 1; t < size && result.size() < size - 1; t = t + t) {
+            Arrays.fill(closest, -1);
+            for (int e = 0; e < graph.E(); e++) {
+                int i = components.find(graph.from(e)), j = components.find(graph.to(e));
+                if (i == j) continue;   // same tree
+                if (closest[i] < 0 || graph.edgeWeight(e) < graph.edgeWeight(closest[i])) closest[i] = e;
+                if (closest[j] < 0 || graph.edgeWeight(e) < graph.edgeWeight(closest[j])) closest[j] = e;
+            }
+            for (int i = 0; i < size; i++) {
+                int e = closest[i];
+                if (e >= 0 && !components.connected(graph.from(e), graph.to(e))) {
+                    Edge<V, X> edge = createEdge(graph.vertex(graph.from(e)), graph.vertex(graph.to(e)), graph.attribute(e));
+                    queue.offer(edge);
+                    result.add(edge);
+                    components.union(graph.from(e), graph.to(e));
+                }
+            }
+        }
+        this.mst = result;
+    }
+
     /**
      * Executes Borůvka's algorithm to compute the Minimum Spanning Tree (MST) of the graph.
      * This method iteratively finds the cheapest edge for each component and merges components
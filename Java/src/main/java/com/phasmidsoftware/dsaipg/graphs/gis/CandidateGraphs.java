@@ -0,0 +1,191 @@
+package com.phasmidsoftware.dsaipg.graphs.gis;
+
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRGraph;
+import com.phasmidsoftware.dsaipg.graphs.undirected.Edge;
+
+import java.util.function.Predicate;
+
+/**
+ * Static methods to build sparse candidate graphs over the points of a SpatialIndex, as input for the MST classes,
+ * instead of the complete graph (with its n(n-1)/2 edges).
+ * <ul>
+ *     <li>kNearest: an edge joins each point to each of its k nearest neighbors. With the index, the graph is
+ *     built in O(n log n) time and has at most kn edges. Its MST is not guaranteed to be the Euclidean MST
+ *     (and it may be disconnected if the points are clustered), but with k of about 10 it almost always is;</li>
+ *     <li>withinRadius: an edge joins each pair of points whose distance is at most the radius.
+ *     This is the graph which the tunnels examples build (by filtering all pairs with a predicate on the length);</li>
+ *     <li>delaunay: the edges of the Delaunay triangulation of the points (see DelaunayTriangulation).
+ *     The graph has at most 3n - 6 edges and contains a Euclidean MST of the points, so (unlike kNearest)
+ *     its MST is the MST of the complete graph, up to the distortion of the projection and ties between lengths.</li>
+ * </ul>
+ * The length of each edge is the great-circle distance between its endpoints (in meters).
+ * The graph is either a CSRGraph (for Kruskal, FilterKruskal, ParallelBoruvka, etc.), weighted by length,
+ * or an existing Geo graph, to which the edges are added.
+ */
+public class CandidateGraphs {
+
+    /**
+     * Creates the attribute of an edge.
+     *
+     * @param <V> the type of the points.
+     * @param <E> the type of the edge attributes.
+     */
+    @FunctionalInterface
+    public interface EdgeAttribute<V, E> {
+        /**
+         * @param v1     one end of the edge.
+         * @param v2     the other end.
+         * @param length the great-circle distance between v1 and v2, in meters.
+         * @return the attribute of the edge.
+         */
+        E apply(V v1, V v2, double length);
+    }
+
+    /**
+     * Build the k-nearest-neighbor graph as a CSRGraph: each pair of points is joined (once) if either is one of the k
+     * nearest neighbors of the other.
+     *
+     * @param index     a SpatialIndex.
+     * @param k         the number of neighbors of each point.
+     * @param attribute a function to create the attribute of each edge.
+     * @param <V>       the type of the points.
+     * @param <E>       the type of the edge attributes.
+     * @return an undirected CSRGraph whose vertices are the points (numbered as in the index), weighted by length.
+     */
+    public static <V extends GeoPoint, E> CSRGraph<V, E> kNearest(SpatialIndex<V> index, int k, EdgeAttribute<V, E> attribute) {
+        CSRGraph.Builder<V, E> builder = builder(index);
+        int[][] neighbors = new int[index.size()][];
+        for (int i = 0; i < index.size(); i++) neighbors[i] = index.nearest(i, k);
+        for (int i = 0; i < index.size(); i++)
+            for (int j : neighbors[i])
+                if (i < j || !contains(neighbors[j], i)) addEdge(builder, index, i, j, attribute);
+        return builder.build();
+    }
+
+    /**
+     * Build the graph of all pairs of points within a given distance of each other, as a CSRGraph.
+     *
+     * @param index     a SpatialIndex.
+     * @param radius    the greatest length of an edge, in meters.
+     * @param attribute a function to create the attribute of each edge.
+     * @param <V>       the type of the points.
+     * @param <E>       the type of the edge attributes.
+     * @return an undirected CSRGraph whose vertices are the points (numbered as in the index), weighted by length.
+     */
+    public static <V extends GeoPoint, E> CSRGraph<V, E> withinRadius(SpatialIndex<V> index, double radius, EdgeAttribute<V, E> attribute) {
+        CSRGraph.Builder<V, E> builder = builder(index);
+        for (int i = 0; i < index.size(); i++)
+            for (int j : index.within(i, radius * SLACK))
+                if (i < j && GEO.getDistance(index.get(i), index.get(j)) <= radius) addEdge(builder, index, i, j, attribute);
+        return builder.build();
+    }
+
+    /**
+     * Add the edges of the k-nearest-neighbor graph to a Geo graph.
+     *
+     * @param index     a SpatialIndex.
+     * @param k         the number of neighbors of each point.
+     * @param graph     the graph to which the edges are added.
+     * @param attribute a function to create the attribute of each edge.
+     * @param predicate only edges satisfying this predicate are added.
+     * @param <V>       the type of the points.
+     * @param <E>       the type of the edge attributes.
+     * @return graph.
+     */
+    public static <V extends GeoPoint, E> Geo<V, E> kNearest(SpatialIndex<V> index, int k, Geo<V, E> graph, EdgeAttribute<V, E> attribute, Predicate<Edge<V, E>> predicate) {
+        int[][] neighbors = new int[index.size()][];
+        for (int i = 0; i < index.size(); i++) neighbors[i] = index.nearest(i, k);
+        for (int i = 0; i < index.size(); i++)
+            for (int j : neighbors[i])
+                if (i < j || !contains(neighbors[j], i)) addEdge(graph, index, i, j, attribute, predicate);
+        return graph;
+    }
+
+    /**
+     * Add the edges of the graph of all pairs of points within a given distance of each other to a Geo graph.
+     * This yields the same graph as adding every pair of points with a predicate which requires the length to be at
+     * most radius.
+     *
+     * @param index     a SpatialIndex.
+     * @param radius    the greatest length of an edge, in meters.
+     * @param graph     the graph to which the edges are added.
+     * @param attribute a function to create the attribute of each edge.
+     * @param predicate only edges satisfying this predicate are added.
+     * @param <V>       the type of the points.
+     * @param <E>       the type of the edge attributes.
+     * @return graph.
+     */
+    public static <V extends GeoPoint, E> Geo<V, E> withinRadius(SpatialIndex<V> index, double radius, Geo<V, E> graph, EdgeAttribute<V, E> attribute, Predicate<Edge<V, E>> predicate) {
+        for (int i = 0; i < index.size(); i++)
+            for (int j : index.within(i, radius * SLACK))
+                if (i < j && GEO.getDistance(index.get(i), index.get(j)) <= radius) addEdge(graph, index, i, j, attribute, predicate);
+        return graph;
+    }
+
+    /**
+     * Build the Delaunay triangulation of the points as a CSRGraph.
+     *
+     * @param index     a SpatialIndex.
+     * @param attribute a function to create the attribute of each edge.
+     * @param <V>       the type of the points.
+     * @param <E>       the type of the edge attributes.
+     * @return an undirected CSRGraph whose vertices are the points (numbered as in the index), weighted by length.
+     */
+    public static <V extends GeoPoint, E> CSRGraph<V, E> delaunay(SpatialIndex<V> index, EdgeAttribute<V, E> attribute) {
+        CSRGraph.Builder<V, E> builder = builder(index);
+        DelaunayTriangulation<V> triangulation = new DelaunayTriangulation<>(index);
+        for (int e = 0; e < triangulation.edges(); e++)
+            addEdge(builder, index, triangulation.from(e), triangulation.to(e), attribute);
+        return builder.build();
+    }
+
+    /**
+     * Add the edges of the Delaunay triangulation of the points to a Geo graph.
+     * With a predicate which accepts every edge, the MST of the graph (by GeoKruskal, GeoPrim, or GeoBoruvka)
+     * is the tunnel network which the MST of the complete graph would yield.
+     *
+     * @param index     a SpatialIndex.
+     * @param graph     the graph to which the edges are added.
+     * @param attribute a function to create the attribute of each edge.
+     * @param predicate only edges satisfying this predicate are added.
+     * @param <V>       the type of the points.
+     * @param <E>       the type of the edge attributes.
+     * @return graph.
+     */
+    public static <V extends GeoPoint, E> Geo<V, E> delaunay(SpatialIndex<V> index, Geo<V, E> graph, EdgeAttribute<V, E> attribute, Predicate<Edge<V, E>> predicate) {
+        DelaunayTriangulation<V> triangulation = new DelaunayTriangulation<>(index);
+        for (int e = 0; e < triangulation.edges(); e++)
+            addEdge(graph, index, triangulation.from(e), triangulation.to(e), attribute, predicate);
+        return graph;
+    }
+
+    private static <V extends GeoPoint, E> CSRGraph.Builder<V, E> builder(SpatialIndex<V> index) {
+        CSRGraph.Builder<V, E> builder = new CSRGraph.Builder<>(false);
+        for (int i = 0; i < index.size(); i++) builder.addVertex(index.get(i));
+        return builder;
+    }
+
+    private static <V extends GeoPoint, E> void addEdge(CSRGraph.Builder<V, E> builder, SpatialIndex<V> index, int i, int j, EdgeAttribute<V, E> attribute) {
+        V v1 = index.get(i), v2 = index.get(j);
+        double length = GEO.getDistance(v1, v2);
+        builder.addEdgeByNumber(i, j, length, attribute.apply(v1, v2, length));
+    }
+
+    private static <V extends GeoPoint, E> void addEdge(Geo<V, E> graph, SpatialIndex<V> index, int i, int j, EdgeAttribute<V, E> attribute, Predicate<Edge<V, E>> predicate) {
+        V v1 = index.get(i), v2 = index.get(j);
+        graph.addEdge(v1, v2, attribute.apply(v1, v2, GEO.getDistance(v1, v2)), predicate);
+    }
+
+    private static boolean contains(int[] xs, int x) {
+        for (int y : xs) if (y == x) return true;
+        return false;
+    }
+
+    /**
+     * The factor by which the planar search radius exceeds the great-circle radius, to allow for the distortion of
+     * the projection (the exact distances are then checked).
+     */
+    private static final double SLACK = 1.01;
+
+    private static final GeoGraphSpherical<GeoPoint, Object> GEO = new GeoGraphSpherical<>();
+}
@@ -0,0 +1,213 @@
+package com.phasmidsoftware.dsaipg.graphs.gis;
+
+import com.phasmidsoftware.dsaipg.adt.bqs.IntBag;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A grid of square cells over the projected coordinates of a list of GeoPoints, in the manner of
+ * (a planar, single-level version of) the S2 cells used by geographic databases.
+ * <p>
+ * Each cell is identified by the Morton (Z-order) code of its column and row, which interleaves their bits,
+ * so that cells which are close together in the plane tend to be close together in the order of their codes.
+ * The point indices are sorted by the codes of their cells (so that the points of each cell are contiguous),
+ * and only the non-empty cells are stored: a cell is found by binary search of their codes.
+ * By default, the cells are sized so that there are about two points per cell (for evenly spread points);
+ * there are at most 65536 columns and rows.
+ * <p>
+ * A radius query examines only the cells which overlap the bounding square of the circle.
+ * A nearest-neighbor query examines rings of cells around the cell of the query point, in order of increasing distance,
+ * and stops when the k-th nearest point found so far is nearer than any cell which has not been examined.
+ *
+ * @param <V> the type of the points.
+ */
+public class CellGrid<V extends GeoPoint> extends SpatialIndex<V> {
+
+    /**
+     * Constructor with the default cell size.
+     *
+     * @param points the points to be indexed (whose positions must be Position_Spherical).
+     */
+    public CellGrid(List<V> points) {
+        this(points, 0);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param points   the points to be indexed (whose positions must be Position_Spherical).
+     * @param cellSize the width of each cell, in meters (if not positive, a size is chosen to suit the points).
+     */
+    public CellGrid(List<V> points, double cellSize) {
+        super(points);
+        int n = points.size();
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY, maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            minX = Math.min(minX, x[i]);
+            maxX = Math.max(maxX, x[i]);
+            minY = Math.min(minY, y[i]);
+            maxY = Math.max(maxY, y[i]);
+        }
+        if (n == 0) minX = maxX = minY = maxY = 0;
+        double width = maxX - minX, height = maxY - minY;
+        if (cellSize <= 0) {
+            double area = Math.max(width, 1.0) * Math.max(height, 1.0);
+            cellSize = Math.sqrt(2 * area / Math.max(n, 1));
+        }
+        this.cellSize = Math.max(cellSize, Math.max(width, height) / (MAX_CELLS - 1));
+        this.minX = minX;
+        this.minY = minY;
+        this.columns = column(maxX) + 1;
+        this.rows = row(maxY) + 1;
+        // Sort the points by cell code: each long holds the code (high half) and the point index (low half).
+        long[] sorted = new long[n];
+        for (int i = 0; i < n; i++) sorted[i] = morton(column(x[i]), row(y[i])) << 32 | i;
+        Arrays.sort(sorted);
+        this.order = new int[n];
+        int cells = 0;
+        for (int i = 0; i < n; i++) {
+            order[i] = (int) sorted[i];
+            if (i == 0 || sorted[i] >>> 32 != sorted[i - 1] >>> 32) cells++;
+        }
+        this.codes = new long[cells];
+        this.starts = new int[cells + 1];
+        for (int i = 0, c = 0; i < n; i++)
+            if (i == 0 || sorted[i] >>> 32 != sorted[i - 1] >>> 32) {
+                codes[c] = sorted[i] >>> 32;
+                starts[c++] = i;
+            }
+        starts[cells] = n;
+    }
+
+    /**
+     * @return the width of each cell, in meters.
+     */
+    public double cellSize() {
+        return cellSize;
+    }
+
+    /**
+     * @return the number of non-empty cells.
+     */
+    public int cells() {
+        return codes.length;
+    }
+
+    protected int[] nearest(double x, double y, int k, int exclude) {
+        if (k < 0) throw new IllegalArgumentException("CellGrid: k must not be negative: " + k);
+        Neighbors neighbors = new Neighbors(Math.min(k, size()));
+        if (k == 0 || size() == 0) return neighbors.toArray();
+        int cx = (int) Math.floor((x - minX) / cellSize), cy = (int) Math.floor((y - minY) / cellSize);
+        for (int r = 0; ; r++) {
+            if (r > 0 && neighbors.bound() <= square((r - 1) * cellSize)) break;
+            for (int i = cx - r; i <= cx + r; i++) {
+                scan(i, cy - r, x, y, exclude, neighbors);
+                if (r > 0) scan(i, cy + r, x, y, exclude, neighbors);
+            }
+            for (int j = cy - r + 1; j < cy + r; j++) {
+                scan(cx - r, j, x, y, exclude, neighbors);
+                scan(cx + r, j, x, y, exclude, neighbors);
+            }
+            if (cx - r <= 0 && cx + r >= columns - 1 && cy - r <= 0 && cy + r >= rows - 1) break;
+        }
+        return neighbors.toArray();
+    }
+
+    protected IntBag within(double x, double y, double radius, int exclude) {
+        IntBag result = new IntBag();
+        double radiusSquared = radius * radius;
+        int x0 = Math.max(0, (int) Math.floor((x - radius - minX) / cellSize)), x1 = Math.min(columns - 1, (int) Math.floor((x + radius - minX) / cellSize));
+        int y0 = Math.max(0, (int) Math.floor((y - radius - minY) / cellSize)), y1 = Math.min(rows - 1, (int) Math.floor((y + radius - minY) / cellSize));
+        if (x0 > x1 || y0 > y1) return result;
+        if ((long) (x1 - x0 + 1) * (y1 - y0 + 1) > codes.length) {
+            // the circle covers more cells than are occupied: examine every point.
+            for (int p : order) collect(p, x, y, radiusSquared, exclude, result);
+            return result;
+        }
+        for (int i = x0; i <= x1; i++)
+            for (int j = y0; j <= y1; j++) {
+                int c = find(i, j);
+                if (c >= 0) for (int a = starts[c]; a < starts[c + 1]; a++) collect(order[a], x, y, radiusSquared, exclude, result);
+            }
+        return result;
+    }
+
+    private void collect(int p, double qx, double qy, double radiusSquared, int exclude, IntBag result) {
+        double dx = qx - x[p], dy = qy - y[p];
+        if (p != exclude && dx * dx + dy * dy <= radiusSquared) result.add(p);
+    }
+
+    /**
+     * Offer each point of cell (i, j) (if there is such a cell) to the neighbors.
+     */
+    private void scan(int i, int j, double qx, double qy, int exclude, Neighbors neighbors) {
+        if (i < 0 || i >= columns || j < 0 || j >= rows) return;
+        int c = find(i, j);
+        if (c < 0) return;
+        for (int a = starts[c]; a < starts[c + 1]; a++) {
+            int p = order[a];
+            if (p == exclude) continue;
+            double dx = qx - x[p], dy = qy - y[p];
+            neighbors.offer(dx * dx + dy * dy, p);
+        }
+    }
+
+    /**
+     * @return the number of the non-empty cell at column i and row j, or -1 if it is empty.
+     */
+    private int find(int i, int j) {
+        int c = Arrays.binarySearch(codes, morton(i, j));
+        return c >= 0 ? c : -1;
+    }
+
+    private int column(double x) {
+        return (int) ((x - minX) / cellSize);
+    }
+
+    private int row(double y) {
+        return (int) ((y - minY) / cellSize);
+    }
+
+    /**
+     * @return the Morton code of (i, j), as an unsigned 32-bit number.
+     */
+    private static long morton(int i, int j) {
+        return spread(i) | spread(j) << 1;
+    }
+
+    /**
+     * @return the low 16 bits of i, spread out to the even bits of the result.
+     */
+    private static long spread(int i) {
+        long v = i & 0xFFFFL;
+        v = (v | v << 8) & 0x00FF00FFL;
+        v = (v | v << 4) & 0x0F0F0F0FL;
+        v = (v | v << 2) & 0x33333333L;
+        v = (v | v << 1) & 0x55555555L;
+        return v;
+    }
+
+    private static double square(double x) {
+        return x * x;
+    }
+
+    private static final int MAX_CELLS = 1 << 16;
+
+    private final double cellSize;
+    private final double minX;
+    private final double minY;
+    private final int columns;
+    private final int rows;
+
+    /**
+     * The point indices, sorted by the codes of their cells.
+     */
+    private final int[] order;
+
+    /**
+     * The codes of the non-empty cells (in increasing order) and the position in order of the first point of each.
+     */
+    private final long[] codes;
+    private final int[] starts;
+}
@@ -0,0 +1,427 @@
+package com.phasmidsoftware.dsaipg.graphs.gis;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The Delaunay triangulation of the projected coordinates of a list of GeoPoints.
+ * <p>
+ * Every edge of a Euclidean minimum spanning tree of a set of points is an edge of its Delaunay triangulation,
+ * which has at most 3n - 6 edges: so the MST classes, given the triangulation (see CandidateGraphs.delaunay),
+ * find the same tree as they would from the complete graph of the points (with its n(n-1)/2 edges).
+ * <p>
+ * The triangulation is built by the Bowyer-Watson algorithm: the points are inserted one at a time into a
+ * triangulation which begins with a single (super) triangle that encloses them all; the triangles whose circumcircles
+ * contain the new point form a cavity, which is replaced by the fan of triangles joining the point to the boundary
+ * of the cavity.
+ * The containing triangle is found by walking from the last triangle created; as the points are inserted in
+ * Morton (Z-order) of their coordinates, the walks are short, and the triangulation takes O(n log n) time in practice.
+ * Finally, the triangles with a vertex of the super triangle are discarded.
+ * <p>
+ * The coordinates (in meters, as given by the SpatialIndex) are rounded to millimeters, and the orientation and
+ * in-circle tests are exact: they are evaluated in floating point, and again with BigInteger arithmetic only when the
+ * floating-point result is too close to zero to be trusted.
+ * So collinear and co-circular points are handled correctly; coincident points (after rounding) are not triangulated,
+ * but each is joined by an edge (of length zero, or nearly so) to the point which it coincides with, so that the edges
+ * always connect all the points.
+ *
+ * @param <V> the type of the points.
+ */
+public class DelaunayTriangulation<V extends GeoPoint> {
+
+    /**
+     * Constructor.
+     *
+     * @param points the points to be triangulated (whose positions must be Position_Spherical).
+     */
+    public DelaunayTriangulation(List<V> points) {
+        this(new KdTree<>(points));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param index a SpatialIndex, whose points (numbered as in the index) are triangulated.
+     */
+    public DelaunayTriangulation(SpatialIndex<V> index) {
+        this.index = index;
+        int n = index.size();
+        this.n = n;
+        this.px = new double[n + 3];
+        this.py = new double[n + 3];
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY, maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            minX = Math.min(minX, index.x(i));
+            maxX = Math.max(maxX, index.x(i));
+            minY = Math.min(minY, index.y(i));
+            maxY = Math.max(maxY, index.y(i));
+        }
+        double extent = n == 0 ? 0 : Math.max(maxX - minX, maxY - minY);
+        double scale = Math.min(RESOLUTION, MAX_EXTENT / Math.max(extent, 1.0));
+        for (int i = 0; i < n; i++) {
+            px[i] = Math.rint((index.x(i) - minX) * scale);
+            py[i] = Math.rint((index.y(i) - minY) * scale);
+        }
+        // The super triangle: it encloses every point, and is so much larger that it adds no edge between two points
+        // which are the endpoints of an edge of a minimum spanning tree.
+        double size = Math.rint(extent * scale) + 1, centre = Math.rint(size / 2), far = size * SUPER;
+        px[n] = centre - far;
+        py[n] = centre - far;
+        px[n + 1] = centre + far;
+        py[n + 1] = centre - far;
+        px[n + 2] = centre;
+        py[n + 2] = centre + far;
+        this.twins = new int[n];
+        Arrays.fill(twins, -1);
+        int capacity = 2 * n + 16;
+        this.vertices = new int[3 * capacity];
+        this.neighbors = new int[3 * capacity];
+        this.stamps = new int[capacity];
+        this.inside = new boolean[capacity];
+        this.free = new int[16];
+        this.starts = new int[n + 3];
+        this.ends = new int[n + 3];
+        this.last = create(n, n + 1, n + 2);
+        Arrays.fill(neighbors, 0, 3, -1);
+        for (int p : insertionOrder(size)) insert(p);
+        collect();
+    }
+
+    /**
+     * @return the number of points.
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * @param i the index of a point.
+     * @return the point.
+     */
+    public V get(int i) {
+        return index.get(i);
+    }
+
+    /**
+     * @return the number of edges (each of which joins two different points).
+     */
+    public int edges() {
+        return from.length;
+    }
+
+    /**
+     * @param e the number of an edge.
+     * @return the index of one end of edge e.
+     */
+    public int from(int e) {
+        return from[e];
+    }
+
+    /**
+     * @param e the number of an edge.
+     * @return the index of the other end of edge e.
+     */
+    public int to(int e) {
+        return to[e];
+    }
+
+    /**
+     * @return the number of triangles.
+     */
+    public int triangles() {
+        return triangles.length / 3;
+    }
+
+    /**
+     * @param t the number of a triangle.
+     * @return the indices of the three points of triangle t, in counter-clockwise order.
+     */
+    public int[] triangle(int t) {
+        return Arrays.copyOfRange(triangles, 3 * t, 3 * t + 3);
+    }
+
+    public String toString() {
+        return "DelaunayTriangulation{points=" + n + ", edges=" + edges() + ", triangles=" + triangles() + "}";
+    }
+
+    /**
+     * @return the indices of the points, sorted by the Morton codes of their (rounded) coordinates.
+     */
+    private int[] insertionOrder(double size) {
+        long[] sorted = new long[n];
+        double cell = Math.max(1.0, size / (1 << 16));
+        for (int i = 0; i < n; i++)
+            sorted[i] = morton((int) Math.min(0xFFFF, px[i] / cell), (int) Math.min(0xFFFF, py[i] / cell)) << 32 | i;
+        Arrays.sort(sorted);
+        int[] result = new int[n];
+        for (int i = 0; i < n; i++) result[i] = (int) sorted[i];
+        return result;
+    }
+
+    private void insert(int p) {
+        int t = locate(p);
+        for (int k = 0; k < 3; k++) {
+            int v = vertices[3 * t + k];
+            if (px[v] == px[p] && py[v] == py[p]) {
+                twins[p] = v;
+                return;
+            }
+        }
+        // Find the cavity (the triangles whose circumcircles contain p) and its boundary.
+        stamp++;
+        int cavity = 0, boundary = 0;
+        stamps[t] = stamp;
+        inside[t] = true;
+        cavityTriangles[cavity++] = t;
+        for (int c = 0; c < cavity; c++) {
+            int u = cavityTriangles[c];
+            for (int k = 0; k < 3; k++) {
+                int w = neighbors[3 * u + k];
+                if (w >= 0 && stamps[w] != stamp) {
+                    stamps[w] = stamp;
+                    inside[w] = inCircle(vertices[3 * w], vertices[3 * w + 1], vertices[3 * w + 2], p) > 0;
+                    if (inside[w]) {
+                        cavityTriangles = grow(cavityTriangles, cavity + 1);
+                        cavityTriangles[cavity++] = w;
+                    }
+                }
+                if (w < 0 || !inside[w]) {
+                    boundaryEdges = grow(boundaryEdges, 3 * boundary + 3);
+                    boundaryEdges[3 * boundary] = vertices[3 * u + (k + 1) % 3];
+                    boundaryEdges[3 * boundary + 1] = vertices[3 * u + (k + 2) % 3];
+                    boundaryEdges[3 * boundary++ + 2] = w;
+                }
+            }
+        }
+        for (int c = 0; c < cavity; c++) release(cavityTriangles[c]);
+        // Replace the cavity by a fan of triangles (p, a, b), one for each boundary edge (a, b).
+        int first = -1;
+        for (int i = 0; i < boundary; i++) {
+            int a = boundaryEdges[3 * i], b = boundaryEdges[3 * i + 1], outer = boundaryEdges[3 * i + 2];
+            int u = create(p, a, b);
+            neighbors[3 * u] = outer;
+            if (outer >= 0)
+                for (int k = 0; k < 3; k++) {
+                    int v = vertices[3 * outer + k];
+                    if (v != a && v != b) neighbors[3 * outer + k] = u;
+                }
+            starts[a] = u;
+            ends[b] = u;
+            if (first < 0) first = u;
+        }
+        for (int i = 0; i < boundary; i++) {
+            int a = boundaryEdges[3 * i], u = starts[a], b = vertices[3 * u + 2];
+            neighbors[3 * u + 1] = starts[b];
+            neighbors[3 * u + 2] = ends[a];
+        }
+        last = first;
+    }
+
+    /**
+     * Walk from the last triangle created towards p.
+     *
+     * @return a triangle which contains p (in its interior or on its boundary).
+     */
+    private int locate(int p) {
+        int t = last;
+        walk:
+        while (true) {
+            int offset = (int) (walks++ % 3);
+            for (int i = 0; i < 3; i++) {
+                int k = (offset + i) % 3;
+                if (orient(vertices[3 * t + (k + 1) % 3], vertices[3 * t + (k + 2) % 3], p) < 0) {
+                    t = neighbors[3 * t + k];
+                    continue walk;
+                }
+            }
+            return t;
+        }
+    }
+
+    /**
+     * Extract the edges and triangles between the points (not those of the super triangle).
+     */
+    private void collect() {
+        int edges = 0, count = 0;
+        for (int t = 0; t < top; t++) {
+            if (vertices[3 * t] < 0) continue;
+            for (int k = 0; k < 3; k++) {
+                int a = vertices[3 * t + (k + 1) % 3], b = vertices[3 * t + (k + 2) % 3], w = neighbors[3 * t + k];
+                if (a < n && b < n && (w < 0 || t < w)) edges++;
+            }
+            if (vertices[3 * t] < n && vertices[3 * t + 1] < n && vertices[3 * t + 2] < n) count++;
+        }
+        for (int p = 0; p < n; p++) if (twins[p] >= 0) edges++;
+        this.from = new int[edges];
+        this.to = new int[edges];
+        this.triangles = new int[3 * count];
+        int e = 0, c = 0;
+        for (int t = 0; t < top; t++) {
+            if (vertices[3 * t] < 0) continue;
+            for (int k = 0; k < 3; k++) {
+                int a = vertices[3 * t + (k + 1) % 3], b = vertices[3 * t + (k + 2) % 3], w = neighbors[3 * t + k];
+                if (a < n && b < n && (w < 0 || t < w)) {
+                    from[e] = a;
+                    to[e++] = b;
+                }
+            }
+            if (vertices[3 * t] < n && vertices[3 * t + 1] < n && vertices[3 * t + 2] < n) {
+                System.arraycopy(vertices, 3 * t, triangles, 3 * c++, 3);
+            }
+        }
+        for (int p = 0; p < n; p++)
+            if (twins[p] >= 0) {
+                from[e] = p;
+                to[e++] = twins[p];
+            }
+    }
+
+    /**
+     * @return the number of a new triangle (a, b, c), whose neighbors are yet to be set.
+     */
+    private int create(int a, int b, int c) {
+        int t;
+        if (freeCount > 0) t = free[--freeCount];
+        else {
+            t = top++;
+            if (3 * top > vertices.length) {
+                int capacity = 2 * top;
+                vertices = Arrays.copyOf(vertices, 3 * capacity);
+                neighbors = Arrays.copyOf(neighbors, 3 * capacity);
+                stamps = Arrays.copyOf(stamps, capacity);
+                inside = Arrays.copyOf(inside, capacity);
+            }
+        }
+        vertices[3 * t] = a;
+        vertices[3 * t + 1] = b;
+        vertices[3 * t + 2] = c;
+        stamps[t] = 0;
+        return t;
+    }
+
+    private void release(int t) {
+        vertices[3 * t] = -1;
+        free = grow(free, freeCount + 1);
+        free[freeCount++] = t;
+    }
+
+    private static int[] grow(int[] xs, int size) {
+        return size <= xs.length ? xs : Arrays.copyOf(xs, Math.max(size, 2 * xs.length));
+    }
+
+    /**
+     * @return a positive number if a, b and c are in counter-clockwise order, a negative number if they are in
+     * clockwise order, and zero if they are collinear.
+     */
+    private double orient(int a, int b, int c) {
+        double left = (px[b] - px[a]) * (py[c] - py[a]), right = (py[b] - py[a]) * (px[c] - px[a]);
+        double det = left - right;
+        if (Math.abs(det) > ORIENT_BOUND * (Math.abs(left) + Math.abs(right))) return det;
+        BigInteger l = big(px[b] - px[a]).multiply(big(py[c] - py[a])), r = big(py[b] - py[a]).multiply(big(px[c] - px[a]));
+        return l.compareTo(r);
+    }
+
+    /**
+     * @return a positive number if d is inside the circumcircle of the counter-clockwise triangle (a, b, c),
+     * a negative number if it is outside, and zero if it is on the circle.
+     */
+    private double inCircle(int a, int b, int c, int d) {
+        double adx = px[a] - px[d], ady = py[a] - py[d], bdx = px[b] - px[d], bdy = py[b] - py[d], cdx = px[c] - px[d], cdy = py[c] - py[d];
+        double alift = adx * adx + ady * ady, blift = bdx * bdx + bdy * bdy, clift = cdx * cdx + cdy * cdy;
+        double bc = bdx * cdy - cdx * bdy, ca = cdx * ady - adx * cdy, ab = adx * bdy - bdx * ady;
+        double det = alift * bc + blift * ca + clift * ab;
+        double permanent = (Math.abs(bdx * cdy) + Math.abs(cdx * bdy)) * alift + (Math.abs(cdx * ady) + Math.abs(adx * cdy)) * blift + (Math.abs(adx * bdy) + Math.abs(bdx * ady)) * clift;
+        if (Math.abs(det) > IN_CIRCLE_BOUND * permanent) return det;
+        BigInteger ax = big(adx), ay = big(ady), bx = big(bdx), by = big(bdy), cx = big(cdx), cy = big(cdy);
+        BigInteger exact = ax.multiply(ax).add(ay.multiply(ay)).multiply(bx.multiply(cy).subtract(cx.multiply(by)))
+                .add(bx.multiply(bx).add(by.multiply(by)).multiply(cx.multiply(ay).subtract(ax.multiply(cy))))
+                .add(cx.multiply(cx).add(cy.multiply(cy)).multiply(ax.multiply(by).subtract(bx.multiply(ay))));
+        return exact.signum();
+    }
+
+    private static BigInteger big(double x) {
+        return BigInteger.valueOf((long) x);
+    }
+
+    /**
+     * @return the Morton code of (i, j), as an unsigned 32-bit number.
+     */
+    private static long morton(int i, int j) {
+        return spread(i) | spread(j) << 1;
+    }
+
+    /**
+     * @return the low 16 bits of i, spread out to the even bits of the result.
+     */
+    private static long spread(int i) {
+        long v = i & 0xFFFFL;
+        v = (v | v << 8) & 0x00FF00FFL;
+        v = (v | v << 4) & 0x0F0F0F0FL;
+        v = (v | v << 2) & 0x33333333L;
+        v = (v | v << 1) & 0x55555555L;
+        return v;
+    }
+
+    /**
+     * The number of units (of the rounded coordinates) per meter, unless the points are so spread out that
+     * they would then exceed MAX_EXTENT.
+     */
+    private static final double RESOLUTION = 1000;
+    private static final double MAX_EXTENT = 1L << 31;
+
+    /**
+     * The size of the super triangle, relative to the extent of the points (so that all coordinates, and all
+     * differences between them, are integers less than 2^53, which are exact as doubles).
+     */
+    private static final double SUPER = 1 << 20;
+
+    /**
+     * The relative error bounds of the floating-point orientation and in-circle determinants (after Shewchuk).
+     */
+    private static final double ORIENT_BOUND = 1E-15;
+    private static final double IN_CIRCLE_BOUND = 1E-14;
+
+    private final SpatialIndex<V> index;
+    private final int n;
+
+    /**
+     * The rounded coordinates of the points, followed by those of the three vertices of the super triangle.
+     */
+    private final double[] px;
+    private final double[] py;
+
+    /**
+     * For each point which coincides with a point inserted before it, that point (otherwise -1).
+     */
+    private final int[] twins;
+
+    /**
+     * The vertices of each triangle (in counter-clockwise order; -1 for a triangle which has been released),
+     * and the neighbors of each (neighbors[3t + k] shares the edge opposite vertices[3t + k]; -1 if none).
+     */
+    private int[] vertices;
+    private int[] neighbors;
+    private int top;
+    private int[] free;
+    private int freeCount;
+
+    /**
+     * Workspace for the insertion of each point: which triangles have been tested (and whether they are in the
+     * cavity), the triangles of the cavity, its boundary edges, and the new triangle which starts or ends at each
+     * boundary vertex.
+     */
+    private int[] stamps;
+    private boolean[] inside;
+    private int stamp;
+    private int[] cavityTriangles = new int[16];
+    private int[] boundaryEdges = new int[48];
+    private final int[] starts;
+    private final int[] ends;
+    private int last;
+    private long walks;
+
+    private int[] from;
+    private int[] to;
+    private int[] triangles;
+}
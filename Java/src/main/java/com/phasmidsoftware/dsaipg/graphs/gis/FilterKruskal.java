@@ -0,0 +1,291 @@
+package com.phasmidsoftware.dsaipg.graphs.gis;
+
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRGraph;
+import com.phasmidsoftware.dsaipg.graphs.undirected.Edge;
+import com.phasmidsoftware.dsaipg.graphs.undirected.EdgeGraph;
+import com.phasmidsoftware.dsaipg.graphs.undirected.Graph_Edges;
+import com.phasmidsoftware.dsaipg.graphs.union_find.ConcurrentUF;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntPredicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Filter-Kruskal (Osipov, Sanders and Singler, 2009): a variant of Kruskal's algorithm which avoids sorting
+ * the edges that cannot belong to the minimum spanning tree (or forest) of an undirected CSRGraph.
+ * <p>
+ * The edges (as an array of edge numbers) are partitioned, as in quicksort, around a pivot edge chosen at random:
+ * the light part is processed first (recursively); then every edge of the heavy part whose endpoints are already
+ * in the same component is filtered out; and then what remains of the heavy part is processed (iteratively).
+ * A part which is small enough is sorted (by insertion sort) and processed by Kruskal's algorithm.
+ * The algorithm stops as soon as the tree is complete.
+ * When the graph is dense (for example, a complete graph of distances), most of the heavy edges are filtered out
+ * and are never sorted.
+ * <p>
+ * The edges are ordered by weight and then by edge number, so that there are never ties.
+ * Partitioning and filtering are stable and run in parallel (as fork-join tasks over blocks of the array) when the
+ * part is large enough: the predicate is evaluated once for each edge, then the edges of each block are scattered
+ * to their positions (given by the prefix sums of the counts for the blocks).
+ * The components are tracked by a ConcurrentUF, so that the filters may call find concurrently.
+ * The edges of the MST are given in the order in which they were added (non-decreasing weight), as by Kruskal.
+ *
+ * @param <V> the type of each vertex.
+ * @param <X> the type of each edge attribute.
+ */
+public class FilterKruskal<V, X extends Comparable<X> & Sequenced> extends MST<V, X> {
+
+    /**
+     * Method to compute and return the Minimum Spanning Tree (MST).
+     * Each edge is assigned a sequence number (the order in which it was added to the tree).
+     *
+     * @return an EdgeGraph representing the Minimum Spanning Tree of the current graph.
+     */
+    public EdgeGraph<V, X> getMST() {
+        int sequence = 0;
+        EdgeGraph<V, X> result = new Graph_Edges<>();
+        for (Edge<V, X> edge : mst) {
+            edge.getAttribute().setSequence(sequence++);
+            result.addEdge(edge);
+        }
+        return result;
+    }
+
+    /**
+     * @return the total weight of the MST.
+     */
+    public double weight() {
+        return weight;
+    }
+
+    /**
+     * @return the number of edges which were removed by filtering (and therefore never sorted).
+     */
+    public int filtered() {
+        return filtered;
+    }
+
+    /**
+     * Constructs a FilterKruskal instance for an undirected CSRGraph, and computes its MST.
+     *
+     * @param graph an undirected CSRGraph whose edges have attributes (the weights must not be NaN).
+     * @param pool  the ForkJoinPool on which the partitions and filters are run.
+     * @throws IllegalArgumentException if the graph is directed or has a NaN weight.
+     */
+    public FilterKruskal(CSRGraph<V, X> graph, ForkJoinPool pool) {
+        if (graph.isDirected()) throw new IllegalArgumentException("FilterKruskal: graph must be undirected");
+        int n = graph.V(), m = graph.E();
+        this.graph = graph;
+        this.pool = pool;
+        this.weights = new double[m];
+        this.edges = new int[m];
+        for (int e = 0; e < m; e++) {
+            weights[e] = graph.edgeWeight(e);
+            if (Double.isNaN(weights[e])) throw new IllegalArgumentException("FilterKruskal: edge " + e + " has NaN weight");
+            edges[e] = e;
+        }
+        this.buffer = new int[m];
+        this.flags = new boolean[m];
+        this.uf = new ConcurrentUF(n);
+        this.tree = new int[Math.max(0, n - 1)];
+        this.grain = Math.max(MIN_GRAIN, m / (8 * pool.getParallelism()));
+        filterKruskal(0, m);
+        List<Edge<V, X>> result = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int e = tree[i];
+            result.add(Kruskal.createEdge(graph.vertex(graph.from(e)), graph.vertex(graph.to(e)), graph.attribute(e)));
+            weight += weights[e];
+        }
+        this.mst = result;
+    }
+
+    /**
+     * Constructs a FilterKruskal instance for an undirected CSRGraph, using the common pool.
+     *
+     * @param graph an undirected CSRGraph whose edges have attributes.
+     */
+    public FilterKruskal(CSRGraph<V, X> graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a FilterKruskal instance for an EdgeGraph, using the common pool.
+     *
+     * @param graph  the graph for which the MST should be computed.
+     * @param weight a function which yields the weight of an edge attribute (consistent with its ordering).
+     */
+    public FilterKruskal(EdgeGraph<V, X> graph, ToDoubleFunction<X> weight) {
+        this(CSRGraph.fromEdgeGraph(graph, weight));
+    }
+
+    /**
+     * Process the edges in edges[lo, hi).
+     */
+    private void filterKruskal(int lo, int hi) {
+        while (hi - lo > BASE && !complete()) {
+            int pivot = pivot(lo, hi);
+            int mid = partition(lo, hi, e -> !heavier(e, pivot));
+            if (mid == hi) continue;    // the pivot was the heaviest edge: choose another
+            filterKruskal(lo, mid);
+            if (complete()) return;
+            int end = partition(mid, hi, e -> uf.find(graph.from(e)) != uf.find(graph.to(e)));
+            filtered += hi - end;
+            lo = mid;
+            hi = end;
+        }
+        if (complete()) return;
+        sort(lo, hi);
+        for (int i = lo; i < hi && !complete(); i++) {
+            int e = edges[i];
+            if (uf.union(graph.from(e), graph.to(e))) tree[count++] = e;
+        }
+    }
+
+    private boolean complete() {
+        return count == tree.length;
+    }
+
+    /**
+     * @return the median of three edges chosen at random from edges[lo, hi).
+     */
+    private int pivot(int lo, int hi) {
+        int a = edges[lo + random.nextInt(hi - lo)], b = edges[lo + random.nextInt(hi - lo)], c = edges[lo + random.nextInt(hi - lo)];
+        if (heavier(a, b)) {
+            int t = a;
+            a = b;
+            b = t;
+        }
+        return heavier(b, c) ? (heavier(a, c) ? a : c) : b;
+    }
+
+    /**
+     * @return true if edge e is heavier than edge f.
+     */
+    private boolean heavier(int e, int f) {
+        return weights[e] > weights[f] || weights[e] == weights[f] && e > f;
+    }
+
+    /**
+     * Insertion sort of edges[lo, hi).
+     */
+    private void sort(int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            int e = edges[i], j = i;
+            for (; j > lo && heavier(edges[j - 1], e); j--) edges[j] = edges[j - 1];
+            edges[j] = e;
+        }
+    }
+
+    /**
+     * Stable partition of edges[lo, hi): the edges which satisfy the predicate are moved to the front.
+     *
+     * @return the index of the first edge which does not satisfy the predicate.
+     */
+    private int partition(int lo, int hi, IntPredicate predicate) {
+        int blocks = (hi - lo + grain - 1) / grain;
+        int[] counts = new int[blocks];
+        Blocks counting = new Blocks(lo, hi, 0, blocks, predicate, counts, null, null);
+        if (blocks > 1) pool.invoke(counting);
+        else counting.compute();
+        int[] accepted = new int[blocks], rejected = new int[blocks];
+        int total = 0;
+        for (int b = 0; b < blocks; b++) {
+            accepted[b] = lo + total;
+            total += counts[b];
+        }
+        int mid = lo + total;
+        for (int b = 0, r = mid; b < blocks; b++) {
+            rejected[b] = r;
+            r += Math.min(grain, hi - lo - b * grain) - counts[b];
+        }
+        Blocks scatter = new Blocks(lo, hi, 0, blocks, null, null, accepted, rejected);
+        if (blocks > 1) pool.invoke(scatter);
+        else scatter.compute();
+        System.arraycopy(buffer, lo, edges, lo, hi - lo);
+        return mid;
+    }
+
+    /**
+     * A range of blocks (of grain edges) of edges[lo, hi), to be counted (if predicate is not null),
+     * or else scattered into buffer, according to the flags set by counting.
+     */
+    private final class Blocks extends RecursiveAction {
+        Blocks(int lo, int hi, int first, int last, IntPredicate predicate, int[] counts, int[] accepted, int[] rejected) {
+            this.lo = lo;
+            this.hi = hi;
+            this.first = first;
+            this.last = last;
+            this.predicate = predicate;
+            this.counts = counts;
+            this.accepted = accepted;
+            this.rejected = rejected;
+        }
+
+        protected void compute() {
+            if (last - first > 1) {
+                int middle = (first + last) >>> 1;
+                Blocks left = new Blocks(lo, hi, first, middle, predicate, counts, accepted, rejected);
+                Blocks right = new Blocks(lo, hi, middle, last, predicate, counts, accepted, rejected);
+                left.fork();
+                right.compute();
+                left.join();
+                return;
+            }
+            int from = lo + first * grain, to = Math.min(hi, from + grain);
+            if (predicate != null) {
+                int k = 0;
+                for (int i = from; i < to; i++)
+                    if (flags[i] = predicate.test(edges[i])) k++;
+                counts[first] = k;
+            } else {
+                int a = accepted[first], r = rejected[first];
+                for (int i = from; i < to; i++)
+                    if (flags[i]) buffer[a++] = edges[i];
+                    else buffer[r++] = edges[i];
+            }
+        }
+
+        private static final long serialVersionUID = 1L;
+
+        private final int lo;
+        private final int hi;
+        private final int first;
+        private final int last;
+        private final transient IntPredicate predicate;
+        private final int[] counts;
+        private final int[] accepted;
+        private final int[] rejected;
+    }
+
+    /**
+     * The largest part which is sorted and processed directly.
+     */
+    private static final int BASE = 32;
+
+    private static final int MIN_GRAIN = 4096;
+
+    private final CSRGraph<V, X> graph;
+    private final ForkJoinPool pool;
+    private final double[] weights;
+
+    /**
+     * The edge numbers, which are partitioned (and filtered) in place.
+     */
+    private final int[] edges;
+    private final int[] buffer;
+    private final boolean[] flags;
+    private final ConcurrentUF uf;
+
+    /**
+     * The edges of the MST, in the order in which they were added.
+     */
+    private final int[] tree;
+    private final int grain;
+    private final Random random = new Random(0L);
+    private int count;
+    private int filtered;
+    private double weight;
+}
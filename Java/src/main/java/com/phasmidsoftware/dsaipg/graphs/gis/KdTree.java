@@ -0,0 +1,121 @@
+package com.phasmidsoftware.dsaipg.graphs.gis;
+
+import com.phasmidsoftware.dsaipg.adt.bqs.IntBag;
+
+import java.util.List;
+
+/**
+ * A two-dimensional k-d tree over the projected coordinates of a list of GeoPoints.
+ * <p>
+ * The tree is implicit: it is a permutation of the point indices in which the point at the middle of each range
+ * is the median of that range (by easting at even depths, by northing at odd depths), with the points before it
+ * no greater and the points after it no less (along that axis).
+ * It is built in O(n log n) time by quickselect, and needs no node objects.
+ * <p>
+ * A nearest-neighbor query descends first into the half which contains the query point, and visits the other half
+ * only if the splitting line is closer than the k-th nearest point found so far; a radius query visits a half only
+ * if the splitting line is within the radius.
+ * For well-distributed points, a query takes O(log n + k) time.
+ *
+ * @param <V> the type of the points.
+ */
+public class KdTree<V extends GeoPoint> extends SpatialIndex<V> {
+
+    /**
+     * Constructor.
+     *
+     * @param points the points to be indexed (whose positions must be Position_Spherical).
+     */
+    public KdTree(List<V> points) {
+        super(points);
+        int n = points.size();
+        this.order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        build(0, n, 0);
+    }
+
+    protected int[] nearest(double x, double y, int k, int exclude) {
+        if (k < 0) throw new IllegalArgumentException("KdTree: k must not be negative: " + k);
+        Neighbors neighbors = new Neighbors(Math.min(k, size()));
+        if (k > 0) nearest(0, order.length, 0, x, y, exclude, neighbors);
+        return neighbors.toArray();
+    }
+
+    protected IntBag within(double x, double y, double radius, int exclude) {
+        IntBag result = new IntBag();
+        within(0, order.length, 0, x, y, radius * radius, exclude, result);
+        return result;
+    }
+
+    private void nearest(int lo, int hi, int depth, double qx, double qy, int exclude, Neighbors neighbors) {
+        if (lo >= hi) return;
+        int mid = (lo + hi) >>> 1, p = order[mid];
+        double dx = qx - x[p], dy = qy - y[p];
+        if (p != exclude) neighbors.offer(dx * dx + dy * dy, p);
+        double diff = depth % 2 == 0 ? dx : dy;
+        if (diff < 0) {
+            nearest(lo, mid, depth + 1, qx, qy, exclude, neighbors);
+            if (diff * diff < neighbors.bound()) nearest(mid + 1, hi, depth + 1, qx, qy, exclude, neighbors);
+        } else {
+            nearest(mid + 1, hi, depth + 1, qx, qy, exclude, neighbors);
+            if (diff * diff < neighbors.bound()) nearest(lo, mid, depth + 1, qx, qy, exclude, neighbors);
+        }
+    }
+
+    private void within(int lo, int hi, int depth, double qx, double qy, double radiusSquared, int exclude, IntBag result) {
+        if (lo >= hi) return;
+        int mid = (lo + hi) >>> 1, p = order[mid];
+        double dx = qx - x[p], dy = qy - y[p];
+        if (p != exclude && dx * dx + dy * dy <= radiusSquared) result.add(p);
+        double diff = depth % 2 == 0 ? dx : dy;
+        if (diff <= 0 || diff * diff <= radiusSquared) within(lo, mid, depth + 1, qx, qy, radiusSquared, exclude, result);
+        if (diff >= 0 || diff * diff <= radiusSquared) within(mid + 1, hi, depth + 1, qx, qy, radiusSquared, exclude, result);
+    }
+
+    private void build(int lo, int hi, int depth) {
+        if (hi - lo <= 1) return;
+        int mid = (lo + hi) >>> 1;
+        double[] c = depth % 2 == 0 ? x : y;
+        select(lo, hi - 1, mid, c);
+        build(lo, mid, depth + 1);
+        build(mid + 1, hi, depth + 1);
+    }
+
+    /**
+     * Rearrange order[lo..hi] (inclusive) so that the element at position k is the one which would be there if
+     * the range were sorted by coordinate c, with no greater elements before it and no lesser elements after it.
+     */
+    private void select(int lo, int hi, int k, double[] c) {
+        while (hi > lo) {
+            int m = (lo + hi) >>> 1;
+            // median of three, moved to lo
+            if (c[order[m]] < c[order[lo]]) swap(m, lo);
+            if (c[order[hi]] < c[order[lo]]) swap(hi, lo);
+            if (c[order[hi]] < c[order[m]]) swap(hi, m);
+            swap(lo, m);
+            double pivot = c[order[lo]];
+            int i = lo, j = hi + 1;
+            while (true) {
+                while (c[order[++i]] < pivot) if (i == hi) break;
+                while (pivot < c[order[--j]]) if (j == lo) break;
+                if (i >= j) break;
+                swap(i, j);
+            }
+            swap(lo, j);
+            if (j > k) hi = j - 1;
+            else if (j < k) lo = j + 1;
+            else return;
+        }
+    }
+
+    private void swap(int i, int j) {
+        int t = order[i];
+        order[i] = order[j];
+        order[j] = t;
+    }
+
+    /**
+     * The point indices, arranged as an implicit k-d tree.
+     */
+    private final int[] order;
+}
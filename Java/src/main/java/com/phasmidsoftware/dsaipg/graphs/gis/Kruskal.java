@@ -5,12 +5,14 @@ import com.phasmidsoftware.dsaipg.adt.bqs.Queue_Elements;
 import com.phasmidsoftware.dsaipg.adt.pq.PQException;
 import com.phasmidsoftware.dsaipg.adt.pq.PriorityQueue;
 import com.phasmidsoftware.dsaipg.adt.pq.PriorityQueue_BinaryHeap;
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRGraph;
 import com.phasmidsoftware.dsaipg.graphs.undirected.Edge;
 import com.phasmidsoftware.dsaipg.graphs.undirected.EdgeGraph;
 import com.phasmidsoftware.dsaipg.graphs.undirected.Graph_Edges;
 import com.phasmidsoftware.dsaipg.graphs.union_find.TypedUF;
 import com.phasmidsoftware.dsaipg.graphs.union_find.TypedUF_HWQUPC;
 import com.phasmidsoftware.dsaipg.graphs.union_find.UFException;
+import com.phasmidsoftware.dsaipg.graphs.union_find.WQUPC;
 import com.phasmidsoftware.dsaipg.util.iteration.SizedIterable;
 
 import java.util.ArrayList;
@@ -90,6 +92,36 @@ public class Kruskal<V, X extends Comparable<X> & Sequenced> extends MST<V, X> {
         }
     }
 
+    /**
+     * Constructs a Kruskal algorithm instance for finding the minimum spanning tree (MST) (or forest)
+     * of an undirected CSRGraph.
+     * The edges are taken in order of their (primitive) weights, which must therefore be consistent
+     * with the ordering of their attributes; the components are tracked by a primitive union-find (WQUPC),
+     * so that neither pq nor uf is used.
+     * Edge objects are created only for the edges of the MST.
+     *
+     * @param graph an undirected CSRGraph whose edges have attributes.
+     */
+    public Kruskal(CSRGraph<V, X> graph) {
+        this.queue = new Queue_Elements<>();
+        this.pq = null;
+        this.uf = null;
+        this.size = graph.V();
+        WQUPC components = new WQUPC(size);
+        Collection<Edge<V, X>> result = new ArrayList<>();
+        for (int e : graph.edgesByWeight()) {
+            if (result.size() >= size - 1) break;
+            int v = graph.from(e), w = graph.to(e);
+            if (!components.connected(v, w)) {
+                components.union(v, w);
+                Edge<V, X> edge = createEdge(graph.vertex(v), graph.vertex(w), graph.attribute(e));
+                queue.offer(edge);
+                result.add(edge);
+            }
+        }
+        mst = result;
+    }
+
     /**
      * Executes Kruskal's algorithm to find the minimum spanning tree (MST) of an edge-weighted graph.
      * This method uses a union-find data structure to identify and merge connected components and a
@@ -0,0 +1,256 @@
+package com.phasmidsoftware.dsaipg.graphs.gis;
+
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRGraph;
+import com.phasmidsoftware.dsaipg.graphs.undirected.Edge;
+import com.phasmidsoftware.dsaipg.graphs.undirected.EdgeGraph;
+import com.phasmidsoftware.dsaipg.graphs.undirected.Graph_Edges;
+import com.phasmidsoftware.dsaipg.graphs.union_find.ConcurrentUF;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A parallel version of Borůvka's algorithm to find the minimum spanning tree (or, for a disconnected graph,
+ * the minimum spanning forest) of an undirected CSRGraph.
+ * <p>
+ * Each phase has two parallel steps, each of which is a fork-join task over a range of numbers:
+ * <ol>
+ *     <li>every edge whose endpoints are in different components offers itself as the cheapest edge of both
+ *     components: the cheapest edge of each component is held in an AtomicLongArray (indexed by the root of the
+ *     component) as a packed long, with the weight (as a float, in the high half) and the edge number (in the low half),
+ *     and is lowered by compare-and-set;</li>
+ *     <li>for each component, its cheapest edge is added to the MST, and its endpoints united, unless another
+ *     component has chosen the same edge: the components are tracked by a lock-free union-find (ConcurrentUF).</li>
+ * </ol>
+ * The phases continue until no edge is chosen; each phase (at least) halves the number of components.
+ * <p>
+ * The edges are ordered by weight and then by edge number, so that there are never ties, and the chosen edges cannot
+ * form a cycle. Rounding a weight to a float cannot reverse the order of two weights (although it can make them equal),
+ * so only when the packed weights are equal need the exact weights be compared.
+ * The edges are processed in primitive form (as the arrays of the CSRGraph): Edge objects are created only for the
+ * edges of the MST, which are given in order of their edge numbers.
+ *
+ * @param <V> the type of each vertex.
+ * @param <X> the type of each edge attribute.
+ */
+public class ParallelBoruvka<V, X extends Comparable<X> & Sequenced> extends MST<V, X> {
+
+    /**
+     * Method to compute and return the Minimum Spanning Tree (MST).
+     * The MST is computed by assigning a sequence number to each edge and adding it to the resulting graph.
+     *
+     * @return an EdgeGraph representing the Minimum Spanning Tree of the current graph.
+     */
+    public EdgeGraph<V, X> getMST() {
+        int sequence = 0;
+        EdgeGraph<V, X> result = new Graph_Edges<>();
+        for (Edge<V, X> edge : mst) {
+            edge.getAttribute().setSequence(sequence++);
+            result.addEdge(edge);
+        }
+        return result;
+    }
+
+    /**
+     * @return the total weight of the MST.
+     */
+    public double weight() {
+        return weight;
+    }
+
+    /**
+     * @return the number of phases taken.
+     */
+    public int phases() {
+        return phases;
+    }
+
+    /**
+     * Constructs a ParallelBoruvka instance for an undirected CSRGraph, and computes its MST.
+     *
+     * @param graph an undirected CSRGraph whose edges have attributes (the weights must not be NaN).
+     * @param pool  the ForkJoinPool on which the phases are run.
+     * @throws IllegalArgumentException if the graph is directed or has a NaN weight.
+     */
+    public ParallelBoruvka(CSRGraph<V, X> graph, ForkJoinPool pool) {
+        if (graph.isDirected()) throw new IllegalArgumentException("ParallelBoruvka: graph must be undirected");
+        this.graph = graph;
+        int n = graph.V(), m = graph.E();
+        this.packed = new int[m];
+        for (int e = 0; e < m; e++) {
+            double w = graph.edgeWeight(e);
+            if (Double.isNaN(w)) throw new IllegalArgumentException("ParallelBoruvka: edge " + e + " has NaN weight");
+            packed[e] = key((float) w);
+        }
+        this.uf = new ConcurrentUF(n);
+        this.cheapest = new AtomicLongArray(n);
+        this.chosen = new boolean[m];
+        int parallelism = pool.getParallelism();
+        this.edgeGrain = Math.max(MIN_GRAIN, m / (8 * parallelism));
+        this.vertexGrain = Math.max(MIN_GRAIN, n / (8 * parallelism));
+        int edges;
+        do {
+            pool.invoke(new Phase(0, n, Step.RESET));
+            pool.invoke(new Phase(0, m, Step.OFFER));
+            Phase choose = new Phase(0, n, Step.CHOOSE);
+            pool.invoke(choose);
+            edges = choose.count;
+            phases++;
+        } while (edges > 0);
+        List<Edge<V, X>> result = new ArrayList<>();
+        for (int e = 0; e < m; e++)
+            if (chosen[e]) {
+                result.add(Boruvka.createEdge(graph.vertex(graph.from(e)), graph.vertex(graph.to(e)), graph.attribute(e)));
+                weight += graph.edgeWeight(e);
+            }
+        this.mst = result;
+    }
+
+    /**
+     * Constructs a ParallelBoruvka instance for an undirected CSRGraph, using the common pool.
+     *
+     * @param graph an undirected CSRGraph whose edges have attributes.
+     */
+    public ParallelBoruvka(CSRGraph<V, X> graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a ParallelBoruvka instance for an EdgeGraph, using the common pool.
+     *
+     * @param graph  the graph for which the MST should be computed.
+     * @param weight a function which yields the weight of an edge attribute (consistent with its ordering).
+     */
+    public ParallelBoruvka(EdgeGraph<V, X> graph, ToDoubleFunction<X> weight) {
+        this(CSRGraph.fromEdgeGraph(graph, weight));
+    }
+
+    /**
+     * Yield an int whose (signed) order is the order of the given float (which is not NaN).
+     * Negative floats have their magnitude bits inverted; -0.0 is treated as 0.0.
+     */
+    private static int key(float w) {
+        int bits = Float.floatToIntBits(w + 0.0f);
+        return bits ^ ((bits >> 31) & 0x7fffffff);
+    }
+
+    private long pack(int e) {
+        return (long) packed[e] << 32 | e;
+    }
+
+    /**
+     * @return true if the edge represented by x is lighter than the edge represented by y.
+     */
+    private boolean lighter(long x, long y) {
+        if (x >>> 32 != y >>> 32) return x < y;
+        int e = (int) x, f = (int) y;
+        double we = graph.edgeWeight(e), wf = graph.edgeWeight(f);
+        return we < wf || we == wf && e < f;
+    }
+
+    /**
+     * Lower the cheapest edge of component i to the edge represented by x, if x is lighter.
+     */
+    private void offer(int i, long x) {
+        while (true) {
+            long current = cheapest.get(i);
+            if (current != NONE && !lighter(x, current)) return;
+            if (cheapest.compareAndSet(i, current, x)) return;
+        }
+    }
+
+    private enum Step {RESET, OFFER, CHOOSE}
+
+    /**
+     * One step of a phase, applied to a range of numbers (vertices or edges).
+     */
+    private final class Phase extends RecursiveAction {
+        Phase(int lo, int hi, Step step) {
+            this.lo = lo;
+            this.hi = hi;
+            this.step = step;
+        }
+
+        protected void compute() {
+            if (hi - lo <= (step == Step.OFFER ? edgeGrain : vertexGrain)) {
+                switch (step) {
+                    case RESET:
+                        for (int v = lo; v < hi; v++) cheapest.set(v, NONE);
+                        break;
+                    case OFFER:
+                        for (int e = lo; e < hi; e++) {
+                            if (chosen[e]) continue;
+                            int i = uf.find(graph.from(e)), j = uf.find(graph.to(e));
+                            if (i == j) continue;   // same tree
+                            long x = pack(e);
+                            offer(i, x);
+                            offer(j, x);
+                        }
+                        break;
+                    case CHOOSE:
+                        for (int v = lo; v < hi; v++) {
+                            long x = cheapest.get(v);
+                            if (x == NONE) continue;
+                            int e = (int) x;
+                            // don't add the same edge twice
+                            if (uf.union(graph.from(e), graph.to(e))) {
+                                chosen[e] = true;
+                                count++;
+                            }
+                        }
+                        break;
+                }
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            Phase left = new Phase(lo, mid, step);
+            Phase right = new Phase(mid, hi, step);
+            left.fork();
+            right.compute();
+            left.join();
+            count = left.count + right.count;
+        }
+
+        private static final long serialVersionUID = 1L;
+
+        private final int lo;
+        private final int hi;
+        private final Step step;
+        private int count;
+    }
+
+    /**
+     * The value of cheapest for a component which has no outgoing edge.
+     */
+    private static final long NONE = Long.MAX_VALUE;
+
+    private static final int MIN_GRAIN = 1024;
+
+    private final CSRGraph<V, X> graph;
+
+    /**
+     * The weight of each edge, rounded to a float and converted to an order-preserving int.
+     */
+    private final int[] packed;
+
+    private final ConcurrentUF uf;
+
+    /**
+     * The cheapest outgoing edge (packed) of each component, indexed by its root.
+     */
+    private final AtomicLongArray cheapest;
+
+    /**
+     * Whether each edge has been chosen for the MST.
+     */
+    private final boolean[] chosen;
+
+    private final int edgeGrain;
+    private final int vertexGrain;
+    private double weight;
+    private int phases;
+}
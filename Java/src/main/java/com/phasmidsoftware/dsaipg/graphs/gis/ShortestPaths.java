@@ -1,25 +1,39 @@
 package com.phasmidsoftware.dsaipg.graphs.gis;
 
+import com.phasmidsoftware.dsaipg.adt.pq.IndexedPriorityQueue;
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRGraph;
 import com.phasmidsoftware.dsaipg.graphs.dag.DiGraph;
 import com.phasmidsoftware.dsaipg.graphs.dag.Edge;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.PriorityQueue;
-import java.util.Stack;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * The ShortestPaths class is designed to compute the shortest paths from a starting vertex
  * to all other vertices in a directed graph using Dijkstra's algorithm. This class is generic
  * and works with any vertex and edge types, provided that edges have numeric weights.
+ * <p>
+ * The search itself is performed by a {@link Workspace}, which works on a {@link CSRGraph} (built once, from a DiGraph,
+ * if necessary), so that relaxing an edge involves neither a hash lookup nor an allocation.
+ * A Workspace may be reused for any number of searches (from different starting vertices) over the same graph:
+ * its arrays and priority queue are allocated once, and each search resets only the entries which it touches.
  *
  * @param <V> the type of vertices in the graph.
  * @param <E> the type of edge weights, extending Number.
  */
 public class ShortestPaths<V, E extends Number> {
+
+    /**
+     * Returns the cost (the length) of a shortest path from the starting vertex to the specified vertex.
+     *
+     * @param v the vertex
+     * @return the cost of a shortest path to v, or infinity if there is no path (or v is not in the graph)
+     */
     public double cost(V v) {
-        Vertex vertex = table.getOrDefault(v, new Vertex(v));
-        return vertex.cost;
+        int i = workspace.graph.id(v);
+        return i < 0 ? Double.POSITIVE_INFINITY : cost[i];
     }
 
     /**
@@ -29,7 +43,7 @@ public class ShortestPaths<V, E extends Number> {
      * @return true if a path exists to the specified vertex, false otherwise
      */
     public boolean hasPathTo(V v) {
-        return table.containsKey(v);
+        return cost(v) < Double.POSITIVE_INFINITY;
     }
 
     /**
@@ -38,145 +52,189 @@ public class ShortestPaths<V, E extends Number> {
      * previously calculated and stored in the data structure.
      *
      * @param target the target vertex for which the path from the start vertex is to be retrieved
-     * @return an iterable of edges representing the path from the start vertex to the target vertex;
-     * returns an empty iterable if no path exists
+     * @return an iterable of edges (in order from the start vertex to the target vertex) representing the path
+     * from the start vertex to the target vertex; returns an empty iterable if no path exists
+     * (the Edge objects are created for the path: they are equal to, but not the same as, the edges of a DiGraph)
      */
     public Iterable<Edge<V, E>> pathTo(V target) {
-        Stack<Edge<V, E>> edges = new Stack<>();
-        if (hasPathTo(target)) {
-            V v = target;
-            for (Vertex vertex = table.get(v); vertex.edgeTo != null; ) {
-                Edge<V, E> edgeTo = vertex.edgeTo;
-                if (edgeTo.getTo() != v) throw new RuntimeException("assertion error");
-                edges.push(edgeTo);
-                v = edgeTo.getFrom();
-            }
-        }
+        List<Edge<V, E>> edges = new ArrayList<>();
+        CSRGraph<V, E> graph = workspace.graph;
+        if (hasPathTo(target))
+            for (int v = graph.id(target); arcTo[v] >= 0; v = graph.source(arcTo[v]))
+                edges.add(new Edge<>(graph.vertex(graph.source(arcTo[v])), graph.vertex(v), graph.attribute(graph.edge(arcTo[v]))));
+        Collections.reverse(edges);
         return edges;
     }
 
     @Override
     public String toString() {
-        return "ShortestPaths{" +
-                "table=" + table +
-                '}';
+        StringBuilder sb = new StringBuilder("ShortestPaths{start=").append(start).append(", costs={");
+        String separator = "";
+        for (int v = 0; v < cost.length; v++)
+            if (cost[v] < Double.POSITIVE_INFINITY) {
+                sb.append(separator).append(workspace.graph.vertex(v)).append("=").append(cost[v]);
+                separator = ", ";
+            }
+        return sb.append("}}").toString();
     }
 
     /**
      * Constructs a ShortestPaths object to calculate the shortest paths from a given starting vertex
      * within a directed graph using Dijkstra's algorithm.
+     * To compute the shortest paths from several starting vertices, create a Workspace and invoke its
+     * shortestPaths method for each of them.
      *
      * @param graph the directed graph on which shortest path calculations will be performed
      * @param start the starting vertex from which shortest paths will be computed
+     * @throws IllegalArgumentException if start is not a vertex of the graph, or if the graph has a negative weight
      */
     public ShortestPaths(DiGraph<V, E> graph, V start) {
-        this.graph = graph;
-        this.start = start;
-        this.table = dijkstra();
+        this(new Workspace<>(graph), start);
     }
 
     /**
-     * Computes the shortest path from a start vertex to all other vertices in the graph using Dijkstra's algorithm.
-     * <p>
-     * Iteratively processes vertices by their minimum known distance from the start vertex, maintaining a priority
-     * queue for efficient selection of the next vertex to process. Updates path costs and predecessors as necessary.
+     * Constructs a ShortestPaths object to calculate the shortest paths from a given starting vertex
+     * within a CSRGraph (whose edge attributes are its weights) using Dijkstra's algorithm.
      *
-     * @return a map of vertices to their corresponding Vertex objects, each detailing the shortest path cost and
-     * the edge leading to the vertex from its predecessor in the shortest path.
+     * @param graph the CSRGraph on which shortest path calculations will be performed
+     * @param start the starting vertex from which shortest paths will be computed
+     * @throws IllegalArgumentException if start is not a vertex of the graph, or if the graph has a negative weight
      */
-    private Map<V, Vertex> dijkstra() {
-        Map<V, Vertex> result = new HashMap<>();
-        PriorityQueue<V> pq = new PriorityQueue<>();
-        pq.offer(start);
-        result.put(start, new Vertex(start, 0, null));
-        while (!pq.isEmpty()) relax(graph, pq.poll(), result, pq);
-        return result;
+    public ShortestPaths(CSRGraph<V, E> graph, V start) {
+        this(new Workspace<>(graph), start);
     }
 
     /**
-     * Relaxes edges adjacent to the given vertex and updates the cost table and priority queue
-     * to facilitate accurate shortest path calculations.
+     * The Workspace class holds everything needed to run Dijkstra's algorithm on a particular graph:
+     * the graph in CSR form, the working arrays and
+     * an indexed priority queue (in which the cost of a vertex can be decreased in O(log n) time).
+     * <p>
+     * A DiGraph is copied (once) when the Workspace is constructed: edges added to it afterwards are not seen.
+     * A Workspace must not be shared between threads.
      *
-     * @param graph the directed graph containing the vertices and edges
-     * @param vertex the vertex whose adjacent edges are being relaxed
-     * @param table a map tracking the shortest known costs and associated edges for each vertex
-     * @param pq a priority queue used to manage vertices based on their current shortest distance
+     * @param <V> the type of vertices in the graph.
+     * @param <E> the type of edge weights, extending Number.
      */
-    private void relax(DiGraph<V, E> graph, V vertex, Map<V, Vertex> table, PriorityQueue<V> pq) {
-        for (Edge<V, E> e : graph.adjacent(vertex)) {
-            V w = e.getTo();
-            Vertex vertexW = table.getOrDefault(w, new Vertex(w));
-            table.put(w, vertexW);
-            double relaxedCost = table.get(e.getFrom()).cost + e.getAttributes().doubleValue();
-            if (vertexW.cost > relaxedCost) {
-                vertexW.relax(relaxedCost, e);
-                pq.remove(w);
-                pq.offer(w);
-            }
+    public static class Workspace<V, E extends Number> {
+
+        /**
+         * Computes the shortest paths from the given starting vertex.
+         * The result is independent of this Workspace's working arrays, so it remains valid after further searches.
+         *
+         * @param start the starting vertex
+         * @return a ShortestPaths object
+         * @throws IllegalArgumentException if start is not a vertex of the graph
+         */
+        public ShortestPaths<V, E> shortestPaths(V start) {
+            return new ShortestPaths<>(this, start);
         }
-    }
 
-    private final DiGraph<V, E> graph;
-    private final V start;
-    private final Map<V, Vertex> table;
+        /**
+         * @return the number of vertices in the graph.
+         */
+        public int V() {
+            return graph.V();
+        }
 
-    /**
-     * The Vertex class represents a node in a graph, containing information about its associated
-     * vertex, the cost to reach it, and the edge that leads to it in the context of shortest-path computation.
-     *
-     * This class implements the Comparable interface to allow comparison of vertices based on their cost,
-     * which is particularly useful in graph algorithms like Dijkstra's shortest-path algorithm.
-     *
-     * @param <V> the type of the vertex this class represents
-     * @param <E> the type of the associated edge attributes, if any
-     */
-    class Vertex implements Comparable<Vertex> {
         /**
-         * Compares this vertex with the specified vertex for order based on their cost.
-         * The comparison is primarily used in graph algorithms such as Dijkstra's shortest-path,
-         * where vertices need to be ordered by their cost.
+         * Constructs a Workspace for the given graph, which is converted (once) to a CSRGraph.
          *
-         * @param o the vertex to be compared with this vertex
-         * @return a negative integer, zero, or a positive integer as this vertex's cost
-         *         is less than, equal to, or greater than the specified vertex's cost
+         * @param graph a directed graph, with non-negative weights
+         * @throws IllegalArgumentException if the graph has a negative weight
          */
-        public int compareTo(Vertex o) {
-            return Double.compare(cost, o.cost);
+        public Workspace(DiGraph<V, E> graph) {
+            this(CSRGraph.fromDiGraph(graph, Number::doubleValue));
         }
 
         /**
-         * Updates the cost to reach this vertex and the edge that leads to it,
-         * if a better (lower-cost) path has been discovered.
+         * Constructs a Workspace for the given CSRGraph: only the working arrays are allocated.
          *
-         * @param cost   the new calculated cost to reach this vertex
-         * @param edgeTo the edge that provides the improved path to this vertex
+         * @param graph a CSRGraph, with non-negative weights
+         * @throws IllegalArgumentException if the graph has a negative (or NaN) weight
          */
-        void relax(double cost, Edge<V, E> edgeTo) {
-//            System.out.println("relaxing entry for vertex"+this+" to cost "+cost+" with edgeTo: "+edgeTo);
-            this.cost = cost;
-            this.edgeTo = edgeTo;
+        public Workspace(CSRGraph<V, E> graph) {
+            for (int e = 0; e < graph.E(); e++)
+                if (!(graph.edgeWeight(e) >= 0))
+                    throw new IllegalArgumentException("ShortestPaths.Workspace: edge " + graph.vertex(graph.from(e)) + "->" + graph.vertex(graph.to(e)) + " has negative weight");
+            this.graph = graph;
+            int n = graph.V();
+            this.dist = new double[n];
+            this.arcTo = new int[n];
+            this.stamp = new int[n];
+            Arrays.fill(stamp, -1);
+            this.pq = new IndexedPriorityQueue<>(4, n, v -> v);
         }
 
-        public Vertex(V vertex, double cost, Edge<V, E> edgeTo) {
-            this.vertex = vertex;
-            this.cost = cost;
-            this.edgeTo = edgeTo;
+        /**
+         * Run Dijkstra's algorithm from s.
+         */
+        private void search(int s) {
+            search++;
+            pq.clear();
+            reach(s, 0, -1);
+            pq.insertOrDecreaseNumber(s, 0);
+            while (!pq.isEmpty()) {
+                int v = pq.delMinNumber();
+                double d = dist[v];
+                for (int a = graph.begin(v), end = graph.end(v); a < end; a++) {
+                    int w = graph.target(a);
+                    double cost = d + graph.weight(a);
+                    if (cost < distance(w)) {
+                        reach(w, cost, a);
+                        pq.insertOrDecreaseNumber(w, cost);
+                    }
+                }
+            }
+        }
+
+        private double distance(int v) {
+            return stamp[v] == search ? dist[v] : Double.POSITIVE_INFINITY;
         }
 
-        public Vertex(V vertex) {
-            this(vertex, Double.POSITIVE_INFINITY, null);
+        private void reach(int v, double cost, int arc) {
+            stamp[v] = search;
+            dist[v] = cost;
+            arcTo[v] = arc;
         }
 
-        @Override
-        public String toString() {
-            return "Vertex {" + vertex +
-                    ": cost=" + cost +
-                    ", edgeTo=" + edgeTo +
-                    '}';
+        private int indexOf(V v) {
+            int result = graph.id(v);
+            if (result < 0) throw new IllegalArgumentException("ShortestPaths: vertex " + v + " is not in the graph");
+            return result;
         }
 
-        private final V vertex;
-        private double cost;
-        private Edge<V, E> edgeTo;
+        private final CSRGraph<V, E> graph;
+
+        /**
+         * The working arrays: the entries for vertex v are valid only if stamp[v] is the number of the current search.
+         */
+        private final double[] dist;
+        private final int[] arcTo;
+        private final int[] stamp;
+        private final IndexedPriorityQueue<Integer> pq;
+        private int search = 0;
+    }
+
+    private ShortestPaths(Workspace<V, E> workspace, V start) {
+        int s = workspace.indexOf(start);
+        workspace.search(s);
+        int n = workspace.V();
+        this.workspace = workspace;
+        this.start = start;
+        this.cost = new double[n];
+        this.arcTo = new int[n];
+        for (int v = 0; v < n; v++) {
+            cost[v] = workspace.distance(v);
+            arcTo[v] = cost[v] < Double.POSITIVE_INFINITY ? workspace.arcTo[v] : -1;
+        }
     }
-}
\ No newline at end of file
+
+    private final Workspace<V, E> workspace;
+    private final V start;
+
+    /**
+     * The cost of a shortest path to each vertex (by number), and the arc by which it is reached (-1 if none).
+     */
+    private final double[] cost;
+    private final int[] arcTo;
+}
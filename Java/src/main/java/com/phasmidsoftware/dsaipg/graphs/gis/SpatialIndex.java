@@ -0,0 +1,258 @@
+package com.phasmidsoftware.dsaipg.graphs.gis;
+
+import com.phasmidsoftware.dsaipg.adt.bqs.IntBag;
+import com.phasmidsoftware.dsaipg.util.general.GeoConversions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A SpatialIndex is an immutable index of a list of GeoPoints which answers k-nearest-neighbor and radius queries
+ * without comparing the query with every point.
+ * <p>
+ * The points are projected (by GeoConversions) into planar UTM coordinates, in meters, all in the same zone
+ * (the zone of their mean longitude), and the queries are answered in terms of the planar (Euclidean) distance.
+ * The northing has no false northing in the southern hemisphere (see GeoConversions.project), so it is continuous
+ * across the equator and the latitude bands.
+ * Within a few hundred kilometers of the zone, this differs from the great-circle distance by a small fraction of a
+ * percent, which is why the candidate graphs built from an index (see CandidateGraphs) weigh their edges by
+ * the great-circle distance.
+ * The points are identified by their index in the list.
+ *
+ * @param <V> the type of the points.
+ */
+public abstract class SpatialIndex<V extends GeoPoint> {
+
+    /**
+     * Find the k points nearest to point i (not including i itself).
+     *
+     * @param i the index of a point.
+     * @param k the number of neighbors required.
+     * @return the indices of (at most) k points, in order of increasing distance from point i.
+     */
+    public int[] nearest(int i, int k) {
+        validateIndex(i);
+        return nearest(x[i], y[i], k, i);
+    }
+
+    /**
+     * Find the k points nearest to a position.
+     *
+     * @param p a GeoPoint (which need not be in the index).
+     * @param k the number of neighbors required.
+     * @return the indices of (at most) k points, in order of increasing distance from p.
+     */
+    public int[] nearest(GeoPoint p, int k) {
+        double[] projection = project(p);
+        return nearest(projection[0], projection[1], k, -1);
+    }
+
+    /**
+     * Find the points within a given distance of point i (not including i itself).
+     *
+     * @param i      the index of a point.
+     * @param radius the distance, in meters.
+     * @return the indices of the points whose distance from point i is at most radius (in no particular order).
+     */
+    public int[] within(int i, double radius) {
+        validateIndex(i);
+        return within(x[i], y[i], radius, i).toArray();
+    }
+
+    /**
+     * Find the points within a given distance of a position.
+     *
+     * @param p      a GeoPoint (which need not be in the index).
+     * @param radius the distance, in meters.
+     * @return the indices of the points whose distance from p is at most radius (in no particular order).
+     */
+    public int[] within(GeoPoint p, double radius) {
+        double[] projection = project(p);
+        return within(projection[0], projection[1], radius, -1).toArray();
+    }
+
+    /**
+     * @return the number of points.
+     */
+    public int size() {
+        return points.size();
+    }
+
+    /**
+     * @param i the index of a point.
+     * @return the point.
+     */
+    public V get(int i) {
+        return points.get(i);
+    }
+
+    /**
+     * @param i the index of a point.
+     * @return the easting of point i (in meters).
+     */
+    public double x(int i) {
+        return x[i];
+    }
+
+    /**
+     * @param i the index of a point.
+     * @return the northing of point i (in meters).
+     */
+    public double y(int i) {
+        return y[i];
+    }
+
+    /**
+     * @param i the index of a point.
+     * @param j the index of another point.
+     * @return the planar distance between points i and j (in meters).
+     */
+    public double distance(int i, int j) {
+        return Math.hypot(x[i] - x[j], y[i] - y[j]);
+    }
+
+    /**
+     * @return the UTM zone in which the points are projected.
+     */
+    public int zone() {
+        return zone;
+    }
+
+    /**
+     * Find the k points nearest to (x, y), other than the excluded point.
+     *
+     * @param x       the easting.
+     * @param y       the northing.
+     * @param k       the number of neighbors required.
+     * @param exclude the index of a point to ignore (or -1).
+     * @return the indices of (at most) k points, in order of increasing distance.
+     */
+    protected abstract int[] nearest(double x, double y, int k, int exclude);
+
+    /**
+     * Find the points within radius of (x, y), other than the excluded point.
+     *
+     * @param x       the easting.
+     * @param y       the northing.
+     * @param radius  the distance.
+     * @param exclude the index of a point to ignore (or -1).
+     * @return an IntBag of the indices of the points found.
+     */
+    protected abstract IntBag within(double x, double y, double radius, int exclude);
+
+    /**
+     * Constructor: project the points.
+     *
+     * @param points the points to be indexed (whose positions must be Position_Spherical).
+     */
+    protected SpatialIndex(List<V> points) {
+        this.points = new ArrayList<>(points);
+        int n = points.size();
+        double longitude = 0;
+        for (V point : points) longitude += spherical(point).getLongitude();
+        this.zone = GeoConversions.zone(n == 0 ? 0 : longitude / n);
+        this.x = new double[n];
+        this.y = new double[n];
+        for (int i = 0; i < n; i++) {
+            double[] projection = project(points.get(i));
+            x[i] = projection[0];
+            y[i] = projection[1];
+        }
+    }
+
+    /**
+     * Priority queue for nearest-neighbor searches: a bounded max-heap of (distance, index) pairs,
+     * which keeps the k nearest points seen so far.
+     */
+    static final class Neighbors {
+        Neighbors(int k) {
+            this.distances = new double[k];
+            this.indices = new int[k];
+        }
+
+        /**
+         * @return the largest distance which could still be improved (infinity until k points have been seen).
+         */
+        double bound() {
+            return size < distances.length ? Double.POSITIVE_INFINITY : distances[0];
+        }
+
+        void offer(double distance, int index) {
+            if (size < distances.length) {
+                int i = size++;
+                for (; i > 0 && distances[(i - 1) / 2] < distance; i = (i - 1) / 2) {
+                    distances[i] = distances[(i - 1) / 2];
+                    indices[i] = indices[(i - 1) / 2];
+                }
+                distances[i] = distance;
+                indices[i] = index;
+            } else if (distance < distances[0]) {
+                int i = 0;
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= size) break;
+                    if (child + 1 < size && distances[child + 1] > distances[child]) child++;
+                    if (distances[child] <= distance) break;
+                    distances[i] = distances[child];
+                    indices[i] = indices[child];
+                    i = child;
+                }
+                distances[i] = distance;
+                indices[i] = index;
+            }
+        }
+
+        /**
+         * @return the indices, in order of increasing distance (this empties the heap).
+         */
+        int[] toArray() {
+            int[] result = new int[size];
+            while (size > 0) {
+                int i = --size;
+                result[i] = indices[0];
+                double distance = distances[i];
+                int index = indices[i];
+                int j = 0;
+                while (true) {
+                    int child = 2 * j + 1;
+                    if (child >= size) break;
+                    if (child + 1 < size && distances[child + 1] > distances[child]) child++;
+                    if (distances[child] <= distance) break;
+                    distances[j] = distances[child];
+                    indices[j] = indices[child];
+                    j = child;
+                }
+                distances[j] = distance;
+                indices[j] = index;
+            }
+            return result;
+        }
+
+        private final double[] distances;
+        private final int[] indices;
+        private int size;
+    }
+
+    private double[] project(GeoPoint p) {
+        Position_Spherical position = spherical(p);
+        return GeoConversions.project(new GeoConversions.Position(position.getLatitude(), position.getLongitude()), zone);
+    }
+
+    private static Position_Spherical spherical(GeoPoint p) {
+        return (Position_Spherical) p.getPosition();
+    }
+
+    private void validateIndex(int i) {
+        if (i < 0 || i >= points.size())
+            throw new IllegalArgumentException("SpatialIndex: index " + i + " is not between 0 and " + (points.size() - 1));
+    }
+
+    private final List<V> points;
+    private final int zone;
+
+    /**
+     * The projected coordinates (easting and northing) of each point.
+     */
+    protected final double[] x;
+    protected final double[] y;
+}
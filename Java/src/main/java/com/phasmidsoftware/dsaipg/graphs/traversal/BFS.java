@@ -2,9 +2,14 @@
 
 package com.phasmidsoftware.dsaipg.graphs.traversal;
 
+import com.phasmidsoftware.dsaipg.adt.bqs.BQSException;
+import com.phasmidsoftware.dsaipg.adt.bqs.IntQueue;
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRGraph;
+
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.function.IntConsumer;
 
 /**
  * The BFS class implements the Breadth-First Search (BFS) algorithm for traversing or searching
@@ -62,6 +67,69 @@ public class BFS {
         return output;
     }
 
+    /**
+     * Performs a Breadth-First Search (BFS) traversal of the graph starting from the specified source vertex,
+     * passing each vertex (in the same order as traverse(s)) to visitor.
+     * The queue is supplied by the caller (and is cleared first) so that it, and its chunks, may be reused
+     * by many traversals: nothing is allocated here apart from the visited array, and no vertex is boxed.
+     *
+     * @param s       the source vertex from which the BFS traversal begins
+     * @param queue   a (reusable) IntQueue
+     * @param visitor the consumer of the vertices visited
+     */
+    public void traverse(int s, IntQueue queue, IntConsumer visitor) {
+        boolean[] visited = new boolean[V];
+        queue.clear();
+        visited[s] = true;
+        queue.offer(s);
+        try {
+            while (!queue.isEmpty()) {
+                s = queue.poll();
+                visitor.accept(s);
+                for (int n : adj[s])
+                    if (!visited[n]) {
+                        visited[n] = true;
+                        queue.offer(n);
+                    }
+            }
+        } catch (BQSException e) {
+            throw new RuntimeException("BFS:traverse: logic error", e);
+        }
+    }
+
+    /**
+     * Performs a Breadth-First Search (BFS) traversal of a CSRGraph starting from the specified source vertex,
+     * passing each vertex (by number) to visitor in the order in which it is visited.
+     * The neighbours of each vertex are read directly from the primitive arrays of the graph.
+     *
+     * @param G       the graph
+     * @param s       the number of the source vertex
+     * @param queue   a (reusable) IntQueue
+     * @param visitor the consumer of the vertices visited
+     */
+    public static void traverse(CSRGraph<?, ?> G, int s, IntQueue queue, IntConsumer visitor) {
+        if (s < 0 || s >= G.V()) throw new IllegalArgumentException("BFS:traverse: vertex " + s + " is not between 0 and " + (G.V() - 1));
+        boolean[] visited = new boolean[G.V()];
+        queue.clear();
+        visited[s] = true;
+        queue.offer(s);
+        try {
+            while (!queue.isEmpty()) {
+                int v = queue.poll();
+                visitor.accept(v);
+                for (int a = G.begin(v), end = G.end(v); a < end; a++) {
+                    int w = G.target(a);
+                    if (!visited[w]) {
+                        visited[w] = true;
+                        queue.offer(w);
+                    }
+                }
+            }
+        } catch (BQSException e) {
+            throw new RuntimeException("BFS:traverse: logic error", e);
+        }
+    }
+
     /**
      * Constructs a Breadth-First Search (BFS) graph with the specified number of vertices.
      * The graph is represented using an adjacency list.
@@ -0,0 +1,321 @@
+package com.phasmidsoftware.dsaipg.graphs.traversal;
+
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRGraph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A parallel, direction-optimizing Breadth-First Search of a CSRGraph (Beamer, Asanović and Patterson, 2012).
+ * <p>
+ * The search proceeds level by level, and each level is expanded in one of two directions:
+ * <ul>
+ *     <li>top-down: each vertex of the frontier examines its out-arcs and claims (by compare-and-set on the
+ *     visited bitset) any target which has not yet been visited;</li>
+ *     <li>bottom-up: each vertex which has not yet been visited examines its in-arcs and stops as soon as it finds
+ *     a parent in the frontier. No compare-and-set is needed, since each vertex is examined by only one task.</li>
+ * </ul>
+ * Top-down is cheaper while the frontier is small; bottom-up is much cheaper while the frontier is large,
+ * because most of the arcs examined top-down then lead to vertices which have already been visited.
+ * We switch to bottom-up when the arcs leaving the frontier (m_f) exceed the arcs leaving unvisited vertices (m_u)
+ * divided by alpha, and we switch back when the frontier has fewer than V/beta vertices.
+ * <p>
+ * The frontiers and the visited set are bitsets (one bit per vertex), partitioned by words across a fork/join pool.
+ * The result is the distance (in arcs) from the source to each vertex and the parent of each vertex
+ * in a BFS tree (the source is its own parent; -1 for both means that the vertex is unreachable).
+ * Since vertices of the same level may be claimed in any order, the parents (but not the distances)
+ * may differ from one run to the next.
+ */
+public class DirectionOptimizingBFS {
+
+    /**
+     * Primary constructor: run the search.
+     *
+     * @param G     the graph (directed or undirected).
+     * @param s     the number of the source vertex.
+     * @param pool  the fork/join pool in which to search.
+     * @param alpha the top-down to bottom-up threshold (the switch happens when m_f &gt; m_u / alpha).
+     * @param beta  the bottom-up to top-down threshold (the switch happens when n_f &lt; V / beta).
+     */
+    public DirectionOptimizingBFS(CSRGraph<?, ?> G, int s, ForkJoinPool pool, double alpha, double beta) {
+        int n = G.V();
+        if (s < 0 || s >= n)
+            throw new IllegalArgumentException("DirectionOptimizingBFS: vertex " + s + " is not between 0 and " + (n - 1));
+        this.G = G;
+        this.pool = pool;
+        this.distTo = new int[n];
+        this.parent = new int[n];
+        Arrays.fill(distTo, -1);
+        Arrays.fill(parent, -1);
+        int words = (n + 63) >>> 6;
+        this.visited = new AtomicLongArray(words);
+        this.grain = Math.max(MIN_GRAIN, words / (16 * pool.getParallelism()));
+        long start = System.nanoTime();
+        search(s, alpha, beta);
+        this.nanos = System.nanoTime() - start;
+    }
+
+    /**
+     * Constructor which uses the common fork/join pool and the thresholds recommended by Beamer et al.
+     *
+     * @param G the graph (directed or undirected).
+     * @param s the number of the source vertex.
+     */
+    public DirectionOptimizingBFS(CSRGraph<?, ?> G, int s) {
+        this(G, s, ForkJoinPool.commonPool(), ALPHA, BETA);
+    }
+
+    /**
+     * @param v a vertex number.
+     * @return the number of arcs in a shortest path from the source to v, or -1 if v is unreachable.
+     */
+    public int distTo(int v) {
+        return distTo[v];
+    }
+
+    /**
+     * @param v a vertex number.
+     * @return the parent of v in the BFS tree (the source is its own parent), or -1 if v is unreachable.
+     */
+    public int parent(int v) {
+        return parent[v];
+    }
+
+    /**
+     * @param v a vertex number.
+     * @return true if v is reachable from the source.
+     */
+    public boolean hasPathTo(int v) {
+        return distTo[v] >= 0;
+    }
+
+    /**
+     * @return a copy of the distances (-1 for an unreachable vertex), indexed by vertex number.
+     */
+    public int[] distances() {
+        return distTo.clone();
+    }
+
+    /**
+     * @return a copy of the parents (-1 for an unreachable vertex), indexed by vertex number.
+     */
+    public int[] parents() {
+        return parent.clone();
+    }
+
+    /**
+     * @return the number of vertices reachable from the source (including the source).
+     */
+    public int reached() {
+        return reached;
+    }
+
+    /**
+     * @return the number of levels expanded (the eccentricity of the source plus one).
+     */
+    public int levels() {
+        return topDownLevels + bottomUpLevels;
+    }
+
+    /**
+     * @return the number of levels which were expanded bottom-up.
+     */
+    public int bottomUpLevels() {
+        return bottomUpLevels;
+    }
+
+    /**
+     * @return the time taken by the search, in nanoseconds.
+     */
+    public long nanos() {
+        return nanos;
+    }
+
+    /**
+     * @return the rate at which levels were expanded.
+     */
+    public double levelsPerSecond() {
+        return levels() * 1E9 / Math.max(1, nanos);
+    }
+
+    @Override
+    public String toString() {
+        return "DirectionOptimizingBFS{reached=" + reached + ", levels=" + levels() + " (bottom-up: " + bottomUpLevels +
+                "), time=" + nanos / 1000000.0 + "ms, levels/sec=" + levelsPerSecond() + "}";
+    }
+
+    private void search(int s, double alpha, double beta) {
+        int n = G.V();
+        AtomicLongArray frontier = new AtomicLongArray(visited.length()), next = new AtomicLongArray(visited.length());
+        setBit(visited, s);
+        setBit(frontier, s);
+        distTo[s] = 0;
+        parent[s] = s;
+        reached = 1;
+        long frontierVertices = 1, frontierArcs = G.degree(s), unexploredArcs = G.arcs() - frontierArcs;
+        boolean bottomUp = false;
+        for (int level = 0; frontierVertices > 0; level++) {
+            if (bottomUp) bottomUp = frontierVertices >= n / beta;
+            else bottomUp = frontierArcs > unexploredArcs / alpha;
+            if (bottomUp && reverse == null) reverse = G.reverse();
+            Step step = new Step(0, visited.length(), level, bottomUp, frontier, next);
+            pool.invoke(step);
+            if (bottomUp) bottomUpLevels++;
+            else topDownLevels++;
+            frontierVertices = step.vertices;
+            frontierArcs = step.arcs;
+            unexploredArcs -= frontierArcs;
+            reached += (int) frontierVertices;
+            AtomicLongArray t = frontier;
+            frontier = next;
+            next = t;
+            for (int i = 0; i < next.length(); i++) next.set(i, 0L);
+        }
+    }
+
+    /**
+     * Expand the frontier top-down, for the frontier vertices in words lo (inclusive) to hi (exclusive).
+     */
+    private void topDown(Step step, int lo, int hi, int level, AtomicLongArray frontier, AtomicLongArray next) {
+        for (int i = lo; i < hi; i++)
+            for (long word = frontier.get(i); word != 0; word &= word - 1) {
+                int u = (i << 6) + Long.numberOfTrailingZeros(word);
+                for (int a = G.begin(u), end = G.end(u); a < end; a++) {
+                    int w = G.target(a);
+                    if (claim(w)) {
+                        distTo[w] = level + 1;
+                        parent[w] = u;
+                        setBit(next, w);
+                        step.vertices++;
+                        step.arcs += G.degree(w);
+                    }
+                }
+            }
+    }
+
+    /**
+     * Expand the frontier bottom-up, for the unvisited vertices in words lo (inclusive) to hi (exclusive).
+     * Each of these words of visited and next is updated only by this task.
+     */
+    private void bottomUp(Step step, int lo, int hi, int level, AtomicLongArray frontier, AtomicLongArray next) {
+        int n = G.V();
+        for (int i = lo; i < hi; i++) {
+            long seen = visited.get(i), found = 0;
+            int base = i << 6;
+            for (long word = ~seen; word != 0; word &= word - 1) {
+                int v = base + Long.numberOfTrailingZeros(word);
+                if (v >= n) break;
+                for (int a = reverse.begin(v), end = reverse.end(v); a < end; a++) {
+                    int u = reverse.target(a);
+                    if (testBit(frontier, u)) {
+                        distTo[v] = level + 1;
+                        parent[v] = u;
+                        found |= 1L << (v & 63);
+                        step.vertices++;
+                        step.arcs += G.degree(v);
+                        break;
+                    }
+                }
+            }
+            if (found != 0) {
+                visited.set(i, seen | found);
+                next.set(i, found);
+            }
+        }
+    }
+
+    /**
+     * Atomically mark w as visited.
+     *
+     * @return true if w had not already been visited (by this or any other thread).
+     */
+    private boolean claim(int w) {
+        int i = w >>> 6;
+        long bit = 1L << (w & 63);
+        long word = visited.get(i);
+        while ((word & bit) == 0) {
+            if (visited.compareAndSet(i, word, word | bit)) return true;
+            word = visited.get(i);
+        }
+        return false;
+    }
+
+    private static void setBit(AtomicLongArray bits, int v) {
+        bits.getAndAccumulate(v >>> 6, 1L << (v & 63), (x, y) -> x | y);
+    }
+
+    private static boolean testBit(AtomicLongArray bits, int v) {
+        return (bits.get(v >>> 6) & (1L << (v & 63))) != 0;
+    }
+
+    /**
+     * The task which expands one level for the words lo to hi of the bitsets, splitting the range in half while it is large.
+     * After it has been joined, vertices and arcs are the number of vertices in the new frontier and the sum of their out-degrees.
+     */
+    private final class Step extends RecursiveAction {
+        Step(int lo, int hi, int level, boolean bottomUp, AtomicLongArray frontier, AtomicLongArray next) {
+            this.lo = lo;
+            this.hi = hi;
+            this.level = level;
+            this.bottomUp = bottomUp;
+            this.frontier = frontier;
+            this.next = next;
+        }
+
+        protected void compute() {
+            if (hi - lo <= grain) {
+                if (bottomUp) bottomUp(this, lo, hi, level, frontier, next);
+                else topDown(this, lo, hi, level, frontier, next);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            Step left = new Step(lo, mid, level, bottomUp, frontier, next);
+            Step right = new Step(mid, hi, level, bottomUp, frontier, next);
+            left.fork();
+            right.compute();
+            left.join();
+            vertices = left.vertices + right.vertices;
+            arcs = left.arcs + right.arcs;
+        }
+
+        private static final long serialVersionUID = 1L;
+
+        private final int lo;
+        private final int hi;
+        private final int level;
+        private final boolean bottomUp;
+        private final AtomicLongArray frontier;
+        private final AtomicLongArray next;
+        long vertices;
+        long arcs;
+    }
+
+    /**
+     * The thresholds recommended by Beamer et al.
+     */
+    public static final double ALPHA = 14;
+    public static final double BETA = 24;
+
+    /**
+     * The smallest number of bitset words (of 64 vertices each) expanded by a single task.
+     */
+    private static final int MIN_GRAIN = 64;
+
+    private final CSRGraph<?, ?> G;
+    private final ForkJoinPool pool;
+    private final int[] distTo;
+    private final int[] parent;
+    private final AtomicLongArray visited;
+    private final int grain;
+    private final long nanos;
+
+    /**
+     * The reverse of G (only computed if a level is expanded bottom-up).
+     */
+    private CSRGraph<?, ?> reverse;
+    private int reached;
+    private int topDownLevels;
+    private int bottomUpLevels;
+}
@@ -0,0 +1,141 @@
+package com.phasmidsoftware.dsaipg.graphs.traversal;
+
+import com.phasmidsoftware.dsaipg.adt.pq.IndexedPriorityQueue;
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRGraph;
+
+import java.util.LinkedList;
+import java.util.Queue;
+
+/**
+ * The {@code EagerPrims} class implements the eager version of Prim's algorithm to compute
+ * the Minimum Spanning Forest of an edge-weighted graph.
+ * <p>
+ * Whereas Prims (the lazy version) keeps every crossing edge on its priority queue,
+ * this version keeps at most one entry per vertex not yet in the tree: the vertex itself, prioritized by the weight of
+ * the lightest edge connecting it to the tree. When a lighter edge is found, the priority of that vertex is decreased.
+ * Thus the priority queue holds at most V entries and the running time is O(E log V),
+ * using an IndexedPriorityQueue (with a d-ary heap) whose keys are the vertices.
+ */
+public class EagerPrims {
+    /**
+     * Returns an iterable collection of edges that are part of the
+     * Minimum Spanning Tree (or forest) computed by Prim's algorithm.
+     *
+     * @return an iterable containing the edges of the MST
+     */
+    public Iterable<Edge> edges() {
+        return mst;
+    }
+
+    /**
+     * @return the total weight of the edges of the MST.
+     */
+    public double weight() {
+        double result = 0;
+        for (Edge e : mst) result += e.weight();
+        return result;
+    }
+
+    /**
+     * Constructor which computes the MST (or, if G is not connected, the minimum spanning forest).
+     *
+     * @param G the edge-weighted graph.
+     * @param d the arity of the heap (a power of two, for example 2 or 4).
+     */
+    public EagerPrims(EdgeWeightedGraph G, int d) {
+        edgeTo = new Edge[G.V()];
+        distTo = new double[G.V()];
+        marked = new boolean[G.V()];
+        pq = new IndexedPriorityQueue<>(d, G.V(), v -> v);
+        for (int v = 0; v < G.V(); v++) distTo[v] = Double.POSITIVE_INFINITY;
+        for (int v = 0; v < G.V(); v++) if (!marked[v]) prim(G, v);
+        mst = new LinkedList<>();
+        for (Edge e : edgeTo) if (e != null) mst.add(e);
+    }
+
+    /**
+     * Constructor which uses a 4-ary heap.
+     *
+     * @param G the edge-weighted graph.
+     */
+    public EagerPrims(EdgeWeightedGraph G) {
+        this(G, 4);
+    }
+
+    /**
+     * Constructor which computes the MST (or minimum spanning forest) of an undirected CSRGraph,
+     * reading the arcs directly from its primitive arrays.
+     * The edges of the result are Edges between vertex numbers (created only for the edges of the MST).
+     *
+     * @param G an undirected CSRGraph.
+     * @param d the arity of the heap (a power of two, for example 2 or 4).
+     */
+    public EagerPrims(CSRGraph<?, ?> G, int d) {
+        if (G.isDirected()) throw new IllegalArgumentException("EagerPrims: graph must be undirected");
+        int n = G.V();
+        int[] arcTo = new int[n];
+        edgeTo = new Edge[n];
+        distTo = new double[n];
+        marked = new boolean[n];
+        pq = new IndexedPriorityQueue<>(d, n, v -> v);
+        for (int v = 0; v < n; v++) distTo[v] = Double.POSITIVE_INFINITY;
+        for (int s = 0; s < n; s++)
+            if (!marked[s]) {
+                distTo[s] = 0.0;
+                arcTo[s] = -1;
+                pq.insertOrDecreaseNumber(s, 0.0);
+                while (!pq.isEmpty()) {
+                    int v = pq.delMinNumber();
+                    marked[v] = true;
+                    for (int a = G.begin(v), end = G.end(v); a < end; a++) {
+                        int w = G.target(a);
+                        if (!marked[w] && G.weight(a) < distTo[w]) {
+                            distTo[w] = G.weight(a);
+                            arcTo[w] = a;
+                            pq.insertOrDecreaseNumber(w, distTo[w]);
+                        }
+                    }
+                }
+            }
+        mst = new LinkedList<>();
+        for (int w = 0; w < n; w++)
+            if (arcTo[w] >= 0) {
+                edgeTo[w] = new Edge(G.source(arcTo[w]), w, G.weight(arcTo[w]));
+                mst.add(edgeTo[w]);
+            }
+    }
+
+    /**
+     * Constructor for a CSRGraph which uses a 4-ary heap.
+     *
+     * @param G an undirected CSRGraph.
+     */
+    public EagerPrims(CSRGraph<?, ?> G) {
+        this(G, 4);
+    }
+
+    private void prim(EdgeWeightedGraph G, int s) {
+        distTo[s] = 0.0;
+        pq.insert(s, distTo[s]);
+        while (!pq.isEmpty()) visit(G, pq.delMin());
+    }
+
+    private void visit(EdgeWeightedGraph G, int v) {
+        marked[v] = true;
+        for (Edge e : G.adj(v)) {
+            int w = e.other(v);
+            if (marked[w]) continue;
+            if (e.weight() < distTo[w]) {
+                distTo[w] = e.weight();
+                edgeTo[w] = e;
+                pq.insertOrDecrease(w, distTo[w]);
+            }
+        }
+    }
+
+    private final Edge[] edgeTo; // edgeTo[v] = lightest edge connecting v to the tree
+    private final double[] distTo; // distTo[v] = weight of that edge
+    private final boolean[] marked; // MST vertices
+    private final Queue<Edge> mst; // MST edges
+    private final IndexedPriorityQueue<Integer> pq; // vertices not yet in the tree
+}
@@ -0,0 +1,117 @@
+package com.phasmidsoftware.dsaipg.graphs.union_find;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * The ConcurrentUF class provides a lock-free union-find (disjoint-set) data structure, whose find, union and
+ * connected operations may be invoked concurrently by any number of threads.
+ * <p>
+ * The parent links are held in an AtomicIntegerArray. A union links one root to the other by a compare-and-set
+ * (which fails, and is retried, if another thread has meanwhile linked that root elsewhere),
+ * always making the root with the larger index point to the root with the smaller index, so that no cycle can form.
+ * Find compresses the path by "halving" (each site visited is linked, again by compare-and-set, to its grandparent),
+ * which is safe in the presence of concurrent unions because it never moves a site out of its component.
+ * <p>
+ * The result of connected is definite only if no union of either component is in progress:
+ * typically, unions are performed in a parallel phase and queries in the next one.
+ */
+public class ConcurrentUF {
+
+    /**
+     * Returns the number of components.
+     *
+     * @return the number of components (between {@code 1} and {@code n})
+     */
+    public int count() {
+        return count.get();
+    }
+
+    /**
+     * Returns the component identifier for the component containing site {@code p}.
+     *
+     * @param p the integer representing one site
+     * @return the component identifier for the component containing site {@code p}
+     * @throws IllegalArgumentException unless {@code 0 <= p < n}
+     */
+    public int find(int p) {
+        validate(p);
+        while (true) {
+            int q = parent.get(p);
+            if (q == p) return p;
+            int r = parent.get(q);
+            if (q != r) parent.compareAndSet(p, q, r);
+            p = r;
+        }
+    }
+
+    /**
+     * Returns true if the two sites are in the same component.
+     *
+     * @param p the integer representing one site
+     * @param q the integer representing the other site
+     * @return {@code true} if the two sites {@code p} and {@code q} are in the same component;
+     * {@code false} otherwise
+     * @throws IllegalArgumentException unless
+     *                                  both {@code 0 <= p < n} and {@code 0 <= q < n}
+     */
+    public boolean connected(int p, int q) {
+        return find(p) == find(q);
+    }
+
+    /**
+     * Merges the component containing site {@code p} with the
+     * component containing site {@code q}.
+     *
+     * @param p the integer representing one site
+     * @param q the integer representing the other site
+     * @return true if this invocation merged two components, false if they were already the same component.
+     * @throws IllegalArgumentException unless
+     *                                  both {@code 0 <= p < n} and {@code 0 <= q < n}
+     */
+    public boolean union(int p, int q) {
+        while (true) {
+            int rootP = find(p);
+            int rootQ = find(q);
+            if (rootP == rootQ) return false;
+            // make larger root point to smaller one
+            int child = Math.max(rootP, rootQ), root = Math.min(rootP, rootQ);
+            if (parent.compareAndSet(child, child, root)) {
+                count.decrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Initializes an empty union–find data structure with {@code n} sites
+     * {@code 0} through {@code n-1}. Each site is initially in its own
+     * component.
+     *
+     * @param n the number of sites
+     * @throws IllegalArgumentException if {@code n < 0}
+     */
+    public ConcurrentUF(int n) {
+        if (n < 0) throw new IllegalArgumentException("ConcurrentUF: negative size: " + n);
+        parent = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++) parent.set(i, i);
+        count = new AtomicInteger(n);
+    }
+
+    private void validate(int p) {
+        int n = parent.length();
+        if (p < 0 || p >= n) {
+            throw new IllegalArgumentException("index " + p + " is not between 0 and " + (n - 1));
+        }
+    }
+
+    /**
+     * The parent of each site (a root is its own parent).
+     */
+    private final AtomicIntegerArray parent;
+
+    /**
+     * The number of components.
+     */
+    private final AtomicInteger count;
+}
@@ -3,9 +3,14 @@
  */
 package com.phasmidsoftware.dsaipg.util.benchmark;
 
+import com.phasmidsoftware.dsaipg.adt.pq.IntPriorityQueue;
 import com.phasmidsoftware.dsaipg.adt.pq.PQException;
 import com.phasmidsoftware.dsaipg.adt.pq.PriorityQueue;
 import com.phasmidsoftware.dsaipg.adt.pq.PriorityQueue_BinaryHeap;
+import com.phasmidsoftware.dsaipg.adt.pq.PriorityQueue_DaryHeap;
+import com.phasmidsoftware.dsaipg.adt.pq.PriorityQueue_MultiQueue;
+import com.phasmidsoftware.dsaipg.adt.pq.PriorityQueue_PairingHeap;
+import com.phasmidsoftware.dsaipg.adt.pq.PriorityQueue_RadixHeap;
 import com.phasmidsoftware.dsaipg.util.config.Config;
 import com.phasmidsoftware.dsaipg.util.general.Utilities;
 import com.phasmidsoftware.dsaipg.util.logging.LazyLogger;
@@ -13,7 +18,11 @@ import com.phasmidsoftware.dsaipg.util.logging.LazyLogger;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import static com.phasmidsoftware.dsaipg.util.benchmark.SortBenchmarkHelper.getWords;
 
@@ -60,6 +69,21 @@ public class PQBenchmark {
         PQBenchmark benchmark = new PQBenchmark(config);
         System.out.println("with floyd: " + benchmark.insertDeleteN(10000, 1000, true));
         System.out.println("no floyd: " + benchmark.insertDeleteN(10000, 1000, false));
+        // Compare the arity of the heap, and Floyd's trick against the standard sink, for both boxed and primitive keys.
+        for (int d : new int[]{2, 4, 8})
+            for (boolean floyd : new boolean[]{false, true})
+                System.out.println("arity " + d + (floyd ? " with floyd" : " no floyd") +
+                        ": boxed: " + benchmark.insertDeleteDary(OPERATIONS, 5, d, floyd) +
+                        ", primitive: " + benchmark.insertDeleteInt(OPERATIONS, 5, d, floyd));
+        // Compare the heaps as event queues (the binary and d-ary heaps must be sized for the number of pending events).
+        System.out.println("hold: binary heap: " + benchmark.hold("binary heap", () -> new PriorityQueue_BinaryHeap<>(EVENTS, false, Long::compare, true), 5));
+        System.out.println("hold: 4-ary heap: " + benchmark.hold("4-ary heap", () -> new PriorityQueue_DaryHeap<>(EVENTS, 4, false, Long::compare, true), 5));
+        System.out.println("hold: pairing heap: " + benchmark.hold("pairing heap", () -> new PriorityQueue_PairingHeap<>(Long::compare), 5));
+        System.out.println("hold: radix heap: " + benchmark.hold("radix heap", () -> new PriorityQueue_RadixHeap<>(Long::longValue), 5));
+        // Compare the strict (single lock) and relaxed (MultiQueue) concurrent priority queues.
+        for (int threads = 1; threads <= Runtime.getRuntime().availableProcessors(); threads *= 2)
+            for (boolean strict : new boolean[]{true, false})
+                System.out.println("concurrent: " + threads + " threads" + (strict ? " strict: " : " relaxed: ") + benchmark.concurrent(threads, strict, 5));
     }
 
     /**
@@ -105,7 +129,17 @@ public class PQBenchmark {
      */
     // Insert and delete random integer array with floyd methods according to parameter
     private void insertArray(int[] a, final boolean floyd) {
-        PriorityQueue<Integer> pq = new PriorityQueue_BinaryHeap<>(a.length, true, Integer::compare, floyd);
+        insertArray(a, new PriorityQueue_BinaryHeap<>(a.length, true, Integer::compare, floyd));
+    }
+
+    /**
+     * Inserts the elements of an array into the given priority queue and, after each insertion, removes an element
+     * with probability one half.
+     *
+     * @param a  the array of integers to be inserted into the priority queue.
+     * @param pq an empty priority queue with capacity at least a.length.
+     */
+    private static void insertArray(int[] a, PriorityQueue<Integer> pq) {
         final Random random = new Random();
         for (int j : a) {
             pq.give(j);
@@ -144,6 +178,136 @@ public class PQBenchmark {
 
     }
 
+    /**
+     * Performs a benchmark of a PriorityQueue_DaryHeap (with boxed keys) using the same insert/delete pattern as insertDeleteN.
+     *
+     * @param n     the number of random integers to be generated and processed.
+     * @param m     the number of times the benchmark test is repeated.
+     * @param d     the arity of the heap.
+     * @param floyd true if take should use Floyd's trick.
+     * @return the average execution time for the benchmark process, in milliseconds.
+     */
+    double insertDeleteDary(final int n, int m, final int d, final boolean floyd) {
+        final int[] random = randomArray(n);
+        Benchmark<Boolean> bm = new Benchmark_Timer<>(
+                "PQ: boxed " + d + "-ary heap" + (floyd ? " with Floyd" : ""),
+                config,
+                null,
+                b -> insertArray(random, new PriorityQueue_DaryHeap<>(n, d, true, Integer::compare, floyd)),
+                null);
+        return bm.run(true, m);
+    }
+
+    /**
+     * Performs a benchmark of an IntPriorityQueue using the same insert/delete pattern as insertDeleteN.
+     *
+     * @param n     the number of random integers to be generated and processed.
+     * @param m     the number of times the benchmark test is repeated.
+     * @param d     the arity of the heap.
+     * @param floyd true if take should use Floyd's trick.
+     * @return the average execution time for the benchmark process, in milliseconds.
+     */
+    double insertDeleteInt(final int n, int m, final int d, final boolean floyd) {
+        final int[] random = randomArray(n);
+        Benchmark<Boolean> bm = new Benchmark_Timer<>(
+                "PQ: primitive " + d + "-ary heap" + (floyd ? " with Floyd" : ""),
+                config,
+                null,
+                b -> {
+                    IntPriorityQueue pq = new IntPriorityQueue(n, d, true, floyd);
+                    final Random coin = new Random();
+                    try {
+                        for (int j : random) {
+                            pq.give(j);
+                            if (coin.nextBoolean()) pq.take();
+                        }
+                    } catch (PQException e) {
+                        throw new RuntimeException(e);
+                    }
+                },
+                null);
+        return bm.run(true, m);
+    }
+
+    /**
+     * Performs a benchmark of a priority queue used as the event queue of a discrete-event simulation
+     * (the "hold" model): the queue is primed with EVENTS events, after which each of OPERATIONS steps takes the next
+     * event and gives a new event scheduled at a random time after it.
+     * Thus the queue remains the same size and the priorities given are never less than the last priority taken.
+     *
+     * @param description the description of the priority queue.
+     * @param supplier    a supplier of empty min-priority queues.
+     * @param m           the number of times the benchmark test is repeated.
+     * @return the average execution time for the benchmark process, in milliseconds.
+     */
+    double hold(String description, Supplier<PriorityQueue<Long>> supplier, int m) {
+        Benchmark<Boolean> bm = new Benchmark_Timer<>(
+                "PQ: hold model with " + description,
+                config,
+                null,
+                b -> {
+                    PriorityQueue<Long> pq = supplier.get();
+                    final Random random = new Random();
+                    for (int i = 0; i < EVENTS; i++) pq.give((long) random.nextInt(EVENTS));
+                    try {
+                        for (int i = 0; i < OPERATIONS; i++) pq.give(pq.take() + random.nextInt(EVENTS));
+                    } catch (PQException e) {
+                        throw new RuntimeException(e);
+                    }
+                },
+                null);
+        return bm.run(true, m);
+    }
+
+    /**
+     * Performs a benchmark of a PriorityQueue_MultiQueue shared by the given number of threads,
+     * each of which performs OPERATIONS/threads give/take pairs (after priming the queue with EVENTS elements).
+     *
+     * @param threads the number of threads.
+     * @param strict  true for the strict version; false for the relaxed version.
+     * @param m       the number of times the benchmark test is repeated.
+     * @return the average execution time for the benchmark process, in milliseconds.
+     */
+    double concurrent(int threads, boolean strict, int m) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Benchmark<Boolean> bm = new Benchmark_Timer<>(
+                    "PQ: concurrent with " + threads + " threads" + (strict ? " (strict)" : " (relaxed)"),
+                    config,
+                    null,
+                    b -> {
+                        PriorityQueue<Integer> pq = new PriorityQueue_MultiQueue<>(threads, 2, false, Integer::compare, strict);
+                        for (int i = 0; i < EVENTS; i++) pq.give(i);
+                        List<Future<?>> futures = new ArrayList<>();
+                        for (int t = 0; t < threads; t++)
+                            futures.add(executor.submit(() -> {
+                                final Random random = new Random();
+                                for (int i = 0; i < OPERATIONS / threads; i++) {
+                                    pq.give(random.nextInt(EVENTS));
+                                    pq.take();
+                                }
+                                return null;
+                            }));
+                        try {
+                            for (Future<?> future : futures) future.get();
+                        } catch (Exception e) {
+                            throw new RuntimeException(e);
+                        }
+                    },
+                    null);
+            return bm.run(true, m);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static int[] randomArray(int n) {
+        final Random random = new Random();
+        int[] result = new int[n];
+        for (int i = 0; i < n; i++) result[i] = random.nextInt(n);
+        return result;
+    }
+
     private static Collection<String> lineAsList(String line) {
         List<String> words = new ArrayList<>();
         words.add(line);
@@ -165,5 +329,9 @@ public class PQBenchmark {
 
     private static final double LgE = Utilities.lg(Math.E);
 
+    private static final int OPERATIONS = 10_000_000;
+
+    private static final int EVENTS = 100_000;
+
     private final Config config;
 }
\ No newline at end of file
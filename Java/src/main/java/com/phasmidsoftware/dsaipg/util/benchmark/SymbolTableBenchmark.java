@@ -3,6 +3,7 @@
  */
 package com.phasmidsoftware.dsaipg.util.benchmark;
 
+import com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable.STMap;
 import com.phasmidsoftware.dsaipg.util.config.Config;
 import com.phasmidsoftware.dsaipg.util.general.Utilities;
 import com.phasmidsoftware.dsaipg.util.logging.LazyLogger;
@@ -121,6 +122,7 @@ public class SymbolTableBenchmark {
     private void runHashTableBenchmark(String[] words, int nWords, int nRuns, Random random) {
         Benchmark<String[]> benchmark = new Benchmark_Timer<>("hashTable", config, null, SymbolTableBenchmark::buildAndRenderHashTable, null);
         doPureBenchmark(words, nWords, nRuns, random, benchmark);
+        logFootprint(words, nWords, new HashMap<>());
     }
 
     /**
@@ -134,6 +136,20 @@ public class SymbolTableBenchmark {
     private void runRBTreeBenchmark(String[] words, int nWords, int nRuns, Random random) {
         Benchmark<String[]> benchmark = new Benchmark_Timer<>("RBTree", config, null, SymbolTableBenchmark::buildRBTree, null);
         doPureBenchmark(words, nWords, nRuns, random, benchmark);
+        logFootprint(words, nWords, new TreeMap<>());
+    }
+
+    /**
+     * Method to log the estimated memory footprint of a map built (in the same way as the benchmarks) from nWords words.
+     *
+     * @param words  the word source.
+     * @param nWords the number of words.
+     * @param map    an empty map.
+     */
+    private static void logFootprint(String[] words, int nWords, Map<String, Integer> map) {
+        STMap<String, Integer> st = new STMap<>(map);
+        for (int i = 0; i < nWords; i++) st.put(words[i % words.length], i);
+        logger.info("Footprint: " + st.stats());
     }
 
     /**
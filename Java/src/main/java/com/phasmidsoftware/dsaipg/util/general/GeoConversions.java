@@ -109,6 +109,27 @@ public class GeoConversions {
         public Position toPosition() {
             return getPosition(Zone, Letter, Easting, Northing);
         }
+
+        /**
+         * @return the easting, in meters.
+         */
+        public int getEasting() {
+            return Easting;
+        }
+
+        /**
+         * @return the northing, in meters.
+         */
+        public int getNorthing() {
+            return Northing;
+        }
+
+        /**
+         * @return the UTM zone number.
+         */
+        public int getZone() {
+            return Zone;
+        }
     }
 
     /**
@@ -122,7 +143,34 @@ public class GeoConversions {
      *         northing, zone, and hemisphere letter ('N' for northern hemisphere or 'S' for southern hemisphere).
      */
     public static UTM position2UTM(Position p) {
-        int zone = (int) Math.floor(p.longitude / DEG_ZONE + 31);
+        return position2UTM(p, zone(p.longitude));
+    }
+
+    /**
+     * Converts a geographic position into UTM coordinates in the given zone (rather than the zone of its own longitude).
+     * Projecting a set of nearby positions into one zone keeps their coordinates continuous even if they straddle
+     * a zone boundary (the distortion grows only slowly with the distance from the zone).
+     *
+     * @param p    the geographic position to be converted.
+     * @param zone the UTM zone (1 to 60) in which to express the position.
+     * @return a UTM object expressing the provided position in the given zone.
+     */
+    public static UTM position2UTM(Position p, int zone) {
+        double[] projection = project(p, zone);
+        boolean south = getLetter(p.latitude) < 'M';
+        return new UTM(round(projection[0]), round(south ? projection[1] + N_0 : projection[1]), zone, south ? 'S' : 'N');
+    }
+
+    /**
+     * Projects a geographic position into the given UTM zone, without rounding to whole meters.
+     * Unlike position2UTM, no false northing is added in the southern latitude bands: the northing is simply negative
+     * south of the equator, so that positions on either side of a band boundary remain close together.
+     *
+     * @param p    the geographic position to be projected.
+     * @param zone the UTM zone (1 to 60).
+     * @return an array of two elements: the easting and the (signed) northing, in meters.
+     */
+    public static double[] project(Position p, int zone) {
         double adjustedLon = adjustLongitude(p.longitude, zone);
         double radiansLat = p.latitude * DEG2RAD;
         double sineLong = Math.sin(adjustedLon);
@@ -134,12 +182,17 @@ public class GeoConversions {
         double easting = 0.5 * logValue * K_0 * RADIUS_P / Math.pow((1 + eConstantSqr * square(cosLat)), 0.5) * (1 + eConstantSqr / 2 * square(0.5 * Math.log((1 + cosLat * Math.sin(adjustLongitude(p.longitude, zone))) / (1 - product))) * square(cosLat) / 3) + E_0;
         double var4 = radiansLat + sineOfHalfDegrees(p.latitude) / 2;
         double northing = (Math.atan(Math.tan(radiansLat) / cosLong) - radiansLat) * K_0 * RADIUS_P / Math.sqrt(1 + N_constant * square(cosLat)) * (1 + N_constant / 2 * square(0.5 * logValue) * square(cosLat)) + K_0 * RADIUS_P * (radiansLat - N_constant_2 * var4 + N_constant3 * (3 * var4 + sineOfHalfDegrees(p.latitude) * square(cosLat)) / 4 - 1.674057895e-07 * (5 * (3 * var4 + sineOfHalfDegrees(p.latitude) * square(cosLat)) / 4 + sineOfHalfDegrees(p.latitude) * square(cosLat) * square(cosLat)) / 3);
-        char letter = 'N';
-        if (getLetter(p.latitude) < 'M') {
-            northing = northing + N_0;
-            letter = 'S';
-        }
-        return new UTM(round(easting), round(northing), zone, letter);
+        return new double[]{easting, northing};
+    }
+
+    /**
+     * Determines the UTM zone of a longitude.
+     *
+     * @param longitude a longitude in decimal degrees.
+     * @return the number of the UTM zone (1 to 60) which contains the longitude.
+     */
+    public static int zone(double longitude) {
+        return (int) Math.floor(longitude / DEG_ZONE + 31);
     }
 
     /**
@@ -4,6 +4,8 @@
 
 package com.phasmidsoftware.dsaipg.util.general;
 
+import com.phasmidsoftware.dsaipg.util.vector.Vectors;
+
 import java.util.Arrays;
 
 /**
@@ -16,6 +18,7 @@ public class Matrix {
      * Multiplies this matrix by another matrix, returning the resulting matrix.
      * The operation is only valid when the number of columns in this matrix
      * equals the number of rows in the other matrix.
+     * The product is computed by Vectors.multiply (blocked, and vectorized where possible).
      *
      * @param other the matrix to multiply with this matrix.
      * @return a new matrix resulting from the multiplication of this matrix by the other matrix.
@@ -23,14 +26,7 @@ public class Matrix {
      */
     public Matrix multiply(final Matrix other) {
         if (this.columns == other.rows) {
-            double[][] result = new double[rows][other.columns];
-            for (int i = 0; i < this.rows; i++) {
-                for (int j = 0; j < other.columns; j++) {
-                    double x = 0;
-                    for (int k = 0; k < this.columns; k++) x += this.values[i][k] * other.values[k][j];
-                    result[i][j] = x;
-                }
-            }
+            double[][] result = Vectors.multiply(values, other.values, columns, other.columns);
             return new Matrix(this.rows, other.columns, result);
         } else
             throw new RuntimeException("incompatible matrices");
@@ -4,6 +4,8 @@
 
 package com.phasmidsoftware.dsaipg.util.iteration;
 
+import com.phasmidsoftware.dsaipg.util.vector.Vectors;
+
 /**
  * A utility class that provides methods to perform operations involving arrays using iteration.
  * CONSIDER removing this class--it doesn't seem to do anything useful.
@@ -11,15 +13,13 @@ package com.phasmidsoftware.dsaipg.util.iteration;
 public class Iteration {
 
     /**
-     * Computes the sum of all elements in the given array.
+     * Computes the sum of all elements in the given array (vectorized, where possible, by Vectors).
      *
      * @param array the array of integers to be summed.
      * @return the total sum of the elements in the array.
      */
     public static int sum(int[] array) {
-        int result = 0;
-        for (int i : array) result += i;
-        return result;
+        return Vectors.sum(array);
     }
 
     public static void main(String[] args) {
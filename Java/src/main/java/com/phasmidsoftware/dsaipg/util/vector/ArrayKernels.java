@@ -0,0 +1,42 @@
+package com.phasmidsoftware.dsaipg.util.vector;
+
+/**
+ * The primitive array kernels which may be accelerated by SIMD instructions.
+ * Each operates on the elements from (inclusive) to to (exclusive) of its array(s).
+ * <p>
+ * There are two implementations: ScalarKernels (plain loops) and SimdKernels (using jdk.incubator.vector).
+ * Normally, these are not used directly: Vectors chooses the best implementation available at run time.
+ */
+public interface ArrayKernels {
+
+    /**
+     * @return the minimum of xs[from] through xs[to-1] (Integer.MAX_VALUE if the range is empty).
+     */
+    int min(int[] xs, int from, int to);
+
+    /**
+     * @return the maximum of xs[from] through xs[to-1] (Integer.MIN_VALUE if the range is empty).
+     */
+    int max(int[] xs, int from, int to);
+
+    /**
+     * @return the sum of xs[from] through xs[to-1], which (like int arithmetic) wraps around on overflow.
+     */
+    int sum(int[] xs, int from, int to);
+
+    /**
+     * @return true if xs[from] through xs[to-1] are in (non-decreasing) order.
+     */
+    boolean isSorted(int[] xs, int from, int to);
+
+    /**
+     * Merge the sorted ranges xs1[from1..to1) and xs2[from2..to2) into result, beginning at result[k].
+     * The merge is stable: of two equal elements, the one from xs1 comes first.
+     */
+    void merge(int[] xs1, int from1, int to1, int[] xs2, int from2, int to2, int[] result, int k);
+
+    /**
+     * @return the dot product of xs[xFrom..xFrom+n) and ys[yFrom..yFrom+n).
+     */
+    double dot(double[] xs, int xFrom, double[] ys, int yFrom, int n);
+}
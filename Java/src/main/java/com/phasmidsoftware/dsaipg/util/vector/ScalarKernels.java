@@ -0,0 +1,43 @@
+package com.phasmidsoftware.dsaipg.util.vector;
+
+/**
+ * The plain (scalar) implementation of ArrayKernels, which is used when the Vector API is unavailable.
+ */
+public class ScalarKernels implements ArrayKernels {
+
+    public int min(int[] xs, int from, int to) {
+        int result = Integer.MAX_VALUE;
+        for (int i = from; i < to; i++) if (xs[i] < result) result = xs[i];
+        return result;
+    }
+
+    public int max(int[] xs, int from, int to) {
+        int result = Integer.MIN_VALUE;
+        for (int i = from; i < to; i++) if (xs[i] > result) result = xs[i];
+        return result;
+    }
+
+    public int sum(int[] xs, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) result += xs[i];
+        return result;
+    }
+
+    public boolean isSorted(int[] xs, int from, int to) {
+        for (int i = from + 1; i < to; i++) if (xs[i - 1] > xs[i]) return false;
+        return true;
+    }
+
+    public void merge(int[] xs1, int from1, int to1, int[] xs2, int from2, int to2, int[] result, int k) {
+        int i = from1, j = from2;
+        while (i < to1 && j < to2) result[k++] = xs2[j] < xs1[i] ? xs2[j++] : xs1[i++];
+        System.arraycopy(xs1, i, result, k, to1 - i);
+        System.arraycopy(xs2, j, result, k + to1 - i, to2 - j);
+    }
+
+    public double dot(double[] xs, int xFrom, double[] ys, int yFrom, int n) {
+        double result = 0;
+        for (int i = 0; i < n; i++) result += xs[xFrom + i] * ys[yFrom + i];
+        return result;
+    }
+}
@@ -0,0 +1,114 @@
+package com.phasmidsoftware.dsaipg.util.vector;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The SIMD implementation of ArrayKernels, using the (incubating) Vector API with the preferred species,
+ * for example eight ints or four doubles per vector with AVX2.
+ * Each loop processes whole vectors and then finishes the remaining (fewer than one vector of) elements with scalar code.
+ * <p>
+ * NOTE: this class may only be loaded if the module jdk.incubator.vector has been added
+ * (with --add-modules jdk.incubator.vector): Vectors loads it reflectively and falls back to ScalarKernels otherwise.
+ * <p>
+ * The sum of doubles in dot is accumulated in a different order from that of ScalarKernels,
+ * so the results may differ in the last bits.
+ */
+final class SimdKernels implements ArrayKernels {
+
+    public int min(int[] xs, int from, int to) {
+        int i = from;
+        IntVector acc = IntVector.broadcast(INTS, Integer.MAX_VALUE);
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length())
+            acc = acc.min(IntVector.fromArray(INTS, xs, i));
+        int result = acc.reduceLanes(VectorOperators.MIN);
+        for (; i < to; i++) if (xs[i] < result) result = xs[i];
+        return result;
+    }
+
+    public int max(int[] xs, int from, int to) {
+        int i = from;
+        IntVector acc = IntVector.broadcast(INTS, Integer.MIN_VALUE);
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length())
+            acc = acc.max(IntVector.fromArray(INTS, xs, i));
+        int result = acc.reduceLanes(VectorOperators.MAX);
+        for (; i < to; i++) if (xs[i] > result) result = xs[i];
+        return result;
+    }
+
+    public int sum(int[] xs, int from, int to) {
+        int i = from;
+        IntVector acc = IntVector.zero(INTS);
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length())
+            acc = acc.add(IntVector.fromArray(INTS, xs, i));
+        int result = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < to; i++) result += xs[i];
+        return result;
+    }
+
+    /**
+     * Compare each vector of elements with the same vector shifted by one element.
+     */
+    public boolean isSorted(int[] xs, int from, int to) {
+        int i = from;
+        if (to - from > INTS.length())
+            for (int bound = from + INTS.loopBound(to - from - 1); i < bound; i += INTS.length())
+                if (IntVector.fromArray(INTS, xs, i).compare(VectorOperators.GT, IntVector.fromArray(INTS, xs, i + 1)).anyTrue())
+                    return false;
+        for (i = Math.max(i, from + 1); i < to; i++) if (xs[i - 1] > xs[i]) return false;
+        return true;
+    }
+
+    /**
+     * While both ranges have at least a vector of elements left, if the next vector of one range
+     * precedes the next element of the other range, then the whole vector is copied at once;
+     * otherwise, one vector's worth of elements are merged by (branch-free) scalar steps.
+     * Thus, the more the input consists of runs, the fewer scalar steps are required.
+     */
+    public void merge(int[] xs1, int from1, int to1, int[] xs2, int from2, int to2, int[] result, int k) {
+        int i = from1, j = from2, lanes = INTS.length();
+        while (to1 - i >= lanes && to2 - j >= lanes) {
+            if (xs1[i + lanes - 1] <= xs2[j]) {
+                IntVector.fromArray(INTS, xs1, i).intoArray(result, k);
+                i += lanes;
+                k += lanes;
+            } else if (xs2[j + lanes - 1] < xs1[i]) {
+                IntVector.fromArray(INTS, xs2, j).intoArray(result, k);
+                j += lanes;
+                k += lanes;
+            } else
+                for (int step = 0; step < lanes; step++) {
+                    int x = xs1[i], y = xs2[j];
+                    boolean second = y < x;
+                    result[k++] = second ? y : x;
+                    j += second ? 1 : 0;
+                    i += second ? 0 : 1;
+                }
+        }
+        while (i < to1 && j < to2) result[k++] = xs2[j] < xs1[i] ? xs2[j++] : xs1[i++];
+        System.arraycopy(xs1, i, result, k, to1 - i);
+        System.arraycopy(xs2, j, result, k + to1 - i, to2 - j);
+    }
+
+    public double dot(double[] xs, int xFrom, double[] ys, int yFrom, int n) {
+        int i = 0;
+        DoubleVector acc = DoubleVector.zero(DOUBLES);
+        for (int bound = DOUBLES.loopBound(n); i < bound; i += DOUBLES.length())
+            acc = DoubleVector.fromArray(DOUBLES, xs, xFrom + i).fma(DoubleVector.fromArray(DOUBLES, ys, yFrom + i), acc);
+        double result = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++) result += xs[xFrom + i] * ys[yFrom + i];
+        return result;
+    }
+
+    /**
+     * @return the number of int lanes in a vector.
+     */
+    static int intLanes() {
+        return INTS.length();
+    }
+
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+}
@@ -0,0 +1,174 @@
+package com.phasmidsoftware.dsaipg.util.vector;
+
+import java.util.stream.IntStream;
+
+/**
+ * Vectorized (SIMD) kernels for primitive arrays: min, max, sum, sortedness, merging, dot products and matrix products.
+ * <p>
+ * If the module jdk.incubator.vector is available (the JVM must be started with --add-modules jdk.incubator.vector),
+ * the kernels are implemented by SimdKernels; otherwise (or if the system property vector.disable is true)
+ * they fall back to ScalarKernels, so that callers need not care which is in use.
+ * The choice is made once, when this class is initialized.
+ */
+public final class Vectors {
+
+    /**
+     * @return true if the SIMD kernels are in use.
+     */
+    public static boolean isAccelerated() {
+        return !(kernels instanceof ScalarKernels);
+    }
+
+    /**
+     * @return the kernels in use.
+     */
+    public static ArrayKernels kernels() {
+        return kernels;
+    }
+
+    /**
+     * @param xs an array.
+     * @return the minimum element of xs (Integer.MAX_VALUE if xs is empty).
+     */
+    public static int min(int[] xs) {
+        return kernels.min(xs, 0, xs.length);
+    }
+
+    /**
+     * @param xs an array.
+     * @return the maximum element of xs (Integer.MIN_VALUE if xs is empty).
+     */
+    public static int max(int[] xs) {
+        return kernels.max(xs, 0, xs.length);
+    }
+
+    /**
+     * @param xs an array.
+     * @return the sum of the elements of xs (wrapping around on overflow, like int arithmetic).
+     */
+    public static int sum(int[] xs) {
+        return kernels.sum(xs, 0, xs.length);
+    }
+
+    /**
+     * @param xs an array.
+     * @return true if xs is in (non-decreasing) order.
+     */
+    public static boolean isSorted(int[] xs) {
+        return kernels.isSorted(xs, 0, xs.length);
+    }
+
+    /**
+     * Merge two sorted arrays (stably: of two equal elements, the one from xs1 comes first).
+     *
+     * @param xs1 a sorted array.
+     * @param xs2 another sorted array.
+     * @return a new sorted array containing all the elements of xs1 and xs2.
+     */
+    public static int[] merge(int[] xs1, int[] xs2) {
+        int[] result = new int[xs1.length + xs2.length];
+        kernels.merge(xs1, 0, xs1.length, xs2, 0, xs2.length, result, 0);
+        return result;
+    }
+
+    /**
+     * Merge two sorted arrays in parallel, by dividing the result into segments of (nearly) equal length.
+     * The elements of each segment are found by mergePath, so that the segments can be merged independently.
+     *
+     * @param xs1      a sorted array.
+     * @param xs2      another sorted array.
+     * @param segments the number of segments (typically the number of threads available).
+     * @return a new sorted array containing all the elements of xs1 and xs2.
+     */
+    public static int[] merge(int[] xs1, int[] xs2, int segments) {
+        if (segments < 1) throw new IllegalArgumentException("Vectors:merge: segments must be positive: " + segments);
+        int n = xs1.length + xs2.length;
+        int[] result = new int[n];
+        IntStream.range(0, segments).parallel().forEach(s -> {
+            int lo = (int) ((long) n * s / segments), hi = (int) ((long) n * (s + 1) / segments);
+            int i = mergePath(xs1, xs2, lo), j = mergePath(xs1, xs2, hi);
+            kernels.merge(xs1, i, j, xs2, lo - i, hi - j, result, lo);
+        });
+        return result;
+    }
+
+    /**
+     * Find where the merge path of xs1 and xs2 crosses a diagonal: that's to say,
+     * how many of the first d elements of the (stable) merge of xs1 and xs2 come from xs1.
+     * This takes O(log(min(d, n1))) time.
+     *
+     * @param xs1 a sorted array.
+     * @param xs2 another sorted array.
+     * @param d   the diagonal: a number between 0 and xs1.length + xs2.length.
+     * @return the number i such that the first d elements of the merge are xs1[0..i) and xs2[0..d-i).
+     */
+    public static int mergePath(int[] xs1, int[] xs2, int d) {
+        int lo = Math.max(0, d - xs2.length), hi = Math.min(d, xs1.length);
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (xs1[mid] <= xs2[d - mid - 1]) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * @param xs an array.
+     * @param ys an array of the same length.
+     * @return the dot product of xs and ys.
+     */
+    public static double dot(double[] xs, double[] ys) {
+        if (xs.length != ys.length)
+            throw new IllegalArgumentException("Vectors:dot: lengths differ: " + xs.length + ", " + ys.length);
+        return kernels.dot(xs, 0, ys, 0, xs.length);
+    }
+
+    /**
+     * Multiply an l x m matrix by an m x n matrix (each given as an array of rows).
+     * <p>
+     * b is first transposed, so that each element of the result is the dot product of two contiguous rows;
+     * the result is then computed in BLOCK x BLOCK tiles, so that the rows of a and of the transpose of b
+     * which are used by a tile stay in cache while the tile is computed.
+     *
+     * @param a the l x m matrix.
+     * @param b the m x n matrix.
+     * @param m the number of columns of a (and of rows of b).
+     * @param n the number of columns of b.
+     * @return the l x n product.
+     */
+    public static double[][] multiply(double[][] a, double[][] b, int m, int n) {
+        double[][] bt = new double[n][m];
+        for (int k = 0; k < m; k++) for (int j = 0; j < n; j++) bt[j][k] = b[k][j];
+        double[][] result = new double[a.length][n];
+        for (int i0 = 0; i0 < a.length; i0 += BLOCK)
+            for (int j0 = 0; j0 < n; j0 += BLOCK)
+                for (int i = i0, iMax = Math.min(i0 + BLOCK, a.length); i < iMax; i++)
+                    for (int j = j0, jMax = Math.min(j0 + BLOCK, n); j < jMax; j++)
+                        result[i][j] = kernels.dot(a[i], 0, bt[j], 0, m);
+        return result;
+    }
+
+    private static ArrayKernels loadKernels() {
+        if (!Boolean.getBoolean(DISABLE)) try {
+            return (ArrayKernels) Class.forName(Vectors.class.getPackageName() + ".SimdKernels").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // the module jdk.incubator.vector is not available: fall back to the scalar kernels.
+        }
+        return new ScalarKernels();
+    }
+
+    private Vectors() {
+    }
+
+    /**
+     * The name of the system property which, if true, disables the SIMD kernels.
+     */
+    public static final String DISABLE = "vector.disable";
+
+    /**
+     * The width (and height) of the tiles used by multiply.
+     */
+    private static final int BLOCK = 64;
+
+    private static final ArrayKernels kernels = loadKernels();
+}
@@ -0,0 +1,120 @@
+package com.phasmidsoftware.dsaipg.adt.bqs;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class ChunkedLazyListTest {
+
+    @Test
+    public void testIterate() {
+        ChunkedLazyList<Integer> list = ChunkedLazyList.iterate(1, x -> 2 * x);
+        assertEquals(Arrays.asList(1, 2, 4, 8, 16), list.take(5));
+        assertEquals(Integer.valueOf(1 << 20), list.get(20));
+        assertFalse(list.isIndexed());
+    }
+
+    @Test
+    public void testMemoization() {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+        ChunkedLazyList<Integer> list = ChunkedLazyList.iterate(0, x -> {
+            calls.incrementAndGet();
+            return x + 1;
+        });
+
+        // Act
+        List<Integer> first = list.take(1000);
+        int evaluations = calls.get();
+        List<Integer> second = list.take(1000);
+
+        // Assert
+        assertEquals(first, second);
+        assertEquals(evaluations, calls.get());
+        assertEquals(4 * ChunkedLazyList.CHUNK, list.evaluated());
+        assertEquals(list.evaluated() - 1, evaluations);
+    }
+
+    @Test
+    public void testFinite() {
+        ChunkedLazyList<String> list = ChunkedLazyList.from(Arrays.asList("a", "b", "c").iterator());
+        assertEquals(Arrays.asList("a", "b", "c"), list.take(10));
+        assertTrue(list.isDefinedAt(2));
+        assertFalse(list.isDefinedAt(3));
+        assertEquals("abc", list.stream().collect(Collectors.joining()));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGet() {
+        ChunkedLazyList.tabulate(10, i -> i).get(10);
+    }
+
+    @Test
+    public void testTakeWhile() {
+        ChunkedLazyList<Integer> list = ChunkedLazyList.from(1);
+        assertEquals(Arrays.asList(1, 2, 3), list.takeWhile(t -> t <= 3));
+    }
+
+    @Test
+    public void testMapAndFilter() {
+        ChunkedLazyList<Integer> from1 = ChunkedLazyList.from(1);
+        ChunkedLazyList<Integer> even = from1.map(x -> x * 2);
+        assertTrue(even.isIndexed());
+        assertEquals(Arrays.asList(2, 4, 6), even.take(3));
+        ChunkedLazyList<Integer> odd = ChunkedLazyList.iterate(1, x -> x + 1).filter(x -> x % 2 == 1);
+        assertEquals(Arrays.asList(1, 3, 5), odd.take(3));
+        assertEquals(Arrays.asList(10, 30, 50), odd.map(x -> 10 * x).take(3));
+        assertEquals(Integer.valueOf(2001), odd.get(1000));
+    }
+
+    @Test
+    public void testStream() {
+        // Arrange
+        ChunkedLazyList<Long> squares = ChunkedLazyList.tabulate(100_000, i -> i * i);
+        ChunkedLazyList<Long> infinite = ChunkedLazyList.tabulate(i -> i * i);
+        ChunkedLazyList<Long> sequential = ChunkedLazyList.iterate(0L, x -> x + 1).map(i -> i * i);
+
+        // Act
+        long expected = squares.stream().mapToLong(x -> x).sum();
+
+        // Assert
+        assertEquals(expected, squares.parallelStream().mapToLong(x -> x).sum());
+        assertEquals(expected, infinite.parallelStream().limit(100_000).mapToLong(x -> x).sum());
+        assertEquals(expected, sequential.parallelStream().limit(100_000).mapToLong(x -> x).sum());
+        assertEquals(squares.take(100_000), sequential.take(100_000));
+    }
+
+    @Test
+    public void testParallelMaterialize() {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+        ChunkedLazyList<Integer> list = ChunkedLazyList.tabulate(5000, i -> {
+            calls.incrementAndGet();
+            return (int) i;
+        });
+        list.take(10);
+
+        // Act
+        list.parallelMaterialize(10_000);
+
+        // Assert
+        assertEquals(5000, list.evaluated());
+        assertEquals(5000, calls.get());
+        assertEquals(Integer.valueOf(4999), list.get(4999));
+        assertFalse(list.isDefinedAt(5000));
+        assertEquals(5000, calls.get());
+        assertEquals(5000, list.stream().count());
+    }
+
+    @Test
+    public void testParallelMaterializeSequential() {
+        ChunkedLazyList<Integer> list = ChunkedLazyList.iterate(0, x -> x + 1).parallelMaterialize(1000);
+        assertEquals(4 * ChunkedLazyList.CHUNK, list.evaluated());
+        assertEquals(Integer.valueOf(999), list.get(999));
+    }
+}
@@ -0,0 +1,57 @@
+package com.phasmidsoftware.dsaipg.adt.bqs;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class IntBagTest {
+
+    @Test
+    public void testAdd() {
+        // Arrange
+        IntBag bag = new IntBag();
+        int n = 2 * IntChunkedArray.CHUNK + 7;
+
+        // Act
+        for (int i = 0; i < n; i++) bag.add(i % 10);
+
+        // Assert
+        assertEquals(n, bag.size());
+        assertTrue(bag.contains(9));
+        assertFalse(bag.contains(10));
+        assertEquals(n / 10 + 1, bag.multiplicity(0));
+        assertEquals(n / 10, bag.multiplicity(9));
+        assertEquals(3, bag.get(IntChunkedArray.CHUNK + 3 - IntChunkedArray.CHUNK % 10));
+        AtomicLong sum = new AtomicLong();
+        bag.forEach(sum::addAndGet);
+        long expected = 0;
+        for (int x : bag.toArray()) expected += x;
+        assertEquals(expected, sum.get());
+    }
+
+    @Test
+    public void testClear() {
+        // Arrange
+        IntBag bag = new IntBag();
+        bag.add(1);
+        bag.add(2);
+
+        // Act
+        bag.clear();
+        bag.add(3);
+
+        // Assert
+        assertEquals(1, bag.size());
+        assertFalse(bag.contains(1));
+        assertEquals("IntBag[3]", bag.toString());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGet() {
+        IntBag bag = new IntBag();
+        bag.add(1);
+        bag.get(1);
+    }
+}
@@ -0,0 +1,68 @@
+package com.phasmidsoftware.dsaipg.adt.bqs;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class IntQueueTest {
+
+    @Test
+    public void testOfferPoll() throws BQSException {
+        // Arrange
+        IntQueue queue = new IntQueue();
+        int n = 5000;
+
+        // Act
+        for (int i = 0; i < n; i++) queue.offer(i);
+
+        // Assert
+        assertEquals(n, queue.size());
+        assertEquals(0, queue.peek());
+        for (int i = 0; i < n; i++) assertEquals(i, queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test(expected = BQSException.class)
+    public void testPollEmpty() throws BQSException {
+        new IntQueue().poll();
+    }
+
+    @Test
+    public void testInterleaved() throws BQSException {
+        // Arrange: a random mixture of offers and polls, so that the queue grows while the head is mid-chunk.
+        IntQueue queue = new IntQueue();
+        ArrayDeque<Integer> expected = new ArrayDeque<>();
+        Random random = new Random(0L);
+
+        // Act and Assert
+        for (int i = 0; i < 100_000; i++)
+            if (expected.isEmpty() || random.nextInt(5) < 3) {
+                queue.offer(i);
+                expected.add(i);
+            } else assertEquals(expected.remove().intValue(), queue.poll());
+        assertEquals(expected.size(), queue.size());
+        int[] values = queue.toArray();
+        for (int value : values) assertEquals(expected.remove().intValue(), value);
+    }
+
+    @Test
+    public void testClearReusesChunks() throws BQSException {
+        // Arrange
+        IntQueue queue = new IntQueue();
+        for (int i = 0; i < 4000; i++) queue.offer(i);
+        for (int i = 0; i < 1000; i++) queue.poll();
+        int chunks = queue.chunks();
+
+        // Act
+        queue.clear();
+        for (int i = 0; i < 4000; i++) queue.offer(-i);
+
+        // Assert
+        assertEquals(chunks, queue.chunks());
+        assertEquals(0, queue.poll());
+        assertEquals(-1, queue.peek());
+    }
+}
@@ -0,0 +1,47 @@
+package com.phasmidsoftware.dsaipg.adt.bqs;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class IntStackTest {
+
+    @Test
+    public void testPushPop() throws BQSException {
+        // Arrange
+        IntStack stack = new IntStack();
+        int n = 5000;
+
+        // Act
+        for (int i = 0; i < n; i++) stack.push(i);
+
+        // Assert
+        assertEquals(n, stack.size());
+        assertEquals(n - 1, stack.peek());
+        for (int i = n - 1; i >= 0; i--) assertEquals(i, stack.pop());
+        assertTrue(stack.isEmpty());
+    }
+
+    @Test(expected = BQSException.class)
+    public void testPopEmpty() throws BQSException {
+        new IntStack().pop();
+    }
+
+    @Test
+    public void testClearReusesChunks() throws BQSException {
+        // Arrange
+        IntStack stack = new IntStack();
+        for (int i = 0; i < 3 * IntChunkedArray.CHUNK; i++) stack.push(i);
+        int chunks = stack.chunks();
+
+        // Act
+        stack.clear();
+        for (int i = 0; i < 3 * IntChunkedArray.CHUNK; i++) stack.push(-i);
+
+        // Assert
+        assertEquals(3, chunks);
+        assertEquals(chunks, stack.chunks());
+        assertEquals(1 - 3 * IntChunkedArray.CHUNK, stack.pop());
+        assertArrayEquals(new int[]{0, -1, -2}, java.util.Arrays.copyOf(stack.toArray(), 3));
+    }
+}
@@ -3,8 +3,10 @@ package com.phasmidsoftware.dsaipg.adt.bqs;
 import org.junit.Test;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 public class LazyListTest {
 
@@ -65,4 +67,18 @@ public class LazyListTest {
         assertEquals(Integer.valueOf(2), list.get(1));
         assertEquals(Integer.valueOf(3), list.get(2));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testMemoization() {
+        AtomicInteger calls = new AtomicInteger();
+        LazyList<Integer> lazyList = LazyList.iterate(1, x -> {
+            calls.incrementAndGet();
+            return x + 1;
+        });
+        List<Integer> first = lazyList.take(10);
+        int evaluations = calls.get();
+        assertEquals(first, lazyList.take(10));
+        assertEquals(evaluations, calls.get());
+        assertSame(lazyList.tailFunction.get(), lazyList.tailFunction.get());
+    }
+}
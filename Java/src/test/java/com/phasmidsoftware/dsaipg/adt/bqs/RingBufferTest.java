@@ -0,0 +1,168 @@
+package com.phasmidsoftware.dsaipg.adt.bqs;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.IntFunction;
+
+import static org.junit.Assert.*;
+
+public class RingBufferTest {
+
+    @Test
+    public void testSequential() {
+        for (IntFunction<RingBuffer<Integer>> f : FACTORIES) {
+            // Arrange
+            RingBuffer<Integer> queue = f.apply(4);
+
+            // Act and Assert
+            assertTrue(queue.isEmpty());
+            assertNull(queue.poll());
+            for (int i = 0; i < 4; i++) assertTrue(queue.tryOffer(i));
+            assertFalse(queue.tryOffer(4));
+            assertEquals(4, queue.size());
+            Iterator<Integer> iterator = queue.iterator();
+            for (int i = 0; i < 4; i++) assertEquals(Integer.valueOf(i), iterator.next());
+            assertEquals(Integer.valueOf(0), queue.poll());
+            queue.offer(4);
+            for (int i = 1; i < 5; i++) assertEquals(Integer.valueOf(i), queue.poll());
+            assertTrue(queue.isEmpty());
+            assertNull(queue.poll());
+        }
+    }
+
+    @Test
+    public void testBatches() {
+        for (IntFunction<RingBuffer<Integer>> f : FACTORIES) {
+            // Arrange
+            RingBuffer<Integer> queue = f.apply(8);
+            Integer[] items = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+            List<Integer> result = new ArrayList<>();
+
+            // Act and Assert
+            assertEquals(3, queue.offerBatch(items, 0, 3));
+            assertEquals(5, queue.offerBatch(items, 3, 10));
+            assertEquals(0, queue.offerBatch(items, 8, 10));
+            assertEquals(2, queue.drainTo(result::add, 2));
+            assertEquals(2, queue.offerBatch(items, 8, 10));
+            assertEquals(8, queue.drainTo(result::add, 100));
+            assertEquals(0, queue.drainTo(result::add, 100));
+            for (int i = 0; i < 10; i++) assertEquals(Integer.valueOf(i), result.get(i));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCapacityNotPowerOfTwo() {
+        new RingBuffer_MPMC<Integer>(10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNull() {
+        new RingBuffer_SPSC<Integer>(2).tryOffer(null);
+    }
+
+    @Test
+    public void testSPSCHandoff() throws Exception {
+        // Arrange
+        RingBuffer<Integer> queue = new RingBuffer_SPSC<>(64);
+        int n = 200_000;
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // Act
+        Future<?> producer = executor.submit(() -> {
+            Integer[] batch = new Integer[7];
+            for (int i = 0; i < n; ) {
+                if (i % 3 == 0) queue.offer(i++);
+                else {
+                    int k = Math.min(batch.length, n - i);
+                    for (int j = 0; j < k; j++) batch[j] = i + j;
+                    int sent = 0;
+                    while ((sent += queue.offerBatch(batch, sent, k)) < k) Thread.yield();
+                    i += k;
+                }
+            }
+        });
+        Future<List<Integer>> consumer = executor.submit(() -> {
+            List<Integer> result = new ArrayList<>(n);
+            while (result.size() < n) {
+                Integer x = result.size() % 2 == 0 ? queue.poll() : null;
+                if (x != null) result.add(x);
+                else if (queue.drainTo(result::add, 5) == 0) Thread.yield();
+            }
+            return result;
+        });
+        producer.get(30, TimeUnit.SECONDS);
+        List<Integer> result = consumer.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Assert
+        for (int i = 0; i < n; i++) assertEquals(i, result.get(i).intValue());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testMPMCHandoff() throws Exception {
+        // Arrange
+        RingBuffer<Integer> queue = new RingBuffer_MPMC<>(32);
+        int producers = 3, consumers = 3, n = 60_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers + consumers);
+        ConcurrentLinkedQueue<Integer> received = new ConcurrentLinkedQueue<>();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int p = 0; p < producers; p++) {
+            int from = p * n;
+            futures.add(executor.submit(() -> {
+                Integer[] batch = new Integer[4];
+                for (int i = from; i < from + n; ) {
+                    if (i % 2 == 0) queue.offer(i++);
+                    else {
+                        int k = Math.min(batch.length, from + n - i);
+                        for (int j = 0; j < k; j++) batch[j] = i + j;
+                        int sent = 0;
+                        while ((sent += queue.offerBatch(batch, sent, k)) < k) Thread.yield();
+                        i += k;
+                    }
+                }
+            }));
+        }
+        for (int c = 0; c < consumers; c++)
+            futures.add(executor.submit(() -> {
+                List<Integer> mine = new ArrayList<>();
+                while (mine.size() < n) {
+                    int k = queue.drainTo(mine::add, Math.min(3, n - mine.size()));
+                    if (k == 0) {
+                        Integer x = queue.poll();
+                        if (x != null) mine.add(x);
+                        else Thread.yield();
+                    }
+                }
+                // Each producer's items must arrive in order (within this consumer).
+                int[] last = new int[producers];
+                java.util.Arrays.fill(last, -1);
+                for (Integer x : mine) {
+                    assertTrue(x > last[x / n]);
+                    last[x / n] = x;
+                }
+                received.addAll(mine);
+            }));
+        for (Future<?> future : futures) future.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Assert
+        List<Integer> result = new ArrayList<>(received);
+        result.sort(Integer::compare);
+        assertEquals(producers * n, result.size());
+        for (int i = 0; i < producers * n; i++) assertEquals(i, result.get(i).intValue());
+        assertTrue(queue.isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static final IntFunction<RingBuffer<Integer>>[] FACTORIES = new IntFunction[]{
+            (IntFunction<RingBuffer<Integer>>) RingBuffer_SPSC::new,
+            (IntFunction<RingBuffer<Integer>>) RingBuffer_MPMC::new
+    };
+}
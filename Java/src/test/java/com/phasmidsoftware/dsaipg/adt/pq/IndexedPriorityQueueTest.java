@@ -0,0 +1,144 @@
+package com.phasmidsoftware.dsaipg.adt.pq;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class IndexedPriorityQueueTest {
+
+    @Test
+    public void testInsertDelMin() {
+        // Arrange
+        IndexedPriorityQueue<String> pq = new IndexedPriorityQueue<>();
+
+        // Act
+        pq.insert("c", 3);
+        pq.insert("a", 1);
+        pq.insert("d", 4);
+        pq.insert("b", 2);
+
+        // Assert
+        assertEquals(4, pq.size());
+        assertTrue(pq.contains("d"));
+        assertFalse(pq.contains("e"));
+        assertEquals("a", pq.minKey());
+        assertEquals(1.0, pq.minPriority(), 0);
+        assertEquals(4.0, pq.priorityOf("d"), 0);
+        assertEquals("a", pq.delMin());
+        assertEquals("b", pq.delMin());
+        assertEquals("c", pq.delMin());
+        assertEquals("d", pq.delMin());
+        assertTrue(pq.isEmpty());
+        assertFalse(pq.contains("a"));
+    }
+
+    @Test
+    public void testChangeKeys() {
+        // Arrange
+        IndexedPriorityQueue<String> pq = new IndexedPriorityQueue<>(2);
+        for (String s : new String[]{"a", "b", "c", "d", "e"}) pq.insert(s, s.charAt(0));
+
+        // Act
+        pq.decreaseKey("e", 0);
+        pq.increaseKey("a", 200);
+        pq.changeKey("c", 300);
+        pq.delete("b");
+
+        // Assert
+        assertFalse(pq.insertOrDecrease("d", 150));
+        assertTrue(pq.insertOrDecrease("d", 50));
+        assertTrue(pq.insertOrDecrease("b", 250));
+        List<String> result = new ArrayList<>();
+        while (!pq.isEmpty()) result.add(pq.delMin());
+        assertEquals(Arrays.asList("e", "d", "a", "b", "c"), result);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecreaseKeyInvalid() {
+        IndexedPriorityQueue<String> pq = new IndexedPriorityQueue<>();
+        pq.insert("a", 1);
+        pq.decreaseKey("a", 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInsertTwice() {
+        IndexedPriorityQueue<String> pq = new IndexedPriorityQueue<>();
+        pq.insert("a", 1);
+        pq.insert("a", 2);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testDeleteAbsent() {
+        new IndexedPriorityQueue<String>().delete("a");
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testDelMinEmpty() {
+        new IndexedPriorityQueue<String>().delMin();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNumberedOutOfRange() {
+        new IndexedPriorityQueue<Integer>(4, 10, x -> x).insert(10, 0);
+    }
+
+    @Test
+    public void testRandom() {
+        // Arrange: compare against a simple model for both kinds of slot lookup and several arities.
+        for (int d : new int[]{2, 4, 8}) {
+            Random random = new Random(d);
+            int n = 500;
+            IndexedPriorityQueue<Integer> mapped = new IndexedPriorityQueue<>(d);
+            IndexedPriorityQueue<Integer> numbered = new IndexedPriorityQueue<>(d, n, x -> x);
+            Map<Integer, Double> model = new HashMap<>();
+
+            // Act and Assert
+            for (int i = 0; i < 20_000; i++) {
+                int key = random.nextInt(n);
+                double p = random.nextInt(1000);
+                switch (random.nextInt(4)) {
+                    case 0:
+                        if (model.containsKey(key)) {
+                            mapped.changeKey(key, p);
+                            numbered.changeKey(key, p);
+                        } else {
+                            mapped.insert(key, p);
+                            numbered.insert(key, p);
+                        }
+                        model.put(key, p);
+                        break;
+                    case 1:
+                        boolean changed = !model.containsKey(key) || p < model.get(key);
+                        assertEquals(changed, mapped.insertOrDecrease(key, p));
+                        assertEquals(changed, numbered.insertOrDecrease(key, p));
+                        if (changed) model.put(key, p);
+                        break;
+                    case 2:
+                        if (model.containsKey(key)) {
+                            mapped.delete(key);
+                            numbered.delete(key);
+                            model.remove(key);
+                        }
+                        break;
+                    default:
+                        if (!model.isEmpty()) {
+                            double min = Collections.min(model.values());
+                            assertEquals(min, mapped.minPriority(), 0);
+                            assertEquals(min, numbered.minPriority(), 0);
+                            Integer x = mapped.delMin();
+                            assertEquals(min, model.remove(x), 0);
+                            numbered.delete(x);
+                        }
+                }
+                assertEquals(model.size(), mapped.size());
+                assertEquals(model.size(), numbered.size());
+            }
+            mapped.clear();
+            numbered.clear();
+            assertTrue(mapped.isEmpty());
+            assertFalse(numbered.contains(0));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.phasmidsoftware.dsaipg.adt.pq;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class IntPriorityQueueTest {
+
+    @Test
+    public void testGiveTake() throws PQException {
+        for (int d : new int[]{2, 4, 8, 16})
+            for (boolean floyd : new boolean[]{false, true}) {
+                // Arrange
+                IntPriorityQueue pq = new IntPriorityQueue(1, d, true, floyd);
+                int[] xs = new Random(d).ints(5000, -1000, 1000).toArray();
+
+                // Act
+                for (int x : xs) pq.give(x);
+
+                // Assert
+                assertEquals(5000, pq.size());
+                Arrays.sort(xs);
+                for (int i = xs.length - 1; i >= 0; i--) assertEquals(xs[i], pq.take());
+                assertTrue(pq.isEmpty());
+            }
+    }
+
+    @Test
+    public void testInterleaved() throws PQException {
+        // Arrange
+        IntPriorityQueue pq = new IntPriorityQueue(16, 4, false, false);
+        java.util.PriorityQueue<Integer> expected = new java.util.PriorityQueue<>();
+        Random random = new Random(0L);
+
+        // Act and Assert
+        for (int i = 0; i < 20000; i++) {
+            if (pq.isEmpty() || random.nextBoolean()) {
+                int x = random.nextInt();
+                pq.give(x);
+                expected.add(x);
+            } else assertEquals(expected.poll().intValue(), pq.take());
+            if (!pq.isEmpty()) assertEquals(expected.peek().intValue(), pq.peek());
+        }
+        pq.clear();
+        assertTrue(pq.isEmpty());
+    }
+
+    @Test
+    public void testHeapConstruction() throws PQException {
+        int[] xs = {5, 3, 9, 1, 7, 3, 8};
+        IntPriorityQueue pq = new IntPriorityQueue(xs, 4, false);
+        int[] result = new int[xs.length];
+        for (int i = 0; i < xs.length; i++) result[i] = pq.take();
+        assertArrayEquals(new int[]{1, 3, 3, 5, 7, 8, 9}, result);
+        assertEquals(5, xs[0]);
+    }
+
+    @Test(expected = PQException.class)
+    public void testTakeEmpty() throws PQException {
+        new IntPriorityQueue(4, 8, false, true).take();
+    }
+}
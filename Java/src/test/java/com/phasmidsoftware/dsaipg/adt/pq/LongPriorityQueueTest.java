@@ -0,0 +1,38 @@
+package com.phasmidsoftware.dsaipg.adt.pq;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class LongPriorityQueueTest {
+
+    @Test
+    public void testGiveTake() throws PQException {
+        for (boolean floyd : new boolean[]{false, true}) {
+            // Arrange
+            LongPriorityQueue pq = new LongPriorityQueue(1, 8, false, floyd);
+            long[] xs = new Random(0L).longs(5000).toArray();
+
+            // Act
+            for (long x : xs) pq.give(x);
+
+            // Assert
+            Arrays.sort(xs);
+            for (long x : xs) assertEquals(x, pq.take());
+            assertTrue(pq.isEmpty());
+        }
+    }
+
+    @Test
+    public void testHeapConstruction() throws PQException {
+        LongPriorityQueue pq = new LongPriorityQueue(new long[]{5L << 40, 3, 9L << 40, 1}, 2, true);
+        assertEquals(9L << 40, pq.peek());
+        assertEquals(9L << 40, pq.take());
+        assertEquals(5L << 40, pq.take());
+        assertEquals(3, pq.take());
+        assertEquals(1, pq.take());
+    }
+}
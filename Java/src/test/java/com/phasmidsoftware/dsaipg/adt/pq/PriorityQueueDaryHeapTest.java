@@ -0,0 +1,104 @@
+package com.phasmidsoftware.dsaipg.adt.pq;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class PriorityQueueDaryHeapTest {
+
+    @Test
+    public void testGiveTake() throws PQException {
+        for (int d : new int[]{2, 4, 8})
+            for (boolean floyd : new boolean[]{false, true}) {
+                // Arrange
+                PriorityQueue<Integer> pq = new PriorityQueue_DaryHeap<>(1000, d, false, Integer::compare, floyd);
+                Random random = new Random(d);
+                List<Integer> expected = new ArrayList<>();
+
+                // Act
+                for (int i = 0; i < 1000; i++) {
+                    int x = random.nextInt(500);
+                    pq.give(x);
+                    expected.add(x);
+                }
+
+                // Assert
+                assertEquals(1000, pq.size());
+                expected.sort(Integer::compare);
+                for (Integer x : expected) assertEquals(x, pq.take());
+                assertTrue(pq.isEmpty());
+            }
+    }
+
+    @Test
+    public void testMaxInterleaved() throws PQException {
+        // Arrange
+        PriorityQueue<Integer> pq = new PriorityQueue_DaryHeap<>(10000, 4, true, Integer::compare, true);
+        java.util.PriorityQueue<Integer> expected = new java.util.PriorityQueue<>((x, y) -> Integer.compare(y, x));
+        Random random = new Random(0L);
+
+        // Act and Assert
+        for (int i = 0; i < 10000; i++) {
+            if (pq.isEmpty() || random.nextInt(3) > 0) {
+                int x = random.nextInt();
+                pq.give(x);
+                expected.add(x);
+            } else assertEquals(expected.poll(), pq.take());
+            assertEquals(expected.peek(), pq.peek(0));
+        }
+    }
+
+    @Test
+    public void testHeapConstructor() throws PQException {
+        // Arrange
+        List<String> words = Arrays.asList("the", "quick", "brown", "fox", "jumps", "over", "the", "lazy", "dog");
+        PriorityQueue<String> pq = new PriorityQueue_DaryHeap<>(words, 8, false, String::compareTo);
+
+        // Act
+        List<String> result = new ArrayList<>();
+        while (!pq.isEmpty()) result.add(pq.take());
+
+        // Assert
+        List<String> expected = new ArrayList<>(words);
+        expected.sort(String::compareTo);
+        assertEquals(expected, result);
+    }
+
+    @Test
+    public void testGiveWhenFull() throws PQException {
+        PriorityQueue<Integer> pq = new PriorityQueue_DaryHeap<>(2, 4, true, Integer::compare, false);
+        pq.give(1);
+        pq.give(2);
+        pq.give(3);
+        assertEquals(2, pq.size());
+        assertEquals(Integer.valueOf(3), pq.take());
+    }
+
+    @Test(expected = PQException.class)
+    public void testTakeEmpty() throws PQException {
+        new PriorityQueue_DaryHeap<Integer>(2, 4, true, Integer::compare, false).take();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadArity() {
+        new PriorityQueue_DaryHeap<Integer>(2, 3, true, Integer::compare, false);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroCapacity() {
+        new PriorityQueue_DaryHeap<Integer>(0, 4, true, Integer::compare, false);
+    }
+
+    @Test
+    public void testEmptyCollection() throws PQException {
+        PriorityQueue<Integer> pq = new PriorityQueue_DaryHeap<>(new ArrayList<>(), 4, false, Integer::compare);
+        pq.give(1);
+        assertEquals(1, pq.size());
+        assertEquals(Integer.valueOf(1), pq.take());
+    }
+}
@@ -0,0 +1,99 @@
+package com.phasmidsoftware.dsaipg.adt.pq;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+public class PriorityQueueMultiQueueTest {
+
+    @Test
+    public void testStrict() throws PQException {
+        // Arrange
+        PriorityQueue<Integer> pq = new PriorityQueue_MultiQueue<>(4, 2, false, Integer::compare, true);
+        List<Integer> xs = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) xs.add(i);
+        Collections.shuffle(xs);
+
+        // Act
+        for (Integer x : xs) pq.give(x);
+
+        // Assert
+        assertEquals(1000, pq.size());
+        assertEquals(Integer.valueOf(0), pq.peek(0));
+        for (int i = 0; i < 1000; i++) assertEquals(Integer.valueOf(i), pq.take());
+        assertTrue(pq.isEmpty());
+    }
+
+    @Test
+    public void testRelaxed() throws PQException {
+        // Arrange
+        PriorityQueue_MultiQueue<Integer> pq = new PriorityQueue_MultiQueue<>(4, 2, true, Integer::compare, false);
+        for (int i = 0; i < 10000; i++) pq.give(i);
+
+        // Act
+        List<Integer> result = new ArrayList<>();
+        long rankError = 0;
+        while (!pq.isEmpty()) {
+            int x = pq.take();
+            result.add(x);
+            rankError += 10000 - result.size() - x;
+        }
+
+        // Assert
+        assertEquals(8, pq.getQueues());
+        assertEquals(10000, result.size());
+        // The elements come out almost (but not exactly) in order.
+        assertTrue((double) Math.abs(rankError) / result.size() < 100);
+        Collections.sort(result);
+        for (int i = 0; i < 10000; i++) assertEquals(Integer.valueOf(i), result.get(i));
+    }
+
+    @Test
+    public void testConcurrentProducersAndConsumers() throws Exception {
+        for (boolean strict : new boolean[]{true, false}) {
+            // Arrange
+            int threads = 4, n = 20000;
+            PriorityQueue<Integer> pq = new PriorityQueue_MultiQueue<>(threads, 2, false, Integer::compare, strict);
+            ExecutorService executor = Executors.newFixedThreadPool(2 * threads);
+            ConcurrentLinkedQueue<Integer> taken = new ConcurrentLinkedQueue<>();
+            List<Future<?>> futures = new ArrayList<>();
+
+            // Act
+            for (int t = 0; t < threads; t++) {
+                int from = t * n;
+                futures.add(executor.submit(() -> {
+                    for (int i = from; i < from + n; i++) pq.give(i);
+                }));
+                futures.add(executor.submit(() -> {
+                    int count = 0;
+                    while (count < n)
+                        try {
+                            taken.add(pq.take());
+                            count++;
+                        } catch (PQException e) {
+                            Thread.yield();
+                        }
+                }));
+            }
+            for (Future<?> future : futures) future.get(30, TimeUnit.SECONDS);
+            executor.shutdown();
+
+            // Assert
+            List<Integer> result = new ArrayList<>(taken);
+            Collections.sort(result);
+            assertEquals(threads * n, result.size());
+            for (int i = 0; i < threads * n; i++) assertEquals(Integer.valueOf(i), result.get(i));
+            assertTrue(pq.isEmpty());
+        }
+    }
+
+    @Test(expected = PQException.class)
+    public void testTakeEmpty() throws PQException {
+        new PriorityQueue_MultiQueue<Integer>(false, Integer::compare, false).take();
+    }
+}
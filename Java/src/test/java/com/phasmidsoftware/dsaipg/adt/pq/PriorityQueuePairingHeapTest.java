@@ -0,0 +1,114 @@
+package com.phasmidsoftware.dsaipg.adt.pq;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+public class PriorityQueuePairingHeapTest {
+
+    @Test
+    public void testGiveTake() throws PQException {
+        // Arrange
+        PriorityQueue<Integer> pq = new PriorityQueue_PairingHeap<>(Integer::compare);
+        Random random = new Random(0L);
+        List<Integer> expected = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 10000; i++) {
+            int x = random.nextInt(1000);
+            pq.give(x);
+            expected.add(x);
+        }
+
+        // Assert
+        assertEquals(10000, pq.size());
+        expected.sort(Integer::compare);
+        for (Integer x : expected) assertEquals(x, pq.take());
+        assertTrue(pq.isEmpty());
+    }
+
+    @Test
+    public void testMax() throws PQException {
+        PriorityQueue<String> pq = new PriorityQueue_PairingHeap<>(true, String::compareTo);
+        for (String s : new String[]{"B", "D", "A", "C"}) pq.give(s);
+        assertEquals("D", pq.peek(0));
+        assertEquals("D", pq.take());
+        assertEquals("C", pq.take());
+        assertEquals("B", pq.take());
+        assertEquals("A", pq.take());
+    }
+
+    @Test
+    public void testDecreaseKeyAndRemove() throws PQException {
+        // Arrange
+        PriorityQueue_PairingHeap<Integer> pq = new PriorityQueue_PairingHeap<>(Integer::compare);
+        Random random = new Random(1L);
+        List<PriorityQueue_PairingHeap.Handle<Integer>> handles = new ArrayList<>();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+
+        // Act
+        for (int i = 0; i < 2000; i++) {
+            int x = 10 * (i + 1000);
+            handles.add(pq.insert(x));
+            expected.merge(x, 1, Integer::sum);
+        }
+        for (int i = 0; i < 2000; i++) {
+            PriorityQueue_PairingHeap.Handle<Integer> handle = handles.get(random.nextInt(handles.size()));
+            if (!handle.isValid()) continue;
+            int old = handle.getKey();
+            expected.merge(old, -1, Integer::sum);
+            if (random.nextBoolean()) {
+                int x = old - random.nextInt(10000);
+                pq.decreaseKey(handle, x);
+                expected.merge(x, 1, Integer::sum);
+            } else assertEquals(Integer.valueOf(old), pq.remove(handle));
+            if (i % 10 == 0) {
+                Integer min = pq.take();
+                expected.merge(min, -1, Integer::sum);
+            }
+        }
+
+        // Assert
+        expected.values().removeIf(count -> count == 0);
+        List<Integer> remaining = new ArrayList<>();
+        expected.forEach((k, count) -> {
+            for (int j = 0; j < count; j++) remaining.add(k);
+        });
+        assertEquals(remaining.size(), pq.size());
+        for (Integer x : remaining) assertEquals(x, pq.take());
+    }
+
+    @Test
+    public void testMerge() throws PQException {
+        PriorityQueue_PairingHeap<Integer> a = new PriorityQueue_PairingHeap<>(Integer::compare);
+        PriorityQueue_PairingHeap<Integer> b = new PriorityQueue_PairingHeap<>(Integer::compare);
+        for (int i = 0; i < 10; i += 2) a.give(i);
+        PriorityQueue_PairingHeap.Handle<Integer> handle = b.insert(99);
+        for (int i = 1; i < 10; i += 2) b.give(i);
+        a.merge(b);
+        assertTrue(b.isEmpty());
+        assertEquals(11, a.size());
+        a.decreaseKey(handle, -1);
+        assertEquals(Integer.valueOf(-1), a.take());
+        for (int i = 0; i < 10; i++) assertEquals(Integer.valueOf(i), a.take());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecreaseKeyWrongWay() {
+        PriorityQueue_PairingHeap<Integer> pq = new PriorityQueue_PairingHeap<>(Integer::compare);
+        pq.decreaseKey(pq.insert(5), 6);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidHandle() throws PQException {
+        PriorityQueue_PairingHeap<Integer> pq = new PriorityQueue_PairingHeap<>(Integer::compare);
+        PriorityQueue_PairingHeap.Handle<Integer> handle = pq.insert(5);
+        pq.take();
+        pq.remove(handle);
+    }
+}
@@ -0,0 +1,58 @@
+package com.phasmidsoftware.dsaipg.adt.pq;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class PriorityQueueRadixHeapTest {
+
+    @Test
+    public void testHoldModel() throws PQException {
+        // Arrange
+        PriorityQueue<Long> pq = new PriorityQueue_RadixHeap<>(Long::longValue);
+        java.util.PriorityQueue<Long> expected = new java.util.PriorityQueue<>();
+        Random random = new Random(0L);
+        for (int i = 0; i < 1000; i++) {
+            long x = random.nextInt(1000);
+            pq.give(x);
+            expected.add(x);
+        }
+
+        // Act and Assert
+        for (int i = 0; i < 100000; i++) {
+            long t = pq.take();
+            assertEquals(expected.poll().longValue(), t);
+            long x = t + (random.nextBoolean() ? 0 : random.nextInt(1 << random.nextInt(31)));
+            pq.give(x);
+            expected.add(x);
+        }
+        assertEquals(1000, pq.size());
+        while (!expected.isEmpty()) assertEquals(expected.poll(), pq.take());
+        assertTrue(pq.isEmpty());
+    }
+
+    @Test
+    public void testElements() throws PQException {
+        PriorityQueue_RadixHeap<String> pq = new PriorityQueue_RadixHeap<>(String::length);
+        for (String s : new String[]{"three", "a", "to", "four", "x"}) pq.give(s);
+        assertEquals(1, pq.take().length());
+        assertEquals(1, pq.take().length());
+        assertEquals(1, pq.getLast());
+        assertEquals("to", pq.take());
+        pq.give("ab");
+        assertEquals("ab", pq.take());
+        assertEquals("four", pq.take());
+        assertEquals("three", pq.take());
+        assertFalse(pq.getMax());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotMonotone() throws PQException {
+        PriorityQueue<Long> pq = new PriorityQueue_RadixHeap<>(Long::longValue);
+        pq.give(10L);
+        pq.take();
+        pq.give(9L);
+    }
+}
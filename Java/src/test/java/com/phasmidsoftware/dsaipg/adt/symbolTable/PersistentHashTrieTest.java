@@ -0,0 +1,173 @@
+package com.phasmidsoftware.dsaipg.adt.symbolTable;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class PersistentHashTrieTest {
+
+    @Test
+    public void testEmpty() {
+        PersistentHashTrie<String, Integer> trie = PersistentHashTrie.empty();
+        assertTrue(trie.isEmpty());
+        assertNull(trie.get("X"));
+        assertSame(trie, trie.delete("X"));
+        assertTrue(trie.keys().isEmpty());
+    }
+
+    @Test
+    public void testPutIsPersistent() {
+        // Arrange
+        PersistentHashTrie<String, Integer> v0 = PersistentHashTrie.empty();
+
+        // Act
+        PersistentHashTrie<String, Integer> v1 = v0.put("X", 42);
+        PersistentHashTrie<String, Integer> v2 = v1.put("Y", 99);
+        PersistentHashTrie<String, Integer> v3 = v2.put("X", 0);
+        PersistentHashTrie<String, Integer> v4 = v3.delete("Y");
+
+        // Assert
+        assertEquals(0, v0.size());
+        assertEquals(1, v1.size());
+        assertEquals(Integer.valueOf(42), v1.get("X"));
+        assertNull(v1.get("Y"));
+        assertEquals(2, v2.size());
+        assertEquals(Integer.valueOf(42), v2.get("X"));
+        assertEquals(Integer.valueOf(99), v2.get("Y"));
+        assertEquals(2, v3.size());
+        assertEquals(Integer.valueOf(0), v3.get("X"));
+        assertEquals(1, v4.size());
+        assertNull(v4.get("Y"));
+        assertEquals(Integer.valueOf(99), v3.get("Y"));
+        assertSame(v3, v3.put("X", 0));
+    }
+
+    @Test
+    public void testRandomVersionsAgainstHashMap() {
+        // Arrange
+        Random random = new Random(0L);
+        PersistentHashTrie<Integer, Integer> trie = PersistentHashTrie.empty();
+        Map<Integer, Integer> expected = new HashMap<>();
+        PersistentHashTrie<Integer, Integer> snapshot = null;
+        Map<Integer, Integer> expectedSnapshot = null;
+
+        // Act
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(3000);
+            if (random.nextInt(3) == 0) {
+                trie = trie.delete(key);
+                expected.remove(key);
+            } else {
+                trie = trie.put(key, i);
+                expected.put(key, i);
+            }
+            if (i == 10000) {
+                snapshot = trie;
+                expectedSnapshot = new HashMap<>(expected);
+            }
+        }
+
+        // Assert
+        assertEquals(expected.size(), trie.size());
+        assertEquals(expected.keySet(), trie.keys());
+        for (int key = 0; key < 3000; key++) assertEquals(expected.get(key), trie.get(key));
+        assertEquals(expectedSnapshot.size(), snapshot.size());
+        for (int key = 0; key < 3000; key++) assertEquals(expectedSnapshot.get(key), snapshot.get(key));
+    }
+
+    @Test
+    public void testCollisions() {
+        // Arrange
+        PersistentHashTrie<Colliding, String> trie = PersistentHashTrie.empty();
+
+        // Act
+        for (int i = 0; i < 10; i++) trie = trie.put(new Colliding(i, i % 2), "v" + i);
+        PersistentHashTrie<Colliding, String> deleted = trie.delete(new Colliding(4, 0));
+
+        // Assert
+        assertEquals(10, trie.size());
+        for (int i = 0; i < 10; i++) assertEquals("v" + i, trie.get(new Colliding(i, i % 2)));
+        assertEquals(9, deleted.size());
+        assertNull(deleted.get(new Colliding(4, 0)));
+        assertEquals("v4", trie.get(new Colliding(4, 0)));
+        assertEquals("v6", deleted.get(new Colliding(6, 0)));
+    }
+
+    @Test
+    public void testTransient() {
+        // Arrange
+        PersistentHashTrie<Integer, Integer> original = PersistentHashTrie.<Integer, Integer>empty().put(-1, -1);
+        PersistentHashTrie.Transient<Integer, Integer> batch = original.asTransient();
+
+        // Act
+        for (int i = 0; i < 10000; i++) assertNull(batch.put(i, i));
+        assertEquals(Integer.valueOf(5), batch.put(5, 55));
+        assertEquals(Integer.valueOf(-1), batch.delete(-1));
+        for (int i = 0; i < 10000; i += 2) assertEquals(i == 4 ? 4 : i, batch.delete(i).intValue());
+        PersistentHashTrie<Integer, Integer> result = batch.persistent();
+
+        // Assert
+        assertEquals(1, original.size());
+        assertEquals(Integer.valueOf(-1), original.get(-1));
+        assertNull(original.get(1));
+        assertEquals(5000, result.size());
+        for (int i = 0; i < 10000; i++) assertEquals(i % 2 == 0 ? null : i == 5 ? 55 : i, result.get(i));
+        PersistentHashTrie<Integer, Integer> next = result.put(1, 0);
+        assertEquals(Integer.valueOf(1), result.get(1));
+        assertEquals(Integer.valueOf(0), next.get(1));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testTransientAfterPersistent() {
+        PersistentHashTrie.Transient<Integer, Integer> batch = PersistentHashTrie.<Integer, Integer>empty().asTransient();
+        batch.put(1, 1);
+        batch.persistent();
+        batch.put(2, 2);
+    }
+
+    @Test
+    public void testSnapshotSymbolTable() {
+        // Arrange
+        SnapshotSymbolTable<String, Integer> table = new SnapshotSymbolTable<>();
+        table.put("X", 1);
+        PersistentHashTrie<String, Integer> snapshot = table.snapshot();
+
+        // Act
+        assertEquals(Integer.valueOf(1), table.put("X", 2));
+        table.update(st -> {
+            st.put("Y", 3);
+            st.delete("X");
+        });
+
+        // Assert
+        assertEquals(Integer.valueOf(1), snapshot.get("X"));
+        assertEquals(1, snapshot.size());
+        assertNull(table.get("X"));
+        assertEquals(Integer.valueOf(3), table.get("Y"));
+        assertEquals(1, table.size());
+    }
+
+    private static class Colliding {
+        Colliding(int id, int hash) {
+            this.id = id;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Colliding that && id == that.id;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        private final int id;
+        private final int hash;
+    }
+}
@@ -0,0 +1,139 @@
+package com.phasmidsoftware.dsaipg.adt.symbolTable;
+
+import com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable.HashTable_LP;
+import com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable.HashTable_SC;
+import com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable.STMap;
+import com.phasmidsoftware.dsaipg.adt.symbolTable.skiplist.LockFreeSkipList;
+import com.phasmidsoftware.dsaipg.adt.symbolTable.tree.BPlusTree;
+import com.phasmidsoftware.dsaipg.adt.symbolTable.tree.BSTSimple;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+public class SymbolTableStatsTest {
+
+    @Test
+    public void testObjectBytes() {
+        assertEquals(16, SymbolTableStats.objectBytes(0, 0, 0));
+        assertEquals(16, SymbolTableStats.objectBytes(1, 0, 0));
+        assertEquals(24, SymbolTableStats.objectBytes(2, 0, 0));
+        assertEquals(32, SymbolTableStats.objectBytes(4, 1, 0));
+        assertEquals(16, SymbolTableStats.referenceArrayBytes(0));
+        assertEquals(56, SymbolTableStats.referenceArrayBytes(10));
+        assertEquals(24, SymbolTableStats.intArrayBytes(2));
+    }
+
+    @Test
+    public void testSizeOf() {
+        assertEquals(0, SymbolTableStats.sizeOf(null));
+        assertEquals(16, SymbolTableStats.sizeOf(42));
+        assertEquals(24, SymbolTableStats.sizeOf(42L));
+        assertEquals(24 + 24, SymbolTableStats.sizeOf("Hello"));
+        assertEquals(24 + 32, SymbolTableStats.sizeOf("αβγδεζη"));
+    }
+
+    @Test
+    public void testHistogram() {
+        // Arrange
+        SymbolTableStats stats = new SymbolTableStats("test", 4, "depth");
+
+        // Act
+        stats.record(0).record(1).record(1).record(20);
+
+        // Assert
+        int[] histogram = stats.getHistogram();
+        assertEquals(21, histogram.length);
+        assertEquals(1, histogram[0]);
+        assertEquals(2, histogram[1]);
+        assertEquals(1, histogram[20]);
+        assertEquals(5.5, stats.histogramMean(), 1E-9);
+    }
+
+    @Test
+    public void testBSTSimple() {
+        // Arrange
+        BSTSimple<Integer, Integer> bst = new BSTSimple<>();
+        for (int k : new int[]{4, 2, 6, 1, 3, 5, 7}) bst.put(k, k);
+
+        // Act
+        SymbolTableStats stats = bst.stats();
+
+        // Assert
+        assertEquals(7, stats.getEntries());
+        assertArrayEquals(new int[]{1, 2, 4}, stats.getHistogram());
+        assertEquals(7 * SymbolTableStats.objectBytes(5, 2, 0), stats.getNodeBytes());
+        assertEquals(14 * 16, stats.getBoxedBytes());
+        assertTrue(stats.getTotalBytes() > stats.getNodeBytes());
+    }
+
+    @Test
+    public void testHashTableSC() {
+        // Arrange
+        HashTable_SC<String, Integer> table = new HashTable_SC<>(16);
+        for (int i = 0; i < 40; i++) table.put("k" + i, i);
+
+        // Act
+        SymbolTableStats stats = table.stats();
+
+        // Assert
+        assertEquals(40, stats.getEntries());
+        assertEquals(2.5, stats.getLoadFactor(), 1E-9);
+        assertEquals(40, Arrays.stream(stats.getHistogram()).sum());
+        assertEquals(SymbolTableStats.referenceArrayBytes(16), stats.getArrayBytes());
+        assertTrue(stats.histogramMean() >= 1);
+    }
+
+    @Test
+    public void testHashTableLP() {
+        // Arrange
+        HashTable_LP<Integer, Integer> table = new HashTable_LP<>(32);
+        for (int i = 0; i < 20; i++) table.put(i, i);
+
+        // Act
+        SymbolTableStats stats = table.stats();
+
+        // Assert
+        assertEquals(20, stats.getEntries());
+        assertEquals(20.0 / 32, stats.getLoadFactor(), 1E-9);
+        assertEquals(20, Arrays.stream(stats.getHistogram()).sum());
+        assertEquals(0, stats.getHistogram()[0]);
+    }
+
+    @Test
+    public void testOtherSymbolTables() {
+        // Arrange
+        Integer[] keys = new Integer[1000];
+        for (int i = 0; i < keys.length; i++) keys[i] = i;
+        BPlusTree<Integer, Integer> bPlusTree = BPlusTree.bulkLoad(keys, keys);
+        LockFreeSkipList<Integer, Integer> skipList = new LockFreeSkipList<>();
+        PersistentHashTrie<Integer, Integer> trie = PersistentHashTrie.empty();
+        STMap<Integer, Integer> hashMap = new STMap<>();
+        STMap<Integer, Integer> treeMap = new STMap<>(new TreeMap<>());
+        Map<Integer, Integer> map = new HashMap<>();
+        for (Integer key : keys) {
+            map.put(key, key);
+            skipList.put(key, key);
+            trie = trie.put(key, key);
+            hashMap.put(key, key);
+            treeMap.put(key, key);
+        }
+
+        // Act and Assert
+        for (SymbolTableStats stats : new SymbolTableStats[]{bPlusTree.stats(), skipList.stats(), trie.stats(), hashMap.stats(), treeMap.stats()}) {
+            assertEquals(stats.getDescription(), 1000, stats.getEntries());
+            assertEquals(stats.getDescription(), 1000 * 32, stats.getBoxedBytes());
+            assertTrue(stats.getDescription(), stats.overheadPerEntry() > 4);
+            assertTrue(stats.getDescription(), stats.overheadPerEntry() < 200);
+        }
+        assertEquals(1000, Arrays.stream(bPlusTree.stats().getHistogram()).sum());
+        assertEquals(1000, Arrays.stream(skipList.stats().getHistogram()).sum());
+        assertEquals(1000, Arrays.stream(trie.stats().getHistogram()).sum());
+        assertEquals(1000.0 / 2048, hashMap.stats().getLoadFactor(), 1E-9);
+        assertTrue(bPlusTree.stats().overheadPerEntry() < new BSTSimple<>(map).stats().overheadPerEntry());
+    }
+}
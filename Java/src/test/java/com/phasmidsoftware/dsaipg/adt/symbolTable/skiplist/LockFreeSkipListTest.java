@@ -0,0 +1,146 @@
+package com.phasmidsoftware.dsaipg.adt.symbolTable.skiplist;
+
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+public class LockFreeSkipListTest {
+
+    @Test
+    public void testPutGetDelete() {
+        LockFreeSkipList<String, Integer> list = new LockFreeSkipList<>();
+        assertTrue(list.isEmpty());
+        assertNull(list.put("X", 42));
+        assertEquals(Integer.valueOf(42), list.put("X", 99));
+        assertEquals(Integer.valueOf(99), list.get("X"));
+        assertNull(list.get("Y"));
+        assertEquals(1, list.size());
+        assertEquals(Integer.valueOf(99), list.delete("X"));
+        assertNull(list.delete("X"));
+        assertNull(list.get("X"));
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    public void testNullValue() {
+        LockFreeSkipList<String, Integer> list = new LockFreeSkipList<>();
+        assertNull(list.put("X", null));
+        assertEquals(1, list.size());
+        assertNull(list.put("X", 1));
+        assertEquals(Integer.valueOf(1), list.get("X"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadProbability() {
+        new LockFreeSkipList<String, Integer>(1.0);
+    }
+
+    @Test
+    public void testRandomAgainstTreeMap() {
+        // Arrange
+        Random random = new Random(0L);
+        LockFreeSkipList<Integer, Integer> list = new LockFreeSkipList<>(0.25);
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+
+        // Act and Assert
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(2000);
+            if (random.nextInt(3) == 0) assertEquals(expected.remove(key), list.delete(key));
+            else assertEquals(expected.put(key, i), list.put(key, i));
+        }
+        assertEquals(expected.size(), list.size());
+        assertEquals(expected.keySet(), list.keySet());
+        assertEquals(expected.firstKey(), list.min());
+        assertEquals(expected.lastKey(), list.max());
+        for (int key = -1; key <= 2000; key++) {
+            assertEquals(expected.get(key), list.get(key));
+            assertEquals(expected.floorKey(key), list.floor(key));
+            assertEquals(expected.ceilingKey(key), list.ceiling(key));
+        }
+        List<Integer> range = new ArrayList<>();
+        for (Integer key : list.keys(500, 1500)) range.add(key);
+        assertEquals(new ArrayList<>(expected.subMap(500, true, 1500, true).keySet()), range);
+    }
+
+    @Test
+    public void testEmpty() {
+        LockFreeSkipList<Integer, Integer> list = new LockFreeSkipList<>();
+        assertNull(list.min());
+        assertNull(list.max());
+        assertNull(list.floor(1));
+        assertNull(list.ceiling(1));
+        assertFalse(list.keys(0, 10).iterator().hasNext());
+    }
+
+    @Test
+    public void testConcurrentPutsAndDeletes() throws Exception {
+        // Arrange
+        final int threads = 8;
+        final int perThread = 5000;
+        LockFreeSkipList<Integer, Integer> list = new LockFreeSkipList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Callable<Void>> tasks = new ArrayList<>();
+        // Each thread inserts its own keys and then deletes the odd ones; meanwhile, all threads read all keys.
+        for (int t = 0; t < threads; t++) {
+            final int offset = t;
+            tasks.add(() -> {
+                for (int i = 0; i < perThread; i++) list.put(i * threads + offset, offset);
+                for (int i = 0; i < perThread; i++) {
+                    list.get(ThreadLocalRandom.current().nextInt(threads * perThread));
+                    if (i % 2 == 1) assertEquals(Integer.valueOf(offset), list.delete(i * threads + offset));
+                }
+                return null;
+            });
+        }
+
+        // Act
+        for (Future<Void> future : executor.invokeAll(tasks)) future.get();
+        executor.shutdown();
+
+        // Assert
+        assertEquals(threads * perThread / 2, list.size());
+        int expected = 0;
+        for (Integer key : list.keys(0, threads * perThread)) {
+            assertEquals(0, (key / threads) % 2);
+            expected++;
+        }
+        assertEquals(threads * perThread / 2, expected);
+    }
+
+    @Test
+    public void testConcurrentContendedKeys() throws Exception {
+        // Arrange
+        final int threads = 8;
+        LockFreeSkipList<Integer, Integer> list = new LockFreeSkipList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Callable<int[]>> tasks = new ArrayList<>();
+        // All threads put and delete a small range of keys, counting their own successful insertions and deletions.
+        for (int t = 0; t < threads; t++)
+            tasks.add(() -> {
+                int[] result = new int[2];
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 20000; i++) {
+                    int key = random.nextInt(64);
+                    if (random.nextBoolean()) {
+                        if (list.put(key, 1) == null) result[0]++;
+                    } else if (list.delete(key) != null) result[1]++;
+                }
+                return result;
+            });
+
+        // Act
+        int inserted = 0, deleted = 0;
+        for (Future<int[]> future : executor.invokeAll(tasks)) {
+            inserted += future.get()[0];
+            deleted += future.get()[1];
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(inserted - deleted, list.size());
+        assertEquals(list.size(), list.keySet().size());
+    }
+}
@@ -0,0 +1,149 @@
+package com.phasmidsoftware.dsaipg.adt.symbolTable.tree;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class BPlusTreeTest {
+
+    @Test
+    public void testPutAndGet() {
+        // Arrange
+        BPlusTree<Integer, String> tree = new BPlusTree<>(4);
+
+        // Act
+        for (int i = 0; i < 100; i++) assertNull(tree.put(i, Integer.toString(i)));
+
+        // Assert
+        assertEquals(100, tree.size());
+        for (int i = 0; i < 100; i++) assertEquals(Integer.toString(i), tree.get(i));
+        assertNull(tree.get(100));
+        assertTrue(tree.height() > 2);
+    }
+
+    @Test
+    public void testPutReplacesValue() {
+        BPlusTree<String, Integer> tree = new BPlusTree<>();
+        assertNull(tree.put("X", 42));
+        assertEquals(Integer.valueOf(42), tree.put("X", 99));
+        assertEquals(Integer.valueOf(99), tree.get("X"));
+        assertEquals(1, tree.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPutNullKey() {
+        new BPlusTree<String, Integer>().put(null, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFanoutTooSmall() {
+        new BPlusTree<String, Integer>(3);
+    }
+
+    @Test
+    public void testRandomAgainstTreeMap() {
+        // Arrange
+        Random random = new Random(0L);
+        BPlusTree<Integer, Integer> tree = new BPlusTree<>(5);
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+
+        // Act and Assert
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(2000);
+            if (random.nextInt(3) == 0) assertEquals(expected.remove(key), tree.delete(key));
+            else assertEquals(expected.put(key, i), tree.put(key, i));
+        }
+        assertEquals(expected.size(), tree.size());
+        assertEquals(expected.keySet(), tree.keySet());
+        for (int key = -1; key <= 2000; key++) {
+            assertEquals(expected.get(key), tree.get(key));
+            assertEquals(expected.floorKey(key), tree.floor(key));
+            assertEquals(expected.ceilingKey(key), tree.ceiling(key));
+            assertEquals(expected.headMap(key).size(), tree.rank(key));
+        }
+        int rank = 0;
+        for (Integer key : expected.keySet()) assertEquals(key, tree.select(rank++));
+    }
+
+    @Test
+    public void testDeleteAll() {
+        // Arrange
+        BPlusTree<Integer, Integer> tree = new BPlusTree<>(4);
+        for (int i = 0; i < 1000; i++) tree.put(i, i);
+
+        // Act
+        for (int i = 0; i < 1000; i++) assertEquals(Integer.valueOf(i), tree.delete(i));
+
+        // Assert
+        assertTrue(tree.isEmpty());
+        assertEquals(1, tree.height());
+        assertNull(tree.min());
+        assertNull(tree.max());
+        assertNull(tree.delete(0));
+        tree.put(7, 7);
+        assertEquals(Integer.valueOf(7), tree.get(7));
+    }
+
+    @Test
+    public void testBulkLoad() {
+        // Arrange
+        Integer[] keys = new Integer[1000];
+        String[] values = new String[1000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = 2 * i;
+            values[i] = Integer.toString(2 * i);
+        }
+
+        // Act
+        BPlusTree<Integer, String> tree = BPlusTree.bulkLoad(keys, values, 8);
+
+        // Assert
+        assertEquals(1000, tree.size());
+        assertEquals(4, tree.height());
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(values[i], tree.get(keys[i]));
+            assertNull(tree.get(keys[i] + 1));
+            assertEquals(keys[i], tree.select(i));
+        }
+        assertEquals(Integer.valueOf(0), tree.min());
+        assertEquals(Integer.valueOf(1998), tree.max());
+        tree.put(1, "1");
+        assertEquals("1", tree.get(1));
+        assertEquals(1001, tree.size());
+    }
+
+    @Test
+    public void testBulkLoadEmpty() {
+        BPlusTree<Integer, String> tree = BPlusTree.bulkLoad(new Integer[0], null);
+        assertTrue(tree.isEmpty());
+        assertNull(tree.get(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBulkLoadUnsorted() {
+        BPlusTree.bulkLoad(new Integer[]{1, 3, 2}, null);
+    }
+
+    @Test
+    public void testKeysInRange() {
+        // Arrange
+        Integer[] keys = new Integer[50];
+        for (int i = 0; i < keys.length; i++) keys[i] = 2 * i;
+        BPlusTree<Integer, String> tree = BPlusTree.bulkLoad(keys, null, 4);
+
+        // Act
+        List<Integer> result = new ArrayList<>();
+        for (Integer k : tree.keys(11, 21)) result.add(k);
+
+        // Assert
+        assertEquals(Arrays.asList(12, 14, 16, 18, 20), result);
+        assertEquals(5, tree.rangeCount(11, 21));
+        assertEquals(6, tree.rangeCount(10, 20));
+        assertFalse(tree.keys(99, 200).iterator().hasNext());
+        Iterator<Integer> iterator = tree.keys(-10, 200).iterator();
+        for (Integer key : keys) assertEquals(key, iterator.next());
+        assertFalse(iterator.hasNext());
+    }
+}
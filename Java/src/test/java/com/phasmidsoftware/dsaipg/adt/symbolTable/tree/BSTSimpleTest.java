@@ -441,4 +441,105 @@ public class BSTSimpleTest {
         // Assert
         assertEquals(0, bst.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testMinMax() {
+        // Arrange
+        BSTSimple<Integer, String> bst = new BSTSimple<>();
+        assertNull(bst.min());
+        assertNull(bst.max());
+
+        // Act
+        bst.put(10, "Ten");
+        bst.put(5, "Five");
+        bst.put(15, "Fifteen");
+        bst.put(12, "Twelve");
+
+        // Assert
+        assertEquals(Integer.valueOf(5), bst.min());
+        assertEquals(Integer.valueOf(15), bst.max());
+    }
+
+    @Test
+    public void testFloorAndCeiling() {
+        // Arrange
+        BSTSimple<Integer, String> bst = new BSTSimple<>();
+        bst.put(10, "Ten");
+        bst.put(5, "Five");
+        bst.put(15, "Fifteen");
+        bst.put(12, "Twelve");
+        bst.put(20, "Twenty");
+
+        // Assert
+        assertEquals(Integer.valueOf(10), bst.floor(11));
+        assertEquals(Integer.valueOf(12), bst.floor(12));
+        assertEquals(Integer.valueOf(20), bst.floor(99));
+        assertNull(bst.floor(4));
+        assertEquals(Integer.valueOf(12), bst.ceiling(11));
+        assertEquals(Integer.valueOf(5), bst.ceiling(5));
+        assertEquals(Integer.valueOf(5), bst.ceiling(0));
+        assertNull(bst.ceiling(21));
+    }
+
+    @Test
+    public void testRankAndSelect() {
+        // Arrange
+        BSTSimple<Integer, String> bst = new BSTSimple<>();
+        Map<Integer, String> testMap = new HashMap<>();
+        for (int i = 0; i < 100; i += 2) testMap.put(i, Integer.toString(i));
+        bst.putAll(testMap);
+
+        // Assert
+        for (int i = 0; i < 50; i++) {
+            assertEquals(Integer.valueOf(2 * i), bst.select(i));
+            assertEquals(i, bst.rank(2 * i));
+            assertEquals(i + 1, bst.rank(2 * i + 1));
+        }
+        assertEquals(0, bst.rank(-1));
+        assertEquals(50, bst.rank(1000));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSelectOutOfRange() {
+        BSTSimple<Integer, String> bst = new BSTSimple<>();
+        bst.put(10, "Ten");
+        bst.select(1);
+    }
+
+    @Test
+    public void testRangeCount() {
+        // Arrange
+        BSTSimple<Integer, String> bst = new BSTSimple<>();
+        Map<Integer, String> testMap = new HashMap<>();
+        for (int i = 0; i < 100; i += 2) testMap.put(i, Integer.toString(i));
+        bst.putAll(testMap);
+
+        // Assert
+        assertEquals(6, bst.rangeCount(10, 20));
+        assertEquals(5, bst.rangeCount(11, 20));
+        assertEquals(5, bst.rangeCount(11, 21));
+        assertEquals(50, bst.rangeCount(-100, 100));
+        assertEquals(0, bst.rangeCount(20, 10));
+        assertEquals(0, bst.rangeCount(101, 200));
+    }
+
+    @Test
+    public void testKeysInRange() {
+        // Arrange
+        BSTSimple<Integer, String> bst = new BSTSimple<>();
+        Map<Integer, String> testMap = new HashMap<>();
+        for (int i = 0; i < 100; i += 2) testMap.put(i, Integer.toString(i));
+        bst.putAll(testMap);
+
+        // Act
+        List<Integer> keys = new ArrayList<>();
+        for (Integer k : bst.keys(11, 21)) keys.add(k);
+
+        // Assert
+        assertEquals(Arrays.asList(12, 14, 16, 18, 20), keys);
+        assertFalse(bst.keys(200, 300).iterator().hasNext());
+        Iterator<Integer> iterator = bst.keys(0, 98).iterator();
+        for (int i = 0; i < 100; i += 2) assertEquals(Integer.valueOf(i), iterator.next());
+        assertFalse(iterator.hasNext());
+    }
+}
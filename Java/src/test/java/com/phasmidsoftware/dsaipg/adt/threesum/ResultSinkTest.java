@@ -0,0 +1,175 @@
+package com.phasmidsoftware.dsaipg.adt.threesum;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+public class ResultSinkTest {
+
+    @Test
+    public void testCountSink() {
+        int[] ints = new int[]{30, -40, -20, -10, 40, 0, 10, 5};
+        CountSink cubic = new CountSink();
+        new ThreeSumCubic(ints).solve(cubic);
+        assertEquals(4, cubic.getCount());
+        CountSink parallel = new CountSink();
+        new ThreeSumParallel(ints).solve(parallel);
+        assertEquals(4, parallel.getCount());
+    }
+
+    @Test
+    public void testFirstKSink() {
+        int[] ints = new int[]{30, -40, -20, -10, 40, 0, 10, 5};
+        FirstKSink sink = new FirstKSink(2);
+        new ThreeSumCubic(ints).solve(sink);
+        assertTrue(sink.isSatisfied());
+        // the search stops as soon as the sink is satisfied.
+        assertEquals(2, sink.getSeen());
+        assertArrayEquals(new Triple[]{new Triple(-40, 0, 40), new Triple(-40, 10, 30)}, sink.getTriples());
+    }
+
+    @Test
+    public void testDuplicates() {
+        // each distinct solution is passed once, however many times its values occur.
+        int[] ints = new int[]{-10, 10, 0, 10, -10, 0, 0, 20, -20, 10};
+        int[] sorted = Arrays.copyOf(ints, ints.length);
+        Arrays.sort(sorted);
+        Triple[] expected = new ThreeSumCubic(sorted).getTriples();
+        assertEquals(5, expected.length);
+        CountSink cubic = new CountSink();
+        new ThreeSumCubic(ints).solve(cubic);
+        assertEquals(expected.length, cubic.getCount());
+        CountSink parallel = new CountSink();
+        new ThreeSumParallel(ints).solve(parallel);
+        assertEquals(expected.length, parallel.getCount());
+        FirstKSink triples = new FirstKSink(10);
+        new ThreeSumCubic(ints).solve(triples);
+        assertArrayEquals(expected, triples.getTriples());
+        Pair[] pairs = new TwoSumQuadratic(sorted).getPairs();
+        assertEquals(3, pairs.length);
+        CountSink quadratic = new CountSink();
+        new TwoSumQuadratic(ints).solve(quadratic);
+        assertEquals(pairs.length, quadratic.getCount());
+        CountSink hash = new CountSink();
+        new TwoSumHash(ints).solve(hash);
+        assertEquals(pairs.length, hash.getCount());
+        FirstKSink first = new FirstKSink(10);
+        new TwoSumQuadratic(ints).solve(first);
+        assertArrayEquals(pairs, first.getPairs());
+    }
+
+    @Test
+    public void testFirstKSinkNotSatisfied() {
+        int[] ints = new int[]{30, -40, -20, -10, 40, 0, 10, 5};
+        FirstKSink sink = new FirstKSink(10);
+        new ThreeSumParallel(ints).solve(sink);
+        assertFalse(sink.isSatisfied());
+        assertEquals(4, sink.size());
+        Triple[] triples = sink.getTriples();
+        Arrays.sort(triples);
+        assertArrayEquals(new ThreeSumParallel(ints).getTriples(), triples);
+    }
+
+    @Test
+    public void testFirstKSinkParallel() {
+        Supplier<int[]> intsSupplier = new Source(1000, 1000, 7L).intsSupplier(10);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        ThreeSumParallel target = new ThreeSumParallel(intsSupplier.get(), pool);
+        Set<Triple> all = new HashSet<>(Arrays.asList(target.getTriples()));
+        FirstKSink sink = new FirstKSink(5);
+        target.solve(sink);
+        assertTrue(sink.isSatisfied());
+        assertEquals(5, sink.size());
+        for (Triple t : sink.getTriples()) assertTrue(all.contains(t));
+        pool.shutdown();
+    }
+
+    @Test
+    public void testReservoirSink() {
+        ReservoirSink sink = new ReservoirSink(3, new Random(0L));
+        for (int i = 0; i < 100; i++) sink.acceptTriple(-i, i, 0);
+        assertFalse(sink.isSatisfied());
+        assertEquals(100, sink.getSeen());
+        assertEquals(3, sink.size());
+        Set<Triple> distinct = new HashSet<>(Arrays.asList(sink.getTriples()));
+        assertEquals(3, distinct.size());
+        for (Triple t : distinct) assertEquals(0, t.sum());
+    }
+
+    @Test
+    public void testReservoirSinkUniform() {
+        // Each of 10 solutions should be sampled (with k = 2) about 20% of the time.
+        Random random = new Random(1L);
+        int[] counts = new int[10];
+        int trials = 10000;
+        for (int trial = 0; trial < trials; trial++) {
+            ReservoirSink sink = new ReservoirSink(2, random);
+            for (int i = 0; i < 10; i++) sink.acceptPair(i, -i);
+            for (Pair p : sink.getPairs()) counts[p.x]++;
+        }
+        for (int count : counts) assertEquals(0.2, 1.0 * count / trials, 0.02);
+    }
+
+    @Test
+    public void testConsumerSink() {
+        List<Triple> triples = new ArrayList<>();
+        new ThreeSumParallel(new int[]{-2, 1, 1, 1, 0, 0, 0, 2, -1, -1}).solve(new ConsumerSink((x, y, z) -> {
+            synchronized (triples) {
+                triples.add(new Triple(x, y, z));
+            }
+        }));
+        assertEquals(5, triples.size());
+    }
+
+    @Test
+    public void testConsumerSinkIgnoresOtherArity() {
+        List<Triple> triples = new ArrayList<>();
+        ConsumerSink sink = new ConsumerSink((x, y, z) -> triples.add(new Triple(x, y, z)));
+        sink.acceptPair(1, -1);
+        sink.acceptTriple(-1, 0, 1);
+        assertEquals(List.of(new Triple(-1, 0, 1)), triples);
+        List<Pair> pairs = new ArrayList<>();
+        new ConsumerSink((x, y) -> pairs.add(new Pair(x, y))).acceptTriple(-1, 0, 1);
+        assertTrue(pairs.isEmpty());
+    }
+
+    @Test
+    public void testTwoSum() {
+        int[] ints = new int[]{-10, 30, -40, 0, 40, 10, 5, 0};
+        CountSink hash = new CountSink();
+        new TwoSumHash(ints).solve(hash);
+        assertEquals(3, hash.getCount());
+        CountSink quadratic = new CountSink();
+        new TwoSumQuadratic(ints).solve(quadratic);
+        assertEquals(3, quadratic.getCount());
+        List<Pair> pairs = new ArrayList<>();
+        new TwoSumHash(ints).solve(new ConsumerSink((x, y) -> pairs.add(new Pair(x, y))));
+        assertEquals(Arrays.asList(new TwoSumHash(ints).getPairs()), pairs.stream().sorted().toList());
+        FirstKSink first = new FirstKSink(1);
+        new TwoSumQuadratic(ints).solve(first);
+        assertArrayEquals(new Pair[]{new Pair(-40, 40)}, first.getPairs());
+    }
+
+    @Test
+    public void testDefaultSolve() {
+        ThreeSum threeSum = () -> new Triple[]{new Triple(-1, 0, 1), new Triple(-2, 1, 1)};
+        FirstKSink sink = new FirstKSink(1);
+        threeSum.solve(sink);
+        assertEquals(1, sink.getSeen());
+        assertArrayEquals(new Triple[]{new Triple(-1, 0, 1)}, sink.getTriples());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeK() {
+        new FirstKSink(-1);
+    }
+}
@@ -0,0 +1,66 @@
+package com.phasmidsoftware.dsaipg.adt.threesum;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+public class ThreeSumParallelTest {
+
+    @Test
+    public void testGetTriples0() {
+        int[] ints = new int[]{30, -40, -20, -10, 40, 0, 10, 5};
+        ThreeSumParallel target = new ThreeSumParallel(ints);
+        Triple[] triples = target.getTriples();
+        assertEquals(4, triples.length);
+        assertEquals(4, target.count());
+        assertArrayEquals(new int[]{30, -40, -20, -10, 40, 0, 10, 5}, ints);
+    }
+
+    @Test
+    public void testDuplicates() {
+        int[] ints = new int[]{-2, 1, 1, 1, 0, 0, 0, 2, -1, -1};
+        ThreeSumParallel target = new ThreeSumParallel(ints);
+        Triple[] triples = target.getTriples();
+        assertArrayEquals(new Triple[]{new Triple(-2, 0, 2), new Triple(-2, 1, 1), new Triple(-1, -1, 2), new Triple(-1, 0, 1), new Triple(0, 0, 0)}, triples);
+    }
+
+    @Test
+    public void testAgainstCubic() {
+        // Arrange
+        Supplier<int[]> intsSupplier = new Source(400, 400, 7L).intsSupplier(10);
+        int[] ints = intsSupplier.get();
+        Arrays.sort(ints);
+        Triple[] expected = new ThreeSumCubic(ints).getTriples();
+        ForkJoinPool pool = new ForkJoinPool(3);
+
+        // Act
+        ThreeSumParallel target = new ThreeSumParallel(ints, pool);
+        AtomicLong checksum = new AtomicLong();
+        long count = target.forEach((x, y, z) -> {
+            assertEquals(0, x + y + z);
+            assertTrue(x <= y && y <= z);
+            checksum.addAndGet(x * 31L * 31 + y * 31L + z);
+        });
+
+        // Assert
+        assertTrue(expected.length > 0);
+        assertEquals(expected.length, count);
+        assertArrayEquals(expected, target.getTriples());
+        long sum = 0;
+        for (Triple t : expected) sum += t.x * 31L * 31 + t.y * 31L + t.z;
+        assertEquals(sum, checksum.get());
+        pool.shutdown();
+    }
+
+    @Test
+    public void testOverflow() {
+        // MIN_VALUE + MAX_VALUE + 1 really is zero, but MAX_VALUE + MAX_VALUE + 2 is zero only in int arithmetic.
+        int[] ints = new int[]{Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, 2, 1, -1, 0};
+        assertEquals(2, new ThreeSumParallel(ints).count());
+    }
+}
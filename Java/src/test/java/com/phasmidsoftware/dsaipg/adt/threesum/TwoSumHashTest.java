@@ -0,0 +1,46 @@
+package com.phasmidsoftware.dsaipg.adt.threesum;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class TwoSumHashTest {
+
+    @Test
+    public void testGetPairs() {
+        int[] ints = new int[]{30, -40, -20, -10, 40, 0, 10, 5, 20};
+        Pair[] pairs = new TwoSumHash(ints).getPairs();
+        assertArrayEquals(new Pair[]{new Pair(-40, 40), new Pair(-20, 20), new Pair(-10, 10)}, pairs);
+    }
+
+    @Test
+    public void testDuplicatesAndZeros() {
+        int[] ints = new int[]{0, 3, -3, -3, 0, Integer.MIN_VALUE, 7};
+        TwoSumHash target = new TwoSumHash(ints);
+        assertArrayEquals(new Pair[]{new Pair(-3, 3), new Pair(0, 0)}, target.getPairs());
+        assertEquals(2, target.count());
+    }
+
+    @Test
+    public void testAgainstQuadratic() {
+        int[] ints = new Source(2000, 2000, 3L).intsSupplier(10).get();
+        Pair[] expected = new TwoSumQuadratic(ints).getPairs();
+        Arrays.sort(expected);
+        assertTrue(expected.length > 0);
+        assertArrayEquals(expected, new TwoSumHash(ints).getPairs());
+    }
+
+    @Test
+    public void testIntHashSet() {
+        IntHashSet set = new IntHashSet(2);
+        for (int i = -1000; i < 1000; i += 3) assertTrue(set.add(i));
+        assertFalse(set.add(-1000));
+        assertTrue(set.add(Integer.MIN_VALUE));
+        assertFalse(set.add(Integer.MIN_VALUE));
+        assertTrue(set.contains(Integer.MIN_VALUE));
+        for (int i = -1000; i < 1000; i++) assertEquals((i + 1000) % 3 == 0, set.contains(i));
+        assertEquals(668, set.size());
+    }
+}
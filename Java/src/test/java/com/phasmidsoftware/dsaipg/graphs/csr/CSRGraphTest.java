@@ -0,0 +1,176 @@
+package com.phasmidsoftware.dsaipg.graphs.csr;
+
+import com.phasmidsoftware.dsaipg.graphs.dijkstra.DirectedEdge;
+import com.phasmidsoftware.dsaipg.graphs.dijkstra.EdgeWeightedDigraph;
+import com.phasmidsoftware.dsaipg.graphs.gis.Boruvka;
+import com.phasmidsoftware.dsaipg.graphs.gis.Kruskal;
+import com.phasmidsoftware.dsaipg.graphs.gis.Sequenced;
+import com.phasmidsoftware.dsaipg.graphs.undirected.Edge;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class CSRGraphTest {
+
+    @Test
+    public void testBuilder() {
+        CSRGraph.Builder<String, String> builder = new CSRGraph.Builder<>(true);
+        builder.addEdge("a", "b", 1.0, "ab").addEdge("a", "c", 2.0, "ac").addEdge("c", "a", 3.0, "ca");
+        assertEquals(3, builder.addVertex("d"));
+        assertEquals(1, builder.addVertex("b"));
+        CSRGraph<String, String> target = builder.build();
+        assertTrue(target.isDirected());
+        assertEquals(4, target.V());
+        assertEquals(3, target.E());
+        assertEquals(3, target.arcs());
+        assertEquals(2, target.id("c"));
+        assertEquals(-1, target.id("e"));
+        assertEquals("d", target.vertex(3));
+        assertEquals(2, target.degree(0));
+        assertEquals(0, target.degree(1));
+        assertEquals(0, target.degree(3));
+        int a = target.begin(0);
+        assertEquals(1, target.target(a));
+        assertEquals(1.0, target.weight(a), 0);
+        assertEquals("ab", target.attribute(target.edge(a)));
+        assertEquals(2, target.target(a + 1));
+        int ca = target.begin(2);
+        assertEquals(0, target.target(ca));
+        assertEquals(2, target.source(ca));
+        assertEquals(target.end(2), ca + 1);
+    }
+
+    @Test
+    public void testUndirected() {
+        CSRGraph.Builder<String, Void> builder = new CSRGraph.Builder<>(false);
+        builder.addEdge("a", "b", 1.0, null).addEdge("b", "c", 2.0, null);
+        CSRGraph<String, Void> target = builder.build();
+        assertFalse(target.isDirected());
+        assertEquals(2, target.E());
+        assertEquals(4, target.arcs());
+        assertEquals(1, target.degree(0));
+        assertEquals(2, target.degree(1));
+        assertEquals(1, target.degree(2));
+        for (int v = 0; v < target.V(); v++)
+            for (int a = target.begin(v); a < target.end(v); a++) {
+                assertEquals(v, target.source(a));
+                int e = target.edge(a);
+                assertEquals(target.edgeWeight(e), target.weight(a), 0);
+                assertTrue(target.from(e) == v || target.to(e) == v);
+            }
+        assertArrayEquals(new int[]{0, 1}, target.edgesByWeight());
+    }
+
+    @Test
+    public void testEdgesByWeight() {
+        Random random = new Random(0L);
+        CSRGraph.Builder<Integer, Void> builder = new CSRGraph.Builder<>(false);
+        for (int v = 0; v < 50; v++) builder.addVertex(v);
+        for (int e = 0; e < 1000; e++) builder.addEdgeByNumber(random.nextInt(50), random.nextInt(50), random.nextInt(20), null);
+        CSRGraph<Integer, Void> target = builder.build();
+        // a stable sort by weight: ties in the order in which the edges were added.
+        Integer[] expected = new Integer[target.E()];
+        for (int e = 0; e < expected.length; e++) expected[e] = e;
+        Arrays.sort(expected, Comparator.comparingDouble(target::edgeWeight));
+        assertArrayEquals(Arrays.stream(expected).mapToInt(Integer::intValue).toArray(), target.edgesByWeight());
+        assertEquals(0, new CSRGraph.Builder<Integer, Void>(false).build().edgesByWeight().length);
+    }
+
+    @Test
+    public void testReverse() {
+        CSRGraph.Builder<String, String> builder = new CSRGraph.Builder<>(true);
+        builder.addEdge("a", "b", 1.0, "ab").addEdge("a", "c", 2.0, "ac").addEdge("c", "b", 3.0, "cb");
+        CSRGraph<String, String> graph = builder.build();
+        CSRGraph<String, String> target = graph.reverse();
+        assertEquals(graph.V(), target.V());
+        assertEquals(graph.E(), target.E());
+        assertEquals(0, target.degree(0));
+        assertEquals(2, target.degree(1));
+        assertEquals(1, target.degree(2));
+        int a = target.begin(1);
+        assertEquals(0, target.target(a));
+        assertEquals(1.0, target.weight(a), 0);
+        assertEquals("ab", target.attribute(target.edge(a)));
+        assertEquals(2, target.target(a + 1));
+        assertEquals(1, target.source(a + 1));
+        assertEquals(2, target.to(target.edge(a + 1)));
+        assertEquals(1, graph.degree(2));
+        CSRGraph.Builder<String, Void> undirected = new CSRGraph.Builder<>(false);
+        CSRGraph<String, Void> u = undirected.addEdge("a", "b", 1.0, null).build();
+        assertSame(u, u.reverse());
+    }
+
+    @Test
+    public void testFromEdgeWeightedDigraph() {
+        EdgeWeightedDigraph ewd = new EdgeWeightedDigraph(50, 200);
+        CSRGraph<Integer, DirectedEdge> target = CSRGraph.fromEdgeWeightedDigraph(ewd);
+        assertEquals(ewd.V(), target.V());
+        assertEquals(ewd.E(), target.E());
+        for (int v = 0; v < ewd.V(); v++) {
+            assertEquals(v, target.id(v));
+            assertEquals(ewd.outdegree(v), target.degree(v));
+            Set<DirectedEdge> expected = new HashSet<>();
+            for (DirectedEdge e : ewd.adj(v)) expected.add(e);
+            Set<DirectedEdge> actual = new HashSet<>();
+            for (int a = target.begin(v); a < target.end(v); a++) {
+                DirectedEdge e = target.attribute(target.edge(a));
+                assertEquals(e.to(), target.target(a));
+                assertEquals(e.weight(), target.weight(a), 0);
+                actual.add(e);
+            }
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddEdgeInvalid() {
+        new CSRGraph.Builder<String, Void>(true).addEdgeByNumber(0, 1, 1.0, null);
+    }
+
+    @Test
+    public void testKruskalAndBoruvka() {
+        // the graph of PrimsTest.test5, whose MST has weight 99.
+        int[][] edges = {{0, 1, 28}, {0, 2, 10}, {1, 5, 14}, {1, 6, 16}, {4, 6, 12}, {5, 4, 18}, {3, 4, 22}, {3, 5, 24}, {2, 3, 25}};
+        CSRGraph.Builder<Integer, Cost> builder = new CSRGraph.Builder<>(false);
+        for (int[] edge : edges) builder.addEdge(edge[0], edge[1], edge[2], new Cost(edge[2]));
+        CSRGraph<Integer, Cost> graph = builder.build();
+        assertEquals(99.0, weight(new Kruskal<>(graph)), 0);
+        assertEquals(99.0, weight(new Boruvka<>(graph)), 0);
+        int count = 0;
+        for (Edge<Integer, Cost> ignored : new Kruskal<>(graph)) count++;
+        assertEquals(6, count);
+    }
+
+    private static double weight(Iterable<Edge<Integer, Cost>> mst) {
+        double result = 0;
+        for (Edge<Integer, Cost> edge : mst) result += edge.getAttribute().cost;
+        return result;
+    }
+
+    static class Cost implements Comparable<Cost>, Sequenced {
+        Cost(double cost) {
+            this.cost = cost;
+        }
+
+        public int compareTo(Cost o) {
+            return Double.compare(cost, o.cost);
+        }
+
+        public int getSequence() {
+            return sequence;
+        }
+
+        public void setSequence(int sequence) {
+            this.sequence = sequence;
+        }
+
+        final double cost;
+        private int sequence;
+    }
+}
@@ -0,0 +1,200 @@
+package com.phasmidsoftware.dsaipg.graphs.dijkstra;
+
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRGraph;
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRPaths;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ContractionHierarchyTest {
+
+    @Test
+    public void testSmallGraph() {
+        EdgeWeightedDigraph graph = new EdgeWeightedDigraph(6);
+        graph.addEdge(new DirectedEdge(0, 1, 2.0));
+        graph.addEdge(new DirectedEdge(0, 2, 4.0));
+        graph.addEdge(new DirectedEdge(1, 2, 1.0));
+        graph.addEdge(new DirectedEdge(1, 3, 7.0));
+        graph.addEdge(new DirectedEdge(2, 4, 3.0));
+        ContractionHierarchy target = new ContractionHierarchy(graph);
+        assertEquals(6, target.V());
+        PointToPoint.Result result = target.query(0, 4);
+        assertTrue(result.hasPath());
+        assertEquals(6.0, result.distance(), 0);
+        assertArrayEquals(new int[]{0, 1, 2, 4}, result.path());
+        assertEquals(3, result.edges().length);
+        assertFalse(target.query(4, 0).hasPath());
+        assertNull(target.query(0, 5).path());
+        PointToPoint.Result same = target.query(3, 3);
+        assertEquals(0.0, same.distance(), 0);
+        assertArrayEquals(new int[]{3}, same.path());
+    }
+
+    @Test
+    public void testRandomDigraph() {
+        EdgeWeightedDigraph graph = new EdgeWeightedDigraph(300, 1500);
+        CSRGraph<Integer, DirectedEdge> csr = CSRGraph.fromEdgeWeightedDigraph(graph);
+        ContractionHierarchy target = new ContractionHierarchy(graph);
+        checkQueries(csr, target, new Random(0L));
+    }
+
+    @Test
+    public void testGrid() {
+        // An undirected grid with random weights: the queries should settle far fewer vertices than Dijkstra.
+        int k = 40;
+        CSRGraph<Integer, Void> csr = grid(k, new Random(1L));
+        ContractionHierarchy target = new ContractionHierarchy(csr);
+        checkQueries(csr, target, new Random(2L));
+        PointToPoint.Result corner = target.query(0, k * k - 1);
+        assertTrue(corner.settled() < new PointToPoint(csr).dijkstra(0, k * k - 1).settled());
+        int ranks = 0;
+        for (int v = 0; v < target.V(); v++) ranks += target.rank(v);
+        assertEquals(k * k * (k * k - 1) / 2, ranks);
+    }
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        CSRGraph<Integer, Void> csr = grid(20, new Random(3L));
+        ContractionHierarchy hierarchy = new ContractionHierarchy(csr);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        hierarchy.save(out);
+        ContractionHierarchy target = ContractionHierarchy.load(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(hierarchy.V(), target.V());
+        assertEquals(hierarchy.shortcuts(), target.shortcuts());
+        assertEquals(hierarchy.toString(), target.toString());
+        for (int v = 0; v < target.V(); v++) assertEquals(hierarchy.rank(v), target.rank(v));
+        checkQueries(csr, target, new Random(4L));
+    }
+
+    @Test(expected = IOException.class)
+    public void testLoadInvalid() throws IOException {
+        ContractionHierarchy.load(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}));
+    }
+
+    @Test
+    public void testLoadHandWritten() throws IOException {
+        // 0->1 and 1->2 are original edges; 0->2 is a shortcut via 1.
+        ContractionHierarchy target = load(new int[]{0, 2, 1}, new int[][]{{0, 1, -1, -1, 0}, {1, 2, -1, -1, 1}, {0, 2, 0, 1, -1}}, new double[]{1, 1, 2});
+        assertEquals(3, target.V());
+        assertEquals(1, target.shortcuts());
+    }
+
+    @Test(expected = IOException.class)
+    public void testLoadRanksNotPermutation() throws IOException {
+        load(new int[]{0, 2, 2}, new int[][]{{0, 1, -1, -1, 0}}, new double[]{1});
+    }
+
+    @Test(expected = IOException.class)
+    public void testLoadRankOutOfRange() throws IOException {
+        load(new int[]{0, 1, 3}, new int[][]{{0, 1, -1, -1, 0}}, new double[]{1});
+    }
+
+    @Test(expected = IOException.class)
+    public void testLoadNegativeChildren() throws IOException {
+        load(new int[]{0, 2, 1}, new int[][]{{0, 1, -1, -1, 0}, {1, 2, -2, -2, 1}}, new double[]{1, 1});
+    }
+
+    @Test(expected = IOException.class)
+    public void testLoadOneChild() throws IOException {
+        load(new int[]{0, 2, 1}, new int[][]{{0, 1, -1, -1, 0}, {1, 2, -1, -1, 1}, {0, 2, 0, -1, -1}}, new double[]{1, 1, 1});
+    }
+
+    @Test(expected = IOException.class)
+    public void testLoadLeafWithoutOriginal() throws IOException {
+        load(new int[]{0, 2, 1}, new int[][]{{0, 1, -1, -1, -1}}, new double[]{1});
+    }
+
+    @Test(expected = IOException.class)
+    public void testLoadShortcutMismatch() throws IOException {
+        load(new int[]{0, 2, 1}, new int[][]{{0, 1, -1, -1, 0}, {1, 2, -1, -1, 1}, {0, 2, 1, 0, -1}}, new double[]{1, 1, 2});
+    }
+
+    @Test(expected = IOException.class)
+    public void testLoadShortcutWeightMismatch() throws IOException {
+        load(new int[]{0, 2, 1}, new int[][]{{0, 1, -1, -1, 0}, {1, 2, -1, -1, 1}, {0, 2, 0, 1, -1}}, new double[]{1, 1, 1});
+    }
+
+    @Test(expected = IOException.class)
+    public void testLoadNegativeWeight() throws IOException {
+        load(new int[]{0, 2, 1}, new int[][]{{0, 1, -1, -1, 0}}, new double[]{-1});
+    }
+
+    @Test(expected = IOException.class)
+    public void testLoadNaNWeight() throws IOException {
+        load(new int[]{0, 2, 1}, new int[][]{{0, 1, -1, -1, 0}}, new double[]{Double.NaN});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidVertex() {
+        new ContractionHierarchy(new EdgeWeightedDigraph(3)).query(0, 3);
+    }
+
+    /**
+     * Load a hierarchy written by hand in the format of save: each edge is {from, to, first, second, original}, with the corresponding weight.
+     */
+    private static ContractionHierarchy load(int[] ranks, int[][] edges, double[] weights) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(ContractionHierarchy.MAGIC);
+        out.writeInt(ranks.length);
+        out.writeInt(edges.length);
+        for (int rank : ranks) out.writeInt(rank);
+        for (int e = 0; e < edges.length; e++) {
+            int[] edge = edges[e];
+            out.writeInt(edge[0]);
+            out.writeInt(edge[1]);
+            out.writeDouble(weights[e]);
+            out.writeInt(edge[2]);
+            out.writeInt(edge[3]);
+            out.writeInt(edge[4]);
+        }
+        out.flush();
+        return ContractionHierarchy.load(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+
+    private static CSRGraph<Integer, Void> grid(int k, Random random) {
+        CSRGraph.Builder<Integer, Void> builder = new CSRGraph.Builder<>(false);
+        for (int v = 0; v < k * k; v++) builder.addVertex(v);
+        for (int r = 0; r < k; r++)
+            for (int c = 0; c < k; c++) {
+                int v = r * k + c;
+                if (c + 1 < k) builder.addEdgeByNumber(v, v + 1, 1 + random.nextInt(10), null);
+                if (r + 1 < k) builder.addEdgeByNumber(v, v + k, 1 + random.nextInt(10), null);
+            }
+        return builder.build();
+    }
+
+    private static void checkQueries(CSRGraph<?, ?> csr, ContractionHierarchy target, Random random) {
+        for (int i = 0; i < 10; i++) {
+            int s = random.nextInt(csr.V());
+            CSRPaths expected = Dijkstra.shortestPaths(csr, s);
+            for (int j = 0; j < 10; j++) {
+                int t = random.nextInt(csr.V());
+                PointToPoint.Result result = target.query(s, t);
+                assertEquals(expected.hasPathTo(t), result.hasPath());
+                if (!result.hasPath()) continue;
+                assertEquals(expected.distTo(t), result.distance(), 1E-6);
+                int[] path = result.path(), edges = result.edges();
+                assertEquals(s, path[0]);
+                assertEquals(t, path[path.length - 1]);
+                double length = 0;
+                for (int k = 0; k < edges.length; k++) {
+                    int e = edges[k];
+                    if (csr.isDirected()) {
+                        assertEquals(path[k], csr.from(e));
+                        assertEquals(path[k + 1], csr.to(e));
+                    } else
+                        assertTrue(csr.from(e) == path[k] && csr.to(e) == path[k + 1] || csr.to(e) == path[k] && csr.from(e) == path[k + 1]);
+                    length += csr.edgeWeight(e);
+                }
+                assertEquals(result.distance(), length, 1E-6);
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.phasmidsoftware.dsaipg.graphs.dijkstra;
+
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRGraph;
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRPaths;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class DeltaSteppingTest {
+
+    @Test
+    public void testShortestPaths() {
+        EdgeWeightedDigraph graph = new EdgeWeightedDigraph(5);
+        graph.addEdge(new DirectedEdge(0, 1, 2.0));
+        graph.addEdge(new DirectedEdge(0, 2, 4.0));
+        graph.addEdge(new DirectedEdge(1, 2, 1.0));
+        graph.addEdge(new DirectedEdge(1, 3, 7.0));
+        graph.addEdge(new DirectedEdge(2, 4, 3.0));
+        DeltaStepping.ShortestPaths target = new DeltaStepping(graph, 1.5, ForkJoinPool.commonPool()).shortestPaths(0);
+        assertEquals(0.0, target.distTo(0), 0);
+        assertEquals(2.0, target.distTo(1), 0);
+        assertEquals(3.0, target.distTo(2), 0);
+        assertEquals(9.0, target.distTo(3), 0);
+        assertEquals(6.0, target.distTo(4), 0);
+        StringBuilder sb = new StringBuilder();
+        for (DirectedEdge e : target.pathTo(4)) sb.append(e.from()).append("->").append(e.to()).append(" ");
+        assertEquals("0->1 1->2 2->4 ", sb.toString());
+        assertFalse(target.pathTo(0).iterator().hasNext());
+    }
+
+    @Test
+    public void testDisconnected() {
+        EdgeWeightedDigraph graph = new EdgeWeightedDigraph(4);
+        graph.addEdge(new DirectedEdge(1, 2, 5.0));
+        graph.addEdge(new DirectedEdge(2, 3, 10.0));
+        DeltaStepping.ShortestPaths target = new DeltaStepping(graph).shortestPaths(0);
+        assertTrue(target.hasPathTo(0));
+        assertFalse(target.hasPathTo(1));
+        assertNull(target.pathTo(1));
+    }
+
+    @Test
+    public void testAgainstDijkstra() {
+        EdgeWeightedDigraph graph = new EdgeWeightedDigraph(2000, 12000);
+        Dijkstra.ShortestPaths expected = new Dijkstra(graph).shortestPaths(11);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (double delta : new double[]{0.001, 0.1, 0.5, 100}) {
+                DeltaStepping.ShortestPaths actual = new DeltaStepping(graph, delta, pool).shortestPaths(11);
+                for (int v = 0; v < graph.V(); v++) {
+                    assertEquals(expected.hasPathTo(v), actual.hasPathTo(v));
+                    if (!actual.hasPathTo(v)) continue;
+                    assertEquals(expected.distTo(v), actual.distTo(v), 1E-9);
+                    double length = 0;
+                    int w = 11;
+                    for (DirectedEdge e : actual.pathTo(v)) {
+                        assertEquals(w, e.from());
+                        w = e.to();
+                        length += e.weight();
+                    }
+                    assertEquals(v, w);
+                    assertEquals(actual.distTo(v), length, 1E-9);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testGrid() {
+        // A road-network-like grid, with random weights (including some zero weights) in both directions.
+        int k = 60;
+        Random random = new Random(0L);
+        CSRGraph.Builder<Integer, Void> builder = new CSRGraph.Builder<>(true);
+        for (int v = 0; v < k * k; v++) builder.addVertex(v);
+        for (int r = 0; r < k; r++)
+            for (int c = 0; c < k; c++) {
+                int v = r * k + c;
+                if (c + 1 < k) {
+                    builder.addEdgeByNumber(v, v + 1, random.nextInt(10), null);
+                    builder.addEdgeByNumber(v + 1, v, random.nextInt(10), null);
+                }
+                if (r + 1 < k) {
+                    builder.addEdgeByNumber(v, v + k, random.nextInt(10), null);
+                    builder.addEdgeByNumber(v + k, v, random.nextInt(10), null);
+                }
+            }
+        CSRGraph<Integer, Void> graph = builder.build();
+        CSRPaths expected = Dijkstra.shortestPaths(graph, 0);
+        CSRPaths actual = DeltaStepping.shortestPaths(graph, 0, DeltaStepping.suggestDelta(graph));
+        for (int v = 0; v < graph.V(); v++) {
+            assertEquals(expected.distTo(v), actual.distTo(v), 0);
+            int[] path = actual.pathTo(v);
+            assertEquals(0, path[0]);
+            assertEquals(v, path[path.length - 1]);
+        }
+    }
+
+    @Test
+    public void testLongEdges() {
+        // The distances are up to 10^12 buckets of width delta: only the non-empty buckets should be visited.
+        CSRGraph.Builder<Integer, Void> builder = new CSRGraph.Builder<>(true);
+        builder.addEdge(0, 1, 1E6, null).addEdge(1, 2, 1E-4, null).addEdge(0, 2, 2E6, null).addEdge(2, 3, 1E9, null).addEdge(1, 3, 1.5E9, null);
+        CSRGraph<Integer, Void> graph = builder.build();
+        CSRPaths paths = DeltaStepping.shortestPaths(graph, 0, 1E-3);
+        assertEquals(1E6, paths.distTo(1), 0);
+        assertEquals(1E6 + 1E-4, paths.distTo(2), 0);
+        assertEquals(1E6 + 1E-4 + 1E9, paths.distTo(3), 0);
+        Random random = new Random(0L);
+        EdgeWeightedDigraph sparse = new EdgeWeightedDigraph(300);
+        for (int k = 0; k < 1200; k++)
+            sparse.addEdge(new DirectedEdge(random.nextInt(300), random.nextInt(300), random.nextDouble() * 1E7));
+        Dijkstra.ShortestPaths expected = new Dijkstra(sparse).shortestPaths(0);
+        DeltaStepping.ShortestPaths actual = new DeltaStepping(sparse, 1E-3, ForkJoinPool.commonPool()).shortestPaths(0);
+        for (int v = 0; v < sparse.V(); v++) {
+            assertEquals(expected.hasPathTo(v), actual.hasPathTo(v));
+            if (actual.hasPathTo(v)) assertEquals(expected.distTo(v), actual.distTo(v), 1E-6);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegative() {
+        EdgeWeightedDigraph graph = new EdgeWeightedDigraph(2);
+        graph.addEdge(new DirectedEdge(0, 1, -1.0));
+        new DeltaStepping(graph);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDelta() {
+        new DeltaStepping(new EdgeWeightedDigraph(2), 0, ForkJoinPool.commonPool());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidVertex() {
+        new DeltaStepping(new EdgeWeightedDigraph(3)).shortestPaths(4);
+    }
+}
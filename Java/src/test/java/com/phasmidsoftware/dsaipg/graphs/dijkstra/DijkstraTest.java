@@ -1,11 +1,14 @@
 package com.phasmidsoftware.dsaipg.graphs.dijkstra;
 
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRGraph;
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRPaths;
 import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 public class DijkstraTest {
     @Test
@@ -209,4 +212,31 @@ public class DijkstraTest {
         Dijkstra dijkstra = new Dijkstra(ewd);
         dijkstra.shortestPaths(0);
     }
+
+    @Test
+    public void testCSR() {
+        EdgeWeightedDigraph ewd = new EdgeWeightedDigraph(500, 3000);
+        CSRGraph<Integer, DirectedEdge> csr = CSRGraph.fromEdgeWeightedDigraph(ewd);
+        Dijkstra.ShortestPaths expected = new Dijkstra(ewd).shortestPaths(7);
+        CSRPaths actual = Dijkstra.shortestPaths(csr, 7);
+        for (int v = 0; v < ewd.V(); v++) {
+            assertEquals(expected.hasPathTo(v), actual.hasPathTo(v));
+            assertEquals(expected.distTo(v), actual.distTo(v), 1E-9);
+            if (actual.hasPathTo(v)) {
+                int[] path = actual.pathTo(v);
+                assertEquals(7, path[0]);
+                assertEquals(v, path[path.length - 1]);
+                double length = 0;
+                for (DirectedEdge e : expected.pathTo(v)) length += e.weight();
+                assertEquals(length, actual.distTo(v), 1E-9);
+            } else assertNull(actual.pathTo(v));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCSRNegative() {
+        CSRGraph.Builder<String, Void> builder = new CSRGraph.Builder<>(true);
+        builder.addEdge("a", "b", -1.0, null);
+        Dijkstra.shortestPaths(builder.build(), 0);
+    }
 }
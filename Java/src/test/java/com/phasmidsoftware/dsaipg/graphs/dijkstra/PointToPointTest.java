@@ -0,0 +1,131 @@
+package com.phasmidsoftware.dsaipg.graphs.dijkstra;
+
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRGraph;
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRPaths;
+import com.phasmidsoftware.dsaipg.graphs.gis.GeoGraphSpherical;
+import com.phasmidsoftware.dsaipg.graphs.tunnels.Building;
+import com.phasmidsoftware.dsaipg.graphs.tunnels.TunnelProperties;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class PointToPointTest {
+
+    @Test
+    public void testSmallGraph() {
+        EdgeWeightedDigraph graph = new EdgeWeightedDigraph(6);
+        graph.addEdge(new DirectedEdge(0, 1, 2.0));
+        graph.addEdge(new DirectedEdge(0, 2, 4.0));
+        graph.addEdge(new DirectedEdge(1, 2, 1.0));
+        graph.addEdge(new DirectedEdge(1, 3, 7.0));
+        graph.addEdge(new DirectedEdge(2, 4, 3.0));
+        CSRGraph<Integer, DirectedEdge> csr = CSRGraph.fromEdgeWeightedDigraph(graph);
+        PointToPoint target = new PointToPoint(csr);
+        for (PointToPoint.Result result : new PointToPoint.Result[]{target.dijkstra(0, 4), target.bidirectional(0, 4), target.aStar(0, 4, (v, t) -> 0)}) {
+            assertTrue(result.hasPath());
+            assertEquals(6.0, result.distance(), 0);
+            assertArrayEquals(new int[]{0, 1, 2, 4}, result.path());
+            int[] edges = result.edges();
+            assertEquals(3, edges.length);
+            assertEquals(1, csr.attribute(edges[1]).from());
+            assertEquals(2, csr.attribute(edges[1]).to());
+            assertTrue(result.settled() > 0);
+            assertTrue(result.relaxed() > 0);
+        }
+        assertFalse(target.bidirectional(4, 0).hasPath());
+        assertNull(target.dijkstra(0, 5).path());
+        PointToPoint.Result same = target.bidirectional(3, 3);
+        assertEquals(0.0, same.distance(), 0);
+        assertArrayEquals(new int[]{3}, same.path());
+    }
+
+    @Test
+    public void testRandomDigraph() {
+        EdgeWeightedDigraph graph = new EdgeWeightedDigraph(1000, 6000);
+        CSRGraph<Integer, DirectedEdge> csr = CSRGraph.fromEdgeWeightedDigraph(graph);
+        PointToPoint target = new PointToPoint(csr);
+        Random random = new Random(0L);
+        for (int i = 0; i < 20; i++) {
+            int s = random.nextInt(csr.V());
+            CSRPaths expected = Dijkstra.shortestPaths(csr, s);
+            for (int j = 0; j < 10; j++) {
+                int t = random.nextInt(csr.V());
+                checkResult(csr, expected, target.dijkstra(s, t));
+                checkResult(csr, expected, target.bidirectional(s, t));
+            }
+        }
+    }
+
+    @Test
+    public void testGeographic() {
+        // A grid of "buildings" about 100m apart, with each street somewhat longer than the great-circle distance.
+        int k = 40;
+        Random random = new Random(1L);
+        GeoGraphSpherical<Building, TunnelProperties> geo = new GeoGraphSpherical<>();
+        Building[] buildings = new Building[k * k];
+        for (int r = 0; r < k; r++)
+            for (int c = 0; c < k; c++)
+                buildings[r * k + c] = new Building(0, "B" + (r * k + c), "Z", -71.09 + 0.0012 * c, 42.34 + 0.0009 * r, false, "B" + (r * k + c));
+        CSRGraph.Builder<Building, TunnelProperties> builder = new CSRGraph.Builder<>(false);
+        for (Building b : buildings) builder.addVertex(b);
+        for (int r = 0; r < k; r++)
+            for (int c = 0; c < k; c++) {
+                int v = r * k + c;
+                if (c + 1 < k) addStreet(builder, geo, buildings[v], buildings[v + 1], random);
+                if (r + 1 < k) addStreet(builder, geo, buildings[v], buildings[v + k], random);
+            }
+        CSRGraph<Building, TunnelProperties> csr = builder.build();
+        PointToPoint target = new PointToPoint(csr);
+        PointToPoint.Heuristic heuristic = PointToPoint.greatCircle(csr, geo, 1.0);
+        int s = 0, t = k * k - 1;
+        CSRPaths expected = Dijkstra.shortestPaths(csr, s);
+        PointToPoint.Result dijkstra = target.dijkstra(s, t);
+        PointToPoint.Result bidirectional = target.bidirectional(s, t);
+        PointToPoint.Result aStar = target.aStar(s, t, heuristic);
+        checkResult(csr, expected, dijkstra);
+        checkResult(csr, expected, bidirectional);
+        checkResult(csr, expected, aStar);
+        assertTrue(aStar.settled() < dijkstra.settled());
+        assertTrue(aStar.relaxed() < dijkstra.relaxed());
+        // A nearby target: early termination settles only a small part of the graph.
+        PointToPoint.Result near = target.dijkstra(s, k + 1);
+        assertTrue(near.settled() < csr.V() / 10);
+        assertTrue(target.bidirectional(s, k + 1).settled() <= near.settled());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidVertex() {
+        new PointToPoint(CSRGraph.fromEdgeWeightedDigraph(new EdgeWeightedDigraph(3))).dijkstra(0, 3);
+    }
+
+    private static void addStreet(CSRGraph.Builder<Building, TunnelProperties> builder, GeoGraphSpherical<Building, TunnelProperties> geo, Building b1, Building b2, Random random) {
+        double length = geo.getDistance(b1, b2) * (1 + random.nextDouble());
+        builder.addEdge(b1, b2, length, new TunnelProperties(0, (int) length, 0, 0));
+    }
+
+    private static void checkResult(CSRGraph<?, ?> csr, CSRPaths expected, PointToPoint.Result result) {
+        int t = result.target();
+        assertEquals(expected.hasPathTo(t), result.hasPath());
+        if (!result.hasPath()) {
+            assertNull(result.path());
+            return;
+        }
+        assertEquals(expected.distTo(t), result.distance(), 1E-6);
+        int[] path = result.path(), edges = result.edges();
+        assertEquals(result.source(), path[0]);
+        assertEquals(t, path[path.length - 1]);
+        double length = 0;
+        for (int i = 0; i < edges.length; i++) {
+            int e = edges[i];
+            if (csr.isDirected()) {
+                assertEquals(path[i], csr.from(e));
+                assertEquals(path[i + 1], csr.to(e));
+            } else
+                assertTrue(csr.from(e) == path[i] && csr.to(e) == path[i + 1] || csr.to(e) == path[i] && csr.from(e) == path[i + 1]);
+            length += csr.edgeWeight(e);
+        }
+        assertEquals(result.distance(), length, 1E-6);
+    }
+}
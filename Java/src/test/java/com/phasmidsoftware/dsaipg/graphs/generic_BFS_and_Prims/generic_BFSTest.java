@@ -1,5 +1,6 @@
 package com.phasmidsoftware.dsaipg.graphs.generic_BFS_and_Prims;
 
+import com.phasmidsoftware.dsaipg.adt.bqs.IntQueue;
 import com.phasmidsoftware.dsaipg.graphs.generic_BFS_and_prims.GBFS;
 import com.phasmidsoftware.dsaipg.graphs.generic_BFS_and_prims.Graph;
 import org.junit.Assert;
@@ -172,4 +173,25 @@ public class generic_BFSTest {
         final List bfs = b.bfs(g, 0);
         Assert.assertEquals(expected, bfs);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testbfsIntQueue() {
+        Graph<Integer> g = new Graph<>(6);
+        for (int v = 0; v < 6; v++) g.addVertex(v);
+        g.addEdge(0, 2);
+        g.addEdge(0, 1);
+        g.addEdge(1, 2);
+        g.addEdge(1, 3);
+        g.addEdge(2, 3);
+        g.addEdge(3, 4);
+        g.addEdge(4, 1);
+        g.addEdge(4, 0);
+        g.addEdge(4, 5);
+        IntQueue queue = new IntQueue();
+
+        for (int s = 0; s < 6; s++) {
+            List<Integer> expected = new GBFS<Integer>(g, s).bfs(g, s);
+            Assert.assertEquals(expected, new GBFS<Integer>(g, s).bfs(g, s, x -> x, x -> x, queue));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.phasmidsoftware.dsaipg.graphs.gis;
+
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRGraph;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class CandidateGraphsTest {
+
+    @Test
+    public void testKNearest() {
+        // The MST of the 10-nearest-neighbor graph should be the MST of the complete graph.
+        List<MockGeoPoint> points = SpatialIndexTest.randomPoints(400, new Random(0L));
+        CSRGraph<MockGeoPoint, MockCost> complete = MockCost.complete(points);
+        CSRGraph<MockGeoPoint, MockCost> sparse = CandidateGraphs.kNearest(new KdTree<>(points), 10, (v1, v2, length) -> new MockCost(length));
+        assertTrue(sparse.E() <= 10 * points.size());
+        assertTrue(sparse.E() < complete.E() / 10);
+        assertEquals(new FilterKruskal<>(complete).weight(), new FilterKruskal<>(sparse).weight(), 1E-6);
+    }
+
+    @Test
+    public void testWithinRadius() {
+        List<MockGeoPoint> points = SpatialIndexTest.randomPoints(1000, new Random(1L));
+        GeoGraphSpherical<MockGeoPoint, Double> geo = new GeoGraphSpherical<>();
+        int expected = 0;
+        for (int i = 0; i < points.size(); i++)
+            for (int j = i + 1; j < points.size(); j++)
+                if (geo.getDistance(points.get(i), points.get(j)) <= 250) expected++;
+        CSRGraph<MockGeoPoint, Double> graph = CandidateGraphs.withinRadius(new CellGrid<>(points), 250, (v1, v2, length) -> length);
+        assertEquals(expected, graph.E());
+        for (int e = 0; e < graph.E(); e++) {
+            assertTrue(graph.edgeWeight(e) <= 250);
+            assertEquals(graph.edgeWeight(e), graph.attribute(e), 0);
+        }
+    }
+}
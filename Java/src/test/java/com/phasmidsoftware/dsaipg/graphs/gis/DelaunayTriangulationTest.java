@@ -0,0 +1,138 @@
+package com.phasmidsoftware.dsaipg.graphs.gis;
+
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRGraph;
+import com.phasmidsoftware.dsaipg.graphs.undirected.Edge;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.*;
+
+public class DelaunayTriangulationTest {
+
+    @Test
+    public void testEmptyCircles() {
+        List<MockGeoPoint> points = SpatialIndexTest.randomPoints(1500, new Random(0L));
+        KdTree<MockGeoPoint> index = new KdTree<>(points);
+        DelaunayTriangulation<MockGeoPoint> triangulation = new DelaunayTriangulation<>(index);
+        checkEuler(triangulation);
+        for (int t = 0; t < triangulation.triangles(); t++) {
+            int[] abc = triangulation.triangle(t);
+            assertTrue(orient(index, abc[0], abc[1], abc[2]) > 0);
+            for (int d = 0; d < points.size(); d++)
+                assertFalse(inCircle(index, abc[0], abc[1], abc[2], d));
+        }
+    }
+
+    @Test
+    public void testMST() {
+        // The MST of the triangulation should be the MST of the complete graph.
+        List<MockGeoPoint> points = SpatialIndexTest.randomPoints(400, new Random(1L));
+        CSRGraph<MockGeoPoint, MockCost> sparse = CandidateGraphs.delaunay(new CellGrid<>(points), (v1, v2, length) -> new MockCost(length));
+        assertTrue(sparse.E() <= 3 * points.size() - 6);
+        assertEquals(new FilterKruskal<>(MockCost.complete(points)).weight(), new FilterKruskal<>(sparse).weight(), 1E-6);
+    }
+
+    @Test
+    public void testGrid() {
+        // A grid of points has many co-circular quadruples (and, before projection, collinear triples).
+        List<MockGeoPoint> points = new ArrayList<>();
+        for (int i = 0; i < 15; i++)
+            for (int j = 0; j < 15; j++) points.add(SpatialIndexTest.point(points.size(), 42.33 + 0.001 * i, -71.10 + 0.001 * j));
+        DelaunayTriangulation<MockGeoPoint> triangulation = new DelaunayTriangulation<>(points);
+        checkEuler(triangulation);
+        CSRGraph<MockGeoPoint, MockCost> sparse = CandidateGraphs.delaunay(new KdTree<>(points), (v1, v2, length) -> new MockCost(length));
+        assertEquals(new FilterKruskal<>(MockCost.complete(points)).weight(), new FilterKruskal<>(sparse).weight(), 1E-6);
+    }
+
+    @Test
+    public void testBandBoundary() {
+        // A grid which straddles the boundary between latitude bands L and M (at 8 degrees south).
+        List<MockGeoPoint> points = new ArrayList<>();
+        for (int i = 0; i < 10; i++)
+            for (int j = 0; j < 10; j++) points.add(SpatialIndexTest.point(points.size(), -8.005 + 0.001 * i + 0.0001 * j, -35.0 + 0.001 * j));
+        CSRGraph<MockGeoPoint, MockCost> sparse = CandidateGraphs.delaunay(new KdTree<>(points), (v1, v2, length) -> new MockCost(length));
+        assertEquals(new FilterKruskal<>(MockCost.complete(points)).weight(), new FilterKruskal<>(sparse).weight(), 1E-6);
+    }
+
+    @Test
+    public void testCollinear() {
+        // Points along a parallel of latitude, in no particular order: the triangulation joins each to its neighbors.
+        List<MockGeoPoint> points = new ArrayList<>();
+        for (int i = 0; i < 50; i++) points.add(SpatialIndexTest.point(i, 42.35, -71.10 + 0.001 * ((i * 17) % 50)));
+        CSRGraph<MockGeoPoint, MockCost> sparse = CandidateGraphs.delaunay(new KdTree<>(points), (v1, v2, length) -> new MockCost(length));
+        assertEquals(new FilterKruskal<>(MockCost.complete(points)).weight(), new FilterKruskal<>(sparse).weight(), 1E-6);
+    }
+
+    @Test
+    public void testSmall() {
+        assertEquals(0, new DelaunayTriangulation<MockGeoPoint>(new ArrayList<>()).edges());
+        List<MockGeoPoint> points = new ArrayList<>();
+        points.add(SpatialIndexTest.point(0, 42.35, -71.08));
+        assertEquals(0, new DelaunayTriangulation<>(points).edges());
+        points.add(SpatialIndexTest.point(1, 42.35, -71.08));
+        DelaunayTriangulation<MockGeoPoint> duplicates = new DelaunayTriangulation<>(points);
+        assertEquals(1, duplicates.edges());
+        assertEquals(0, duplicates.triangles());
+        points.set(1, SpatialIndexTest.point(1, 42.36, -71.08));
+        assertEquals(1, new DelaunayTriangulation<>(points).edges());
+        points.add(SpatialIndexTest.point(2, 42.35, -71.07));
+        DelaunayTriangulation<MockGeoPoint> triangle = new DelaunayTriangulation<>(points);
+        assertEquals(3, triangle.edges());
+        assertEquals(1, triangle.triangles());
+    }
+
+    @Test
+    public void testGeo() {
+        // The edges can be added to a Geo graph (for GeoKruskal, etc.) with a predicate, as by the tunnels examples.
+        List<MockGeoPoint> points = SpatialIndexTest.randomPoints(200, new Random(2L));
+        List<Edge<MockGeoPoint, Double>> edges = new ArrayList<>();
+        GeoGraphSpherical<MockGeoPoint, Double> graph = new GeoGraphSpherical<>() {
+            public void addEdge(MockGeoPoint v1, MockGeoPoint v2, Double attribute, Predicate<Edge<MockGeoPoint, Double>> predicate) {
+                Edge<MockGeoPoint, Double> edge = new Edge<>(v1, v2, attribute);
+                if (predicate.test(edge)) edges.add(edge);
+            }
+        };
+        CandidateGraphs.delaunay(new KdTree<>(points), graph, (v1, v2, length) -> length, edge -> edge.getAttribute() < 500);
+        CSRGraph<MockGeoPoint, Double> sparse = CandidateGraphs.delaunay(new KdTree<>(points), (v1, v2, length) -> length);
+        int expected = 0;
+        for (int e = 0; e < sparse.E(); e++) if (sparse.attribute(e) < 500) expected++;
+        assertEquals(expected, edges.size());
+    }
+
+    @Test
+    public void testLarge() {
+        List<MockGeoPoint> points = SpatialIndexTest.randomPoints(100_000, new Random(3L));
+        CSRGraph<MockGeoPoint, MockCost> sparse = CandidateGraphs.delaunay(new CellGrid<>(points), (v1, v2, length) -> new MockCost(length));
+        assertTrue(sparse.E() <= 3 * points.size() - 6);
+        int count = 0;
+        for (Edge<MockGeoPoint, MockCost> ignored : new FilterKruskal<>(sparse)) count++;
+        assertEquals(points.size() - 1, count);
+    }
+
+    /**
+     * Euler's formula, for points which are not all collinear: each point after the first adds one more edge
+     * than triangles (counting the edge which joins a coincident point to its twin).
+     */
+    private static void checkEuler(DelaunayTriangulation<MockGeoPoint> triangulation) {
+        assertEquals(triangulation.size() - 1, triangulation.edges() - triangulation.triangles());
+    }
+
+    private static double orient(SpatialIndex<MockGeoPoint> index, int a, int b, int c) {
+        return (index.x(b) - index.x(a)) * (index.y(c) - index.y(a)) - (index.y(b) - index.y(a)) * (index.x(c) - index.x(a));
+    }
+
+    /**
+     * @return true if d is (clearly) inside the circumcircle of the counter-clockwise triangle (a, b, c).
+     */
+    private static boolean inCircle(SpatialIndex<MockGeoPoint> index, int a, int b, int c, int d) {
+        double adx = index.x(a) - index.x(d), ady = index.y(a) - index.y(d);
+        double bdx = index.x(b) - index.x(d), bdy = index.y(b) - index.y(d);
+        double cdx = index.x(c) - index.x(d), cdy = index.y(c) - index.y(d);
+        double det = (adx * adx + ady * ady) * (bdx * cdy - cdx * bdy) + (bdx * bdx + bdy * bdy) * (cdx * ady - adx * cdy) + (cdx * cdx + cdy * cdy) * (adx * bdy - bdx * ady);
+        return det > 1E-6 * Math.abs(orient(index, a, b, c)) * (adx * adx + ady * ady + bdx * bdx + bdy * bdy + cdx * cdx + cdy * cdy);
+    }
+}
@@ -0,0 +1,91 @@
+package com.phasmidsoftware.dsaipg.graphs.gis;
+
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRGraph;
+import com.phasmidsoftware.dsaipg.graphs.undirected.Edge;
+import com.phasmidsoftware.dsaipg.graphs.union_find.WQUPC;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class FilterKruskalTest {
+
+    @Test
+    public void testSmallGraph() {
+        FilterKruskal<String, MockCost> target = new FilterKruskal<>(MockCost.smallGraph());
+        assertEquals(11.0, target.weight(), 0);
+        StringBuilder sb = new StringBuilder();
+        for (Edge<String, MockCost> edge : target) sb.append(edge.get()).append(edge.getOther(edge.get())).append(" ");
+        assertEquals("AC BC DE BD ", sb.toString());
+    }
+
+    @Test
+    public void testCompleteGraph() {
+        // A complete graph of distances between random points (as created by the tunnels examples).
+        Random random = new Random(0L);
+        int n = 800;
+        double[] xs = new double[n], ys = new double[n];
+        CSRGraph.Builder<Integer, MockCost> builder = new CSRGraph.Builder<>(false);
+        for (int v = 0; v < n; v++) {
+            builder.addVertex(v);
+            xs[v] = random.nextDouble();
+            ys[v] = random.nextDouble();
+        }
+        for (int v = 0; v < n; v++)
+            for (int w = v + 1; w < n; w++) {
+                double cost = Math.hypot(xs[v] - xs[w], ys[v] - ys[w]);
+                builder.addEdgeByNumber(v, w, cost, new MockCost(cost));
+            }
+        checkAgainstKruskal(builder.build(), true);
+    }
+
+    @Test
+    public void testSparseGraph() {
+        // A sparse random graph with many equal weights and several components.
+        Random random = new Random(1L);
+        int n = 30000;
+        CSRGraph.Builder<Integer, MockCost> builder = new CSRGraph.Builder<>(false);
+        for (int v = 0; v < n; v++) builder.addVertex(v);
+        for (int i = 0; i < 2 * n; i++) {
+            double cost = random.nextInt(50);
+            builder.addEdgeByNumber(random.nextInt(n), random.nextInt(n), cost, new MockCost(cost));
+        }
+        checkAgainstKruskal(builder.build(), false);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDirected() {
+        new FilterKruskal<>(new CSRGraph.Builder<Integer, MockCost>(true).build());
+    }
+
+    private static void checkAgainstKruskal(CSRGraph<Integer, MockCost> graph, boolean filters) {
+        double expected = 0;
+        int edges = 0;
+        for (Edge<Integer, MockCost> edge : new Kruskal<>(graph)) {
+            expected += edge.getAttribute().getCost();
+            edges++;
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            FilterKruskal<Integer, MockCost> target = new FilterKruskal<>(graph, pool);
+            assertEquals(expected, target.weight(), 1E-9);
+            WQUPC uf = new WQUPC(graph.V());
+            int count = 0;
+            double previous = Double.NEGATIVE_INFINITY;
+            for (Edge<Integer, MockCost> edge : target) {
+                Integer v = edge.get();
+                assertFalse(uf.connected(v, edge.getOther(v)));
+                uf.union(v, edge.getOther(v));
+                assertTrue(edge.getAttribute().getCost() >= previous);
+                previous = edge.getAttribute().getCost();
+                count++;
+            }
+            assertEquals(edges, count);
+            if (filters) assertTrue(target.filtered() > 0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
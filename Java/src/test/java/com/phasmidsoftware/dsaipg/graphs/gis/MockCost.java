@@ -0,0 +1,68 @@
+package com.phasmidsoftware.dsaipg.graphs.gis;
+
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRGraph;
+
+import java.util.List;
+
+/**
+ * Edge attribute, for the tests of the MST algorithms on a CSRGraph, which is ordered by its cost;
+ * together with the graphs which those tests share.
+ */
+class MockCost implements Comparable<MockCost>, Sequenced {
+
+    private final double cost;
+    private int sequence;
+
+    public MockCost(double cost) {
+        this.cost = cost;
+    }
+
+    public double getCost() {
+        return cost;
+    }
+
+    public int getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(int sequence) {
+        this.sequence = sequence;
+    }
+
+    public int compareTo(MockCost o) {
+        return Double.compare(cost, o.cost);
+    }
+
+    /**
+     * @return an undirected graph on A through E whose MST (AC BC DE BD) has weight 11.
+     */
+    static CSRGraph<String, MockCost> smallGraph() {
+        CSRGraph.Builder<String, MockCost> builder = new CSRGraph.Builder<>(false);
+        addEdge(builder, "A", "B", 4);
+        addEdge(builder, "A", "C", 1);
+        addEdge(builder, "B", "C", 2);
+        addEdge(builder, "B", "D", 5);
+        addEdge(builder, "C", "D", 8);
+        addEdge(builder, "D", "E", 3);
+        return builder.build();
+    }
+
+    /**
+     * @return the complete (undirected) graph of the spherical distances between the given points.
+     */
+    static CSRGraph<MockGeoPoint, MockCost> complete(List<MockGeoPoint> points) {
+        GeoGraphSpherical<MockGeoPoint, MockCost> geo = new GeoGraphSpherical<>();
+        CSRGraph.Builder<MockGeoPoint, MockCost> builder = new CSRGraph.Builder<>(false);
+        for (MockGeoPoint p : points) builder.addVertex(p);
+        for (int i = 0; i < points.size(); i++)
+            for (int j = i + 1; j < points.size(); j++) {
+                double length = geo.getDistance(points.get(i), points.get(j));
+                builder.addEdgeByNumber(i, j, length, new MockCost(length));
+            }
+        return builder.build();
+    }
+
+    private static void addEdge(CSRGraph.Builder<String, MockCost> builder, String v, String w, double cost) {
+        builder.addEdge(v, w, cost, new MockCost(cost));
+    }
+}
@@ -0,0 +1,65 @@
+package com.phasmidsoftware.dsaipg.graphs.gis;
+
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRGraph;
+import com.phasmidsoftware.dsaipg.graphs.undirected.Edge;
+import com.phasmidsoftware.dsaipg.graphs.union_find.WQUPC;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class ParallelBoruvkaTest {
+
+    @Test
+    public void testSmallGraph() {
+        ParallelBoruvka<String, MockCost> target = new ParallelBoruvka<>(MockCost.smallGraph());
+        assertEquals(11.0, target.weight(), 0);
+        int count = 0;
+        for (Edge<String, MockCost> ignored : target) count++;
+        assertEquals(4, count);
+    }
+
+    @Test
+    public void testAgainstBoruvka() {
+        // A random graph (with many equal weights) which is large enough to be split among the threads.
+        Random random = new Random(0L);
+        int n = 20000;
+        CSRGraph.Builder<Integer, MockCost> builder = new CSRGraph.Builder<>(false);
+        for (int v = 0; v < n; v++) builder.addVertex(v);
+        for (int i = 0; i < 5 * n; i++) {
+            double cost = random.nextInt(100);
+            builder.addEdgeByNumber(random.nextInt(n), random.nextInt(n), cost, new MockCost(cost));
+        }
+        CSRGraph<Integer, MockCost> graph = builder.build();
+        double expected = 0;
+        int edges = 0;
+        for (Edge<Integer, MockCost> edge : new Boruvka<>(graph)) {
+            expected += edge.getAttribute().getCost();
+            edges++;
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ParallelBoruvka<Integer, MockCost> target = new ParallelBoruvka<>(graph, pool);
+            assertEquals(expected, target.weight(), 0);
+            WQUPC uf = new WQUPC(n);
+            int count = 0;
+            for (Edge<Integer, MockCost> edge : target) {
+                Integer v = edge.get();
+                assertFalse(uf.connected(v, edge.getOther(v)));
+                uf.union(v, edge.getOther(v));
+                count++;
+            }
+            assertEquals(edges, count);
+            assertTrue(target.phases() <= 1 + 32 - Integer.numberOfLeadingZeros(n));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDirected() {
+        new ParallelBoruvka<>(new CSRGraph.Builder<Integer, MockCost>(true).build());
+    }
+}
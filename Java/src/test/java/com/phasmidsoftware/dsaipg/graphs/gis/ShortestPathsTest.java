@@ -1,11 +1,11 @@
 package com.phasmidsoftware.dsaipg.graphs.gis;
 
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRGraph;
 import com.phasmidsoftware.dsaipg.graphs.dag.DiGraph;
 import com.phasmidsoftware.dsaipg.graphs.dag.Edge;
 import org.junit.Test;
 
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.*;
 
 public class ShortestPathsTest {
 
@@ -109,4 +109,34 @@ public class ShortestPathsTest {
         assertEquals(7.0, shortestPaths.cost("H"), 0);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testWorkspace() {
+        CSRGraph.Builder<String, Double> builder = new CSRGraph.Builder<>(true);
+        builder.addEdge("A", "B", 1.0, 1.0);
+        builder.addEdge("B", "C", 2.0, 2.0);
+        builder.addEdge("A", "C", 4.0, 4.0);
+        builder.addEdge("C", "A", 1.0, 1.0);
+        builder.addEdge("D", "A", 1.0, 1.0);
+        CSRGraph<String, Double> graph = builder.build();
+        ShortestPaths.Workspace<String, Double> workspace = new ShortestPaths.Workspace<>(graph);
+        assertEquals(4, workspace.V());
+        ShortestPaths<String, Double> fromA = workspace.shortestPaths("A");
+        ShortestPaths<String, Double> fromC = workspace.shortestPaths("C");
+        assertEquals(3.0, fromA.cost("C"), 0);
+        assertFalse(fromA.hasPathTo("D"));
+        assertEquals(1.0, fromC.cost("A"), 0);
+        assertEquals(2.0, fromC.cost("B"), 0);
+        StringBuilder sb = new StringBuilder();
+        for (Edge<String, Double> e : fromA.pathTo("C")) sb.append(e.getFrom()).append(e.getTo()).append(" ");
+        assertEquals("AB BC ", sb.toString());
+        assertFalse(fromC.pathTo("D").iterator().hasNext());
+        assertEquals(Double.POSITIVE_INFINITY, fromC.cost("X"), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegative() {
+        CSRGraph<String, Double> graph = new CSRGraph.Builder<String, Double>(true).addEdge("A", "B", -1.0, -1.0).build();
+        new ShortestPaths<>(graph, "A");
+    }
+
+}
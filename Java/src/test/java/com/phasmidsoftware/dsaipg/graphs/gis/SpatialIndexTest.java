@@ -0,0 +1,117 @@
+package com.phasmidsoftware.dsaipg.graphs.gis;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class SpatialIndexTest {
+
+    @Test
+    public void testKdTree() {
+        List<MockGeoPoint> points = randomPoints(3000, new Random(0L));
+        checkIndex(new KdTree<>(points));
+    }
+
+    @Test
+    public void testCellGrid() {
+        List<MockGeoPoint> points = randomPoints(3000, new Random(1L));
+        CellGrid<MockGeoPoint> grid = new CellGrid<>(points);
+        assertTrue(grid.cells() > 100);
+        checkIndex(grid);
+        checkIndex(new CellGrid<>(points, 10000));
+    }
+
+    @Test
+    public void testZoneBoundary() {
+        // Points on both sides of the boundary between zones 18 and 19 (at 72 degrees west) are projected into one zone.
+        List<MockGeoPoint> points = new ArrayList<>();
+        points.add(point(0, 42.0, -72.001));
+        points.add(point(1, 42.0, -71.999));
+        points.add(point(2, 42.0, -72.02));
+        for (SpatialIndex<MockGeoPoint> index : List.of(new KdTree<>(points), new CellGrid<>(points))) {
+            assertArrayEquals(new int[]{1, 2}, index.nearest(0, 2));
+            assertEquals(165, index.distance(0, 1), 2);
+        }
+    }
+
+    @Test
+    public void testBandBoundary() {
+        // Points on both sides of the boundary between latitude bands L and M (at 8 degrees south) have continuous northings.
+        List<MockGeoPoint> points = new ArrayList<>();
+        points.add(point(0, -7.999, -35.0));
+        points.add(point(1, -8.001, -35.0));
+        points.add(point(2, -7.98, -35.0));
+        for (SpatialIndex<MockGeoPoint> index : List.of(new KdTree<>(points), new CellGrid<>(points))) {
+            assertEquals(221, index.distance(0, 1), 2);
+            assertArrayEquals(new int[]{1, 2}, index.nearest(0, 2));
+            assertArrayEquals(new int[]{1}, index.within(0, 1000));
+        }
+    }
+
+    @Test
+    public void testQueryPoint() {
+        List<MockGeoPoint> points = randomPoints(500, new Random(2L));
+        MockGeoPoint query = point(-1, 42.35, -71.08);
+        int[] expected = new KdTree<>(points).nearest(query, 5);
+        assertEquals(5, expected.length);
+        assertArrayEquals(expected, new CellGrid<>(points).nearest(query, 5));
+        int[] within = new KdTree<>(points).within(query, 300);
+        int[] other = new CellGrid<>(points).within(query, 300);
+        Arrays.sort(within);
+        Arrays.sort(other);
+        assertArrayEquals(within, other);
+    }
+
+    @Test
+    public void testSmall() {
+        assertEquals(0, new KdTree<MockGeoPoint>(new ArrayList<>()).nearest(point(0, 42, -71), 3).length);
+        assertEquals(0, new CellGrid<MockGeoPoint>(new ArrayList<>()).nearest(point(0, 42, -71), 3).length);
+        List<MockGeoPoint> points = List.of(point(0, 42, -71), point(1, 42.001, -71));
+        assertArrayEquals(new int[]{1}, new KdTree<>(points).nearest(0, 5));
+        assertArrayEquals(new int[]{1}, new CellGrid<>(points).nearest(0, 5));
+        assertEquals(0, new KdTree<>(points).nearest(0, 0).length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidIndex() {
+        new KdTree<>(List.of(point(0, 42, -71))).nearest(1, 1);
+    }
+
+    static List<MockGeoPoint> randomPoints(int n, Random random) {
+        // Points scattered over a few kilometers of Boston, with some duplicates.
+        List<MockGeoPoint> result = new ArrayList<>();
+        for (int i = 0; i < n; i++)
+            if (i % 100 == 99) result.add(point(i, result.get(i - 1).getPosition().getX(), result.get(i - 1).getPosition().getY()));
+            else result.add(point(i, 42.33 + 0.04 * random.nextDouble(), -71.10 + 0.05 * random.nextDouble()));
+        return result;
+    }
+
+    static MockGeoPoint point(int i, double latitude, double longitude) {
+        return new MockGeoPoint("P" + i, new Position_Spherical(latitude, longitude));
+    }
+
+    private static void checkIndex(SpatialIndex<MockGeoPoint> index) {
+        int n = index.size();
+        Random random = new Random(3L);
+        for (int q = 0; q < 50; q++) {
+            int i = random.nextInt(n);
+            // brute force: all other points, by distance (ties by index)
+            Integer[] all = new Integer[n - 1];
+            for (int j = 0, a = 0; j < n; j++) if (j != i) all[a++] = j;
+            Arrays.sort(all, (a, b) -> Double.compare(index.distance(i, a), index.distance(i, b)));
+            int[] nearest = index.nearest(i, 8);
+            assertEquals(8, nearest.length);
+            for (int k = 0; k < 8; k++) assertEquals(index.distance(i, all[k]), index.distance(i, nearest[k]), 1E-9);
+            int[] within = index.within(i, 200);
+            int expected = 0;
+            for (int j : all) if (index.distance(i, j) <= 200) expected++;
+            assertEquals(expected, within.length);
+            for (int j : within) assertTrue(j != i && index.distance(i, j) <= 200);
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.phasmidsoftware.dsaipg.graphs.traversal;
 
+import com.phasmidsoftware.dsaipg.adt.bqs.IntQueue;
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRGraph;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
+import java.util.List;
 
 public class BFSTest {
 
@@ -101,4 +105,42 @@ public class BFSTest {
         Assert.assertEquals(expected, g.traverse(0));
     }
 
-}
\ No newline at end of file
+
+    @Test
+    public void testTraverseIntQueue() {
+        BFS g = new BFS(6);
+        g.addEdge(0, 1);
+        g.addEdge(0, 2);
+        g.addEdge(1, 3);
+        g.addEdge(2, 4);
+        g.addEdge(4, 5);
+        g.addEdge(5, 0);
+        IntQueue queue = new IntQueue();
+
+        for (int s = 0; s < 6; s++) {
+            List<Integer> actual = new ArrayList<>();
+            g.traverse(s, queue, actual::add);
+            Assert.assertEquals(g.traverse(s), actual);
+        }
+    }
+
+    @Test
+    public void testTraverseCSR() {
+        BFS g = new BFS(6);
+        CSRGraph.Builder<Integer, Void> builder = new CSRGraph.Builder<>(true);
+        for (int v = 0; v < 6; v++) builder.addVertex(v);
+        int[][] edges = {{0, 1}, {0, 2}, {1, 3}, {2, 4}, {4, 5}, {5, 0}};
+        for (int[] edge : edges) {
+            g.addEdge(edge[0], edge[1]);
+            builder.addEdge(edge[0], edge[1], 1.0, null);
+        }
+        CSRGraph<Integer, Void> csr = builder.build();
+        IntQueue queue = new IntQueue();
+
+        for (int s = 0; s < 6; s++) {
+            List<Integer> actual = new ArrayList<>();
+            BFS.traverse(csr, s, queue, actual::add);
+            Assert.assertEquals(g.traverse(s), actual);
+        }
+    }
+}
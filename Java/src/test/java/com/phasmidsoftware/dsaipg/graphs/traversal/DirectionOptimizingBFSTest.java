@@ -0,0 +1,106 @@
+package com.phasmidsoftware.dsaipg.graphs.traversal;
+
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRGraph;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class DirectionOptimizingBFSTest {
+
+    @Test
+    public void testPath() {
+        CSRGraph.Builder<Integer, Void> builder = new CSRGraph.Builder<>(true);
+        for (int i = 0; i < 6; i++) builder.addVertex(i);
+        for (int i = 0; i < 4; i++) builder.addEdgeByNumber(i, i + 1, 1.0, null);
+        CSRGraph<Integer, Void> graph = builder.build();
+        DirectionOptimizingBFS target = new DirectionOptimizingBFS(graph, 0);
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4, -1}, target.distances());
+        assertArrayEquals(new int[]{0, 0, 1, 2, 3, -1}, target.parents());
+        assertEquals(5, target.reached());
+        assertEquals(5, target.levels());
+        assertFalse(target.hasPathTo(5));
+        assertTrue(target.levelsPerSecond() > 0);
+    }
+
+    @Test
+    public void testDirectedTopDownAndBottomUp() {
+        CSRGraph<Integer, Void> graph = randomGraph(true, 5000, 40000, 0L);
+        int[] expected = distances(graph, 3);
+        // alpha = 1E9 switches to bottom-up as soon as possible; beta = 1E-9 never switches back.
+        DirectionOptimizingBFS bottomUp = new DirectionOptimizingBFS(graph, 3, ForkJoinPool.commonPool(), 1E9, 1E-9);
+        assertTrue(bottomUp.bottomUpLevels() > 0);
+        checkBFS(graph, 3, expected, bottomUp);
+        // alpha = 1E-9 never switches to bottom-up.
+        DirectionOptimizingBFS topDown = new DirectionOptimizingBFS(graph, 3, ForkJoinPool.commonPool(), 1E-9, 1E9);
+        assertEquals(0, topDown.bottomUpLevels());
+        checkBFS(graph, 3, expected, topDown);
+        checkBFS(graph, 3, expected, new DirectionOptimizingBFS(graph, 3));
+    }
+
+    @Test
+    public void testUndirectedWithPool() {
+        CSRGraph<Integer, Void> graph = randomGraph(false, 20000, 60000, 1L);
+        int[] expected = distances(graph, 0);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            DirectionOptimizingBFS target = new DirectionOptimizingBFS(graph, 0, pool, DirectionOptimizingBFS.ALPHA, DirectionOptimizingBFS.BETA);
+            checkBFS(graph, 0, expected, target);
+            assertTrue(target.bottomUpLevels() > 0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSource() {
+        CSRGraph.Builder<Integer, Void> builder = new CSRGraph.Builder<>(false);
+        builder.addEdge(0, 1, 1.0, null);
+        new DirectionOptimizingBFS(builder.build(), 2);
+    }
+
+    private static void checkBFS(CSRGraph<?, ?> graph, int s, int[] expected, DirectionOptimizingBFS target) {
+        assertArrayEquals(expected, target.distances());
+        assertEquals(s, target.parent(s));
+        assertEquals(Arrays.stream(expected).filter(d -> d >= 0).count(), target.reached());
+        for (int v = 0; v < graph.V(); v++)
+            if (v != s && target.hasPathTo(v)) {
+                int u = target.parent(v);
+                assertEquals(target.distTo(v) - 1, target.distTo(u));
+                boolean found = false;
+                for (int a = graph.begin(u); a < graph.end(u); a++) found |= graph.target(a) == v;
+                assertTrue(found);
+            } else if (v != s) assertEquals(-1, target.parent(v));
+    }
+
+    private static int[] distances(CSRGraph<?, ?> graph, int s) {
+        int[] result = new int[graph.V()];
+        Arrays.fill(result, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        result[s] = 0;
+        queue.add(s);
+        while (!queue.isEmpty()) {
+            int v = queue.poll();
+            for (int a = graph.begin(v); a < graph.end(v); a++) {
+                int w = graph.target(a);
+                if (result[w] < 0) {
+                    result[w] = result[v] + 1;
+                    queue.add(w);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static CSRGraph<Integer, Void> randomGraph(boolean directed, int n, int m, long seed) {
+        Random random = new Random(seed);
+        CSRGraph.Builder<Integer, Void> builder = new CSRGraph.Builder<>(directed);
+        for (int i = 0; i < n; i++) builder.addVertex(i);
+        for (int i = 0; i < m; i++) builder.addEdgeByNumber(random.nextInt(n), random.nextInt(n), 1.0, null);
+        return builder.build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.phasmidsoftware.dsaipg.graphs.traversal;
 
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRGraph;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
@@ -206,4 +207,32 @@ public class PrimsTest {
         assertEquals(expected, weight_of_edges, 0.1);
     }
 
-}
\ No newline at end of file
+
+    @Test
+    public void testEager() {
+        EdgeWeightedGraph G = new EdgeWeightedGraph(9);
+        int[][] edges = {{0, 1, 4}, {0, 7, 8}, {1, 2, 8}, {1, 7, 11}, {7, 8, 7}, {7, 6, 1}, {2, 8, 2}, {2, 3, 7}, {8, 6, 6}, {2, 5, 4}, {5, 3, 14}, {5, 4, 10}, {3, 4, 9}, {6, 5, 2}};
+        for (int[] e : edges) G.addEdge(new Edge(e[0], e[1], e[2]));
+
+        for (int d : new int[]{2, 4}) {
+            EagerPrims prims = new EagerPrims(G, d);
+            int count = 0;
+            for (Edge ignored : prims.edges()) count++;
+            assertEquals(8, count);
+            assertEquals(37.0, prims.weight(), 0.1);
+        }
+    }
+
+    @Test
+    public void testEagerCSR() {
+        EdgeWeightedGraph G = new EdgeWeightedGraph(200, 1000);
+        EagerPrims expected = new EagerPrims(G);
+        EagerPrims actual = new EagerPrims(CSRGraph.fromEdgeWeightedGraph(G));
+        assertEquals(expected.weight(), actual.weight(), 1E-9);
+        int count = 0;
+        for (Edge ignored : actual.edges()) count++;
+        int expectedCount = 0;
+        for (Edge ignored : expected.edges()) expectedCount++;
+        assertEquals(expectedCount, count);
+    }
+}
@@ -0,0 +1,39 @@
+package com.phasmidsoftware.dsaipg.graphs.union_find;
+
+import org.junit.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class ConcurrentUFTest {
+
+    @Test
+    public void testUnion() {
+        ConcurrentUF h = new ConcurrentUF(10);
+        assertEquals(10, h.count());
+        assertTrue(h.union(3, 1));
+        assertTrue(h.union(2, 3));
+        assertFalse(h.union(1, 2));
+        assertEquals(1, h.find(3));
+        assertTrue(h.connected(2, 1));
+        assertFalse(h.connected(0, 1));
+        assertEquals(8, h.count());
+    }
+
+    @Test
+    public void testConcurrentUnions() {
+        int n = 100000;
+        ConcurrentUF h = new ConcurrentUF(n);
+        // Link each site to its successor (in parallel): exactly one component should remain.
+        long merged = IntStream.range(0, n - 1).parallel().filter(i -> h.union(i, i + 1)).count();
+        assertEquals(n - 1, merged);
+        assertEquals(1, h.count());
+        for (int i = 0; i < n; i += 997) assertEquals(0, h.find(i));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFind() {
+        new ConcurrentUF(3).find(3);
+    }
+}
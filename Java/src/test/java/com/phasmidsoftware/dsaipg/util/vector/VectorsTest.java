@@ -0,0 +1,133 @@
+package com.phasmidsoftware.dsaipg.util.vector;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class VectorsTest {
+
+    @Test
+    public void testMinMaxSum() {
+        Random random = new Random(0L);
+        for (int n = 0; n < 100; n++) {
+            int[] xs = random.ints(n).toArray();
+            assertEquals(IntStream.of(xs).min().orElse(Integer.MAX_VALUE), Vectors.min(xs));
+            assertEquals(IntStream.of(xs).max().orElse(Integer.MIN_VALUE), Vectors.max(xs));
+            assertEquals(IntStream.of(xs).sum(), Vectors.sum(xs));
+            assertEquals(scalar.sum(xs, 1, n), Vectors.kernels().sum(xs, Math.min(1, n), n));
+            assertEquals(scalar.max(xs, n / 3, n), Vectors.kernels().max(xs, n / 3, n));
+        }
+    }
+
+    @Test
+    public void testIsSorted() {
+        Random random = new Random(1L);
+        for (int n = 0; n < 100; n++) {
+            int[] xs = random.ints(n, -10, 10).toArray();
+            Arrays.sort(xs);
+            assertTrue(Vectors.isSorted(xs));
+            if (n > 1) {
+                // introduce a single inversion at each possible position.
+                for (int i = 1; i < n; i++) {
+                    int[] ys = xs.clone();
+                    ys[i - 1] = ys[i] + 1;
+                    assertFalse(Vectors.isSorted(ys));
+                    assertEquals(scalar.isSorted(ys, i, n), Vectors.kernels().isSorted(ys, i, n));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testMerge() {
+        Random random = new Random(2L);
+        for (int trial = 0; trial < 200; trial++) {
+            int[] xs1 = sorted(random, random.nextInt(60), trial % 2 == 0 ? 5 : 1000);
+            int[] xs2 = sorted(random, random.nextInt(60), trial % 3 == 0 ? 5 : 1000);
+            int[] expected = IntStream.concat(IntStream.of(xs1), IntStream.of(xs2)).sorted().toArray();
+            assertArrayEquals(expected, Vectors.merge(xs1, xs2));
+            assertArrayEquals(expected, Vectors.merge(xs1, xs2, 1 + trial % 7));
+            int[] result = new int[xs1.length + xs2.length];
+            scalar.merge(xs1, 0, xs1.length, xs2, 0, xs2.length, result, 0);
+            assertArrayEquals(expected, result);
+        }
+    }
+
+    @Test
+    public void testMergeDisjoint() {
+        int[] xs1 = IntStream.range(0, 1000).toArray();
+        int[] xs2 = IntStream.range(1000, 2000).toArray();
+        int[] expected = IntStream.range(0, 2000).toArray();
+        assertArrayEquals(expected, Vectors.merge(xs1, xs2));
+        assertArrayEquals(expected, Vectors.merge(xs2, xs1));
+        assertArrayEquals(expected, Vectors.merge(xs2, xs1, 4));
+    }
+
+    @Test
+    public void testMergePath() {
+        int[] xs1 = {1, 3, 5, 7};
+        int[] xs2 = {2, 3, 4};
+        // the merge is 1, 3 (xs1), 2, 3 (xs2), 4, 5, 7: ties go to xs1.
+        assertEquals(0, Vectors.mergePath(xs1, xs2, 0));
+        assertEquals(1, Vectors.mergePath(xs1, xs2, 1));
+        assertEquals(1, Vectors.mergePath(xs1, xs2, 2));
+        assertEquals(2, Vectors.mergePath(xs1, xs2, 3));
+        assertEquals(2, Vectors.mergePath(xs1, xs2, 4));
+        assertEquals(2, Vectors.mergePath(xs1, xs2, 5));
+        assertEquals(3, Vectors.mergePath(xs1, xs2, 6));
+        assertEquals(4, Vectors.mergePath(xs1, xs2, 7));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeSegments() {
+        Vectors.merge(new int[1], new int[1], 0);
+    }
+
+    @Test
+    public void testDot() {
+        Random random = new Random(3L);
+        for (int n = 0; n < 50; n++) {
+            double[] xs = random.doubles(n).toArray(), ys = random.doubles(n).toArray();
+            assertEquals(scalar.dot(xs, 0, ys, 0, n), Vectors.dot(xs, ys), 1E-12);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDotLengths() {
+        Vectors.dot(new double[2], new double[3]);
+    }
+
+    @Test
+    public void testMultiply() {
+        Random random = new Random(4L);
+        int l = 70, m = 33, n = 130;
+        double[][] a = new double[l][], b = new double[m][];
+        for (int i = 0; i < l; i++) a[i] = random.doubles(m).toArray();
+        for (int k = 0; k < m; k++) b[k] = random.doubles(n).toArray();
+        double[][] c = Vectors.multiply(a, b, m, n);
+        assertEquals(l, c.length);
+        for (int i = 0; i < l; i++)
+            for (int j = 0; j < n; j++) {
+                double expected = 0;
+                for (int k = 0; k < m; k++) expected += a[i][k] * b[k][j];
+                assertEquals(expected, c[i][j], 1E-12);
+            }
+    }
+
+    @Test
+    public void testKernels() {
+        assertEquals(Vectors.isAccelerated(), !(Vectors.kernels() instanceof ScalarKernels));
+    }
+
+    private static int[] sorted(Random random, int n, int bound) {
+        int[] result = random.ints(n, 0, bound).toArray();
+        Arrays.sort(result);
+        return result;
+    }
+
+    private final ArrayKernels scalar = new ScalarKernels();
+}